@@ -0,0 +1,154 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource wrapper that bounds the number of threads doing JDBC work at the same time.
+ *
+ * With virtual threads there is no longer a thread pool limiting how many requests reach the database,
+ * so thousands of requests could queue inside the connection pool. This wrapper admits at most
+ * {@code maxConcurrent} connections at once, lets at most {@code maxWaiting} threads wait for admission
+ * and fails fast with a {@link SQLTransientConnectionException} beyond that or after the acquire timeout.
+ *
+ * A thread that already holds a connection is admitted again without a permit, so nested connections
+ * (e.g. REQUIRES_NEW transactions) cannot deadlock on the admission limit.
+ * Waiting uses a {@link Semaphore}, which parks virtual threads instead of pinning their carrier.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutMillis;
+    private final ThreadLocal<AtomicInteger> connectionsHeldByThread = ThreadLocal.withInitial(AtomicInteger::new);
+
+    /**
+     * Creates a new admission-controlled data source.
+     *
+     * @param targetDataSource The data source to delegate to
+     * @param maxConcurrent The maximum number of connections handed out at the same time
+     * @param maxWaiting The maximum number of threads waiting for admission
+     * @param acquireTimeoutMillis The maximum time a thread waits for admission
+     */
+    public AdmissionControlledDataSource(DataSource targetDataSource, int maxConcurrent, int maxWaiting,
+                                         long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return admit(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return admit(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Gets the number of connections that can currently be handed out without waiting.
+     *
+     * @return The number of available permits
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Gets the approximate number of threads waiting for admission.
+     *
+     * @return The number of waiting threads
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private Connection admit(ConnectionSupplier supplier) throws SQLException {
+        AtomicInteger held = connectionsHeldByThread.get();
+        boolean permitAcquired = false;
+        if (held.get() == 0) {
+            acquirePermit();
+            permitAcquired = true;
+        }
+
+        held.incrementAndGet();
+        try {
+            return wrap(supplier.get(), held, permitAcquired);
+        } catch (SQLException | RuntimeException ex) {
+            release(held, permitAcquired);
+            throw ex;
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        if (permits.getQueueLength() >= maxWaiting) {
+            throw new SQLTransientConnectionException("Database admission queue is full");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMillis + "ms waiting for database admission");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for database admission", ex);
+        }
+    }
+
+    private void release(AtomicInteger held, boolean permitAcquired) {
+        held.decrementAndGet();
+        if (permitAcquired) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it releases its admission exactly once.
+     */
+    private Connection wrap(Connection connection, AtomicInteger held, boolean permitAcquired) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        release(held, permitAcquired);
+                    }
+                }
+                return null;
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,45 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary response formats.
+ * Clients sending {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile} receive
+ * the same DTOs and ApiResponse wrapper encoded in CBOR or Smile instead of JSON, which is smaller and faster
+ * to parse for the large catalog payloads. Both formats are also accepted as request bodies.
+ * JSON stays the default for clients that accept anything.
+ *
+ * The mappers are built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so they share the
+ * spring.jackson.* settings and modules of the JSON mapper.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Creates the CBOR converter.
+     *
+     * @param builder The builder configured by Spring Boot
+     * @return The converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Creates the Smile converter.
+     *
+     * @param builder The builder configured by Spring Boot
+     * @return The converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,73 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Database admission configuration.
+ * When enabled (by default together with virtual threads), the application's DataSource is wrapped
+ * in an {@link AdmissionControlledDataSource}, bounding in-flight JDBC work to the size of the connection pool.
+ * The wrapper is applied first, directly around the pool; other DataSource wrappers (e.g. SQL logging)
+ * are ordered after it and reach it through {@link DataSource#unwrap(Class)}.
+ *
+ * Properties:
+ * - db.admission.enabled: whether the DataSource is wrapped
+ * - db.admission.max-concurrent: connections handed out at once (defaults to the Hikari pool size)
+ * - db.admission.max-waiting: threads allowed to wait for admission before failing fast
+ * - db.admission.acquire-timeout-ms: maximum wait for admission
+ */
+@Configuration
+public class DatabaseAdmissionConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseAdmissionConfig.class);
+
+    /**
+     * Order of the admission post processor; DataSource wrappers applied around it use a higher value.
+     */
+    static final int POST_PROCESSOR_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    /**
+     * Creates the post processor wrapping the DataSource.
+     * Declared static so it is registered before the DataSource bean is created.
+     *
+     * @param environment The environment to read the admission settings from
+     * @return The post processor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true")
+    public static BeanPostProcessor databaseAdmissionPostProcessor(Environment environment) {
+        int maxConcurrent = environment.getProperty("db.admission.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        int maxWaiting = environment.getProperty("db.admission.max-waiting", Integer.class, 1000);
+        long acquireTimeoutMillis = environment.getProperty("db.admission.acquire-timeout-ms", Long.class, 5000L);
+
+        return new AdmissionPostProcessor(maxConcurrent, maxWaiting, acquireTimeoutMillis);
+    }
+
+    private record AdmissionPostProcessor(int maxConcurrent, int maxWaiting, long acquireTimeoutMillis)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                logger.info("Database admission enabled for '{}': {} concurrent, {} waiting, {}ms timeout",
+                        beanName, maxConcurrent, maxWaiting, acquireTimeoutMillis);
+                return new AdmissionControlledDataSource(dataSource, maxConcurrent, maxWaiting,
+                        acquireTimeoutMillis);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return POST_PROCESSOR_ORDER;
+        }
+    }
+}
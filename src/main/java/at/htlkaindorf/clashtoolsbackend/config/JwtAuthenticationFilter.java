@@ -57,6 +57,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         Cookie[] cookies = request.getCookies();
         if (cookies == null) {
+            RequestPhases.mark(RequestPhases.Phase.AUTH_DONE);
             chain.doFilter(request, response);
             return;
         }
@@ -79,6 +80,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
+        RequestPhases.mark(RequestPhases.Phase.AUTH_DONE);
         chain.doFilter(request, response);
     }
 }
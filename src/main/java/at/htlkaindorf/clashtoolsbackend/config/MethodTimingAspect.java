@@ -0,0 +1,61 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect timing the public methods of the mapper beans as {@code app.method}.
+ * Services are not covered here: the hot service paths (e.g. AuthService.login, JwtService.validateToken)
+ * are annotated with @Timed instead, so the aspect does not run on every service call.
+ * The tags are the mapper interface, the method name and the exception class. Overloads share the tags,
+ * successful calls record to a timer cached per {@link Method}. Calls within the same bean are not intercepted.
+ */
+@Aspect
+public class MethodTimingAspect {
+    private static final String METRIC_NAME = "app.method";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the aspect.
+     *
+     * @param meterRegistry The registry to record to
+     */
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * at.htlkaindorf.clashtoolsbackend.mapper..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, key -> timer(key, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(method, ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of mapper methods")
+                .tags("class", method.getDeclaringClass().getSimpleName(), "method", method.getName(),
+                        "exception", exception)
+                .register(meterRegistry);
+    }
+}
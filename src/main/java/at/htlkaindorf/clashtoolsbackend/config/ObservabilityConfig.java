@@ -0,0 +1,184 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSingleFlight;
+import at.htlkaindorf.clashtoolsbackend.service.notification.NotificationDispatcher;
+import at.htlkaindorf.clashtoolsbackend.service.notification.UpgradeNotificationScheduler;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.PgNotifyListener;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEventHub;
+import at.htlkaindorf.clashtoolsbackend.service.security.TokenRevocationService;
+import at.htlkaindorf.clashtoolsbackend.service.security.UserAvailabilityService;
+import at.htlkaindorf.clashtoolsbackend.service.stats.DerivedStatsService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Observability Configuration
+ *
+ * Spring Boot Actuator already provides, and exposes to admins on /actuator/prometheus:
+ * - http.server.requests for every controller, tagged with the route template instead of the raw path
+ * - Hikari pool metrics (hikaricp.*), Hibernate statistics (hibernate.*) and JVM/GC/thread metrics
+ *
+ * This configuration adds:
+ * - the {@link TimedAspect}, so @Timed works on bean methods (e.g. AuthService.login, JwtService.validateToken)
+ * - per method timings of all mappers, see {@link MethodTimingAspect}
+ * - gauges for the application's own queues and pools, and hit counters of the in-memory indexes
+ * - the per request phase breakdown, see {@link ServerTimingFilter}
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Creates the aspect recording @Timed methods.
+     *
+     * @param meterRegistry The registry to record to
+     * @return The aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Creates the aspect timing mapper methods.
+     *
+     * @param meterRegistry The registry to record to
+     * @return The aspect
+     */
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+        return new MethodTimingAspect(meterRegistry);
+    }
+
+    /**
+     * Creates the aspect recording repository calls in the request phases, see {@link ServerTimingFilter}.
+     *
+     * @return The aspect
+     */
+    @Bean
+    public RepositoryPhaseAspect repositoryPhaseAspect() {
+        return new RepositoryPhaseAspect();
+    }
+
+    /**
+     * Registers the gauges of the database admission control, which wraps the Hikari pool.
+     * The admission wrapper is looked up through {@link DataSource#unwrap(Class)}, as other wrappers
+     * (e.g. SQL logging) may be applied around it.
+     *
+     * @param dataSource The application's DataSource
+     * @return The binder, a no-op if admission control is disabled
+     */
+    @Bean
+    public MeterBinder databaseAdmissionMetrics(DataSource dataSource) {
+        return registry -> {
+            AdmissionControlledDataSource admission = unwrapAdmission(dataSource);
+            if (admission != null) {
+                Gauge.builder("db.admission.available", admission, AdmissionControlledDataSource::getAvailablePermits)
+                        .description("Connections that can be handed out without waiting")
+                        .register(registry);
+                Gauge.builder("db.admission.waiting", admission, AdmissionControlledDataSource::getWaitingThreads)
+                        .description("Threads waiting for database admission")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Registers the gauges of the background queues and push connections.
+     *
+     * @param accountEventHub The hub holding the account event streams
+     * @param upgradeNotificationScheduler The scheduler holding the upgrade timers
+     * @param notificationDispatcher The dispatcher queueing notifications
+     * @param pgNotifyListener The LISTEN/NOTIFY listener
+     * @return The binder
+     */
+    @Bean
+    public MeterBinder backgroundWorkMetrics(ObjectProvider<AccountEventHub> accountEventHub,
+                                             ObjectProvider<UpgradeNotificationScheduler> upgradeNotificationScheduler,
+                                             ObjectProvider<NotificationDispatcher> notificationDispatcher,
+                                             ObjectProvider<PgNotifyListener> pgNotifyListener) {
+        return registry -> {
+            accountEventHub.ifAvailable(hub -> Gauge.builder("push.subscribers", hub, AccountEventHub::getSubscriberCount)
+                    .description("Open account event streams")
+                    .register(registry));
+            upgradeNotificationScheduler.ifAvailable(scheduler -> Gauge.builder("notifications.timers.pending",
+                            scheduler, UpgradeNotificationScheduler::getPendingCount)
+                    .description("Running upgrades with a pending completion timer")
+                    .register(registry));
+            notificationDispatcher.ifAvailable(dispatcher -> Gauge.builder("notifications.queued",
+                            dispatcher, NotificationDispatcher::getQueuedCount)
+                    .description("Notifications waiting to be dispatched")
+                    .register(registry));
+            pgNotifyListener.ifAvailable(listener -> Gauge.builder("pg.notify.connected",
+                            listener, l -> l.isConnected() ? 1 : 0)
+                    .description("Whether the LISTEN connection is established")
+                    .register(registry));
+        };
+    }
+
+    /**
+     * Registers the hit counters of the in-memory indexes.
+     * A hit is a check answered from memory, a miss one that needed an exact lookup.
+     *
+     * @param userAvailabilityService The username and email availability index
+     * @param tokenRevocationService The access token revocation list
+     * @param catalogSingleFlight The coalescer of identical catalog queries; a hit is a call that shared a running query
+     * @param derivedStatsService The derived stats; a hit is a result carried over to a new snapshot, a miss an evaluation
+     * @return The binder
+     */
+    @Bean
+    public MeterBinder indexMetrics(ObjectProvider<UserAvailabilityService> userAvailabilityService,
+                                    ObjectProvider<TokenRevocationService> tokenRevocationService,
+                                    ObjectProvider<CatalogSingleFlight> catalogSingleFlight,
+                                    ObjectProvider<DerivedStatsService> derivedStatsService) {
+        return registry -> {
+            catalogSingleFlight.ifAvailable(singleFlight -> {
+                registerCacheCounters(registry, "catalog-single-flight", singleFlight,
+                        CatalogSingleFlight::getCoalescedCount, s -> s.getCallCount() - s.getCoalescedCount());
+                Gauge.builder("catalog.single-flight.in-flight", singleFlight, CatalogSingleFlight::getInFlightCount)
+                        .description("Distinct catalog queries currently running")
+                        .register(registry);
+            });
+            derivedStatsService.ifAvailable(service -> registerCacheCounters(registry, "derived-stats", service,
+                    DerivedStatsService::getReuseCount, DerivedStatsService::getEvaluationCount));
+            userAvailabilityService.ifAvailable(service -> registerCacheCounters(registry, "user-availability", service,
+                    s -> s.getCheckCount() - s.getExactQueryCount(), UserAvailabilityService::getExactQueryCount));
+            tokenRevocationService.ifAvailable(service -> {
+                registerCacheCounters(registry, "token-revocation", service,
+                        s -> s.getCheckCount() - s.getExactLookupCount(), TokenRevocationService::getExactLookupCount);
+                Gauge.builder("token.revocations.active", service, TokenRevocationService::getRevokedCount)
+                        .description("Revoked access tokens that have not expired yet")
+                        .register(registry);
+            });
+        };
+    }
+
+    private static AdmissionControlledDataSource unwrapAdmission(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(AdmissionControlledDataSource.class)
+                    ? dataSource.unwrap(AdmissionControlledDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private static <T> void registerCacheCounters(MeterRegistry registry, String cache, T source,
+                                                  ToDoubleFunction<T> hits,
+                                                  ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,24 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * QueryDSL setup for queries whose predicates are assembled at runtime, e.g. the base entity query endpoint.
+ */
+@Configuration
+public class QuerydslConfig {
+
+    /**
+     * Creates the query factory.
+     *
+     * @param entityManager The shared, transaction-bound entity manager
+     * @return The query factory
+     */
+    @Bean
+    public JPAQueryFactory jpaQueryFactory(EntityManager entityManager) {
+        return new JPAQueryFactory(entityManager);
+    }
+}
@@ -0,0 +1,24 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect recording the SQL phases of the {@link RequestPhases} around repository calls,
+ * which also covers the JDBC repositories Hibernate does not see.
+ */
+@Aspect
+public class RepositoryPhaseAspect {
+
+    @Around("target(org.springframework.data.repository.Repository) "
+            + "|| within(at.htlkaindorf.clashtoolsbackend.repositories..*)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestPhases.sql();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestPhases.sql();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor recording the controller entry phase of the {@link RequestPhases}.
+ */
+public class RequestPhaseInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestPhases.mark(RequestPhases.Phase.CONTROLLER_ENTRY);
+        return true;
+    }
+}
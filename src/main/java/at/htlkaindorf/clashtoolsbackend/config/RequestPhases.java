@@ -0,0 +1,110 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import java.util.Arrays;
+
+/**
+ * Per-request phase timestamps for the Server-Timing breakdown.
+ *
+ * Each thread owns one preallocated buffer that is reset at the start of every request, so recording a phase
+ * is a thread-local lookup, one {@link System#nanoTime()} call and an array store, without allocation.
+ * Phases recorded outside a request (e.g. on background threads) are ignored.
+ */
+public final class RequestPhases {
+
+    /**
+     * The recorded phases, in request order.
+     */
+    public enum Phase {
+        /** The request entered the {@link ServerTimingFilter} */
+        FILTER_ENTRY,
+        /** Authentication has finished */
+        AUTH_DONE,
+        /** The controller method is about to be invoked */
+        CONTROLLER_ENTRY,
+        /** The first SQL statement or repository call started */
+        FIRST_SQL,
+        /** The last SQL statement or repository call ended */
+        LAST_SQL,
+        /** The controller returned its (mapped) result, serialization is about to start */
+        MAPPING_DONE,
+        /** The response body has been serialized */
+        SERIALIZATION_DONE
+    }
+
+    private static final int PHASE_COUNT = Phase.values().length;
+    private static final ThreadLocal<RequestPhases> CURRENT = ThreadLocal.withInitial(RequestPhases::new);
+
+    private final long[] timestamps = new long[PHASE_COUNT];
+    private boolean active;
+
+    private RequestPhases() {
+    }
+
+    /**
+     * Starts recording a request on the current thread, reusing the thread's buffer.
+     *
+     * @return The buffer of the request
+     */
+    static RequestPhases begin() {
+        RequestPhases phases = CURRENT.get();
+        Arrays.fill(phases.timestamps, 0L);
+        phases.active = true;
+        phases.timestamps[Phase.FILTER_ENTRY.ordinal()] = System.nanoTime();
+        return phases;
+    }
+
+    /**
+     * Stops recording on the current thread.
+     */
+    static void end() {
+        CURRENT.get().active = false;
+    }
+
+    /**
+     * Records a phase of the current request. Later calls for the same phase overwrite earlier ones.
+     *
+     * @param phase The reached phase
+     */
+    public static void mark(Phase phase) {
+        RequestPhases phases = CURRENT.get();
+        if (phases.active) {
+            phases.timestamps[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Records database work of the current request: the first call sets the first SQL phase,
+     * every call moves the last SQL phase.
+     */
+    public static void sql() {
+        RequestPhases phases = CURRENT.get();
+        if (phases.active) {
+            long now = System.nanoTime();
+            if (phases.timestamps[Phase.FIRST_SQL.ordinal()] == 0) {
+                phases.timestamps[Phase.FIRST_SQL.ordinal()] = now;
+            }
+            phases.timestamps[Phase.LAST_SQL.ordinal()] = now;
+        }
+    }
+
+    /**
+     * Gets the timestamp of a phase.
+     *
+     * @param phase The phase
+     * @return The {@link System#nanoTime()} value, 0 if the phase has not been reached
+     */
+    long get(Phase phase) {
+        return timestamps[phase.ordinal()];
+    }
+
+    /**
+     * Copies the buffer, e.g. to keep the values of an asynchronous request after the thread moved on.
+     *
+     * @return An independent copy
+     */
+    RequestPhases copy() {
+        RequestPhases copy = new RequestPhases();
+        System.arraycopy(timestamps, 0, copy.timestamps, 0, timestamps.length);
+        return copy;
+    }
+}
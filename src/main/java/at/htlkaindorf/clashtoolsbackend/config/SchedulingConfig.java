@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled methods, e.g. the heartbeat of the account event streams.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
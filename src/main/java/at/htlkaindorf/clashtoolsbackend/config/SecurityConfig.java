@@ -78,6 +78,8 @@ public class SecurityConfig {
                     .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/api-docs/**",
                                      "/webjars/**", "/openapi.yaml", "/api-docs/swagger-config").permitAll()
                     .requestMatchers("/api/auth/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             );
 
@@ -0,0 +1,351 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import at.htlkaindorf.clashtoolsbackend.config.RequestPhases.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter reporting where the time of a request went.
+ *
+ * The filter starts the {@link RequestPhases} of the request; the authentication filter, the
+ * {@link RequestPhaseInterceptor}, the {@link RequestPhaseBodyAdvice} and the SQL hooks record the later phases.
+ * The full breakdown (auth, dispatch, db, handler, serialize, total) is logged as one key=value line
+ * for slow requests and recorded for a sample of requests in the {@code http.server.phases} histograms,
+ * tagged with the route template.
+ *
+ * The body is streamed, never held back, so the {@code Server-Timing} header is set just before the first
+ * body byte commits the response and carries the phases reached by then (auth, dispatch, db, handler).
+ * Serialization and the total are only known afterwards; they appear in the header only for responses
+ * without a body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+    private static final String[] SEGMENTS = {"auth", "dispatch", "db", "handler", "serialize", "total"};
+    /**
+     * Number of leading segments that are complete once the handler has returned, before serialization
+     */
+    private static final int SEGMENTS_BEFORE_COMMIT = 4;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long slowRequestNanos;
+    private final double sampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param meterRegistry The registry for the sampled phase histograms
+     * @param enabled Whether phases are recorded at all
+     * @param slowRequestMs The duration from which requests are logged
+     * @param sampleRate The fraction of requests recorded in the histograms
+     */
+    public ServerTimingFilter(MeterRegistry meterRegistry,
+                              @Value("${server-timing.enabled:true}") boolean enabled,
+                              @Value("${server-timing.slow-request-ms:1000}") long slowRequestMs,
+                              @Value("${server-timing.sample-rate:0.1}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestPhases phases = RequestPhases.begin();
+        TimingResponse timingResponse = new TimingResponse(response, phases);
+        try {
+            chain.doFilter(request, timingResponse);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // the body is written by another thread, which must not see this thread's next request
+                timingResponse.phases = phases.copy();
+            } else {
+                RequestPhases.mark(Phase.SERIALIZATION_DONE);
+                long end = System.nanoTime();
+                timingResponse.finish(end);
+                report(request, timingResponse.getStatus(), durations(phases, end));
+            }
+            RequestPhases.end();
+        }
+    }
+
+    private void report(HttpServletRequest request, int status, long[] durations) {
+        long total = durations[SEGMENTS.length - 1];
+        boolean slow = total >= slowRequestNanos;
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!slow && !sampled) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        if (slow) {
+            StringBuilder line = new StringBuilder("slow_request method=").append(request.getMethod())
+                    .append(" route=").append(route)
+                    .append(" status=").append(status);
+            for (int i = 0; i < SEGMENTS.length; i++) {
+                if (durations[i] >= 0) {
+                    line.append(' ').append(SEGMENTS[i]).append("_ms=");
+                    appendMillis(line, durations[i]);
+                }
+            }
+            logger.warn(line.toString());
+        }
+        if (sampled) {
+            for (int i = 0; i < SEGMENTS.length; i++) {
+                if (durations[i] >= 0) {
+                    timer(route, SEGMENTS[i]).record(durations[i], TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private Timer timer(String route, String segment) {
+        return timers.computeIfAbsent(route + ' ' + segment, key -> Timer.builder("http.server.phases")
+                .description("Sampled duration of the phases of HTTP requests")
+                .tags("uri", route, "phase", segment)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Computes the segment durations, in the order of {@link #SEGMENTS}; -1 for segments that were not reached.
+     * The db segment spans from the first to the last SQL and overlaps the handler segment.
+     */
+    static long[] durations(RequestPhases phases, long end) {
+        long start = phases.get(Phase.FILTER_ENTRY);
+        long auth = phases.get(Phase.AUTH_DONE);
+        long controller = phases.get(Phase.CONTROLLER_ENTRY);
+        long firstSql = phases.get(Phase.FIRST_SQL);
+        long lastSql = phases.get(Phase.LAST_SQL);
+        long mapped = phases.get(Phase.MAPPING_DONE);
+        long serialized = phases.get(Phase.SERIALIZATION_DONE);
+        long finished = serialized != 0 ? serialized : end;
+
+        return new long[]{
+                auth != 0 ? auth - start : -1,
+                controller != 0 ? controller - (auth != 0 ? auth : start) : -1,
+                firstSql != 0 ? lastSql - firstSql : -1,
+                controller != 0 ? (mapped != 0 ? mapped : finished) - controller : -1,
+                mapped != 0 ? finished - mapped : -1,
+                end - start
+        };
+    }
+
+    static String headerValue(long[] durations, int segments) {
+        StringBuilder value = new StringBuilder(128);
+        for (int i = 0; i < segments; i++) {
+            if (durations[i] < 0) {
+                continue;
+            }
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(SEGMENTS[i]).append(";dur=");
+            appendMillis(value, durations[i]);
+        }
+        return value.toString();
+    }
+
+    private static void appendMillis(StringBuilder target, long nanos) {
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        target.append(micros / 1000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        target.append(fraction);
+    }
+
+    /**
+     * Response setting the Server-Timing header just before the response is committed.
+     */
+    private final class TimingResponse extends HttpServletResponseWrapper {
+        private volatile RequestPhases phases;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private volatile boolean headerWritten;
+
+        private TimingResponse(HttpServletResponse response, RequestPhases phases) {
+            super(response);
+            this.phases = phases;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderOnCommitOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new HeaderOnCommitWriter(super.getWriter()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            // reset() also removes the header, it is set again on the next commit
+            headerWritten = false;
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+
+        /**
+         * Sets the header with all segments at the end of a synchronous request that wrote no body.
+         */
+        void finish(long end) {
+            writeHeader(end, SEGMENTS.length);
+        }
+
+        /**
+         * Sets the header with the segments completed before the response body.
+         */
+        private void writeHeader() {
+            writeHeader(System.nanoTime(), SEGMENTS_BEFORE_COMMIT);
+        }
+
+        private void writeHeader(long end, int segments) {
+            if (headerWritten) {
+                return;
+            }
+            headerWritten = true;
+            if (!super.isCommitted()) {
+                String value = headerValue(durations(phases, end), segments);
+                if (!value.isEmpty()) {
+                    super.addHeader("Server-Timing", value);
+                }
+            }
+        }
+
+        private final class HeaderOnCommitOutputStream extends ServletOutputStream {
+            private final ServletOutputStream delegate;
+
+            private HeaderOnCommitOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                writeHeader();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writeHeader();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writeHeader();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writeHeader();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+
+        private final class HeaderOnCommitWriter extends Writer {
+            private final Writer delegate;
+
+            private HeaderOnCommitWriter(Writer delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(char[] buffer, int off, int len) throws IOException {
+                writeHeader();
+                delegate.write(buffer, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writeHeader();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writeHeader();
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * SQL logging configuration.
+ * Replaces Hibernate's synchronous statement and bind parameter logging: the application's DataSource is
+ * wrapped in a {@link SqlLoggingDataSource}, which reports every statement to the {@link SqlStatementMonitor}.
+ * The log lines themselves are written by the asynchronous appender configured in logback-spring.xml.
+ *
+ * Properties:
+ * - sql-logging.enabled: whether the DataSource is wrapped
+ * - sql-logging.sample-rate: fraction of regular statements logged on sql.sampled
+ * - sql-logging.max-sampled-per-second: upper bound for sampled lines
+ * - sql-logging.slow-threshold-ms: execution time from which statements are logged on sql.slow with redacted parameters
+ * - sql-logging.slow-query-capacity: number of slow statements kept for the admin endpoint
+ */
+@Configuration
+public class SqlLoggingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SqlLoggingConfig.class);
+
+    /**
+     * Creates the monitor, shared by the DataSource wrapper and the logging admin endpoint.
+     *
+     * @param environment The environment to read the logging settings from
+     * @return The monitor
+     */
+    @Bean
+    public static SqlStatementMonitor sqlStatementMonitor(Environment environment) {
+        return new SqlStatementMonitor(
+                environment.getProperty("sql-logging.sample-rate", Double.class, 0.01),
+                environment.getProperty("sql-logging.max-sampled-per-second", Integer.class, 20),
+                environment.getProperty("sql-logging.slow-threshold-ms", Long.class, 500L),
+                environment.getProperty("sql-logging.slow-query-capacity", Integer.class, 100));
+    }
+
+    /**
+     * Creates the post processor wrapping the DataSource.
+     * Declared static so it is registered before the DataSource bean is created. It runs after the
+     * {@link DatabaseAdmissionConfig} post processor, so the logging wrapper is the outermost one.
+     *
+     * @param monitor The monitor, resolved lazily when the DataSource is created
+     * @return The post processor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "sql-logging.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor sqlLoggingPostProcessor(ObjectProvider<SqlStatementMonitor> monitor) {
+        return new SqlLoggingPostProcessor(monitor);
+    }
+
+    private static class SqlLoggingPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<SqlStatementMonitor> monitor;
+
+        SqlLoggingPostProcessor(ObjectProvider<SqlStatementMonitor> monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof SqlLoggingDataSource)) {
+                logger.info("SQL logging enabled for '{}'", beanName);
+                return new SqlLoggingDataSource(dataSource, monitor.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return DatabaseAdmissionConfig.POST_PROCESSOR_ORDER + 1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource wrapper timing every executed statement and reporting it to the {@link SqlStatementMonitor}.
+ *
+ * This replaces Hibernate's synchronous SQL and bind parameter logging: the wrapper only takes two
+ * {@link System#nanoTime()} readings and keeps references to the bind values, the monitor decides
+ * afterwards whether anything is logged. Statements issued through JdbcTemplate are covered as well.
+ */
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementMonitor monitor;
+
+    /**
+     * Creates a new SQL logging data source.
+     *
+     * @param targetDataSource The data source to delegate to
+     * @param monitor The monitor receiving the executed statements
+     */
+    public SqlLoggingDataSource(DataSource targetDataSource, SqlStatementMonitor monitor) {
+        super(targetDataSource);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && !method.getName().equals("unwrap")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return wrapStatement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type, String preparedSql) {
+        Class<?> proxyType = type == CallableStatement.class ? CallableStatement.class
+                : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+        List<Object> parameters = preparedSql != null ? new ArrayList<>() : null;
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{proxyType},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        setParameter(parameters, index, name.equals("setNull") ? null : args[1]);
+                    } else if (parameters != null && name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (name.startsWith("execute")) {
+                        String sql = preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            if (sql != null) {
+                                monitor.record(sql, System.nanoTime() - start, parameters);
+                            }
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static void setParameter(List<Object> parameters, int index, Object value) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector recording the SQL phases of the {@link RequestPhases}.
+ * Every statement Hibernate prepares is seen here, including lazy loads outside of repositories.
+ * The SQL is not changed.
+ */
+public class SqlPhaseStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestPhases.sql();
+        return sql;
+    }
+}
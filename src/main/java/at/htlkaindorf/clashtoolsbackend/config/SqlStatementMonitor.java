@@ -0,0 +1,205 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monitor deciding which executed SQL statements are logged, fed by the {@link SqlLoggingDataSource}.
+ *
+ * Statements slower than the slow query threshold are always logged on {@code sql.slow}, with their bind
+ * parameters and the application method that issued them, and kept in a small buffer for the admin endpoint.
+ * Only numeric, boolean and null parameters are rendered with their value; all others (mail addresses,
+ * password hashes, tokens, ...) are replaced by their type, so neither the log nor the admin API leaks them.
+ * Of the other statements only a sample is logged on {@code sql.sampled}, without parameters and limited to
+ * a maximum number of lines per second. All settings can be changed at runtime.
+ */
+public class SqlStatementMonitor {
+    private static final Logger sampledLogger = LoggerFactory.getLogger("sql.sampled");
+    private static final Logger slowLogger = LoggerFactory.getLogger("sql.slow");
+    private static final String APPLICATION_PACKAGE = "at.htlkaindorf.clashtoolsbackend.";
+    private static final String CONFIG_PACKAGE = APPLICATION_PACKAGE + "config.";
+    private static final int MAX_STATEMENT_LENGTH = 2000;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final int slowQueryCapacity;
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final AtomicLong sampleWindow = new AtomicLong();
+    private final AtomicInteger sampledInWindow = new AtomicInteger();
+    private volatile double sampleRate;
+    private volatile int maxSampledPerSecond;
+    private volatile long slowThresholdNanos;
+
+    /**
+     * A captured slow statement.
+     *
+     * @param timestamp When the statement finished
+     * @param durationMs The execution time in milliseconds
+     * @param statement The SQL, truncated
+     * @param parameters The bind parameters in index order, redacted
+     * @param caller The application method that issued the statement, or null if unknown
+     */
+    public record SlowQuery(Instant timestamp, double durationMs, String statement, List<String> parameters,
+                            String caller) {
+    }
+
+    /**
+     * Creates a monitor.
+     *
+     * @param sampleRate The fraction of regular statements that is logged
+     * @param maxSampledPerSecond The maximum number of sampled lines per second
+     * @param slowThresholdMs The execution time from which statements are captured as slow
+     * @param slowQueryCapacity The number of slow statements kept for the admin endpoint
+     */
+    public SqlStatementMonitor(double sampleRate, int maxSampledPerSecond, long slowThresholdMs, int slowQueryCapacity) {
+        this.slowQueryCapacity = slowQueryCapacity;
+        setSampleRate(sampleRate);
+        setMaxSampledPerSecond(maxSampledPerSecond);
+        setSlowThresholdMs(slowThresholdMs);
+    }
+
+    /**
+     * Records an executed statement.
+     *
+     * @param sql The SQL
+     * @param durationNanos The execution time
+     * @param parameters The bind parameters, only read for slow statements; may be null
+     */
+    void record(String sql, long durationNanos, List<Object> parameters) {
+        if (durationNanos >= slowThresholdNanos) {
+            recordSlow(sql, durationNanos, parameters);
+        } else if (isSampled()) {
+            sampledLogger.info("duration_ms={} sql={}", toMillis(durationNanos), truncate(sql));
+        }
+    }
+
+    private void recordSlow(String sql, long durationNanos, List<Object> parameters) {
+        List<String> renderedParameters = parameters == null ? List.of()
+                : parameters.stream().map(SqlStatementMonitor::redact).toList();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), toMillis(durationNanos), truncate(sql),
+                renderedParameters, findCaller());
+        slowLogger.warn("duration_ms={} caller={} sql={} parameters={}", slowQuery.durationMs(), slowQuery.caller(),
+                slowQuery.statement(), slowQuery.parameters());
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= slowQueryCapacity) {
+                slowQueries.removeFirst();
+            }
+            slowQueries.addLast(slowQuery);
+        }
+    }
+
+    private boolean isSampled() {
+        double rate = sampleRate;
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return false;
+        }
+        long second = System.nanoTime() / TimeUnit.SECONDS.toNanos(1);
+        long window = sampleWindow.get();
+        if (window != second && sampleWindow.compareAndSet(window, second)) {
+            sampledInWindow.set(0);
+        }
+        return sampledInWindow.incrementAndGet() <= maxSampledPerSecond;
+    }
+
+    /**
+     * Renders a bind parameter: numbers, booleans and null (ids, levels, flags) are kept because they are
+     * needed to reproduce a slow statement, every other value is reduced to its type.
+     */
+    static String redact(Object parameter) {
+        if (parameter == null || parameter instanceof Number || parameter instanceof Boolean) {
+            return String.valueOf(parameter);
+        }
+        return "<" + parameter.getClass().getSimpleName() + ">";
+    }
+
+    private static String findCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(CONFIG_PACKAGE))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse(null));
+    }
+
+    private static String truncate(String sql) {
+        return sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) + "..." : sql;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1000 / 1000.0;
+    }
+
+    /**
+     * Gets the slow statements captured most recently.
+     *
+     * @return The slow statements, oldest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return List.copyOf(slowQueries);
+        }
+    }
+
+    /**
+     * Forgets the captured slow statements.
+     */
+    public void clearSlowQueries() {
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate The fraction of regular statements that is logged, between 0 and 1
+     * @throws IllegalArgumentException If the rate is out of range
+     */
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxSampledPerSecond() {
+        return maxSampledPerSecond;
+    }
+
+    /**
+     * @param maxSampledPerSecond The maximum number of sampled lines per second, at least 0
+     * @throws IllegalArgumentException If the limit is negative
+     */
+    public void setMaxSampledPerSecond(int maxSampledPerSecond) {
+        if (maxSampledPerSecond < 0) {
+            throw new IllegalArgumentException("SQL sample limit must not be negative");
+        }
+        this.maxSampledPerSecond = maxSampledPerSecond;
+    }
+
+    public long getSlowThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * @param slowThresholdMs The execution time from which statements are captured as slow, at least 0
+     * @throws IllegalArgumentException If the threshold is negative
+     */
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        if (slowThresholdMs < 0) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative");
+        }
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+}
@@ -1,9 +1,13 @@
 package at.htlkaindorf.clashtoolsbackend.controller;
 
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
 import at.htlkaindorf.clashtoolsbackend.dto.account.AccountRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.account.AccountResponseDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.AccountDashboardDTO;
 import at.htlkaindorf.clashtoolsbackend.pojos.Account;
+import at.htlkaindorf.clashtoolsbackend.service.AccountDashboardService;
 import at.htlkaindorf.clashtoolsbackend.service.AccountService;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,15 +32,22 @@ public class AccountController extends CrudController<Account, AccountResponseDT
      */
     private final AccountService accountService;
 
+    /**
+     * The service building the account dashboard.
+     */
+    private final AccountDashboardService accountDashboardService;
+
     /**
      * Constructor for AccountController.
-     * Initializes the controller with the required service and passes it to the parent class.
+     * Initializes the controller with the required services and passes the account service to the parent class.
      *
      * @param accountService The service for account operations
+     * @param accountDashboardService The service building the account dashboard
      */
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, AccountDashboardService accountDashboardService) {
         super(accountService);
         this.accountService = accountService;
+        this.accountDashboardService = accountDashboardService;
     }
 
     /**
@@ -53,4 +64,17 @@ public class AccountController extends CrudController<Account, AccountResponseDT
         return ResponseEntity.ok(accounts);
     }
 
+    /**
+     * Get the dashboard of an account.
+     * Returns the account, all its entities with current and next level, the running upgrades
+     * and the progress per category in one response.
+     *
+     * @param id The ID of the account
+     * @return ResponseEntity containing the AccountDashboardDTO
+     */
+    @GetMapping("/{id}/dashboard")
+    @Operation(summary = "Get the dashboard of an account")
+    public ResponseEntity<ApiResponse<AccountDashboardDTO>> getDashboard(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(accountDashboardService.getDashboard(id)));
+    }
 }
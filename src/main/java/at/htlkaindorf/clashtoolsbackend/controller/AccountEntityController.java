@@ -4,12 +4,19 @@ import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
 import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.account.SimplifiedAccountEntityDTO;
 import at.htlkaindorf.clashtoolsbackend.service.AccountEntityService;
+import at.htlkaindorf.clashtoolsbackend.service.fields.SparseFieldsService;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEventHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for managing account entities.
@@ -22,6 +29,27 @@ import org.springframework.web.bind.annotation.*;
 public class AccountEntityController {
 
     private final AccountEntityService accountEntityService;
+    private final AccountEventHub accountEventHub;
+    private final SparseFieldsService sparseFieldsService;
+
+    /**
+     * Subscribe to changes of the account entities of an account.
+     * Opens a Server-Sent Events stream that pushes an "account-entity" event for every change.
+     * Clients resume after a reconnect by sending the ID of the last received event in the Last-Event-ID header;
+     * a "resync" event tells them to reload the account entities once.
+     *
+     * @param accountId The ID of the account to subscribe to
+     * @param lastEventId The ID of the last event the client received, if any
+     * @return The event stream
+     */
+    @GetMapping(value = "/account/{accountId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to account entity changes of an account")
+    public SseEmitter subscribeToAccountEntityChanges(
+            @PathVariable Long accountId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return accountEventHub.subscribe(accountId, lastEventId);
+    }
 
     /**
      * Get all account entities for a specific account.
@@ -38,6 +66,23 @@ public class AccountEntityController {
         return ResponseEntity.ok(ApiResponse.success(accountEntityDTOS));
     }
 
+    /**
+     * Get all account entities for a specific account with only the requested fields.
+     * The base entity is only joined when entityName is requested.
+     *
+     * @param accountId The ID of the account to retrieve entities for
+     * @param fields The comma separated fields, e.g. entityId,level
+     * @return ResponseEntity containing the account entities with the requested fields
+     */
+    @GetMapping(value = "/account/{accountId}", params = "fields")
+    @Operation(summary = "Get all account entities for a specific account with selected fields")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAccEntitiesByAccountIdWithFields(
+            @PathVariable Long accountId,
+            @RequestParam String fields
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(sparseFieldsService.getAccountEntities(accountId, fields)));
+    }
+
     /**
      * Get a specific account entity by ID.
      *
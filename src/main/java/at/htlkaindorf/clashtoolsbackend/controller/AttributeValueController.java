@@ -2,7 +2,10 @@ package at.htlkaindorf.clashtoolsbackend.controller;
 
 import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
 import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeValueDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeValueMatchDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
 import at.htlkaindorf.clashtoolsbackend.service.AttributeValueService;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.AttributeValueQueryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,7 @@ import java.util.List;
 public class AttributeValueController {
 
     private final AttributeValueService attributeValueService;
+    private final AttributeValueQueryService attributeValueQueryService;
 
     @GetMapping
     @Operation(summary = "Get all attribute values",
@@ -29,6 +33,26 @@ public class AttributeValueController {
         return ResponseEntity.ok(ApiResponse.success(attributeValues));
     }
 
+    @GetMapping("/query")
+    @Operation(summary = "Query base entity levels by attribute value",
+               description = "Finds the base entity levels whose value of the named attribute equals a value, lies within "
+                       + "min/max, or is among the top N (highest, or lowest with ascending=true). Range values compare "
+                       + "by their maximum. Optionally restricted to a category and to the max level of each base entity")
+    public ResponseEntity<ApiResponse<List<AttributeValueMatchDTO>>> queryAttributeValues(
+            @RequestParam String attribute,
+            @RequestParam(required = false) String value,
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) Integer top,
+            @RequestParam(defaultValue = "false") boolean ascending,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "false") boolean maxLevelOnly) {
+        log.debug("Querying attribute values of {}", attribute);
+        List<AttributeValueMatchDTO> matches = attributeValueQueryService.find(attribute, value, min, max, top,
+                ascending, category, maxLevelOnly);
+        return ResponseEntity.ok(ApiResponse.success(matches));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get attribute value by ID",
                description = "Retrieves a specific attribute value identified by its unique ID")
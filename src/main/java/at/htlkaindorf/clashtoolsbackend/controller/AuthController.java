@@ -3,6 +3,7 @@ package at.htlkaindorf.clashtoolsbackend.controller;
 import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
 import at.htlkaindorf.clashtoolsbackend.dto.auth.AuthRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.auth.AuthResponseDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.auth.AvailabilityDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.RefreshTokenRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.RegisterRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.pojos.RefreshToken;
@@ -12,9 +13,11 @@ import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
 import at.htlkaindorf.clashtoolsbackend.service.AuthService;
 import at.htlkaindorf.clashtoolsbackend.service.JwtService;
 import at.htlkaindorf.clashtoolsbackend.service.RefreshTokenService;
+import at.htlkaindorf.clashtoolsbackend.service.security.UserAvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,9 +25,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 @RestController
@@ -38,6 +44,7 @@ public class AuthController {
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final UserAvailabilityService userAvailabilityService;
 
     private void createAccessTokenCookie(String token, HttpServletResponse response) {
         Cookie accessTokenCookie = new Cookie("access_token", token);
@@ -51,17 +58,30 @@ public class AuthController {
 
     @PostMapping("/logout")
     @Operation(summary = "Logout user",
-               description = "Logs out the currently authenticated user and invalidates their session")
+               description = "Logs out the currently authenticated user, invalidates their session and revokes the access token")
     public ResponseEntity<ApiResponse<Void>> logout(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @CookieValue(name = "access_token", required = false) String accessToken) {
         log.debug("Logging out user: {}", userDetails.getUsername());
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        authService.logout(user);
+        authService.logout(user, accessToken);
         return ResponseEntity.ok(ApiResponse.success(null, "Logged out successfully"));
     }
 
+    @GetMapping("/availability")
+    @Operation(summary = "Check username and email availability",
+               description = "Checks whether a username and/or email can still be registered. Throttled per client "
+                             + "address, which is taken from X-Forwarded-For when the request comes through a trusted proxy")
+    public ResponseEntity<ApiResponse<AvailabilityDTO>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            HttpServletRequest request) {
+        AvailabilityDTO availability = userAvailabilityService.check(request.getRemoteAddr(), username, email);
+        return ResponseEntity.ok(ApiResponse.success(availability));
+    }
+
     @PostMapping("/refresh")
     @Operation(summary = "Refresh JWT token",
                description = "Refreshes the JWT token using a valid refresh token")
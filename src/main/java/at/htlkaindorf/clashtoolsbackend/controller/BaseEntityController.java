@@ -2,18 +2,24 @@ package at.htlkaindorf.clashtoolsbackend.controller;
 
 import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
 import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityPageDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityResponseDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedCatalogDTO;
 import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
 import at.htlkaindorf.clashtoolsbackend.pojos.Category;
 import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntitySummary;
 import at.htlkaindorf.clashtoolsbackend.service.BaseEntityService;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.NormalizedCatalogService;
+import at.htlkaindorf.clashtoolsbackend.service.fields.SparseFieldsService;
+import at.htlkaindorf.clashtoolsbackend.service.query.BaseEntityQueryService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base Entity Controller.
@@ -27,15 +33,26 @@ import java.util.List;
 public class BaseEntityController extends CrudController<BaseEntity, BaseEntityDTO, BaseEntityRequestDTO, Long> {
 
     private final BaseEntityService baseEntityService;
+    private final SparseFieldsService sparseFieldsService;
+    private final NormalizedCatalogService normalizedCatalogService;
+    private final BaseEntityQueryService baseEntityQueryService;
 
     /**
      * Constructor for dependency injection.
      *
      * @param baseEntityService The service for BaseEntity operations
+     * @param sparseFieldsService The service for reads with selected fields
+     * @param normalizedCatalogService The service for the normalized catalog
+     * @param baseEntityQueryService The service for filtered, paginated queries
      */
-    public BaseEntityController(BaseEntityService baseEntityService) {
+    public BaseEntityController(BaseEntityService baseEntityService, SparseFieldsService sparseFieldsService,
+                                NormalizedCatalogService normalizedCatalogService,
+                                BaseEntityQueryService baseEntityQueryService) {
         super(baseEntityService);
         this.baseEntityService = baseEntityService;
+        this.sparseFieldsService = sparseFieldsService;
+        this.normalizedCatalogService = normalizedCatalogService;
+        this.baseEntityQueryService = baseEntityQueryService;
     }
 
     /**
@@ -49,6 +66,33 @@ public class BaseEntityController extends CrudController<BaseEntity, BaseEntityD
         return ResponseEntity.ok(ApiResponse.success(baseEntities));
     }
 
+    /**
+     * Get all base entities with only the requested fields.
+     * Levels, attributes and translations are only queried when fields below them are requested,
+     * e.g. {@code fields=id,name,baseEntityLevels.level,baseEntityLevels.imgPath}.
+     *
+     * @param fields The comma separated fields
+     * @return List of base entities containing only the requested fields
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    @GetMapping(value = "/with-levels", params = "fields")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllBaseEntitiesWithFields(
+            @RequestParam String fields) {
+        return ResponseEntity.ok(ApiResponse.success(sparseFieldsService.getBaseEntities(fields)));
+    }
+
+    /**
+     * Get all base entities with their levels in normalized form ({@code view=normalized}).
+     * Base entities, levels, attributes, attribute names and translations are returned as tables keyed by ID
+     * that reference each other by ID, so attributes shared by many levels are sent only once.
+     *
+     * @return The normalized catalog
+     */
+    @GetMapping(value = "/with-levels", params = {"view=normalized", "!fields"})
+    public ResponseEntity<ApiResponse<NormalizedCatalogDTO>> getNormalizedBaseEntities() {
+        return ResponseEntity.ok(ApiResponse.success(normalizedCatalogService.getCatalog()));
+    }
+
     /**
      * Get base entity by ID with its levels.
      *
@@ -119,4 +163,25 @@ public class BaseEntityController extends CrudController<BaseEntity, BaseEntityD
         List<BaseEntitySummary> summaries = baseEntityService.getBaseEntitySummariesByCategory(category);
         return ResponseEntity.ok(ApiResponse.success(summaries));
     }
+
+    /**
+     * Query base entities with a filter expression, one page at a time.
+     * Filterable fields are category, name, level, resourceType, upgradeCost, upgradeTime and attribute,
+     * e.g. {@code category in (TROOP,SPELL); level >= 5; upgradeCost <= 100000}.
+     * Level conditions match if a single level of the base entity fulfills all of them.
+     *
+     * @param filter The filter expression, or none for all base entities
+     * @param sort The sort order: name, -name, id or -id
+     * @param size The page size
+     * @param cursor The cursor returned with the previous page, or none for the first page
+     * @return The page with the cursor of the next page
+     */
+    @GetMapping("/query")
+    public ResponseEntity<ApiResponse<BaseEntityPageDTO>> queryBaseEntities(
+            @RequestParam(required = false) String filter,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(ApiResponse.success(baseEntityQueryService.query(filter, sort, size, cursor)));
+    }
 }
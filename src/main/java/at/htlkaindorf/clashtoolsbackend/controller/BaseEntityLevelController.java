@@ -5,6 +5,7 @@ import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityLevelRequestDTO
 import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityLevelResponseDTO;
 import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
 import at.htlkaindorf.clashtoolsbackend.service.BaseEntityLevelService;
+import at.htlkaindorf.clashtoolsbackend.service.fields.SparseFieldsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 @Slf4j
 @RestController
 @RequestMapping("/api/base-entity-levels")
@@ -20,10 +22,21 @@ import java.util.List;
 public class BaseEntityLevelController extends CrudController<BaseEntityLevel, BaseEntityLevelResponseDTO, BaseEntityLevelRequestDTO, Long> {
 
     private final BaseEntityLevelService baseEntityLevelService;
+    private final SparseFieldsService sparseFieldsService;
 
-    public BaseEntityLevelController(BaseEntityLevelService baseEntityLevelService) {
+    public BaseEntityLevelController(BaseEntityLevelService baseEntityLevelService,
+                                     SparseFieldsService sparseFieldsService) {
         super(baseEntityLevelService);
         this.baseEntityLevelService = baseEntityLevelService;
+        this.sparseFieldsService = sparseFieldsService;
+    }
+
+    @GetMapping(params = "fields")
+    @Operation(summary = "Get all base entity levels with selected fields",
+               description = "Returns only the requested fields, e.g. fields=id,level,imgPath,baseEntity.name; "
+                       + "attributes and their translations are only loaded when requested")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getAllWithFields(@RequestParam String fields) {
+        return ResponseEntity.ok(ApiResponse.success(sparseFieldsService.getBaseEntityLevels(fields)));
     }
 
 
@@ -36,6 +49,15 @@ public class BaseEntityLevelController extends CrudController<BaseEntityLevel, B
         return ResponseEntity.ok(ApiResponse.success(baseEntityLevels));
     }
 
+    @GetMapping(value = "/base-entity/{baseEntityId}", params = "fields")
+    @Operation(summary = "Get base entity levels by base entity ID with selected fields",
+               description = "Returns only the requested fields of the levels of a specific base entity")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getBaseEntityLevelsByBaseEntityIdWithFields(
+            @PathVariable Long baseEntityId, @RequestParam String fields) {
+        return ResponseEntity.ok(ApiResponse.success(
+                sparseFieldsService.getBaseEntityLevelsByBaseEntityId(baseEntityId, fields)));
+    }
+
 
 
 
@@ -0,0 +1,38 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchRequestDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchResultDTO;
+import at.htlkaindorf.clashtoolsbackend.service.batch.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "API for executing several requests in one round trip")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    @PostMapping
+    @Operation(summary = "Execute a batch of requests",
+               description = "Executes the given sub-requests (method, path, body) through the regular endpoints and "
+                       + "returns their status and body in the same order. Consecutive GET requests run in parallel.")
+    public ResponseEntity<ApiResponse<List<BatchResultDTO>>> execute(@Valid @RequestBody BatchRequestDTO batch,
+                                                                     HttpServletRequest request,
+                                                                     HttpServletResponse response) {
+        return ResponseEntity.ok(ApiResponse.success(batchService.execute(batch.operations(), request, response)));
+    }
+}
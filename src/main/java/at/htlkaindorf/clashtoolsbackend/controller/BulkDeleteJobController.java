@@ -0,0 +1,55 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.job.BulkDeleteJobDTO;
+import at.htlkaindorf.clashtoolsbackend.service.BulkDeleteJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for background bulk delete jobs.
+ * Large base entities are deleted in chunks by a background job, the job state can be polled until it completes.
+ */
+@RestController
+@RequestMapping("/api/bulk-delete")
+@RequiredArgsConstructor
+@Tag(name = "Bulk Delete", description = "API for deleting large base entities in the background")
+public class BulkDeleteJobController {
+
+    private final BulkDeleteJobService bulkDeleteJobService;
+
+    /**
+     * Submit a job deleting a base entity with all its levels and attribute values.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return ResponseEntity containing the state of the submitted job
+     */
+    @PostMapping("/base-entities/{baseEntityId}")
+    @Operation(summary = "Delete a base entity in the background")
+    public ResponseEntity<ApiResponse<BulkDeleteJobDTO>> deleteBaseEntity(@PathVariable Long baseEntityId) {
+        BulkDeleteJobDTO job = bulkDeleteJobService.submitBaseEntityDelete(baseEntityId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job, "Bulk delete job submitted"));
+    }
+
+    /**
+     * Get the state of a bulk delete job.
+     *
+     * @param jobId The ID of the job
+     * @return ResponseEntity containing the state of the job, 404 if the job is unknown
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get the state of a bulk delete job")
+    public ResponseEntity<ApiResponse<BulkDeleteJobDTO>> getJob(@PathVariable String jobId) {
+        return bulkDeleteJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,59 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.CatalogExportFormat;
+import at.htlkaindorf.clashtoolsbackend.service.CatalogExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Export", description = "API for exporting the complete catalog")
+public class CatalogExportController {
+
+    private final CatalogExportService catalogExportService;
+
+    @GetMapping("/export")
+    @Operation(summary = "Export the complete catalog",
+               description = "Streams every base entity, level, attribute and attribute value as JSON or NDJSON. "
+                       + "The response is gzip-compressed when the client accepts it.")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogExportFormat exportFormat = CatalogExportFormat.fromValue(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        log.debug("Exporting catalog as {} (gzip: {})", exportFormat, gzip);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                catalogExportService.export(gzipOut, exportFormat);
+                gzipOut.finish();
+            } else {
+                catalogExportService.export(out, exportFormat);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
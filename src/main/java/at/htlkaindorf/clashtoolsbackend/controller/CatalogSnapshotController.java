@@ -0,0 +1,35 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.CatalogSnapshotInfoDTO;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/catalog/snapshot")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Snapshot", description = "API for inspecting the catalog snapshot served by this node")
+public class CatalogSnapshotController {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @GetMapping
+    @Operation(summary = "Get snapshot information",
+               description = "Returns the version and size of the catalog snapshot currently served by this node")
+    public ResponseEntity<ApiResponse<CatalogSnapshotInfoDTO>> getSnapshotInfo() {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        return ResponseEntity.ok(ApiResponse.success(new CatalogSnapshotInfoDTO(
+                snapshot.getCatalogVersion(),
+                snapshot.getCreatedAt(),
+                snapshot.getBaseEntities().size(),
+                snapshot.getBaseEntityLevels().size(),
+                snapshot.getAttributeValues().size())));
+    }
+}
@@ -47,6 +47,18 @@ public abstract class CrudController<E, D, R, ID> {
         return ResponseEntity.ok(ApiResponse.success(service.getById(id)));
     }
 
+    /**
+     * Get several entities by ID in one request, e.g. {@code ?ids=1,2,3}
+     *
+     * @param ids Entity identifiers
+     * @return Entities as DTOs; unknown IDs are skipped
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get entities by IDs")
+    public ResponseEntity<ApiResponse<List<D>>> getByIds(@RequestParam List<ID> ids) {
+        return ResponseEntity.ok(ApiResponse.success(service.getByIds(ids)));
+    }
+
     /**
      * Create a new entity
      *
@@ -0,0 +1,51 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.stats.DerivedStatDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.stats.DerivedStatDefinitionDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.service.stats.DerivedStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/derived-stats")
+@RequiredArgsConstructor
+@Tag(name = "Derived Stats", description = "API for stats computed from attribute values and upgrade costs")
+public class DerivedStatsController {
+
+    private final DerivedStatsService derivedStatsService;
+
+    @GetMapping
+    @Operation(summary = "Get all derived stats",
+               description = "Retrieves the declared derived stats with the formulas they are computed with")
+    public ResponseEntity<ApiResponse<List<DerivedStatDefinitionDTO>>> getDerivedStats() {
+        log.debug("Fetching all derived stats");
+        return ResponseEntity.ok(ApiResponse.success(derivedStatsService.getDefinitions()));
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Query base entity levels by derived stat",
+               description = "Retrieves the base entity levels with the highest values of a derived stat, or the lowest "
+                       + "with ascending=true. Optionally restricted to values within min/max, to a category and to the "
+                       + "max level of each base entity")
+    public ResponseEntity<ApiResponse<List<DerivedStatDTO>>> queryDerivedStat(
+            @PathVariable String name,
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) Integer top,
+            @RequestParam(defaultValue = "false") boolean ascending,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "false") boolean maxLevelOnly) {
+        log.debug("Querying derived stat {}", name);
+        List<DerivedStatDTO> matches = derivedStatsService.find(name, min, max, top, ascending, category, maxLevelOnly);
+        return ResponseEntity.ok(ApiResponse.success(matches));
+    }
+}
@@ -0,0 +1,45 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.logging.LoggingSettingsDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.logging.LoggingSettingsUpdateDTO;
+import at.htlkaindorf.clashtoolsbackend.service.LoggingAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/logging")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Logging", description = "Administrative API for SQL logging and log levels")
+public class LoggingAdminController {
+
+    private final LoggingAdminService loggingAdminService;
+
+    @GetMapping
+    @Operation(summary = "Get logging settings",
+               description = "Returns the SQL sampling settings, the levels of the main loggers and the recent slow queries")
+    public ResponseEntity<ApiResponse<LoggingSettingsDTO>> getSettings() {
+        return ResponseEntity.ok(ApiResponse.success(loggingAdminService.getSettings()));
+    }
+
+    @PutMapping
+    @Operation(summary = "Change logging settings",
+               description = "Changes the SQL sampling settings and logger levels at runtime; omitted values stay unchanged")
+    public ResponseEntity<ApiResponse<LoggingSettingsDTO>> updateSettings(@RequestBody LoggingSettingsUpdateDTO update) {
+        return ResponseEntity.ok(ApiResponse.success(loggingAdminService.updateSettings(update),
+                "Logging settings updated successfully"));
+    }
+
+    @DeleteMapping("/slow-queries")
+    @Operation(summary = "Clear slow queries",
+               description = "Forgets the captured slow queries")
+    public ResponseEntity<ApiResponse<Void>> clearSlowQueries() {
+        loggingAdminService.clearSlowQueries();
+        return ResponseEntity.ok(ApiResponse.success(null, "Slow queries cleared successfully"));
+    }
+}
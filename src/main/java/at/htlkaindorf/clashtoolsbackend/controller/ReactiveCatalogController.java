@@ -0,0 +1,60 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.ReactiveCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v2/catalog")
+@RequiredArgsConstructor
+@Tag(name = "Catalog v2", description = "Read-only streaming catalog API served from the in-memory catalog snapshot")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    @GetMapping(value = "/base-entities", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream base entities",
+               description = "Streams all base entities, optionally filtered by category. "
+                       + "Request application/x-ndjson to receive rows as they are emitted.")
+    public Flux<BaseEntityRow> streamBaseEntities(@RequestParam(required = false) Category category) {
+        return reactiveCatalogService.streamBaseEntities(category);
+    }
+
+    @GetMapping("/base-entities/{id}")
+    @Operation(summary = "Get base entity", description = "Returns a single base entity")
+    public Mono<BaseEntityRow> getBaseEntity(@PathVariable Long id) {
+        return reactiveCatalogService.getBaseEntity(id);
+    }
+
+    @GetMapping(value = "/base-entities/{id}/levels", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream levels of a base entity", description = "Streams the levels of one base entity ordered by level")
+    public Flux<BaseEntityLevelRow> streamLevelsOfBaseEntity(@PathVariable Long id) {
+        return reactiveCatalogService.streamBaseEntityLevels(id);
+    }
+
+    @GetMapping(value = "/base-entity-levels", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream base entity levels", description = "Streams the levels of all base entities")
+    public Flux<BaseEntityLevelRow> streamBaseEntityLevels() {
+        return reactiveCatalogService.streamBaseEntityLevels(null);
+    }
+
+    @GetMapping(value = "/attribute-values", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream attribute values",
+               description = "Streams all attribute values, or the values of one base entity level")
+    public Flux<AttributeValueRow> streamAttributeValues(@RequestParam(required = false) Long baseEntityLevelId) {
+        return reactiveCatalogService.streamAttributeValues(baseEntityLevelId);
+    }
+}
@@ -0,0 +1,64 @@
+package at.htlkaindorf.clashtoolsbackend.controller;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.cost.UpgradeRangeCostDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.cost.UpgradeRangeRequestDTO;
+import at.htlkaindorf.clashtoolsbackend.service.cost.UpgradeCostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for upgrade cost calculations.
+ * Provides the total cost per resource type and the total time of upgrading a base entity over a level range.
+ */
+@RestController
+@RequestMapping("/api/upgrade-cost")
+@RequiredArgsConstructor
+@Tag(name = "Upgrade Cost", description = "API for calculating upgrade costs over level ranges")
+public class UpgradeCostController {
+
+    private final UpgradeCostService upgradeCostService;
+
+    /**
+     * Get the cost of upgrading a base entity from one level to another.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param from The current level, 0 if the entity has not been built yet
+     * @param to The target level, defaults to the maximum level
+     * @return ResponseEntity containing the UpgradeRangeCostDTO
+     */
+    @GetMapping("/{baseEntityId}")
+    @Operation(summary = "Get the upgrade cost of a level range")
+    public ResponseEntity<ApiResponse<UpgradeRangeCostDTO>> getRangeCost(
+            @PathVariable Long baseEntityId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(required = false) Integer to
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(upgradeCostService.getRangeCost(baseEntityId, from, to)));
+    }
+
+    /**
+     * Get the costs of several level ranges at once.
+     *
+     * @param requests The ranges to calculate
+     * @return ResponseEntity containing the results in request order
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Get the upgrade costs of several level ranges")
+    public ResponseEntity<ApiResponse<List<UpgradeRangeCostDTO>>> getRangeCosts(
+            @RequestBody List<UpgradeRangeRequestDTO> requests
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(upgradeCostService.getRangeCosts(requests)));
+    }
+}
@@ -0,0 +1,22 @@
+package at.htlkaindorf.clashtoolsbackend.dto.account;
+
+/**
+ * Record describing a single change to an account entity, as pushed to subscribed devices.
+ * It carries only the fields clients need to patch their local copy, so no list reload is required.
+ *
+ * @param type The kind of change
+ * @param accountEntityId The ID of the changed account entity
+ * @param baseEntityId The ID of the base entity, null for deletions
+ * @param level The current level after the change, null for deletions
+ * @param upgradeStart The upgrade start time in epoch milliseconds after the change, null if no upgrade is running
+ * @param timestamp The time of the change in epoch milliseconds
+ */
+public record AccountEntityChangeDTO(
+    AccountEntityChangeType type,
+    Long accountEntityId,
+    Long baseEntityId,
+    Integer level,
+    Long upgradeStart,
+    long timestamp
+) {
+}
@@ -0,0 +1,18 @@
+package at.htlkaindorf.clashtoolsbackend.dto.account;
+
+/**
+ * Kinds of changes to an account entity that are pushed to the account's subscribers.
+ *
+ * - CREATED: an account entity was added to the account
+ * - UPDATED: level, base entity or upgrade start of an account entity changed
+ * - UPGRADE_STARTED: only the upgrade start time changed
+ * - DELETED: an account entity was removed
+ * - UPGRADE_COMPLETED: the running upgrade finished; level carries the level reached
+ */
+public enum AccountEntityChangeType {
+    CREATED,
+    UPDATED,
+    UPGRADE_STARTED,
+    DELETED,
+    UPGRADE_COMPLETED
+}
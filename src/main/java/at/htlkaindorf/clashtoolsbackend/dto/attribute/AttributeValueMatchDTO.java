@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.dto.attribute;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+
+/**
+ * Record for a base entity level matching an attribute value query.
+ *
+ * @param baseEntityId The ID of the base entity
+ * @param baseEntityName The name of the base entity
+ * @param category The category of the base entity
+ * @param baseEntityLevelId The ID of the matching level
+ * @param level The level value
+ * @param valueType The value type of the matched attribute value
+ * @param value The matched attribute value
+ */
+public record AttributeValueMatchDTO(
+    long baseEntityId,
+    String baseEntityName,
+    Category category,
+    long baseEntityLevelId,
+    int level,
+    String valueType,
+    Object value
+) {
+}
@@ -0,0 +1,18 @@
+package at.htlkaindorf.clashtoolsbackend.dto.auth;
+
+/**
+ * Availability of a username and/or email for registration.
+ * Fields of values that were not checked are null.
+ *
+ * @param username The checked username
+ * @param usernameAvailable Whether the username can still be registered
+ * @param email The checked email
+ * @param emailAvailable Whether the email can still be registered
+ */
+public record AvailabilityDTO(
+    String username,
+    Boolean usernameAvailable,
+    String email,
+    Boolean emailAvailable
+) {
+}
@@ -0,0 +1,15 @@
+package at.htlkaindorf.clashtoolsbackend.dto.baseentity;
+
+import java.util.List;
+
+/**
+ * Record for one page of a base entity query.
+ *
+ * @param items The base entities of the page
+ * @param nextCursor The cursor of the next page, or null if this is the last page
+ */
+public record BaseEntityPageDTO(
+    List<BaseEntityDTO> items,
+    String nextCursor
+) {
+}
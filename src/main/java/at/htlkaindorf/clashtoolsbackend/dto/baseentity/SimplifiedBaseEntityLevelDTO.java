@@ -15,7 +15,7 @@ import java.util.Set;
  * @param id The unique identifier for the base entity level
  * @param level The level value for this base entity level
  * @param attributes The attributes associated with this base entity level
- * @param resourceType The type of resource required for upgrading this base entity level, represented as an integer (ordinal value of ResourceType enum)
+ * @param resourceType The type of resource required for upgrading this base entity level, represented as an integer (stable ID of the ResourceType enum)
  * @param upgradeCost The cost to upgrade to this level, in the specified resource type
  * @param upgradeTime The time required to upgrade to this level, in seconds
  * @param imgPath The path to the image representing this base entity level
@@ -37,16 +37,16 @@ public record SimplifiedBaseEntityLevelDTO(
      * Utility method to convert the integer resourceType back to ResourceType enum.
      * This can be useful for backward compatibility with code that expects a ResourceType.
      *
-     * @param resourceTypeOrdinal the ordinal value of the ResourceType
-     * @return the corresponding ResourceType enum value, or null if the ordinal is null or invalid
+     * @param resourceTypeOrdinal the ID of the ResourceType
+     * @return the corresponding ResourceType enum value, or null if the ID is null or invalid
      */
     public static ResourceType getResourceTypeFromOrdinal(Integer resourceTypeOrdinal) {
         if (resourceTypeOrdinal == null) {
             return null;
         }
         try {
-            return ResourceType.values()[resourceTypeOrdinal];
-        } catch (ArrayIndexOutOfBoundsException e) {
+            return ResourceType.fromId(resourceTypeOrdinal);
+        } catch (IllegalArgumentException e) {
             return null;
         }
     }
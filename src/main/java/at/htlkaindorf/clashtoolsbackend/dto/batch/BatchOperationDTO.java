@@ -0,0 +1,18 @@
+package at.htlkaindorf.clashtoolsbackend.dto.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Record describing one sub-request of a batch.
+ *
+ * @param method The HTTP method, e.g. GET
+ * @param path The path below /api including an optional query string, e.g. /api/accounts?ids=1,2
+ * @param body The JSON request body, null for requests without a body
+ */
+public record BatchOperationDTO(
+    @NotBlank String method,
+    @NotBlank String path,
+    JsonNode body
+) {
+}
@@ -0,0 +1,16 @@
+package at.htlkaindorf.clashtoolsbackend.dto.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Record for a batch of sub-requests executed in one round trip.
+ *
+ * @param operations The sub-requests, results are returned in the same order
+ */
+public record BatchRequestDTO(
+    @NotEmpty @Valid List<BatchOperationDTO> operations
+) {
+}
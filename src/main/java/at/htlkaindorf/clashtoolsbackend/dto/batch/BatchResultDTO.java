@@ -0,0 +1,15 @@
+package at.htlkaindorf.clashtoolsbackend.dto.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Record for the result of one sub-request of a batch.
+ *
+ * @param status The HTTP status the sub-request would have had on its own
+ * @param body The response body, usually an ApiResponse or ErrorResponse; null if the response was empty
+ */
+public record BatchResultDTO(
+    int status,
+    JsonNode body
+) {
+}
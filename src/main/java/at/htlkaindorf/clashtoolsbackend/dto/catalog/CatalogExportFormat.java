@@ -0,0 +1,43 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+/**
+ * Output formats supported by the catalog export.
+ *
+ * - JSON: one JSON document with one array per catalog table
+ * - NDJSON: one JSON object per line, each tagged with the table it belongs to
+ */
+public enum CatalogExportFormat {
+    JSON("application/json"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    CatalogExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Gets the media type written for this format.
+     *
+     * @return The media type as a string
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     *
+     * @param value The format name, e.g. "json" or "ndjson"
+     * @return The matching format
+     * @throws IllegalArgumentException If no format with the given name exists
+     */
+    public static CatalogExportFormat fromValue(String value) {
+        for (CatalogExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
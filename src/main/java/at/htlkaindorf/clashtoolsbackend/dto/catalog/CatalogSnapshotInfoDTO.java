@@ -0,0 +1,21 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+import java.time.Instant;
+
+/**
+ * Record describing the catalog snapshot currently served by this node.
+ *
+ * @param snapshotVersion The catalog version of the snapshot, -1 if no snapshot has been loaded yet
+ * @param createdAt The time the snapshot was read from the database
+ * @param baseEntityCount The number of base entities in the snapshot
+ * @param baseEntityLevelCount The number of base entity levels in the snapshot
+ * @param attributeValueCount The number of attribute values in the snapshot
+ */
+public record CatalogSnapshotInfoDTO(
+    long snapshotVersion,
+    Instant createdAt,
+    int baseEntityCount,
+    int baseEntityLevelCount,
+    int attributeValueCount
+) {
+}
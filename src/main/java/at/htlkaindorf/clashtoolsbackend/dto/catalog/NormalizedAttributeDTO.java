@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+import java.util.List;
+
+/**
+ * Record for an attribute in the normalized catalog.
+ *
+ * @param id The ID of the attribute
+ * @param attributeNameId The ID of its attribute name
+ * @param translationIds The IDs of its translations
+ */
+public record NormalizedAttributeDTO(
+    long id,
+    long attributeNameId,
+    List<Long> translationIds
+) {
+}
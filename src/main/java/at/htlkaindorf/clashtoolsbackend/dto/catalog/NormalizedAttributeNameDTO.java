@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+/**
+ * Record for an attribute name in the normalized catalog.
+ *
+ * @param id The ID of the attribute name
+ * @param name The name
+ */
+public record NormalizedAttributeNameDTO(
+    long id,
+    String name
+) {
+}
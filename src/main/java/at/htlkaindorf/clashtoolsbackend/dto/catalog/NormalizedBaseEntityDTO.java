@@ -0,0 +1,21 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+
+import java.util.List;
+
+/**
+ * Record for a base entity in the normalized catalog.
+ *
+ * @param id The ID of the base entity
+ * @param name The name of the base entity
+ * @param category The category of the base entity
+ * @param levelIds The IDs of its levels, ordered by level
+ */
+public record NormalizedBaseEntityDTO(
+    long id,
+    String name,
+    Category category,
+    List<Long> levelIds
+) {
+}
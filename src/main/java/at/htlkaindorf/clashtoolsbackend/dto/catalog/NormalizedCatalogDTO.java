@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+import java.util.Map;
+
+/**
+ * Record for the normalized catalog: one table per entity type, keyed by ID, with ID references between them.
+ * Every base entity, level, attribute, attribute name and translation appears exactly once,
+ * however many levels share it.
+ *
+ * @param catalogVersion The catalog version the tables were read at
+ * @param baseEntities The base entities by ID
+ * @param levels The base entity levels by ID
+ * @param attributes The attributes by ID
+ * @param attributeNames The attribute names by ID
+ * @param translations The attribute translations by ID
+ */
+public record NormalizedCatalogDTO(
+    long catalogVersion,
+    Map<Long, NormalizedBaseEntityDTO> baseEntities,
+    Map<Long, NormalizedLevelDTO> levels,
+    Map<Long, NormalizedAttributeDTO> attributes,
+    Map<Long, NormalizedAttributeNameDTO> attributeNames,
+    Map<Long, NormalizedTranslationDTO> translations
+) {
+}
@@ -0,0 +1,27 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+import java.util.List;
+
+/**
+ * Record for a base entity level in the normalized catalog.
+ *
+ * @param id The ID of the level
+ * @param baseEntityId The ID of the base entity the level belongs to
+ * @param level The level value
+ * @param resourceType The stable ID of the resource type required for the upgrade
+ * @param upgradeCost The cost to upgrade to this level
+ * @param upgradeTime The time required to upgrade to this level, in seconds
+ * @param imgPath The path to the image of the level
+ * @param attributeIds The IDs of the attributes of the level
+ */
+public record NormalizedLevelDTO(
+    long id,
+    long baseEntityId,
+    int level,
+    int resourceType,
+    int upgradeCost,
+    int upgradeTime,
+    String imgPath,
+    List<Long> attributeIds
+) {
+}
@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.dto.catalog;
+
+/**
+ * Record for an attribute translation in the normalized catalog.
+ *
+ * @param id The ID of the translation
+ * @param attributeId The ID of the translated attribute
+ * @param languageCode The language code
+ * @param name The translated name
+ */
+public record NormalizedTranslationDTO(
+    long id,
+    long attributeId,
+    String languageCode,
+    String name
+) {
+}
@@ -5,9 +5,10 @@ import lombok.Data;
 
 /**
  * Data Transfer Object for returning category information.
- * Since Category is now an enum, this DTO only needs to contain the enum value.
+ * Contains the enum value together with its stable ID, which base entities reference as categoryId.
  */
 @Data
 public class CategoryResponseDTO {
+    private Integer id;
     private Category category;
 }
@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.dto.cost;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+
+import java.util.Map;
+
+/**
+ * Record holding the total cost and time of upgrading a base entity from one level to another.
+ *
+ * @param baseEntityId The ID of the base entity
+ * @param fromLevel The current level
+ * @param toLevel The target level
+ * @param maxLevel The highest level of the base entity
+ * @param cost The total cost per resource type, resource types that are not needed are omitted
+ * @param upgradeTime The total upgrade time in seconds
+ */
+public record UpgradeRangeCostDTO(
+    Long baseEntityId,
+    int fromLevel,
+    int toLevel,
+    int maxLevel,
+    Map<ResourceType, Long> cost,
+    long upgradeTime
+) {
+}
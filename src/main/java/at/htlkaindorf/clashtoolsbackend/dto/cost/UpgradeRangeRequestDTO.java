@@ -0,0 +1,36 @@
+package at.htlkaindorf.clashtoolsbackend.dto.cost;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing one upgrade range in a batch cost query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpgradeRangeRequestDTO {
+    /**
+     * The ID of the base entity.
+     */
+    @NotNull(message = "baseEntityId is mandatory")
+    private Long baseEntityId;
+
+    /**
+     * The current level, 0 if the entity has not been built yet.
+     */
+    @NotNull(message = "fromLevel is mandatory")
+    @Min(value = 0, message = "fromLevel must not be negative")
+    private Integer fromLevel;
+
+    /**
+     * The target level. Defaults to the maximum level of the base entity.
+     */
+    @Min(value = 0, message = "toLevel must not be negative")
+    private Integer toLevel;
+}
@@ -0,0 +1,29 @@
+package at.htlkaindorf.clashtoolsbackend.dto.dashboard;
+
+import java.util.List;
+
+/**
+ * Record holding everything the account screen shows, so it can be rendered from a single response.
+ *
+ * @param accountId The ID of the account
+ * @param accountName The name of the account
+ * @param userId The ID of the owning user
+ * @param username The name of the owning user
+ * @param entities All account entities with their current and next level
+ * @param activeTimers The running upgrades, ordered by completion time
+ * @param categoryProgress The upgrade progress per category, ordered by category ID
+ * @param catalogVersion The catalog version the level data was taken from
+ * @param generatedAt The time the dashboard was built in epoch milliseconds
+ */
+public record AccountDashboardDTO(
+    Long accountId,
+    String accountName,
+    Long userId,
+    String username,
+    List<DashboardEntityDTO> entities,
+    List<DashboardTimerDTO> activeTimers,
+    List<CategoryProgressDTO> categoryProgress,
+    long catalogVersion,
+    long generatedAt
+) {
+}
@@ -0,0 +1,30 @@
+package at.htlkaindorf.clashtoolsbackend.dto.dashboard;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+
+import java.util.Map;
+
+/**
+ * Record describing the upgrade progress of an account within one category.
+ *
+ * @param category The category
+ * @param categoryId The stable ID of the category
+ * @param entityCount The number of account entities in the category
+ * @param levels The sum of the current levels
+ * @param maxLevels The sum of the maximum levels
+ * @param percent The progress in percent (levels / maxLevels)
+ * @param remainingUpgradeTime The total duration of all missing upgrades in seconds
+ * @param remainingCost The total cost of all missing upgrades per resource type
+ */
+public record CategoryProgressDTO(
+    Category category,
+    Integer categoryId,
+    int entityCount,
+    int levels,
+    int maxLevels,
+    double percent,
+    long remainingUpgradeTime,
+    Map<ResourceType, Long> remainingCost
+) {
+}
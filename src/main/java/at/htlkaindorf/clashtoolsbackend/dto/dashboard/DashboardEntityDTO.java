@@ -0,0 +1,33 @@
+package at.htlkaindorf.clashtoolsbackend.dto.dashboard;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+
+/**
+ * Record describing one account entity on the account dashboard.
+ *
+ * @param id The ID of the account entity
+ * @param baseEntityId The ID of the base entity
+ * @param name The name of the base entity
+ * @param category The category of the base entity
+ * @param categoryId The stable ID of the category
+ * @param level The current level
+ * @param maxLevel The highest level of the base entity in the catalog
+ * @param imgPath The image of the current level, null if the level is not in the catalog
+ * @param nextLevel The next level, null if the entity is at its maximum level
+ * @param upgradeStart The upgrade start time in epoch milliseconds, null if no upgrade is running
+ * @param upgradeEnd The upgrade completion time in epoch milliseconds, null if no upgrade is running
+ */
+public record DashboardEntityDTO(
+    Long id,
+    Long baseEntityId,
+    String name,
+    Category category,
+    Integer categoryId,
+    Integer level,
+    int maxLevel,
+    String imgPath,
+    DashboardLevelDTO nextLevel,
+    Long upgradeStart,
+    Long upgradeEnd
+) {
+}
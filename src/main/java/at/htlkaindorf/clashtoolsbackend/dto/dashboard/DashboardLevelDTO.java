@@ -0,0 +1,23 @@
+package at.htlkaindorf.clashtoolsbackend.dto.dashboard;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+
+/**
+ * Record describing the cost and duration of upgrading to a level.
+ *
+ * @param level The level
+ * @param resourceType The resource paid for the upgrade
+ * @param resourceTypeId The stable ID of the resource type
+ * @param upgradeCost The cost of the upgrade
+ * @param upgradeTime The duration of the upgrade in seconds
+ * @param imgPath The image of the level
+ */
+public record DashboardLevelDTO(
+    int level,
+    ResourceType resourceType,
+    Integer resourceTypeId,
+    int upgradeCost,
+    int upgradeTime,
+    String imgPath
+) {
+}
@@ -0,0 +1,21 @@
+package at.htlkaindorf.clashtoolsbackend.dto.dashboard;
+
+/**
+ * Record describing a running upgrade on the account dashboard.
+ *
+ * @param accountEntityId The ID of the upgrading account entity
+ * @param name The name of the base entity
+ * @param targetLevel The level the upgrade leads to
+ * @param upgradeStart The upgrade start time in epoch milliseconds
+ * @param upgradeEnd The upgrade completion time in epoch milliseconds
+ * @param remainingSeconds The seconds until completion at the time the dashboard was built, 0 if already finished
+ */
+public record DashboardTimerDTO(
+    Long accountEntityId,
+    String name,
+    int targetLevel,
+    long upgradeStart,
+    long upgradeEnd,
+    long remainingSeconds
+) {
+}
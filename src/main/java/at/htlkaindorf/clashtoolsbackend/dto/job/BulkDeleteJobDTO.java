@@ -0,0 +1,27 @@
+package at.htlkaindorf.clashtoolsbackend.dto.job;
+
+import java.time.Instant;
+
+/**
+ * Record describing the state of a background bulk delete job.
+ *
+ * @param id The ID of the job
+ * @param baseEntityId The ID of the base entity being deleted
+ * @param status The current state of the job
+ * @param deletedRows The number of rows deleted so far over all tables
+ * @param chunks The number of chunks committed so far
+ * @param submittedAt The time the job was submitted
+ * @param finishedAt The time the job completed or failed, null while it is queued or running
+ * @param error The error message of a failed job, null otherwise
+ */
+public record BulkDeleteJobDTO(
+    String id,
+    Long baseEntityId,
+    BulkDeleteJobStatus status,
+    long deletedRows,
+    int chunks,
+    Instant submittedAt,
+    Instant finishedAt,
+    String error
+) {
+}
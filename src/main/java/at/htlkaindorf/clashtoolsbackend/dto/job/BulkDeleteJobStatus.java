@@ -0,0 +1,16 @@
+package at.htlkaindorf.clashtoolsbackend.dto.job;
+
+/**
+ * States of a background bulk delete job.
+ *
+ * - QUEUED: the job waits for the job executor
+ * - RUNNING: chunks are being deleted
+ * - COMPLETED: all rows have been deleted
+ * - FAILED: a chunk failed; chunks deleted before stay deleted
+ */
+public enum BulkDeleteJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package at.htlkaindorf.clashtoolsbackend.dto.logging;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record describing the current logging settings.
+ *
+ * @param sqlSampleRate The fraction of regular SQL statements that is logged
+ * @param sqlMaxSampledPerSecond The maximum number of sampled SQL lines per second
+ * @param sqlSlowThresholdMs The execution time from which SQL statements are logged as slow
+ * @param loggerLevels The effective levels of the adjustable loggers
+ * @param slowQueries The slow SQL statements captured most recently, oldest first
+ */
+public record LoggingSettingsDTO(
+    double sqlSampleRate,
+    int sqlMaxSampledPerSecond,
+    long sqlSlowThresholdMs,
+    Map<String, String> loggerLevels,
+    List<SlowQueryDTO> slowQueries
+) {
+}
@@ -0,0 +1,19 @@
+package at.htlkaindorf.clashtoolsbackend.dto.logging;
+
+import java.util.Map;
+
+/**
+ * Record for changing logging settings at runtime. Null values leave the setting unchanged.
+ *
+ * @param sqlSampleRate The fraction of regular SQL statements that is logged, between 0 and 1
+ * @param sqlMaxSampledPerSecond The maximum number of sampled SQL lines per second
+ * @param sqlSlowThresholdMs The execution time from which SQL statements are logged as slow
+ * @param loggerLevels Logger names mapped to their new level; a null level resets the logger
+ */
+public record LoggingSettingsUpdateDTO(
+    Double sqlSampleRate,
+    Integer sqlMaxSampledPerSecond,
+    Long sqlSlowThresholdMs,
+    Map<String, String> loggerLevels
+) {
+}
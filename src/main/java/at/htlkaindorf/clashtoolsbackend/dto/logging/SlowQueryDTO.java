@@ -0,0 +1,22 @@
+package at.htlkaindorf.clashtoolsbackend.dto.logging;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Record describing a captured slow SQL statement.
+ *
+ * @param timestamp When the statement finished
+ * @param durationMs The execution time in milliseconds
+ * @param statement The SQL, truncated for very long statements
+ * @param parameters The bind parameters in index order, values other than numbers and booleans redacted
+ * @param caller The application method that issued the statement, null if unknown
+ */
+public record SlowQueryDTO(
+    Instant timestamp,
+    double durationMs,
+    String statement,
+    List<String> parameters,
+    String caller
+) {
+}
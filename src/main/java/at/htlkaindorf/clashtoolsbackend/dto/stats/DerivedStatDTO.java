@@ -0,0 +1,23 @@
+package at.htlkaindorf.clashtoolsbackend.dto.stats;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+
+/**
+ * Record for the value of a derived stat at one base entity level.
+ *
+ * @param baseEntityId The ID of the base entity
+ * @param baseEntityName The name of the base entity
+ * @param category The category of the base entity
+ * @param baseEntityLevelId The ID of the level
+ * @param level The level value
+ * @param value The value of the derived stat
+ */
+public record DerivedStatDTO(
+    long baseEntityId,
+    String baseEntityName,
+    Category category,
+    long baseEntityLevelId,
+    int level,
+    double value
+) {
+}
@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.dto.stats;
+
+/**
+ * Record for a declared derived stat.
+ *
+ * @param name The name the stat is queried by
+ * @param formula The formula the stat is computed with
+ */
+public record DerivedStatDefinitionDTO(
+    String name,
+    String formula
+) {
+}
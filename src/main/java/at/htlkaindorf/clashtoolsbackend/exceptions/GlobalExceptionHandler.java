@@ -236,6 +236,34 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND, request, null);
     }
 
+    /**
+     * Handles TooManyRequestsException.
+     * This method is called when a client exceeds the request rate of a throttled endpoint.
+     * It returns a 429 TOO_MANY_REQUESTS response with details about the error.
+     *
+     * @param ex The TooManyRequestsException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return ResponseEntity containing an ErrorResponse with details about the error
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request, null);
+    }
+
+    /**
+     * Handles ServiceUnavailableException.
+     * This method is called when a request gave up waiting for a shared computation, e.g. a coalesced catalog query.
+     * It returns a 503 SERVICE_UNAVAILABLE response with details about the error.
+     *
+     * @param ex The ServiceUnavailableException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return ResponseEntity containing an ErrorResponse with details about the error
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request, null);
+    }
+
     /**
      * Builds a standardized error response.
      * This helper method creates a consistent error response structure for all exception handlers.
@@ -0,0 +1,10 @@
+package at.htlkaindorf.clashtoolsbackend.exceptions;
+
+/**
+ * Exception thrown when a request cannot be answered in time because a shared resource is busy.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package at.htlkaindorf.clashtoolsbackend.exceptions;
+
+/**
+ * Exception thrown when a client exceeds the request rate allowed for an endpoint.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package at.htlkaindorf.clashtoolsbackend.init;
 import at.htlkaindorf.clashtoolsbackend.constants.RoleConstants;
 import at.htlkaindorf.clashtoolsbackend.pojos.Role;
 import at.htlkaindorf.clashtoolsbackend.repositories.RoleRepository;
+import at.htlkaindorf.clashtoolsbackend.service.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +15,8 @@ import java.util.List;
 /**
  * Initializer for application roles.
  * This configuration class ensures that all required roles defined in RoleConstants
- * are created in the database when the application starts.
+ * are created in the database when the application starts
+ * and loads them into the reference data registry.
  */
 @Configuration
 @RequiredArgsConstructor
@@ -25,10 +27,16 @@ public class RoleInitializer {
      */
     private final RoleRepository roleRepository;
 
+    /**
+     * Registry serving role lookups without database access.
+     */
+    private final ReferenceDataRegistry referenceDataRegistry;
+
     /**
      * Initializes the application roles.
      * This bean creates an ApplicationRunner that ensures all roles defined in RoleConstants
      * exist in the database when the application starts. If a role doesn't exist, it will be created.
+     * Afterwards all roles are loaded into the reference data registry.
      *
      * @return An ApplicationRunner that initializes the roles
      */
@@ -44,6 +52,8 @@ public class RoleInitializer {
                     roleRepository.save(Role.builder().name(roleName).build());
                 }
             }
+
+            referenceDataRegistry.loadRoles(roleRepository.findAll());
         };
     }
 }
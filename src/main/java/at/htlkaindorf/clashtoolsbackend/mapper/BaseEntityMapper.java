@@ -46,12 +46,12 @@ public interface BaseEntityMapper extends EntityMapper<BaseEntity, BaseEntityDTO
     List<BaseEntityDTO> toDTOList(List<BaseEntity> baseEntities);
 
     /**
-     * Maps the Category enum to its ordinal value (integer)
+     * Maps the Category enum to its stable ID
      * @param category the Category enum
-     * @return the ordinal value as Integer
+     * @return the category ID as Integer
      */
     default Integer mapCategoryToInteger(Category category) {
-        return category != null ? category.ordinal() : null;
+        return category != null ? category.getId() : null;
     }
 
     /**
@@ -34,6 +34,7 @@ public interface CategoryMapper {
             return null;
         }
         CategoryResponseDTO dto = new CategoryResponseDTO();
+        dto.setId(category.getId());
         dto.setCategory(category);
         return dto;
     }
@@ -18,14 +18,14 @@ import java.util.Set;
 public interface SimplifiedBaseEntityLevelMapper {
 
     /**
-     * Maps a ResourceType enum to its ordinal value (integer).
+     * Maps a ResourceType enum to its stable ID.
      *
      * @param resourceType The ResourceType enum to convert
-     * @return The ordinal value of the ResourceType enum, or null if the input is null
+     * @return The ID of the ResourceType enum, or null if the input is null
      */
     @Named("mapResourceTypeToInteger")
     default Integer mapResourceTypeToInteger(ResourceType resourceType) {
-        return resourceType != null ? resourceType.ordinal() : null;
+        return resourceType != null ? resourceType.getId() : null;
     }
 
     /**
@@ -21,7 +21,9 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "base_entity_level")
+@Table(name = "base_entity_level", indexes = {
+    @Index(name = "idx_base_entity_level_base_entity", columnList = "base_entity_id, level")
+})
 public class BaseEntityLevel {
 
     /**
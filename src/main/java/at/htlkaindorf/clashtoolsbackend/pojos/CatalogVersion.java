@@ -0,0 +1,39 @@
+package at.htlkaindorf.clashtoolsbackend.pojos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Single-row table holding the version of the catalog
+ * (base entities, levels, attributes, translations and attribute values).
+ * The version is incremented in the same transaction as every catalog change,
+ * so nodes can tell whether their in-memory or on-disk catalog copy is still current.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersion {
+
+    /**
+     * ID of the only row in the table.
+     */
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
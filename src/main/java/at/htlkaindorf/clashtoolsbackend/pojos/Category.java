@@ -4,18 +4,58 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
  * Enum representing different categories of game entities.
+ * Every category has a stable numeric ID that is exposed to clients as categoryId.
+ * The IDs are independent of the declaration order, so new categories can be added anywhere
+ * as long as they get an unused ID.
  */
 @Schema(description = "Categories of game entities")
 public enum Category {
-    TROOP,
-    HERO,
-    TRAP,
-    PET,
-    EQUIPMENT,
-    SIEGE_MACHINE,
-    SPELL,
-    ARMY,
-    RESOURCES,
-    DEFENSE,
-    WALL
+    TROOP(0),
+    HERO(1),
+    TRAP(2),
+    PET(3),
+    EQUIPMENT(4),
+    SIEGE_MACHINE(5),
+    SPELL(6),
+    ARMY(7),
+    RESOURCES(8),
+    DEFENSE(9),
+    WALL(10);
+
+    private static final Category[] BY_ID = new Category[11];
+
+    static {
+        for (Category category : values()) {
+            BY_ID[category.id] = category;
+        }
+    }
+
+    private final int id;
+
+    Category(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the stable ID of this category.
+     *
+     * @return The category ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Resolves a category from its stable ID.
+     *
+     * @param id The category ID
+     * @return The category with the given ID
+     * @throws IllegalArgumentException If no category with the given ID exists
+     */
+    public static Category fromId(int id) {
+        if (id < 0 || id >= BY_ID.length || BY_ID[id] == null) {
+            throw new IllegalArgumentException("Unknown category id: " + id);
+        }
+        return BY_ID[id];
+    }
 }
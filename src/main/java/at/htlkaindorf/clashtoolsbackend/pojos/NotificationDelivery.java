@@ -0,0 +1,91 @@
+package at.htlkaindorf.clashtoolsbackend.pojos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Delivery of a notification on one channel.
+ * The dedup key identifies the notified occurrence (for example one specific upgrade of an account entity),
+ * so the same notification is recorded only once per channel, even when timers are rehydrated after a restart.
+ * The row is written as PENDING before the first attempt and marked SENT only after the channel has accepted
+ * the notification; pending rows whose next attempt is due are retried from the table, also after a restart.
+ * It carries the notification itself, so a retry needs no timer.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "notification_delivery",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_delivery_key_channel",
+                columnNames = {"dedup_key", "channel"}),
+        indexes = @Index(name = "idx_notification_delivery_due", columnList = "status, next_attempt_at"))
+public class NotificationDelivery {
+
+    /**
+     * Assigned from notification_delivery_seq by the recording insert
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_delivery_seq")
+    @SequenceGenerator(name = "notification_delivery_seq", sequenceName = "notification_delivery_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "dedup_key", nullable = false)
+    private String dedupKey;
+
+    @Column(nullable = false, length = 64)
+    private String channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private NotificationDeliveryStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time of the next attempt while pending; moved ahead while an attempt is running,
+     * so a crashed attempt is retried once this time has passed
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "account_entity_id", nullable = false)
+    private Long accountEntityId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "base_entity_id", nullable = false)
+    private Long baseEntityId;
+
+    @Column(name = "target_level", nullable = false)
+    private int targetLevel;
+
+    @Column(name = "upgrade_start", nullable = false)
+    private long upgradeStart;
+
+    @Column(name = "completed_at", nullable = false)
+    private long completedAt;
+}
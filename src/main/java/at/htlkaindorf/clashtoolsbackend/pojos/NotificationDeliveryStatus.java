@@ -0,0 +1,14 @@
+package at.htlkaindorf.clashtoolsbackend.pojos;
+
+/**
+ * States of a notification delivery on one channel.
+ *
+ * - PENDING: recorded, not yet confirmed by the channel; retried when its next attempt is due
+ * - SENT: the channel accepted the notification
+ * - FAILED: given up on after the maximum number of attempts, or the recipient no longer exists
+ */
+public enum NotificationDeliveryStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package at.htlkaindorf.clashtoolsbackend.pojos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Domain event stored in the transactional outbox.
+ * The row is written in the same transaction as the change it describes and relayed
+ * to the in-process subscribers afterwards. Events of one aggregate are relayed in ID order.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_pending", columnList = "processed_at, id"),
+        @Index(name = "idx_outbox_event_aggregate", columnList = "aggregate_type, aggregate_id, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 64)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Earliest time the event is relayed, moved into the future after a failed delivery
+     */
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    /**
+     * Time the event has been delivered to all subscribers or given up on, null while pending
+     */
+    @Column(name = "processed_at")
+    private Instant processedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Gets the key identifying the aggregate, used for ordering and locking.
+     *
+     * @return The aggregate type and ID joined by a colon
+     */
+    public String aggregateKey() {
+        return aggregateType + ":" + aggregateId;
+    }
+}
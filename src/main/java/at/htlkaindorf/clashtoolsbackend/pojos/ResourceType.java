@@ -13,35 +13,75 @@ package at.htlkaindorf.clashtoolsbackend.pojos;
  * - SHINY_ORE: Special resource for certain upgrades
  * - GLOWY_ORE: Special resource for certain upgrades
  * - STARRY_ORE: Special resource for certain upgrades
+ *
+ * Every resource type has a stable numeric ID, which is stored in the database
+ * and exposed to clients instead of the enum ordinal.
  */
 public enum ResourceType {
     /**
      * Standard resource used for most buildings and upgrades
      */
-    GOLD,
+    GOLD(0),
 
     /**
      * Used for troops, spells, and certain buildings
      */
-    ELIXIR,
+    ELIXIR(1),
 
     /**
      * Premium resource used for hero upgrades and dark troops
      */
-    DARK_ELIXIR,
+    DARK_ELIXIR(2),
 
     /**
      * Special resource for certain upgrades
      */
-    SHINY_ORE,
+    SHINY_ORE(3),
 
     /**
      * Special resource for certain upgrades
      */
-    GLOWY_ORE,
+    GLOWY_ORE(4),
 
     /**
      * Special resource for certain upgrades
      */
-    STARRY_ORE
+    STARRY_ORE(5);
+
+    private static final ResourceType[] BY_ID = new ResourceType[6];
+
+    static {
+        for (ResourceType resourceType : values()) {
+            BY_ID[resourceType.id] = resourceType;
+        }
+    }
+
+    private final int id;
+
+    ResourceType(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the stable ID of this resource type.
+     *
+     * @return The resource type ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Resolves a resource type from its stable ID.
+     *
+     * @param id The resource type ID
+     * @return The resource type with the given ID
+     * @throws IllegalArgumentException If no resource type with the given ID exists
+     */
+    public static ResourceType fromId(int id) {
+        if (id < 0 || id >= BY_ID.length || BY_ID[id] == null) {
+            throw new IllegalArgumentException("Unknown resource type id: " + id);
+        }
+        return BY_ID[id];
+    }
 }
@@ -0,0 +1,45 @@
+package at.htlkaindorf.clashtoolsbackend.pojos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a revoked access token.
+ * The row is only needed until the token would have expired anyway and is deleted afterwards.
+ */
+@Entity
+@Table(name = "revoked_token", indexes = @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    /**
+     * The JWT ID (jti claim) of the revoked token.
+     */
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    /**
+     * The expiration time of the revoked token.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * The timestamp when the token was revoked.
+     */
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
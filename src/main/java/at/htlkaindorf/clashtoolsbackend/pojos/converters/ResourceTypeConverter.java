@@ -0,0 +1,23 @@
+package at.htlkaindorf.clashtoolsbackend.pojos.converters;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * JPA converter storing {@link ResourceType} values by their stable ID instead of their ordinal.
+ * The IDs match the ordinals the column held before, so existing rows stay valid.
+ */
+@Converter(autoApply = true)
+public class ResourceTypeConverter implements AttributeConverter<ResourceType, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(ResourceType resourceType) {
+        return resourceType != null ? resourceType.getId() : null;
+    }
+
+    @Override
+    public ResourceType convertToEntityAttribute(Integer id) {
+        return id != null ? ResourceType.fromId(id) : null;
+    }
+}
@@ -1,11 +1,15 @@
 package at.htlkaindorf.clashtoolsbackend.repositories;
 
 import at.htlkaindorf.clashtoolsbackend.pojos.AccountEntity;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.PendingUpgradeRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing AccountEntity objects.
@@ -22,4 +26,44 @@ public interface AccountEntityRepository extends JpaRepository<AccountEntity, Lo
      */
     List<AccountEntity> findAllByAccountId(Long accountId);
 
+    /**
+     * Streams all account entities with a running upgrade, together with the duration of that upgrade
+     * (the upgrade time of the next level). Entities already at their maximum level are not returned.
+     * Must be called within a transaction; the stream has to be closed by the caller.
+     *
+     * @return A stream of pending upgrades
+     */
+    @Query("SELECT new at.htlkaindorf.clashtoolsbackend.repositories.projections.PendingUpgradeRow("
+            + "ae.id, ae.account.id, ae.baseEntity.id, ae.currentLevel, ae.upgradeStart, bel.upgradeTime) "
+            + "FROM AccountEntity ae JOIN BaseEntityLevel bel "
+            + "ON bel.baseEntity.id = ae.baseEntity.id AND bel.level = ae.currentLevel + 1 "
+            + "WHERE ae.upgradeStart IS NOT NULL")
+    Stream<PendingUpgradeRow> streamPendingUpgrades();
+
+    /**
+     * Deletes all account entities of an account in a single statement.
+     *
+     * @param accountId The ID of the account
+     * @return The number of deleted account entities
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AccountEntity ae WHERE ae.account.id = :accountId")
+    int bulkDeleteByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Checks whether any account entity references a base entity.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return true if at least one account entity references the base entity
+     */
+    boolean existsByBaseEntityId(Long baseEntityId);
+
+    /**
+     * Finds the IDs of all account entities of an account.
+     *
+     * @param accountId The ID of the account
+     * @return The IDs of the account entities
+     */
+    @Query("SELECT ae.id FROM AccountEntity ae WHERE ae.account.id = :accountId")
+    List<Long> findIdsByAccountId(@Param("accountId") Long accountId);
 }
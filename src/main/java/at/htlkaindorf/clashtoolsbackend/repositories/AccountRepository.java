@@ -1,10 +1,15 @@
 package at.htlkaindorf.clashtoolsbackend.repositories;
 
 import at.htlkaindorf.clashtoolsbackend.pojos.Account;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountDashboardRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountRecipientRow;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,4 +30,27 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * @return list of accounts associated with the user
      */
     List<Account> findByUserId(Long userId);
+
+    /**
+     * Find the contact details of the users owning the given accounts
+     *
+     * @param accountIds the IDs of the accounts
+     * @return one row per existing account
+     */
+    @Query("SELECT new at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountRecipientRow("
+            + "a.id, a.accountName, u.username, u.mail) FROM Account a JOIN a.user u WHERE a.id IN :accountIds")
+    List<AccountRecipientRow> findRecipients(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Find an account together with its user and all its account entities in one query
+     *
+     * @param accountId the ID of the account
+     * @return one row per account entity, a single row with empty entity columns if the account has none,
+     *         or no rows if the account does not exist
+     */
+    @Query("SELECT new at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountDashboardRow("
+            + "a.id, a.accountName, u.id, u.username, ae.id, ae.baseEntity.id, ae.currentLevel, ae.upgradeStart) "
+            + "FROM Account a JOIN a.user u LEFT JOIN AccountEntity ae ON ae.account = a "
+            + "WHERE a.id = :accountId ORDER BY ae.id")
+    List<AccountDashboardRow> findDashboardRows(@Param("accountId") Long accountId);
 }
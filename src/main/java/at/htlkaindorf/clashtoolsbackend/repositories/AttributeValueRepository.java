@@ -1,12 +1,14 @@
 package at.htlkaindorf.clashtoolsbackend.repositories;
 
-import at.htlkaindorf.clashtoolsbackend.pojos.Attribute;
 import at.htlkaindorf.clashtoolsbackend.pojos.AttributeValue;
-import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -35,16 +37,36 @@ public interface AttributeValueRepository extends JpaRepository<AttributeValue<?
     List<AttributeValue<?>> findByBaseEntityLevelId(Long baseEntityLevelId);
 
     /**
-     * Delete all attribute values associated with a specific attribute
+     * Delete all attribute values associated with a specific attribute in a single statement.
+     * The persistence context is flushed before and cleared after the delete.
      *
-     * @param attribute the attribute whose values should be deleted
+     * @param attributeId the ID of the attribute whose values should be deleted
+     * @return the number of deleted attribute values
      */
-    void deleteByAttribute(Attribute attribute);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AttributeValue v WHERE v.attribute.id = :attributeId")
+    int bulkDeleteByAttributeId(@Param("attributeId") Long attributeId);
 
     /**
-     * Delete all attribute values associated with a specific base entity level
+     * Delete all attribute values associated with the given base entity levels in a single statement.
+     * The persistence context is flushed before and cleared after the delete.
      *
-     * @param baseEntityLevel the base entity level whose values should be deleted
+     * @param baseEntityLevelIds the IDs of the base entity levels whose values should be deleted
+     * @return the number of deleted attribute values
      */
-    void deleteByBaseEntityLevel(BaseEntityLevel baseEntityLevel);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AttributeValue v WHERE v.baseEntityLevel.id IN :baseEntityLevelIds")
+    int bulkDeleteByBaseEntityLevelIds(@Param("baseEntityLevelIds") Collection<Long> baseEntityLevelIds);
+
+    /**
+     * Delete all attribute values of all levels of a base entity in a single statement.
+     * The persistence context is flushed before and cleared after the delete.
+     *
+     * @param baseEntityId the ID of the base entity whose attribute values should be deleted
+     * @return the number of deleted attribute values
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM AttributeValue v WHERE v.baseEntityLevel.id IN "
+            + "(SELECT l.id FROM BaseEntityLevel l WHERE l.baseEntity.id = :baseEntityId)")
+    int bulkDeleteByBaseEntityId(@Param("baseEntityId") Long baseEntityId);
 }
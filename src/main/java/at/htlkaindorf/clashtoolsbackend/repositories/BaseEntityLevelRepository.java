@@ -3,9 +3,14 @@ package at.htlkaindorf.clashtoolsbackend.repositories;
 import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
 import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,10 +39,65 @@ public interface BaseEntityLevelRepository extends JpaRepository<BaseEntityLevel
     Optional<BaseEntityLevel> findByBaseEntityAndLevel(BaseEntity baseEntity, Integer level);
 
     /**
-     * Delete all base entity levels associated with a specific base entity
+     * Find a base entity level by its base entity ID and level value
      *
-     * @param baseEntity the base entity whose levels should be deleted
+     * @param baseEntityId the ID of the base entity to search for
+     * @param level the level value to search for
+     * @return the base entity level if found
+     */
+    Optional<BaseEntityLevel> findByBaseEntityIdAndLevel(Long baseEntityId, Integer level);
+
+    /**
+     * Find the IDs of the levels of a base entity, ordered by ID
+     *
+     * @param baseEntityId the ID of the base entity
+     * @param pageable the page of IDs to read, used to process large deletes in chunks
+     * @return the IDs of the levels in the requested page
+     */
+    @Query("SELECT l.id FROM BaseEntityLevel l WHERE l.baseEntity.id = :baseEntityId ORDER BY l.id")
+    List<Long> findIdsByBaseEntityId(@Param("baseEntityId") Long baseEntityId, Pageable pageable);
+
+    /**
+     * Delete the base_entity_level_attributes rows of all levels of a base entity in a single statement
+     *
+     * @param baseEntityId the ID of the base entity
+     * @return the number of deleted join table rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM base_entity_level_attributes WHERE base_entity_level_id IN "
+            + "(SELECT id FROM base_entity_level WHERE base_entity_id = :baseEntityId)", nativeQuery = true)
+    int bulkDeleteAttributeLinksByBaseEntityId(@Param("baseEntityId") Long baseEntityId);
+
+    /**
+     * Delete the base_entity_level_attributes rows of the given levels in a single statement
+     *
+     * @param ids the IDs of the base entity levels
+     * @return the number of deleted join table rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM base_entity_level_attributes WHERE base_entity_level_id IN (:ids)", nativeQuery = true)
+    int bulkDeleteAttributeLinksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete all levels of a base entity in a single statement.
+     * Attribute values and join table rows of the levels have to be deleted first.
+     *
+     * @param baseEntityId the ID of the base entity whose levels should be deleted
+     * @return the number of deleted levels
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BaseEntityLevel l WHERE l.baseEntity.id = :baseEntityId")
+    int bulkDeleteByBaseEntityId(@Param("baseEntityId") Long baseEntityId);
+
+    /**
+     * Delete the given levels in a single statement.
+     * Attribute values and join table rows of the levels have to be deleted first.
+     *
+     * @param ids the IDs of the base entity levels to delete
+     * @return the number of deleted levels
      */
-    void deleteByBaseEntity(BaseEntity baseEntity);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BaseEntityLevel l WHERE l.id IN :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<Long> ids);
 
 }
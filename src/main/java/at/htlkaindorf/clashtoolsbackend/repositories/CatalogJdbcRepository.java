@@ -0,0 +1,180 @@
+package at.htlkaindorf.clashtoolsbackend.repositories;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Read-only JDBC access to the complete catalog.
+ * Every method reads one table through a forward-only cursor with a fixed fetch size
+ * and hands each row to the given consumer as soon as it has been read,
+ * so callers never hold more than one fetch window of rows in memory.
+ * PostgreSQL only uses a server-side cursor inside a transaction,
+ * so callers must invoke these methods within a (read-only) transaction.
+ */
+@Repository
+public class CatalogJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dataSource The data source to read from
+     * @param fetchSize The number of rows fetched per cursor round trip
+     */
+    public CatalogJdbcRepository(DataSource dataSource,
+                                 @Value("${catalog.jdbc.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Streams all base entities ordered by ID.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamBaseEntities(Consumer<BaseEntityRow> consumer) {
+        jdbcTemplate.query("SELECT id, name, category FROM base_entity ORDER BY id",
+                (RowCallbackHandler) rs -> {
+                    String category = rs.getString("category");
+                    consumer.accept(new BaseEntityRow(
+                            rs.getLong("id"),
+                            rs.getString("name"),
+                            category != null ? Category.valueOf(category) : null));
+                });
+    }
+
+    /**
+     * Streams all base entity levels ordered by base entity and level.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamBaseEntityLevels(Consumer<BaseEntityLevelRow> consumer) {
+        jdbcTemplate.query("SELECT id, base_entity_id, level, resource_type, upgrade_cost, upgrade_time, img_path "
+                        + "FROM base_entity_level ORDER BY base_entity_id, level",
+                (RowCallbackHandler) rs -> consumer.accept(new BaseEntityLevelRow(
+                        rs.getLong("id"),
+                        rs.getLong("base_entity_id"),
+                        rs.getInt("level"),
+                        ResourceType.fromId(rs.getInt("resource_type")),
+                        rs.getInt("upgrade_cost"),
+                        rs.getInt("upgrade_time"),
+                        rs.getString("img_path"))));
+    }
+
+    /**
+     * Streams all attribute names ordered by ID.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamAttributeNames(Consumer<AttributeNameRow> consumer) {
+        jdbcTemplate.query("SELECT id, name FROM attribute_name ORDER BY id",
+                (RowCallbackHandler) rs -> consumer.accept(new AttributeNameRow(rs.getLong("id"), rs.getString("name"))));
+    }
+
+    /**
+     * Streams all attributes ordered by ID.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamAttributes(Consumer<AttributeRow> consumer) {
+        jdbcTemplate.query("SELECT id, attribute_name_id FROM attribute ORDER BY id",
+                (RowCallbackHandler) rs -> consumer.accept(new AttributeRow(rs.getLong("id"), rs.getLong("attribute_name_id"))));
+    }
+
+    /**
+     * Streams all attribute translations ordered by attribute.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamAttributeTranslations(Consumer<AttributeTranslationRow> consumer) {
+        jdbcTemplate.query("SELECT id, attribute_id, language_code, name FROM attribute_translation "
+                        + "ORDER BY attribute_id, id",
+                (RowCallbackHandler) rs -> consumer.accept(new AttributeTranslationRow(
+                        rs.getLong("id"),
+                        rs.getLong("attribute_id"),
+                        rs.getString("language_code"),
+                        rs.getString("name"))));
+    }
+
+    /**
+     * Streams all rows of the base_entity_level_attributes join table.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamLevelAttributes(Consumer<LevelAttributeRow> consumer) {
+        jdbcTemplate.query("SELECT base_entity_level_id, attribute_id FROM base_entity_level_attributes "
+                        + "ORDER BY base_entity_level_id, attribute_id",
+                (RowCallbackHandler) rs -> consumer.accept(new LevelAttributeRow(
+                        rs.getLong("base_entity_level_id"),
+                        rs.getLong("attribute_id"))));
+    }
+
+    /**
+     * Streams all attribute values ordered by base entity level.
+     *
+     * @param consumer The consumer receiving each row
+     */
+    public void streamAttributeValues(Consumer<AttributeValueRow> consumer) {
+        jdbcTemplate.query("SELECT id, attribute_id, base_entity_level_id, value_type, value, min, max, equipment_id "
+                        + "FROM attribute_value ORDER BY base_entity_level_id, id",
+                (RowCallbackHandler) rs -> {
+                    String valueType = rs.getString("value_type");
+                    consumer.accept(new AttributeValueRow(
+                            rs.getLong("id"),
+                            rs.getLong("attribute_id"),
+                            rs.getLong("base_entity_level_id"),
+                            valueType,
+                            readTypedValue(rs, valueType)));
+                });
+    }
+
+    /**
+     * Converts the value columns of an attribute value row to the Java type of its value type.
+     *
+     * @param rs The result set positioned on the row
+     * @param valueType The discriminator value of the row
+     * @return The typed value, or null if the row has no value
+     * @throws SQLException If a column cannot be read
+     */
+    private Object readTypedValue(ResultSet rs, String valueType) throws SQLException {
+        if (valueType == null) {
+            return null;
+        }
+        return switch (valueType) {
+            case "INTEGER" -> {
+                String raw = rs.getString("value");
+                yield raw != null ? Integer.valueOf(raw) : null;
+            }
+            case "RANGE" -> {
+                double min = rs.getDouble("min");
+                Double minValue = rs.wasNull() ? null : min;
+                double max = rs.getDouble("max");
+                Double maxValue = rs.wasNull() ? null : max;
+                yield new Range(minValue, maxValue);
+            }
+            case "EQUIPMENT" -> {
+                long equipmentId = rs.getLong("equipment_id");
+                yield rs.wasNull() ? null : equipmentId;
+            }
+            default -> rs.getString("value");
+        };
+    }
+}
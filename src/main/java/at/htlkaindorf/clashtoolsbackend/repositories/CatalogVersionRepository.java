@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.repositories;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.CatalogVersion;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Tag(name = "CatalogVersionRepository", description = "Repository for the catalog version counter")
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    /**
+     * Creates the version row with version 0 unless it already exists.
+     *
+     * @param id the ID of the version row
+     * @return the number of inserted rows, 0 if the row already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO catalog_version (id, version, updated_at) VALUES (:id, 0, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id);
+}
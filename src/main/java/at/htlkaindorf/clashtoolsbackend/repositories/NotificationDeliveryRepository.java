@@ -0,0 +1,60 @@
+package at.htlkaindorf.clashtoolsbackend.repositories;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.NotificationDelivery;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository for notification deliveries.
+ * The insert and claim queries are PostgreSQL specific and must run inside a transaction.
+ */
+@Repository
+@Tag(name = "NotificationDeliveryRepository", description = "Repository for notification deliveries")
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    /**
+     * Finds which of the given dedup keys already have a recorded delivery, in any state.
+     *
+     * @param dedupKeys the keys to check
+     * @return the subset of keys with a recorded delivery
+     */
+    @Query("SELECT DISTINCT d.dedupKey FROM NotificationDelivery d WHERE d.dedupKey IN :dedupKeys")
+    Set<String> findRecordedKeys(@Param("dedupKeys") Collection<String> dedupKeys);
+
+    /**
+     * Records a delivery unless one with the same dedup key and channel exists, committed or not.
+     * Concurrent inserts of the same key wait for each other, so exactly one of them inserts the row.
+     * The ID is taken from the entity's sequence.
+     *
+     * @param delivery the delivery to record
+     * @return the ID of the inserted row, empty if the delivery had already been recorded
+     */
+    @Query(value = "INSERT INTO notification_delivery (id, dedup_key, channel, status, attempts, next_attempt_at, "
+            + "account_entity_id, account_id, base_entity_id, target_level, upgrade_start, completed_at) "
+            + "VALUES (nextval('notification_delivery_seq'), :#{#delivery.dedupKey}, :#{#delivery.channel}, "
+            + ":#{#delivery.status.name()}, :#{#delivery.attempts}, :#{#delivery.nextAttemptAt}, "
+            + ":#{#delivery.accountEntityId}, :#{#delivery.accountId}, :#{#delivery.baseEntityId}, "
+            + ":#{#delivery.targetLevel}, :#{#delivery.upgradeStart}, :#{#delivery.completedAt}) "
+            + "ON CONFLICT (dedup_key, channel) DO NOTHING RETURNING id", nativeQuery = true)
+    List<Long> insertIfAbsent(@Param("delivery") NotificationDelivery delivery);
+
+    /**
+     * Claims the oldest pending deliveries whose next attempt is due.
+     * Rows locked by another instance are skipped, so several instances can retry concurrently.
+     *
+     * @param now the current time, deliveries with a later next_attempt_at are not claimed
+     * @param limit the maximum number of deliveries
+     * @return the claimed deliveries ordered by ID, locked until the transaction ends
+     */
+    @Query(value = "SELECT * FROM notification_delivery WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationDelivery> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,73 @@
+package at.htlkaindorf.clashtoolsbackend.repositories;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.OutboxEvent;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the transactional outbox.
+ * The claim and lock queries are PostgreSQL specific and must run inside a transaction.
+ */
+@Repository
+@Tag(name = "OutboxEventRepository", description = "Repository for managing OutboxEvent objects")
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claims the oldest pending events that are due.
+     * Events behind an older pending event of their aggregate that is not due, because it waits for a retry
+     * or is leased by a relay, cannot be delivered yet and are not claimed, so they never fill a batch.
+     * Rows locked by another relay are skipped, so several instances can relay concurrently.
+     *
+     * @param now the current time, events with a later available_at are not claimed
+     * @param limit the maximum number of events
+     * @return the claimed events ordered by ID, locked until the transaction ends
+     */
+    @Query(value = "SELECT * FROM outbox_event e WHERE e.processed_at IS NULL AND e.available_at <= :now "
+            + "AND NOT EXISTS (SELECT 1 FROM outbox_event older WHERE older.aggregate_type = e.aggregate_type "
+            + "AND older.aggregate_id = e.aggregate_id AND older.id < e.id AND older.processed_at IS NULL "
+            + "AND older.available_at > :now) "
+            + "ORDER BY e.id LIMIT :limit FOR UPDATE OF e SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Tries to take a transaction scoped advisory lock on an aggregate.
+     * Only the relay holding the lock may deliver events of the aggregate, which keeps them in order.
+     *
+     * @param aggregateKey the key of the aggregate
+     * @return true if the lock has been taken or is already held by this transaction
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:aggregateKey))", nativeQuery = true)
+    boolean tryLockAggregate(@Param("aggregateKey") String aggregateKey);
+
+    /**
+     * Checks whether an aggregate has pending events older than the given event,
+     * e.g. events claimed by another relay or waiting for a retry.
+     *
+     * @param aggregateType the type of the aggregate
+     * @param aggregateId the ID of the aggregate
+     * @param id the ID of the event
+     * @return true if an older event of the aggregate is still pending
+     */
+    @Query("SELECT COUNT(e) > 0 FROM OutboxEvent e WHERE e.aggregateType = :aggregateType "
+            + "AND e.aggregateId = :aggregateId AND e.processedAt IS NULL AND e.id < :id")
+    boolean existsPendingBefore(@Param("aggregateType") String aggregateType,
+                                @Param("aggregateId") String aggregateId,
+                                @Param("id") Long id);
+
+    /**
+     * Deletes processed events.
+     *
+     * @param processedBefore events processed before this time are deleted
+     * @return the number of deleted events
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("processedBefore") Instant processedBefore);
+}
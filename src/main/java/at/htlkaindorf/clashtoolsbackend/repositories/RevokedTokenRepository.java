@@ -0,0 +1,39 @@
+package at.htlkaindorf.clashtoolsbackend.repositories;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.RevokedToken;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for revoked access tokens.
+ * It is only read when a node (re)builds its in-memory revocation list, never per request.
+ */
+@Repository
+@Tag(name = "RevokedTokenRepository", description = "Repository for managing RevokedToken objects")
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Finds all revocations of tokens that have not expired yet.
+     *
+     * @param now the current time
+     * @return the revocations still in effect
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Deletes the revocations of expired tokens.
+     *
+     * @param now the current time
+     * @return the number of deleted revocations
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
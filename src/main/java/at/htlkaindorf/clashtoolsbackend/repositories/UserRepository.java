@@ -1,11 +1,14 @@
 package at.htlkaindorf.clashtoolsbackend.repositories;
 
 import at.htlkaindorf.clashtoolsbackend.pojos.User;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.UserIdentityRow;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Tag(name = "UserRepository", description = "Repository for managing User objects")
@@ -41,4 +44,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return the user if found, or empty optional otherwise
      */
     Optional<User> findByMail(String mail);
+
+    /**
+     * Streams the username and email of all users, e.g. to build the availability index.
+     * Must be called within a transaction; the stream has to be closed by the caller.
+     *
+     * @return a stream of user identities
+     */
+    @Query("SELECT new at.htlkaindorf.clashtoolsbackend.repositories.projections.UserIdentityRow(u.username, u.mail) "
+            + "FROM User u")
+    Stream<UserIdentityRow> streamIdentities();
 }
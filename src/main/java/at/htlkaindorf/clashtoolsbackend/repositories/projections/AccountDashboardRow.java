@@ -0,0 +1,26 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * One row of the account dashboard query: the account and its user,
+ * joined with one of its account entities (all entity columns are null for an account without entities).
+ *
+ * @param accountId The ID of the account
+ * @param accountName The name of the account
+ * @param userId The ID of the owning user
+ * @param username The name of the owning user
+ * @param accountEntityId The ID of the account entity
+ * @param baseEntityId The ID of the base entity
+ * @param currentLevel The current level of the account entity
+ * @param upgradeStart The upgrade start time in epoch milliseconds, null if no upgrade is running
+ */
+public record AccountDashboardRow(
+    Long accountId,
+    String accountName,
+    Long userId,
+    String username,
+    Long accountEntityId,
+    Long baseEntityId,
+    Integer currentLevel,
+    Long upgradeStart
+) {
+}
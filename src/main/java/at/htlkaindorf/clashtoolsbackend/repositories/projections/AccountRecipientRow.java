@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Contact details of the user owning an account, as needed to address notifications.
+ *
+ * @param accountId The ID of the account
+ * @param accountName The name of the account
+ * @param username The name of the owning user
+ * @param mail The mail address of the owning user
+ */
+public record AccountRecipientRow(
+    Long accountId,
+    String accountName,
+    String username,
+    String mail
+) {
+}
@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Flat row of the attribute_name table as read by the catalog JDBC reader.
+ *
+ * @param id The ID of the attribute name
+ * @param name The name
+ */
+public record AttributeNameRow(
+    long id,
+    String name
+) {
+}
@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Flat row of the attribute table as read by the catalog JDBC reader.
+ *
+ * @param id The ID of the attribute
+ * @param attributeNameId The ID of the attribute name
+ */
+public record AttributeRow(
+    long id,
+    long attributeNameId
+) {
+}
@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Flat row of the attribute_translation table as read by the catalog JDBC reader.
+ *
+ * @param id The ID of the translation
+ * @param attributeId The ID of the translated attribute
+ * @param languageCode The language code of the translation
+ * @param name The translated name
+ */
+public record AttributeTranslationRow(
+    long id,
+    long attributeId,
+    String languageCode,
+    String name
+) {
+}
@@ -0,0 +1,22 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Flat row of the attribute_value table as read by the catalog JDBC reader.
+ * The value is already converted to the Java type of its value type:
+ * Integer for INTEGER, Range for RANGE, Long (equipment ID) for EQUIPMENT
+ * and the stored string for all other types.
+ *
+ * @param id The ID of the attribute value
+ * @param attributeId The ID of the attribute
+ * @param baseEntityLevelId The ID of the base entity level
+ * @param valueType The discriminator value of the attribute value
+ * @param value The typed value
+ */
+public record AttributeValueRow(
+    long id,
+    long attributeId,
+    long baseEntityLevelId,
+    String valueType,
+    Object value
+) {
+}
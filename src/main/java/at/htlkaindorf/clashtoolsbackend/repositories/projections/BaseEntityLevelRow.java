@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+
+/**
+ * Flat row of the base_entity_level table as read by the catalog JDBC reader.
+ *
+ * @param id The ID of the base entity level
+ * @param baseEntityId The ID of the base entity this level belongs to
+ * @param level The level value
+ * @param resourceType The resource type required for the upgrade
+ * @param upgradeCost The upgrade cost in the given resource type
+ * @param upgradeTime The upgrade time in seconds
+ * @param imgPath The image path of the level
+ */
+public record BaseEntityLevelRow(
+    long id,
+    long baseEntityId,
+    int level,
+    ResourceType resourceType,
+    int upgradeCost,
+    int upgradeTime,
+    String imgPath
+) {
+}
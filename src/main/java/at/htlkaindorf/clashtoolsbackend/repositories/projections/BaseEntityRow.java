@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+
+/**
+ * Flat row of the base_entity table as read by the catalog JDBC reader.
+ *
+ * @param id The ID of the base entity
+ * @param name The name of the base entity
+ * @param category The category of the base entity
+ */
+public record BaseEntityRow(
+    long id,
+    String name,
+    Category category
+) {
+}
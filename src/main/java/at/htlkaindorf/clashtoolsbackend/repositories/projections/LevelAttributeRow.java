@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Flat row of the base_entity_level_attributes join table as read by the catalog JDBC reader.
+ *
+ * @param baseEntityLevelId The ID of the base entity level
+ * @param attributeId The ID of the attribute
+ */
+public record LevelAttributeRow(
+    long baseEntityLevelId,
+    long attributeId
+) {
+}
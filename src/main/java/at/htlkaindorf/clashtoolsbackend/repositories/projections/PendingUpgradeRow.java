@@ -0,0 +1,21 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * Account entity with a running upgrade, joined with the duration of that upgrade.
+ *
+ * @param accountEntityId The ID of the account entity
+ * @param accountId The ID of the owning account
+ * @param baseEntityId The ID of the base entity
+ * @param currentLevel The level the upgrade starts from
+ * @param upgradeStart The upgrade start time in epoch milliseconds
+ * @param upgradeTime The duration of the upgrade to the next level in seconds
+ */
+public record PendingUpgradeRow(
+    Long accountEntityId,
+    Long accountId,
+    Long baseEntityId,
+    Integer currentLevel,
+    Long upgradeStart,
+    Integer upgradeTime
+) {
+}
@@ -0,0 +1,13 @@
+package at.htlkaindorf.clashtoolsbackend.repositories.projections;
+
+/**
+ * The unique identifiers of a user as read by the availability index.
+ *
+ * @param username The username
+ * @param mail The email address
+ */
+public record UserIdentityRow(
+    String username,
+    String mail
+) {
+}
@@ -18,6 +18,7 @@ import java.util.List;
  */
 @RequiredArgsConstructor
 public abstract class AbstractCrudService<E, D, R, ID> implements CrudService<E, D, R, ID> {
+    private static final int MAX_IDS = 100;
 
     protected final JpaRepository<E, ID> repository;
     protected final EntityMapper<E, D, R> mapper;
@@ -49,6 +50,22 @@ public abstract class AbstractCrudService<E, D, R, ID> implements CrudService<E,
                 .orElseThrow(() -> new IllegalArgumentException("Entity not found with id: " + id)));
     }
 
+    /**
+     * Retrieves several entities by their unique identifiers.
+     * All entities are loaded with a single IN query instead of one query per ID.
+     *
+     * @param ids The unique identifiers of the entities to retrieve
+     * @return DTOs of the entities that exist, in no particular order; unknown IDs are skipped
+     * @throws IllegalArgumentException If more than 100 IDs are requested
+     */
+    @Override
+    public List<D> getByIds(List<ID> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " IDs can be requested at once");
+        }
+        return mapper.toDTOList(repository.findAllById(ids));
+    }
+
     /**
      * Creates a new entity in the database.
      * This method converts the provided request DTO to an entity object,
@@ -0,0 +1,184 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.AccountDashboardDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.CategoryProgressDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.DashboardEntityDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.DashboardLevelDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.DashboardTimerDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountDashboardRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import at.htlkaindorf.clashtoolsbackend.service.cost.UpgradeCostService;
+import at.htlkaindorf.clashtoolsbackend.service.cost.UpgradeCostTable;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service building the account dashboard.
+ * The account, its user and all its account entities are read with a single query;
+ * names, levels, costs and durations are joined in memory from the catalog snapshot and the upgrade cost tables,
+ * so the dashboard costs one database round trip regardless of the number of entities.
+ * Levels and cost tables are both taken from the one snapshot loaded per request, so a dashboard never mixes
+ * two catalog versions.
+ */
+@Service
+@RequiredArgsConstructor
+@Tag(name = "AccountDashboardService", description = "Service building the account dashboard")
+public class AccountDashboardService {
+
+    private final AccountRepository accountRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final UpgradeCostService upgradeCostService;
+
+    /**
+     * Builds the dashboard of an account.
+     *
+     * @param accountId The ID of the account
+     * @return The dashboard
+     * @throws IllegalArgumentException If the account does not exist
+     */
+    public AccountDashboardDTO getDashboard(Long accountId) {
+        List<AccountDashboardRow> rows = accountRepository.findDashboardRows(accountId);
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Account not found with id: " + accountId);
+        }
+
+        CatalogSnapshot snapshot = catalogSnapshotService.loaded();
+        Map<Long, UpgradeCostTable> costTables = upgradeCostService.getTables(snapshot);
+
+        long now = System.currentTimeMillis();
+        List<DashboardEntityDTO> entities = new ArrayList<>(rows.size());
+        List<DashboardTimerDTO> timers = new ArrayList<>();
+        Map<Category, ProgressAccumulator> progress = new EnumMap<>(Category.class);
+
+        for (AccountDashboardRow row : rows) {
+            if (row.accountEntityId() == null) {
+                continue;
+            }
+            DashboardEntityDTO entity = toEntity(row, snapshot, costTables, progress);
+            entities.add(entity);
+            if (entity.upgradeEnd() != null) {
+                timers.add(new DashboardTimerDTO(entity.id(), entity.name(), entity.nextLevel().level(),
+                        entity.upgradeStart(), entity.upgradeEnd(),
+                        Math.max(0, (entity.upgradeEnd() - now + 999) / 1000)));
+            }
+        }
+        timers.sort(Comparator.comparingLong(DashboardTimerDTO::upgradeEnd));
+
+        List<CategoryProgressDTO> categoryProgress = new ArrayList<>(progress.size());
+        progress.values().stream()
+                .sorted(Comparator.comparingInt(accumulator -> accumulator.category.getId()))
+                .forEach(accumulator -> categoryProgress.add(accumulator.toDTO()));
+
+        AccountDashboardRow header = rows.get(0);
+        return new AccountDashboardDTO(header.accountId(), header.accountName(), header.userId(), header.username(),
+                entities, timers, categoryProgress, snapshot.getCatalogVersion(), now);
+    }
+
+    /**
+     * Joins an account entity row with its catalog levels and adds it to the category progress.
+     *
+     * @param row The account entity row
+     * @param snapshot The catalog snapshot
+     * @param costTables The upgrade cost tables of the snapshot by base entity ID
+     * @param progress The progress accumulators by category
+     * @return The dashboard entry of the account entity
+     */
+    private DashboardEntityDTO toEntity(AccountDashboardRow row, CatalogSnapshot snapshot,
+                                        Map<Long, UpgradeCostTable> costTables,
+                                        Map<Category, ProgressAccumulator> progress) {
+        BaseEntityRow baseEntity = snapshot.findBaseEntity(row.baseEntityId()).orElse(null);
+        List<BaseEntityLevelRow> levels = snapshot.getLevels(row.baseEntityId());
+        int level = row.currentLevel() != null ? row.currentLevel() : 0;
+
+        int maxLevel = 0;
+        BaseEntityLevelRow current = null;
+        BaseEntityLevelRow next = null;
+        for (BaseEntityLevelRow candidate : levels) {
+            maxLevel = Math.max(maxLevel, candidate.level());
+            if (candidate.level() == level) {
+                current = candidate;
+            } else if (candidate.level() == level + 1) {
+                next = candidate;
+            }
+        }
+
+        Category category = baseEntity != null ? baseEntity.category() : null;
+        if (category != null) {
+            int reached = Math.min(level, maxLevel);
+            UpgradeCostTable table = costTables.get(row.baseEntityId());
+            progress.computeIfAbsent(category, ProgressAccumulator::new).add(reached, maxLevel, table);
+        }
+
+        Long upgradeEnd = row.upgradeStart() != null && next != null
+                ? row.upgradeStart() + next.upgradeTime() * 1000L
+                : null;
+        return new DashboardEntityDTO(
+                row.accountEntityId(),
+                row.baseEntityId(),
+                baseEntity != null ? baseEntity.name() : null,
+                category,
+                category != null ? category.getId() : null,
+                row.currentLevel(),
+                maxLevel,
+                current != null ? current.imgPath() : null,
+                next != null ? toLevel(next) : null,
+                row.upgradeStart(),
+                upgradeEnd);
+    }
+
+    private DashboardLevelDTO toLevel(BaseEntityLevelRow level) {
+        return new DashboardLevelDTO(
+                level.level(),
+                level.resourceType(),
+                level.resourceType() != null ? level.resourceType().getId() : null,
+                level.upgradeCost(),
+                level.upgradeTime(),
+                level.imgPath());
+    }
+
+    /**
+     * Sums up levels, remaining upgrade time and remaining cost of the entities of one category.
+     */
+    private static final class ProgressAccumulator {
+        private final Category category;
+        private final Map<ResourceType, Long> remainingCost = new EnumMap<>(ResourceType.class);
+        private int entityCount;
+        private int levels;
+        private int maxLevels;
+        private long remainingUpgradeTime;
+
+        private ProgressAccumulator(Category category) {
+            this.category = category;
+        }
+
+        private void add(int level, int maxLevel, UpgradeCostTable table) {
+            entityCount++;
+            levels += level;
+            maxLevels += maxLevel;
+            if (table != null && level >= 0) {
+                remainingUpgradeTime += table.time(level, table.getMaxLevel());
+                table.costs(level, table.getMaxLevel()).forEach((resourceType, cost) ->
+                        remainingCost.merge(resourceType, cost, Long::sum));
+            }
+        }
+
+        private CategoryProgressDTO toDTO() {
+            double percent = maxLevels > 0 ? Math.round(levels * 1000.0 / maxLevels) / 10.0 : 100.0;
+            return new CategoryProgressDTO(category, category.getId(), entityCount, levels, maxLevels, percent,
+                    remainingUpgradeTime, remainingCost);
+        }
+    }
+}
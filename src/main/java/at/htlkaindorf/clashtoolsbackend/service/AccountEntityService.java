@@ -1,5 +1,7 @@
 package at.htlkaindorf.clashtoolsbackend.service;
 
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
 import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.account.SimplifiedAccountEntityDTO;
 import at.htlkaindorf.clashtoolsbackend.mapper.AccountEntityMapper;
@@ -10,9 +12,12 @@ import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
 import at.htlkaindorf.clashtoolsbackend.repositories.AccountEntityRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEntityChangedEvent;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -20,6 +25,8 @@ import java.util.List;
  * Service for managing account entities in the system.
  * This service provides methods for creating, retrieving, updating, and deleting account entities,
  * which represent game entities owned by user accounts in the Clash Tools application.
+ * Every change is written to the outbox as an AccountEntityChangedEvent in the same transaction;
+ * the outbox relay pushes it to the account's other devices and updates the upgrade timers after commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -51,6 +58,11 @@ public class AccountEntityService {
      */
     private final SimplifiedAccountEntityMapper simplifiedAccountEntityMapper;
 
+    /**
+     * Publisher writing account entity change events to the outbox.
+     */
+    private final DomainEventPublisher domainEventPublisher;
+
     /**
      * Retrieves all account entities for a specific account.
      *
@@ -82,6 +94,7 @@ public class AccountEntityService {
      * @return A SimplifiedAccountEntityDTO representing the newly created account entity
      * @throws IllegalArgumentException if the account or base entity doesn't exist
      */
+    @Transactional
     public SimplifiedAccountEntityDTO createAccountEntity(AccountEntityRequestDTO request) {
         Account account = accountRepository.findById(request.getAccountId())
                 .orElseThrow(() -> new IllegalArgumentException("Account not found"));
@@ -96,6 +109,7 @@ public class AccountEntityService {
         accountEntity.setUpgradeStart(request.getUpgradeStart());
 
         AccountEntity savedAccountEntity = accountEntityRepository.save(accountEntity);
+        publishChange(savedAccountEntity, AccountEntityChangeType.CREATED);
         return simplifiedAccountEntityMapper.toDTO(savedAccountEntity);
     }
 
@@ -107,6 +121,7 @@ public class AccountEntityService {
      * @return A SimplifiedAccountEntityDTO representing the updated account entity
      * @throws IllegalArgumentException if the account entity, account, or base entity doesn't exist
      */
+    @Transactional
     public SimplifiedAccountEntityDTO updateAccountEntity(Long id, AccountEntityRequestDTO request) {
         AccountEntity accountEntity = accountEntityRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("AccountEntity not found"));
@@ -123,6 +138,7 @@ public class AccountEntityService {
         accountEntity.setUpgradeStart(request.getUpgradeStart());
 
         AccountEntity updatedAccountEntity = accountEntityRepository.save(accountEntity);
+        publishChange(updatedAccountEntity, AccountEntityChangeType.UPDATED);
         return simplifiedAccountEntityMapper.toDTO(updatedAccountEntity);
     }
 
@@ -134,6 +150,7 @@ public class AccountEntityService {
      * @return A SimplifiedAccountEntityDTO representing the updated account entity
      * @throws IllegalArgumentException if the account entity doesn't exist
      */
+    @Transactional
     public SimplifiedAccountEntityDTO updateUpgradeStart(Long id, Long upgradeStart) {
         AccountEntity accountEntity = accountEntityRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("AccountEntity not found"));
@@ -141,15 +158,49 @@ public class AccountEntityService {
         accountEntity.setUpgradeStart(upgradeStart);
 
         AccountEntity updatedAccountEntity = accountEntityRepository.save(accountEntity);
+        publishChange(updatedAccountEntity, AccountEntityChangeType.UPGRADE_STARTED);
         return simplifiedAccountEntityMapper.toDTO(updatedAccountEntity);
     }
 
     /**
      * Deletes an account entity.
+     * If no account entity with the given ID exists, the operation completes silently.
      *
      * @param id The ID of the account entity to delete
      */
+    @Transactional
     public void deleteAccountEntity(Long id) {
-        accountEntityRepository.deleteById(id);
+        accountEntityRepository.findById(id).ifPresent(accountEntity -> {
+            accountEntityRepository.delete(accountEntity);
+            publish(new AccountEntityChangedEvent(accountEntity.getAccount().getId(),
+                    new AccountEntityChangeDTO(AccountEntityChangeType.DELETED, id, null, null, null,
+                            System.currentTimeMillis())));
+        });
+    }
+
+    /**
+     * Publishes a change of an account entity to the account's subscribers.
+     * Only IDs are read from the lazy associations, so no additional queries are issued.
+     *
+     * @param accountEntity The changed account entity
+     * @param type The kind of change
+     */
+    private void publishChange(AccountEntity accountEntity, AccountEntityChangeType type) {
+        publish(new AccountEntityChangedEvent(accountEntity.getAccount().getId(),
+                new AccountEntityChangeDTO(type,
+                        accountEntity.getId(),
+                        accountEntity.getBaseEntity().getId(),
+                        accountEntity.getCurrentLevel(),
+                        accountEntity.getUpgradeStart(),
+                        System.currentTimeMillis())));
+    }
+
+    /**
+     * Publishes an account entity change to the outbox.
+     *
+     * @param event The change event
+     */
+    private void publish(AccountEntityChangedEvent event) {
+        domainEventPublisher.publish(event);
     }
 }
@@ -25,12 +25,15 @@ public class AccountService extends AbstractCrudService<Account, AccountResponse
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final AccountMapper accountMapper;
+    private final BulkDeleteService bulkDeleteService;
 
-    public AccountService(AccountRepository accountRepository, UserRepository userRepository, AccountMapper accountMapper) {
+    public AccountService(AccountRepository accountRepository, UserRepository userRepository, AccountMapper accountMapper,
+                          BulkDeleteService bulkDeleteService) {
         super(accountRepository, accountMapper);
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
         this.accountMapper = accountMapper;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     @Override
@@ -38,6 +41,19 @@ public class AccountService extends AbstractCrudService<Account, AccountResponse
         entity.setId(id);
     }
 
+    /**
+     * Deletes an account with all its account entities, removing the account entities with a single statement.
+     * If no account with the given ID exists, the operation completes silently.
+     *
+     * @param id The unique identifier of the account to delete
+     */
+    @Override
+    public void delete(Long id) {
+        if (accountRepository.existsById(id)) {
+            bulkDeleteService.deleteAccount(id);
+        }
+    }
+
     /**
      * Retrieves all accounts belonging to a specific user.
      * This method fetches all accounts associated with the given user ID and converts them to DTOs.
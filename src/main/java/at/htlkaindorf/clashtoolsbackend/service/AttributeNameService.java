@@ -4,14 +4,24 @@ import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeNameDTO;
 import at.htlkaindorf.clashtoolsbackend.mapper.AttributeNameMapper;
 import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeNameRepository;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogChangedEvent;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
 
 /**
  * Service for managing attribute names in the system.
  * This service provides methods for creating, retrieving, updating, and deleting attribute names,
  * which represent the types of attributes that can be assigned to base entities in the Clash Tools application.
  * It extends AbstractCrudService to inherit common CRUD operations.
+ * All mutations are mirrored into the ReferenceDataRegistry once their transaction has committed,
+ * so name lookups do not need the database and a rollback never leaves the registry ahead of it.
  */
 @Service
 @Tag(name = "AttributeNameService", description = "Service for managing attribute names")
@@ -19,11 +29,36 @@ public class AttributeNameService extends AbstractCrudService<AttributeName, Att
 
     private final AttributeNameRepository attributeNameRepository;
     private final AttributeNameMapper attributeNameMapper;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
-    public AttributeNameService(AttributeNameRepository attributeNameRepository, AttributeNameMapper attributeNameMapper) {
+    public AttributeNameService(AttributeNameRepository attributeNameRepository,
+                                AttributeNameMapper attributeNameMapper,
+                                ReferenceDataRegistry referenceDataRegistry) {
         super(attributeNameRepository, attributeNameMapper);
         this.attributeNameRepository = attributeNameRepository;
         this.attributeNameMapper = attributeNameMapper;
+        this.referenceDataRegistry = referenceDataRegistry;
+    }
+
+    /**
+     * Loads all attribute names into the reference data registry once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadReferenceData() {
+        referenceDataRegistry.loadAttributeNames(attributeNameRepository.findAll());
+    }
+
+    /**
+     * Reloads the attribute names after another node has changed them.
+     * Local changes update the registry directly and need no reload.
+     *
+     * @param event The catalog change event
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.remote() && event.affects(AttributeName.class)) {
+            loadReferenceData();
+        }
     }
 
     @Override
@@ -40,12 +75,15 @@ public class AttributeNameService extends AbstractCrudService<AttributeName, Att
      * @throws IllegalArgumentException If an attribute name with the same name already exists
      */
     @Override
+    @Transactional
     public AttributeNameDTO create(AttributeNameDTO request) {
         if (attributeNameRepository.existsByName(request.getName())) {
             throw new IllegalArgumentException("Attribute name already exists");
         }
 
-        return super.create(request);
+        AttributeNameDTO created = super.create(request);
+        afterCommit(() -> referenceDataRegistry.putAttributeName(created.getId(), created.getName()));
+        return created;
     }
 
     /**
@@ -59,6 +97,7 @@ public class AttributeNameService extends AbstractCrudService<AttributeName, Att
      * @throws IllegalArgumentException If an attribute name with the same name already exists (and it's not the one being updated)
      */
     @Override
+    @Transactional
     public AttributeNameDTO update(Long id, AttributeNameDTO request) {
         AttributeName attributeName = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Attribute name not found"));
@@ -68,19 +107,59 @@ public class AttributeNameService extends AbstractCrudService<AttributeName, Att
             throw new IllegalArgumentException("Attribute name already exists");
         }
 
-        return super.update(id, request);
+        AttributeNameDTO updated = super.update(id, request);
+        afterCommit(() -> referenceDataRegistry.putAttributeName(updated.getId(), updated.getName()));
+        return updated;
+    }
+
+    /**
+     * Deletes an attribute name from the database and from the reference data registry.
+     *
+     * @param id The unique identifier of the attribute name to delete
+     */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        super.delete(id);
+        afterCommit(() -> referenceDataRegistry.removeAttributeName(id));
+    }
+
+    /**
+     * Runs a registry update after the current transaction has committed, or immediately without one.
+     *
+     * @param update The registry update
+     */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
     }
 
     /**
      * Retrieves a specific attribute name by its name.
-     * This method searches for an attribute name with the given name in the database,
-     * throws an exception if not found, and converts it to a DTO for the presentation layer.
+     * This method resolves the name through the reference data registry and only falls back to the database
+     * for names the registry does not know, throwing an exception if the name does not exist there either.
      *
      * @param name The name of the attribute name to retrieve
      * @return An AttributeNameDTO representing the requested attribute name
      * @throws IllegalArgumentException If no attribute name with the given name exists in the database
      */
     public AttributeNameDTO getAttributeNameByName(String name) {
+        Optional<Long> cachedId = referenceDataRegistry.findAttributeNameId(name);
+        if (cachedId.isPresent()) {
+            AttributeNameDTO attributeNameDTO = new AttributeNameDTO();
+            attributeNameDTO.setId(cachedId.get());
+            attributeNameDTO.setName(name);
+            return attributeNameDTO;
+        }
+
         AttributeName attributeName = attributeNameRepository.findByName(name)
                 .orElseThrow(() -> new IllegalArgumentException("Attribute name not found"));
         return attributeNameMapper.toDTO(attributeName);
@@ -7,8 +7,12 @@ import at.htlkaindorf.clashtoolsbackend.pojos.Attribute;
 import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeNameRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeRepository;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.CatalogEntityChangedEvent;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainChangeType;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -25,12 +29,15 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
     private final AttributeRepository attributeRepository;
     private final AttributeNameRepository attributeNameRepository;
     private final AttributeMapper attributeMapper;
+    private final DomainEventPublisher domainEventPublisher;
 
-    public AttributeService(AttributeRepository attributeRepository, AttributeNameRepository attributeNameRepository, AttributeMapper attributeMapper) {
+    public AttributeService(AttributeRepository attributeRepository, AttributeNameRepository attributeNameRepository,
+                            AttributeMapper attributeMapper, DomainEventPublisher domainEventPublisher) {
         super(attributeRepository, attributeMapper);
         this.attributeRepository = attributeRepository;
         this.attributeNameRepository = attributeNameRepository;
         this.attributeMapper = attributeMapper;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     @Override
@@ -47,6 +54,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
      * @throws IllegalArgumentException If the attribute name with the given ID does not exist
      */
     @Override
+    @Transactional
     public AttributeResponseDTO create(AttributeRequestDTO request) {
         AttributeName attributeName = attributeNameRepository.findById(request.getAttributeNameId())
                 .orElseThrow(() -> new IllegalArgumentException("AttributeName not found"));
@@ -55,6 +63,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
         attribute.setAttributeName(attributeName);
 
         Attribute savedAttribute = attributeRepository.save(attribute);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(Attribute.class, savedAttribute.getId(), DomainChangeType.CREATED));
         return attributeMapper.toDTO(savedAttribute);
     }
 
@@ -70,6 +79,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
      * @throws IllegalArgumentException If the attribute name with the given ID does not exist
      */
     @Override
+    @Transactional
     public AttributeResponseDTO update(Long id, AttributeRequestDTO request) {
         Attribute attribute = attributeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Attribute not found"));
@@ -91,6 +101,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
         }
 
         Attribute updatedAttribute = attributeRepository.save(attribute);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(Attribute.class, id, DomainChangeType.UPDATED));
         return attributeMapper.toDTO(updatedAttribute);
     }
 
@@ -137,6 +148,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
      * @param request The AttributeRequestDTO containing the data for the new attribute
      * @return An AttributeResponseDTO representing the newly created attribute
      */
+    @Transactional
     public AttributeResponseDTO createAttribute(AttributeRequestDTO request) {
         return create(request);
     }
@@ -150,6 +162,7 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
      * @return An AttributeResponseDTO representing the updated attribute
      * @throws IllegalArgumentException If no attribute with the given ID exists in the database
      */
+    @Transactional
     public AttributeResponseDTO updateAttribute(Long id, AttributeRequestDTO request) {
         return update(id, request);
     }
@@ -160,7 +173,19 @@ public class AttributeService extends AbstractCrudService<Attribute, AttributeRe
      *
      * @param id The unique identifier of the attribute to delete
      */
+    @Transactional
     public void deleteAttribute(Long id) {
         delete(id);
     }
+
+    /**
+     * {@inheritDoc}
+     * A {@link CatalogEntityChangedEvent} is written to the outbox in the same transaction.
+     */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        attributeRepository.deleteById(id);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(Attribute.class, id, DomainChangeType.DELETED));
+    }
 }
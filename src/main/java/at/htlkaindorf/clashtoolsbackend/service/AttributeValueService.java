@@ -2,9 +2,7 @@ package at.htlkaindorf.clashtoolsbackend.service;
 
 import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeValueDTO;
 import at.htlkaindorf.clashtoolsbackend.mapper.AttributeValueMapper;
-import at.htlkaindorf.clashtoolsbackend.pojos.Attribute;
 import at.htlkaindorf.clashtoolsbackend.pojos.AttributeValue;
-import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeValueRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityLevelRepository;
@@ -27,6 +25,7 @@ public class AttributeValueService {
     private final AttributeRepository attributeRepository;
     private final BaseEntityLevelRepository baseEntityLevelRepository;
     private final AttributeValueMapper attributeValueMapper;
+    private final BulkDeleteService bulkDeleteService;
 
     /**
      * Retrieves all attribute values from the database.
@@ -100,27 +99,29 @@ public class AttributeValueService {
 
     /**
      * Deletes all attribute values associated with a specific attribute.
-     * This method removes all attribute values with the given attribute ID from the database.
+     * This method removes all attribute values with the given attribute ID from the database with a single statement.
      *
      * @param attributeId The ID of the attribute whose values should be deleted
      * @throws IllegalArgumentException If no attribute with the given ID exists in the database
      */
     public void deleteAttributeValuesByAttributeId(Long attributeId) {
-        Attribute attribute = attributeRepository.findById(attributeId)
-                .orElseThrow(() -> new IllegalArgumentException("Attribute not found"));
-        attributeValueRepository.deleteByAttribute(attribute);
+        if (!attributeRepository.existsById(attributeId)) {
+            throw new IllegalArgumentException("Attribute not found");
+        }
+        bulkDeleteService.deleteAttributeValuesByAttributeId(attributeId);
     }
 
     /**
      * Deletes all attribute values associated with a specific base entity level.
-     * This method removes all attribute values with the given base entity level ID from the database.
+     * This method removes all attribute values with the given base entity level ID from the database with a single statement.
      *
      * @param baseEntityLevelId The ID of the base entity level whose values should be deleted
      * @throws IllegalArgumentException If no base entity level with the given ID exists in the database
      */
     public void deleteAttributeValuesByBaseEntityLevelId(Long baseEntityLevelId) {
-        BaseEntityLevel baseEntityLevel = baseEntityLevelRepository.findById(baseEntityLevelId)
-                .orElseThrow(() -> new IllegalArgumentException("Base entity level not found"));
-        attributeValueRepository.deleteByBaseEntityLevel(baseEntityLevel);
+        if (!baseEntityLevelRepository.existsById(baseEntityLevelId)) {
+            throw new IllegalArgumentException("Base entity level not found");
+        }
+        bulkDeleteService.deleteAttributeValuesByBaseEntityLevelId(baseEntityLevelId);
     }
 }
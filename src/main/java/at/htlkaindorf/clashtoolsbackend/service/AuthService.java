@@ -6,6 +6,8 @@ import at.htlkaindorf.clashtoolsbackend.dto.auth.AuthRequestDTO;
 import at.htlkaindorf.clashtoolsbackend.dto.auth.AuthResponseDTO;
 import at.htlkaindorf.clashtoolsbackend.exceptions.EmailAlreadyExistsException;
 import at.htlkaindorf.clashtoolsbackend.exceptions.InvalidCredentialsException;
+import at.htlkaindorf.clashtoolsbackend.exceptions.InvalidJwtException;
+import at.htlkaindorf.clashtoolsbackend.exceptions.JwtExpiredException;
 import at.htlkaindorf.clashtoolsbackend.exceptions.RoleNotFoundException;
 import at.htlkaindorf.clashtoolsbackend.exceptions.UserNotFoundException;
 import at.htlkaindorf.clashtoolsbackend.exceptions.UsernameAlreadyExistsException;
@@ -14,10 +16,17 @@ import at.htlkaindorf.clashtoolsbackend.pojos.Role;
 import at.htlkaindorf.clashtoolsbackend.pojos.User;
 import at.htlkaindorf.clashtoolsbackend.repositories.RoleRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.UserRegisteredEvent;
+import at.htlkaindorf.clashtoolsbackend.service.security.TokenRevocationService;
+import at.htlkaindorf.clashtoolsbackend.service.security.UserAvailabilityService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -37,9 +46,16 @@ public class AuthService {
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
     private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserAvailabilityService userAvailabilityService;
 
     /**
      * Registers a new user in the system.
+     * The username and email are checked through the {@link UserAvailabilityService}, so only probable
+     * duplicates cost a query. The unique constraints on the users table remain the authoritative guard
+     * against concurrent registrations of the same values.
      *
      * @param request Registration request with username, email, and password
      * @throws IllegalArgumentException If request is invalid or username/email already exists
@@ -55,17 +71,18 @@ public class AuthService {
 
         logger.debug("Attempting to register new user: {}", username);
 
-        if (userRepository.existsByUsername(username)) {
+        if (!userAvailabilityService.isUsernameAvailable(username)) {
             logger.warn("Registration failed: Username '{}' already taken", username);
             throw new UsernameAlreadyExistsException("Username already taken");
         }
 
-        if (userRepository.existsByMail(email)) {
+        if (!userAvailabilityService.isEmailAvailable(email)) {
             logger.warn("Registration failed: Email '{}' already registered", email);
             throw new EmailAlreadyExistsException("Email already registered");
         }
 
-        Role userRole = roleRepository.findByName(RoleConstants.ROLE_USER.getRoleName())
+        Role userRole = referenceDataRegistry.findRole(RoleConstants.ROLE_USER.getRoleName())
+                .or(() -> roleRepository.findByName(RoleConstants.ROLE_USER.getRoleName()))
                 .orElseThrow(() -> {
                     logger.error("Default role {} not found", RoleConstants.ROLE_USER.getRoleName());
                     return new RoleNotFoundException("Default role " + RoleConstants.ROLE_USER.getRoleName() + " not found");
@@ -78,7 +95,14 @@ public class AuthService {
                 .roles(Collections.singleton(userRole))
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            logger.warn("Registration failed: Username '{}' or its email was registered concurrently", username);
+            throw new UsernameAlreadyExistsException("Username or email already taken");
+        }
+        domainEventPublisher.publish(new UserRegisteredEvent(user.getId(), username));
+        userAvailabilityService.registered(user);
         logger.info("User registered successfully: {}", username);
     }
 
@@ -121,6 +145,7 @@ public class AuthService {
      * @throws UserNotFoundException If user not found
      * @throws InvalidCredentialsException If password is invalid
      */
+    @Timed(value = "auth.login", description = "Login duration including password hashing", histogram = true)
     public AuthResponseDTO login(AuthRequestDTO request) {
         validateNotNull(request, "Login request");
 
@@ -162,4 +187,30 @@ public class AuthService {
         refreshTokenService.deleteByUser(user);
         logger.info("User logged out successfully: {}", username);
     }
+
+    /**
+     * Logs out a user and revokes the access token of the current session,
+     * so it cannot be used until it expires.
+     *
+     * @param user The user to log out
+     * @param accessToken The access token of the current session, may be null
+     * @throws IllegalArgumentException If user is null
+     */
+    public void logout(User user, String accessToken) {
+        validateNotNull(user, "User");
+
+        if (accessToken != null && !accessToken.isBlank()) {
+            try {
+                Claims claims = jwtService.extractClaims(accessToken);
+                if (claims.getId() != null) {
+                    tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+                }
+            } catch (JwtExpiredException ex) {
+                logger.debug("Access token of user {} already expired", user.getUsername());
+            } catch (InvalidJwtException ex) {
+                logger.warn("Not revoking invalid access token of user {}", user.getUsername());
+            }
+        }
+        logout(user);
+    }
 }
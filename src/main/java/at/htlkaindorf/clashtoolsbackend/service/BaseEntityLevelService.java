@@ -9,7 +9,12 @@ import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityLevelRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSingleFlight;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.CatalogEntityChangedEvent;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainChangeType;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
@@ -29,15 +34,24 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
     private final BaseEntityRepository baseEntityRepository;
     private final AttributeRepository attributeRepository;
     private final BaseEntityLevelMapper baseEntityLevelMapper;
+    private final BulkDeleteService bulkDeleteService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogSingleFlight singleFlight;
     public BaseEntityLevelService(BaseEntityLevelRepository baseEntityLevelRepository,
                                  BaseEntityRepository baseEntityRepository,
                                  AttributeRepository attributeRepository,
-                                 BaseEntityLevelMapper baseEntityLevelMapper) {
+                                 BaseEntityLevelMapper baseEntityLevelMapper,
+                                 BulkDeleteService bulkDeleteService,
+                                 DomainEventPublisher domainEventPublisher,
+                                 CatalogSingleFlight singleFlight) {
         super(baseEntityLevelRepository, baseEntityLevelMapper);
         this.baseEntityLevelRepository = baseEntityLevelRepository;
         this.baseEntityRepository = baseEntityRepository;
         this.attributeRepository = attributeRepository;
         this.baseEntityLevelMapper = baseEntityLevelMapper;
+        this.bulkDeleteService = bulkDeleteService;
+        this.domainEventPublisher = domainEventPublisher;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -48,17 +62,20 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
     /**
      * Retrieves all base entity levels associated with a specific base entity.
      * This method fetches all base entity levels with the given base entity ID and converts them to DTOs.
+     * Identical concurrent calls share one query, see {@link CatalogSingleFlight}.
      *
      * @param baseEntityId The ID of the base entity to filter by
      * @return A list of BaseEntityLevelResponseDTO objects representing base entity levels with the specified base entity
      * @throws IllegalArgumentException If no base entity with the given ID exists in the database
      */
     public List<BaseEntityLevelResponseDTO> getBaseEntityLevelsByBaseEntityId(Long baseEntityId) {
-        baseEntityRepository.findById(baseEntityId)
-                .orElseThrow(() -> new IllegalArgumentException("Base entity not found"));
+        return singleFlight.execute("base-entity-levels:base-entity:" + baseEntityId, () -> {
+            baseEntityRepository.findById(baseEntityId)
+                    .orElseThrow(() -> new IllegalArgumentException("Base entity not found"));
 
-        List<BaseEntityLevel> baseEntityLevels = baseEntityLevelRepository.findByBaseEntityId(baseEntityId);
-        return baseEntityLevelMapper.toDTOList(baseEntityLevels);
+            List<BaseEntityLevel> baseEntityLevels = baseEntityLevelRepository.findByBaseEntityId(baseEntityId);
+            return baseEntityLevelMapper.toDTOList(baseEntityLevels);
+        });
     }
 
 
@@ -72,6 +89,7 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
      * @throws IllegalArgumentException If any of the attributes with the given IDs do not exist
      */
     @Override
+    @Transactional
     public BaseEntityLevelResponseDTO create(BaseEntityLevelRequestDTO requestDTO) {
         BaseEntity baseEntity = baseEntityRepository.findById(requestDTO.getBaseEntityId())
                 .orElseThrow(() -> new IllegalArgumentException("Base entity not found"));
@@ -98,6 +116,8 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
         baseEntityLevel.setImgPath(requestDTO.getImgPath());
 
         BaseEntityLevel savedBaseEntityLevel = baseEntityLevelRepository.save(baseEntityLevel);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntityLevel.class, savedBaseEntityLevel.getId(),
+                DomainChangeType.CREATED));
         return baseEntityLevelMapper.toDTO(savedBaseEntityLevel);
     }
 
@@ -113,6 +133,7 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
      * @throws IllegalArgumentException If any of the attributes with the given IDs do not exist
      */
     @Override
+    @Transactional
     public BaseEntityLevelResponseDTO update(Long id, BaseEntityLevelRequestDTO requestDTO) {
         BaseEntityLevel baseEntityLevel = baseEntityLevelRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Base entity level not found"));
@@ -145,20 +166,36 @@ public class BaseEntityLevelService extends AbstractCrudService<BaseEntityLevel,
         baseEntityLevel.setImgPath(requestDTO.getImgPath());
 
         BaseEntityLevel updatedBaseEntityLevel = baseEntityLevelRepository.save(baseEntityLevel);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntityLevel.class, id, DomainChangeType.UPDATED));
         return baseEntityLevelMapper.toDTO(updatedBaseEntityLevel);
     }
 
+    /**
+     * {@inheritDoc}
+     * A {@link CatalogEntityChangedEvent} is written to the outbox in the same transaction.
+     */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        baseEntityLevelRepository.deleteById(id);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntityLevel.class, id, DomainChangeType.DELETED));
+    }
+
     /**
      * Deletes all base entity levels associated with a specific base entity.
-     * This method removes all base entity levels with the given base entity ID from the database.
+     * This method removes all base entity levels with the given base entity ID from the database,
+     * together with their attribute values, using one statement per table.
      *
      * @param baseEntityId The ID of the base entity whose levels should be deleted
      * @throws IllegalArgumentException If no base entity with the given ID exists in the database
      */
+    @Transactional
     public void deleteBaseEntityLevelsByBaseEntityId(Long baseEntityId) {
-        BaseEntity baseEntity = baseEntityRepository.findById(baseEntityId)
-                .orElseThrow(() -> new IllegalArgumentException("Base entity not found"));
-        baseEntityLevelRepository.deleteByBaseEntity(baseEntity);
+        if (!baseEntityRepository.existsById(baseEntityId)) {
+            throw new IllegalArgumentException("Base entity not found");
+        }
+        bulkDeleteService.deleteLevelsByBaseEntityId(baseEntityId);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntity.class, baseEntityId, DomainChangeType.UPDATED));
     }
 
 }
@@ -8,8 +8,13 @@ import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
 import at.htlkaindorf.clashtoolsbackend.pojos.Category;
 import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntitySummary;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSingleFlight;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.CatalogEntityChangedEvent;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainChangeType;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,17 +31,28 @@ public class BaseEntityService extends AbstractCrudService<BaseEntity, BaseEntit
 
     private final BaseEntityRepository baseEntityRepository;
     private final BaseEntityMapper baseEntityMapper;
+    private final BulkDeleteService bulkDeleteService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogSingleFlight singleFlight;
 
     /**
      * Constructor for dependency injection.
      *
      * @param baseEntityRepository The repository for BaseEntity operations
      * @param baseEntityMapper The mapper for converting between BaseEntity and DTOs
+     * @param bulkDeleteService The service for set-based deletes of the dependent rows
+     * @param domainEventPublisher The publisher writing change events to the outbox
+     * @param singleFlight The coalescer for identical concurrent catalog queries
      */
-    public BaseEntityService(BaseEntityRepository baseEntityRepository, BaseEntityMapper baseEntityMapper) {
+    public BaseEntityService(BaseEntityRepository baseEntityRepository, BaseEntityMapper baseEntityMapper,
+                             BulkDeleteService bulkDeleteService, DomainEventPublisher domainEventPublisher,
+                             CatalogSingleFlight singleFlight) {
         super(baseEntityRepository, baseEntityMapper);
         this.baseEntityRepository = baseEntityRepository;
         this.baseEntityMapper = baseEntityMapper;
+        this.bulkDeleteService = bulkDeleteService;
+        this.domainEventPublisher = domainEventPublisher;
+        this.singleFlight = singleFlight;
     }
 
     /**
@@ -47,16 +63,59 @@ public class BaseEntityService extends AbstractCrudService<BaseEntity, BaseEntit
         entity.setId(id);
     }
 
+    /**
+     * {@inheritDoc}
+     * A {@link CatalogEntityChangedEvent} is written to the outbox in the same transaction.
+     */
+    @Override
+    @Transactional
+    public BaseEntityDTO create(BaseEntityRequestDTO request) {
+        BaseEntityDTO created = super.create(request);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntity.class, created.id(), DomainChangeType.CREATED));
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     * A {@link CatalogEntityChangedEvent} is written to the outbox in the same transaction.
+     */
+    @Override
+    @Transactional
+    public BaseEntityDTO update(Long id, BaseEntityRequestDTO request) {
+        BaseEntityDTO updated = super.update(id, request);
+        domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntity.class, id, DomainChangeType.UPDATED));
+        return updated;
+    }
+
+    /**
+     * Deletes a base entity with its levels, attribute values and attribute links.
+     * The dependent rows are removed with one statement per table instead of cascading entity by entity.
+     * If no base entity with the given ID exists, the operation completes silently.
+     *
+     * @param id The unique identifier of the base entity to delete
+     * @throws IllegalArgumentException If account entities still reference the base entity
+     */
+    @Override
+    @Transactional
+    public void delete(Long id) {
+        if (baseEntityRepository.existsById(id)) {
+            bulkDeleteService.deleteBaseEntity(id);
+            domainEventPublisher.publish(CatalogEntityChangedEvent.of(BaseEntity.class, id, DomainChangeType.DELETED));
+        }
+    }
+
 
     /**
      * Retrieves all base entities with the specified category.
      * This method uses an optimized query that leverages the index on the category field.
+     * Identical concurrent calls share one query, see {@link CatalogSingleFlight}.
      *
      * @param category The category to filter by
      * @return A list of BaseEntityDTO objects representing base entities with the specified category
      */
     public List<BaseEntityDTO> getBaseEntitiesByCategory(Category category) {
-        return baseEntityMapper.toDTOList(baseEntityRepository.findByCategory(category));
+        return singleFlight.execute("base-entities:category:" + category,
+                () -> baseEntityMapper.toDTOList(baseEntityRepository.findByCategory(category)));
     }
 
     /**
@@ -75,11 +134,13 @@ public class BaseEntityService extends AbstractCrudService<BaseEntity, BaseEntit
      * This method fetches all base entities stored in the system and converts them to ResponseDTOs
      * that include the baseEntityLevels for use in the presentation layer.
      * It uses a custom query that eagerly loads the baseEntityLevels to avoid lazy loading issues.
+     * Identical concurrent calls share one query, see {@link CatalogSingleFlight}.
      *
      * @return A list of BaseEntityResponseDTO objects representing all base entities in the system with their levels
      */
     public List<BaseEntityResponseDTO> getAllBaseEntitiesWithLevels() {
-        return baseEntityMapper.toResponseDTOList(baseEntityRepository.findAllWithLevels());
+        return singleFlight.execute("base-entities:with-levels",
+                () -> baseEntityMapper.toResponseDTOList(baseEntityRepository.findAllWithLevels()));
     }
 
     /**
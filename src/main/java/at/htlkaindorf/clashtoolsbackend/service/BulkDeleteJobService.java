@@ -0,0 +1,150 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.job.BulkDeleteJobDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.job.BulkDeleteJobStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs large deletes as background jobs.
+ *
+ * A base entity delete job removes the levels of the base entity in chunks of {@code chunkSize} levels,
+ * each chunk in its own transaction, so no single transaction holds locks on thousands of rows
+ * and concurrent readers are blocked for one chunk at most. The base entity itself is deleted after the last chunk.
+ * Base entities still referenced by account entities are rejected before any chunk is deleted.
+ * Jobs run one after another; the states of the most recent jobs are kept in memory for polling.
+ */
+@Service
+public class BulkDeleteJobService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteJobService.class);
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final BulkDeleteService bulkDeleteService;
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param bulkDeleteService The service performing the set-based deletes
+     * @param chunkSize The number of levels deleted per transaction
+     */
+    public BulkDeleteJobService(BulkDeleteService bulkDeleteService,
+                                @Value("${bulk-delete.chunk-size:50}") int chunkSize) {
+        this.bulkDeleteService = bulkDeleteService;
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits a job deleting a base entity with all its levels, attribute values and attribute links.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return The state of the submitted job
+     * @throws IllegalArgumentException If no base entity with the given ID exists or it is still referenced
+     *                                  by account entities
+     */
+    public BulkDeleteJobDTO submitBaseEntityDelete(Long baseEntityId) {
+        bulkDeleteService.checkDeletable(baseEntityId);
+        Job job = new Job(UUID.randomUUID().toString(), baseEntityId);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            pruneFinishedJobs();
+        }
+        executor.execute(() -> run(job));
+        return job.toDTO();
+    }
+
+    /**
+     * Gets the state of a job.
+     *
+     * @param jobId The ID of the job
+     * @return The state of the job, empty if the job is unknown or has been pruned
+     */
+    public Optional<BulkDeleteJobDTO> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(Job::toDTO);
+        }
+    }
+
+    private void run(Job job) {
+        job.status = BulkDeleteJobStatus.RUNNING;
+        try {
+            // an account entity may have been added since the job was submitted
+            bulkDeleteService.checkDeletable(job.baseEntityId);
+            List<Long> chunk = bulkDeleteService.findLevelIdChunk(job.baseEntityId, chunkSize);
+            while (!chunk.isEmpty()) {
+                job.deletedRows += bulkDeleteService.deleteLevels(chunk);
+                job.chunks++;
+                chunk = bulkDeleteService.findLevelIdChunk(job.baseEntityId, chunkSize);
+            }
+            bulkDeleteService.deleteBaseEntity(job.baseEntityId);
+            job.deletedRows++;
+            job.status = BulkDeleteJobStatus.COMPLETED;
+            logger.info("Bulk delete job {} deleted base entity {} in {} chunks ({} rows)",
+                    job.id, job.baseEntityId, job.chunks, job.deletedRows);
+        } catch (RuntimeException ex) {
+            job.error = ex.getMessage();
+            job.status = BulkDeleteJobStatus.FAILED;
+            logger.error("Bulk delete job {} for base entity {} failed after {} chunks",
+                    job.id, job.baseEntityId, job.chunks, ex);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_RETAINED_JOBS && iterator.hasNext()) {
+            if (iterator.next().finishedAt != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Mutable state of one job, written by the job thread only.
+     */
+    private static final class Job {
+        private final String id;
+        private final Long baseEntityId;
+        private final Instant submittedAt = Instant.now();
+        private volatile BulkDeleteJobStatus status = BulkDeleteJobStatus.QUEUED;
+        private volatile long deletedRows;
+        private volatile int chunks;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, Long baseEntityId) {
+            this.id = id;
+            this.baseEntityId = baseEntityId;
+        }
+
+        private BulkDeleteJobDTO toDTO() {
+            return new BulkDeleteJobDTO(id, baseEntityId, status, deletedRows, chunks, submittedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeValue;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.AttributeValueRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityLevelRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogVersionService;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEntityChangedEvent;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service performing set-based deletes of catalog and account data.
+ *
+ * Every operation deletes the dependent rows with one statement per table, in foreign key order
+ * (attribute values, base_entity_level_attributes rows, levels, parent), instead of loading every entity
+ * and walking the cascade and orphan removal graph. The bulk statements bypass the Hibernate event listeners,
+ * so catalog changes are reported to the CatalogVersionService explicitly and every deleted account entity
+ * is written to the outbox as a DELETED AccountEntityChangedEvent; each statement flushes the persistence
+ * context before and clears it afterwards, so no stale entities survive the delete.
+ * Base entities still referenced by account entities are never deleted.
+ */
+@Service
+@RequiredArgsConstructor
+@Tag(name = "BulkDeleteService", description = "Service for set-based deletes")
+public class BulkDeleteService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    private final AttributeValueRepository attributeValueRepository;
+    private final BaseEntityLevelRepository baseEntityLevelRepository;
+    private final BaseEntityRepository baseEntityRepository;
+    private final AccountEntityRepository accountEntityRepository;
+    private final AccountRepository accountRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final DomainEventPublisher domainEventPublisher;
+
+    /**
+     * Deletes all attribute values of an attribute.
+     *
+     * @param attributeId The ID of the attribute
+     * @return The number of deleted attribute values
+     */
+    @Transactional
+    public int deleteAttributeValuesByAttributeId(Long attributeId) {
+        int deleted = attributeValueRepository.bulkDeleteByAttributeId(attributeId);
+        markChanged(deleted, AttributeValue.class);
+        return deleted;
+    }
+
+    /**
+     * Deletes all attribute values of a base entity level.
+     *
+     * @param baseEntityLevelId The ID of the base entity level
+     * @return The number of deleted attribute values
+     */
+    @Transactional
+    public int deleteAttributeValuesByBaseEntityLevelId(Long baseEntityLevelId) {
+        int deleted = attributeValueRepository.bulkDeleteByBaseEntityLevelIds(List.of(baseEntityLevelId));
+        markChanged(deleted, AttributeValue.class);
+        return deleted;
+    }
+
+    /**
+     * Deletes all levels of a base entity together with their attribute values and attribute links.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return The number of deleted levels
+     */
+    @Transactional
+    public int deleteLevelsByBaseEntityId(Long baseEntityId) {
+        int values = attributeValueRepository.bulkDeleteByBaseEntityId(baseEntityId);
+        int links = baseEntityLevelRepository.bulkDeleteAttributeLinksByBaseEntityId(baseEntityId);
+        int levels = baseEntityLevelRepository.bulkDeleteByBaseEntityId(baseEntityId);
+        markChanged(values, AttributeValue.class);
+        markChanged(levels, BaseEntityLevel.class);
+        logger.info("Deleted {} levels, {} attribute links and {} attribute values of base entity {}",
+                levels, links, values, baseEntityId);
+        return levels;
+    }
+
+    /**
+     * Deletes the given levels together with their attribute values and attribute links.
+     * Used by chunked delete jobs, each chunk runs in its own transaction.
+     *
+     * @param baseEntityLevelIds The IDs of the levels to delete
+     * @return The number of deleted rows over all tables
+     */
+    @Transactional
+    public int deleteLevels(List<Long> baseEntityLevelIds) {
+        if (baseEntityLevelIds.isEmpty()) {
+            return 0;
+        }
+        int values = attributeValueRepository.bulkDeleteByBaseEntityLevelIds(baseEntityLevelIds);
+        int links = baseEntityLevelRepository.bulkDeleteAttributeLinksByIds(baseEntityLevelIds);
+        int levels = baseEntityLevelRepository.bulkDeleteByIds(baseEntityLevelIds);
+        markChanged(values, AttributeValue.class);
+        markChanged(levels, BaseEntityLevel.class);
+        return values + links + levels;
+    }
+
+    /**
+     * Finds the next chunk of level IDs of a base entity.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param chunkSize The maximum number of IDs
+     * @return The IDs of up to chunkSize levels, empty if the base entity has no levels left
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findLevelIdChunk(Long baseEntityId, int chunkSize) {
+        return baseEntityLevelRepository.findIdsByBaseEntityId(baseEntityId, PageRequest.of(0, chunkSize));
+    }
+
+    /**
+     * Checks that a base entity exists and that no account entity references it.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @throws IllegalArgumentException If no base entity with the given ID exists or it is still referenced
+     */
+    @Transactional(readOnly = true)
+    public void checkDeletable(Long baseEntityId) {
+        if (!baseEntityRepository.existsById(baseEntityId)) {
+            throw new IllegalArgumentException("Base entity not found");
+        }
+        if (accountEntityRepository.existsByBaseEntityId(baseEntityId)) {
+            throw new IllegalArgumentException("Base entity is still referenced by account entities");
+        }
+    }
+
+    /**
+     * Deletes a base entity with all its levels, attribute values and attribute links.
+     * The foreign key of the account entities remains the authoritative guard against a reference
+     * added after the check.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @throws IllegalArgumentException If no base entity with the given ID exists or it is still referenced
+     */
+    @Transactional
+    public void deleteBaseEntity(Long baseEntityId) {
+        checkDeletable(baseEntityId);
+        deleteLevelsByBaseEntityId(baseEntityId);
+        // the levels are gone, so removing the parent no longer cascades
+        baseEntityRepository.deleteById(baseEntityId);
+        catalogVersionService.markChanged(BaseEntity.class);
+        logger.info("Deleted base entity {}", baseEntityId);
+    }
+
+    /**
+     * Deletes an account with all its account entities.
+     * A DELETED change is published for every account entity, so subscribed devices drop it
+     * and its upgrade notification timer is cancelled after commit.
+     *
+     * @param accountId The ID of the account
+     * @throws IllegalArgumentException If no account with the given ID exists
+     */
+    @Transactional
+    public void deleteAccount(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new IllegalArgumentException("Account not found");
+        }
+        List<Long> accountEntityIds = accountEntityRepository.findIdsByAccountId(accountId);
+        int accountEntities = accountEntityRepository.bulkDeleteByAccountId(accountId);
+        accountRepository.deleteById(accountId);
+        long timestamp = System.currentTimeMillis();
+        for (Long accountEntityId : accountEntityIds) {
+            domainEventPublisher.publish(new AccountEntityChangedEvent(accountId,
+                    new AccountEntityChangeDTO(AccountEntityChangeType.DELETED, accountEntityId, null, null, null,
+                            timestamp)));
+        }
+        logger.info("Deleted account {} with {} account entities", accountId, accountEntities);
+    }
+
+    private void markChanged(int deleted, Class<?> type) {
+        if (deleted > 0) {
+            catalogVersionService.markChanged(type);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.CatalogExportFormat;
+import at.htlkaindorf.clashtoolsbackend.repositories.CatalogJdbcRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Service for exporting the complete catalog.
+ * The export reads every catalog table through a forward-only cursor and writes each row
+ * straight to Jackson's streaming JsonGenerator, so memory usage does not depend on catalog size.
+ * Used for backups and for seeding staging nodes.
+ */
+@Service
+public class CatalogExportService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param catalogJdbcRepository The repository reading the catalog tables
+     * @param objectMapper The application's object mapper, used to serialize rows
+     * @param transactionManager The transaction manager used to open the read-only transaction
+     */
+    public CatalogExportService(CatalogJdbcRepository catalogJdbcRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the complete catalog to the given output stream.
+     * All tables are read inside one read-only transaction so the export is a consistent snapshot.
+     * The stream is not closed by this method.
+     *
+     * @param out The stream to write to
+     * @param format The output format
+     * @throws IOException If writing to the stream fails
+     */
+    public void export(OutputStream out, CatalogExportFormat format) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == CatalogExportFormat.NDJSON) {
+                generator.setRootValueSeparator(null);
+            }
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                if (format == CatalogExportFormat.JSON) {
+                    writeJsonDocument(generator);
+                } else {
+                    writeNdjson(generator);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        logger.info("Catalog export finished ({})", format);
+    }
+
+    /**
+     * Writes the catalog as one JSON object with one array per table.
+     *
+     * @param generator The generator to write to
+     */
+    private void writeJsonDocument(JsonGenerator generator) {
+        write(() -> generator.writeStartObject());
+        writeArray(generator, "baseEntities", catalogJdbcRepository::streamBaseEntities);
+        writeArray(generator, "baseEntityLevels", catalogJdbcRepository::streamBaseEntityLevels);
+        writeArray(generator, "attributeNames", catalogJdbcRepository::streamAttributeNames);
+        writeArray(generator, "attributes", catalogJdbcRepository::streamAttributes);
+        writeArray(generator, "attributeTranslations", catalogJdbcRepository::streamAttributeTranslations);
+        writeArray(generator, "levelAttributes", catalogJdbcRepository::streamLevelAttributes);
+        writeArray(generator, "attributeValues", catalogJdbcRepository::streamAttributeValues);
+        write(() -> generator.writeEndObject());
+    }
+
+    /**
+     * Writes the catalog as newline-delimited JSON, one tagged object per row.
+     *
+     * @param generator The generator to write to
+     */
+    private void writeNdjson(JsonGenerator generator) {
+        writeLines(generator, "baseEntity", catalogJdbcRepository::streamBaseEntities);
+        writeLines(generator, "baseEntityLevel", catalogJdbcRepository::streamBaseEntityLevels);
+        writeLines(generator, "attributeName", catalogJdbcRepository::streamAttributeNames);
+        writeLines(generator, "attribute", catalogJdbcRepository::streamAttributes);
+        writeLines(generator, "attributeTranslation", catalogJdbcRepository::streamAttributeTranslations);
+        writeLines(generator, "levelAttribute", catalogJdbcRepository::streamLevelAttributes);
+        writeLines(generator, "attributeValue", catalogJdbcRepository::streamAttributeValues);
+    }
+
+    private <T> void writeArray(JsonGenerator generator, String fieldName, Consumer<Consumer<T>> source) {
+        write(() -> generator.writeArrayFieldStart(fieldName));
+        source.accept(row -> write(() -> generator.writeObject(row)));
+        write(() -> generator.writeEndArray());
+    }
+
+    private <T> void writeLines(JsonGenerator generator, String type, Consumer<Consumer<T>> source) {
+        source.accept(row -> write(() -> {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeObjectField("data", row);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }));
+    }
+
+    /**
+     * Runs a generator call and rethrows I/O failures unchecked,
+     * so they can cross the row callbacks and abort the cursor.
+     *
+     * @param action The generator call
+     */
+    private void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
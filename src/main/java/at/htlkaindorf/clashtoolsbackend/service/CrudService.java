@@ -30,6 +30,15 @@ public interface CrudService<E, D, R, ID> {
      */
     D getById(ID id);
 
+    /**
+     * Retrieves several entities by their unique identifiers in one query.
+     *
+     * @param ids The unique identifiers of the entities to retrieve
+     * @return DTOs of the entities that exist, in no particular order; unknown IDs are skipped
+     * @throws IllegalArgumentException If too many IDs are requested
+     */
+    List<D> getByIds(List<ID> ids);
+
     /**
      * Creates a new entity.
      *
@@ -3,7 +3,6 @@ package at.htlkaindorf.clashtoolsbackend.service;
 import at.htlkaindorf.clashtoolsbackend.pojos.User;
 import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,6 +19,7 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     /**
      * Loads a user by username for authentication.
@@ -38,7 +38,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .password(user.getPassword())
                 .authorities(
                         user.getRoles().stream()
-                                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                                .map(role -> referenceDataRegistry.authority(role.getName()))
                                 .collect(Collectors.toList())
                 )
                 .build();
@@ -4,14 +4,18 @@ import at.htlkaindorf.clashtoolsbackend.exceptions.InvalidJwtException;
 import at.htlkaindorf.clashtoolsbackend.exceptions.JwtExpiredException;
 import at.htlkaindorf.clashtoolsbackend.pojos.Role;
 import at.htlkaindorf.clashtoolsbackend.pojos.User;
+import at.htlkaindorf.clashtoolsbackend.service.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +24,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service for handling JWT (JSON Web Token) operations.
@@ -31,6 +36,9 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secretString;
 
+    @Autowired(required = false)
+    private TokenRevocationService tokenRevocationService;
+
     private SecretKey secretKey;
     private static final Duration EXPIRATION_TIME = Duration.ofHours(1);
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
@@ -43,7 +51,8 @@ public class JwtService {
 
     /**
      * Generates a JWT token for the specified user.
-     * The token includes the username and user roles as claims and has an expiration time.
+     * The token includes the username and user roles as claims, a unique ID (jti) used for revocation
+     * and has an expiration time.
      *
      * @param user The user for whom to generate the token
      * @return A JWT token string
@@ -52,6 +61,7 @@ public class JwtService {
         Date now = new Date();
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUsername())
                 .claim("roles", user.getRoles().stream()
                         .map(Role::getName)
@@ -73,13 +83,24 @@ public class JwtService {
      * @throws InvalidJwtException If the token is invalid (malformed, unsupported, or has an invalid signature)
      */
     public String extractUsername(String token) {
+        return extractClaims(token).getSubject();
+    }
+
+    /**
+     * Extracts and verifies all claims of a JWT token.
+     *
+     * @param token The JWT token string
+     * @return The claims of the token
+     * @throws JwtExpiredException If the token has expired
+     * @throws InvalidJwtException If the token is invalid (malformed, unsupported, or has an invalid signature)
+     */
+    public Claims extractClaims(String token) {
         try {
             return Jwts.parserBuilder()
                     .setSigningKey(secretKey)
                     .build()
                     .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
+                    .getBody();
         } catch (ExpiredJwtException ex) {
             logger.warn("JWT token expired: {}", ex.getMessage());
             throw new JwtExpiredException("JWT token has expired", ex);
@@ -93,12 +114,26 @@ public class JwtService {
     }
 
 
+    /**
+     * Validates a JWT token.
+     * A token is valid if its signature is correct, it has not expired and it has not been revoked.
+     * The revocation check is answered from memory, see {@link TokenRevocationService}.
+     *
+     * @param token The JWT token string
+     * @return true if the token may be used for authentication
+     */
+    @Timed(value = "jwt.verify", description = "JWT signature, expiry and revocation check", histogram = true)
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
+            Claims claims = Jwts.parserBuilder()
                     .setSigningKey(secretKey)
                     .build()
-                    .parseClaimsJws(token);
+                    .parseClaimsJws(token)
+                    .getBody();
+            if (tokenRevocationService != null && tokenRevocationService.isRevoked(claims.getId())) {
+                logger.debug("Revoked JWT token used: {}", claims.getId());
+                return false;
+            }
             return true;
         } catch (ExpiredJwtException ex) {
             logger.warn("JWT token expired: {}", ex.getMessage());
@@ -0,0 +1,123 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.config.SqlStatementMonitor;
+import at.htlkaindorf.clashtoolsbackend.dto.logging.LoggingSettingsDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.logging.LoggingSettingsUpdateDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.logging.SlowQueryDTO;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service for inspecting and changing logging settings at runtime, so detailed SQL or security logging
+ * can be switched on for a short diagnosis without a restart and switched off again afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoggingAdminService {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAdminService.class);
+
+    /**
+     * The loggers reported by {@link #getSettings()}. Other loggers can be changed as well.
+     */
+    private static final List<String> REPORTED_LOGGERS = List.of(
+            "sql.sampled",
+            "sql.slow",
+            "org.hibernate.SQL",
+            "org.hibernate.orm.jdbc.bind",
+            "org.springframework.security",
+            "at.htlkaindorf.clashtoolsbackend");
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+    private final LoggingSystem loggingSystem;
+
+    /**
+     * Gets the current SQL logging settings, logger levels and recent slow statements.
+     *
+     * @return The settings
+     */
+    public LoggingSettingsDTO getSettings() {
+        Map<String, String> levels = new LinkedHashMap<>();
+        for (String name : REPORTED_LOGGERS) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            LogLevel level = configuration != null ? configuration.getEffectiveLevel() : null;
+            levels.put(name, level != null ? level.name() : null);
+        }
+        List<SlowQueryDTO> slowQueries = sqlStatementMonitor.getSlowQueries().stream()
+                .map(query -> new SlowQueryDTO(query.timestamp(), query.durationMs(), query.statement(),
+                        query.parameters(), query.caller()))
+                .toList();
+        return new LoggingSettingsDTO(sqlStatementMonitor.getSampleRate(), sqlStatementMonitor.getMaxSampledPerSecond(),
+                sqlStatementMonitor.getSlowThresholdMs(), levels, slowQueries);
+    }
+
+    /**
+     * Changes logging settings. All values are validated before any of them is applied.
+     *
+     * @param update The settings to change
+     * @return The settings after the change
+     * @throws IllegalArgumentException If a value is out of range or a level is unknown
+     */
+    public LoggingSettingsDTO updateSettings(LoggingSettingsUpdateDTO update) {
+        Map<String, LogLevel> levels = new LinkedHashMap<>();
+        if (update.loggerLevels() != null) {
+            update.loggerLevels().forEach((name, level) -> {
+                if (name == null || name.isBlank()) {
+                    throw new IllegalArgumentException("Logger name is required");
+                }
+                levels.put(name, parseLevel(level));
+            });
+        }
+        if (update.sqlSampleRate() != null && (update.sqlSampleRate() < 0 || update.sqlSampleRate() > 1)) {
+            throw new IllegalArgumentException("SQL sample rate must be between 0 and 1");
+        }
+        if (update.sqlMaxSampledPerSecond() != null && update.sqlMaxSampledPerSecond() < 0) {
+            throw new IllegalArgumentException("SQL sample limit must not be negative");
+        }
+        if (update.sqlSlowThresholdMs() != null && update.sqlSlowThresholdMs() < 0) {
+            throw new IllegalArgumentException("Slow query threshold must not be negative");
+        }
+
+        if (update.sqlSampleRate() != null) {
+            sqlStatementMonitor.setSampleRate(update.sqlSampleRate());
+        }
+        if (update.sqlMaxSampledPerSecond() != null) {
+            sqlStatementMonitor.setMaxSampledPerSecond(update.sqlMaxSampledPerSecond());
+        }
+        if (update.sqlSlowThresholdMs() != null) {
+            sqlStatementMonitor.setSlowThresholdMs(update.sqlSlowThresholdMs());
+        }
+        levels.forEach((name, level) -> {
+            logger.info("Setting log level of '{}' to {}", name, level);
+            loggingSystem.setLogLevel(name, level);
+        });
+        return getSettings();
+    }
+
+    /**
+     * Forgets the captured slow statements.
+     */
+    public void clearSlowQueries() {
+        sqlStatementMonitor.clearSlowQueries();
+    }
+
+    private static LogLevel parseLevel(String level) {
+        if (level == null) {
+            return null;
+        }
+        try {
+            return LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown log level: " + level);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
+import at.htlkaindorf.clashtoolsbackend.pojos.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory registry of small, rarely changing reference data: roles and attribute names.
+ *
+ * Each data set is held in immutable maps that are replaced as a whole on every change
+ * (copy-on-write), so lookups are lock-free hash lookups without database access.
+ * Roles are loaded by the RoleInitializer, attribute names by the AttributeNameService,
+ * which also keeps them up to date when attribute names are created, renamed or deleted.
+ * Callers fall back to the database if an entry is not (yet) known.
+ * Writers are serialized with a ReentrantLock rather than synchronized, so they never pin virtual threads.
+ */
+@Component
+public class ReferenceDataRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private volatile RoleTable roles = new RoleTable(Map.of(), Map.of(), Map.of());
+    private volatile NameTable attributeNames = new NameTable(Map.of(), Map.of());
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Replaces all known roles.
+     *
+     * @param loadedRoles All roles from the database
+     */
+    public void loadRoles(Collection<Role> loadedRoles) {
+        writeLock.lock();
+        try {
+            Map<String, Long> idsByName = new HashMap<>();
+            Map<Long, String> namesById = new HashMap<>();
+            Map<String, GrantedAuthority> authorities = new HashMap<>();
+            for (Role role : loadedRoles) {
+                idsByName.put(role.getName(), role.getId());
+                namesById.put(role.getId(), role.getName());
+                authorities.put(role.getName(), new SimpleGrantedAuthority(role.getName()));
+            }
+            roles = new RoleTable(Map.copyOf(idsByName), Map.copyOf(namesById), Map.copyOf(authorities));
+            logger.info("Loaded {} roles into the reference data registry", idsByName.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Finds a role by its name.
+     * A new detached Role instance is returned on every call, so callers may attach it to entities.
+     *
+     * @param name The role name, e.g. ROLE_USER
+     * @return The role, or empty if the role is not known
+     */
+    public Optional<Role> findRole(String name) {
+        Long id = roles.idsByName().get(name);
+        return id != null ? Optional.of(Role.builder().id(id).name(name).build()) : Optional.empty();
+    }
+
+    /**
+     * Finds the name of a role by its ID.
+     *
+     * @param id The role ID
+     * @return The role name, or empty if the role is not known
+     */
+    public Optional<String> findRoleName(Long id) {
+        return Optional.ofNullable(roles.namesById().get(id));
+    }
+
+    /**
+     * Gets the canonical granted authority for a role name.
+     * Known roles share one authority instance; unknown names get a new instance.
+     *
+     * @param roleName The role name
+     * @return The granted authority for the role
+     */
+    public GrantedAuthority authority(String roleName) {
+        GrantedAuthority authority = roles.authorities().get(roleName);
+        return authority != null ? authority : new SimpleGrantedAuthority(roleName);
+    }
+
+    /**
+     * Replaces all known attribute names.
+     *
+     * @param loadedAttributeNames All attribute names from the database
+     */
+    public void loadAttributeNames(Collection<AttributeName> loadedAttributeNames) {
+        writeLock.lock();
+        try {
+            Map<String, Long> idsByName = new HashMap<>();
+            Map<Long, String> namesById = new HashMap<>();
+            for (AttributeName attributeName : loadedAttributeNames) {
+                idsByName.put(attributeName.getName(), attributeName.getId());
+                namesById.put(attributeName.getId(), attributeName.getName());
+            }
+            attributeNames = new NameTable(Map.copyOf(idsByName), Map.copyOf(namesById));
+            logger.info("Loaded {} attribute names into the reference data registry", idsByName.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds or renames an attribute name.
+     *
+     * @param id The ID of the attribute name
+     * @param name The current name
+     */
+    public void putAttributeName(Long id, String name) {
+        writeLock.lock();
+        try {
+            Map<String, Long> idsByName = new HashMap<>(attributeNames.idsByName());
+            Map<Long, String> namesById = new HashMap<>(attributeNames.namesById());
+            String previousName = namesById.put(id, name);
+            if (previousName != null) {
+                idsByName.remove(previousName);
+            }
+            idsByName.put(name, id);
+            attributeNames = new NameTable(Map.copyOf(idsByName), Map.copyOf(namesById));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes an attribute name.
+     *
+     * @param id The ID of the removed attribute name
+     */
+    public void removeAttributeName(Long id) {
+        writeLock.lock();
+        try {
+            if (!attributeNames.namesById().containsKey(id)) {
+                return;
+            }
+            Map<String, Long> idsByName = new HashMap<>(attributeNames.idsByName());
+            Map<Long, String> namesById = new HashMap<>(attributeNames.namesById());
+            idsByName.remove(namesById.remove(id));
+            attributeNames = new NameTable(Map.copyOf(idsByName), Map.copyOf(namesById));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the ID of an attribute name.
+     *
+     * @param name The attribute name
+     * @return The ID, or empty if the name is not known
+     */
+    public Optional<Long> findAttributeNameId(String name) {
+        return Optional.ofNullable(attributeNames.idsByName().get(name));
+    }
+
+    /**
+     * Finds an attribute name by its ID.
+     *
+     * @param id The ID of the attribute name
+     * @return The name, or empty if the ID is not known
+     */
+    public Optional<String> findAttributeName(Long id) {
+        return Optional.ofNullable(attributeNames.namesById().get(id));
+    }
+
+    private record RoleTable(Map<String, Long> idsByName,
+                             Map<Long, String> namesById,
+                             Map<String, GrantedAuthority> authorities) {
+    }
+
+    private record NameTable(Map<String, Long> idsByName, Map<Long, String> namesById) {
+    }
+}
@@ -0,0 +1,268 @@
+package at.htlkaindorf.clashtoolsbackend.service.batch;
+
+import at.htlkaindorf.clashtoolsbackend.dto.ApiResponse;
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchOperationDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchResultDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes batches of sub-requests in one round trip.
+ *
+ * Every operation is dispatched to the DispatcherServlet as a {@link BatchSubRequest}, so it runs through the
+ * same controllers, validation, exception handlers and message converters as a regular request, but not
+ * through HTTP or the servlet filters again. Access is checked per operation against the web security rules
+ * with the principal of the batch request, which the operations share.
+ *
+ * Operations keep their order: each write (any method but GET) runs alone once all earlier operations have
+ * finished. Consecutive GETs are split into up to {@code parallelism} groups that run concurrently on a
+ * bounded executor; the operations of a group run one after another in one shared read-only transaction,
+ * so a group holds a single database connection.
+ */
+@Service
+public class BatchService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+    private static final Set<String> METHODS = Set.of("GET", "POST", "PUT", "PATCH", "DELETE");
+    private static final String BATCH_PATH = "/api/batch";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ThreadPoolExecutor executor;
+    private final int maxOperations;
+    private final int parallelism;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dispatcherServlet The servlet the operations are dispatched to
+     * @param privilegeEvaluator The evaluator of the web security rules
+     * @param objectMapper The mapper for operation bodies and results
+     * @param transactionManager The transaction manager for the shared read-only transactions
+     * @param maxOperations The maximum number of operations per batch
+     * @param parallelism The maximum number of concurrently running read groups per batch
+     * @param threads The number of executor threads shared by all batches
+     */
+    public BatchService(DispatcherServlet dispatcherServlet,
+                        WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${batch.max-operations:25}") int maxOperations,
+                        @Value("${batch.parallelism:4}") int parallelism,
+                        @Value("${batch.threads:8}") int threads) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxOperations = maxOperations;
+        this.parallelism = Math.max(1, parallelism);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // when all threads are busy and the queue is full, the batch request thread runs the group itself
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), runnable -> {
+                    Thread thread = new Thread(runnable, "batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executes a batch.
+     *
+     * @param operations The operations
+     * @param request The batch request, providing principal, cookies and headers
+     * @param response The batch response, receiving cookies set by operations
+     * @return The results in the order of the operations
+     * @throws IllegalArgumentException If the batch is too large or an operation is invalid
+     */
+    public List<BatchResultDTO> execute(List<BatchOperationDTO> operations, HttpServletRequest request,
+                                        HttpServletResponse response) {
+        validate(operations);
+        BatchResultDTO[] results = new BatchResultDTO[operations.size()];
+
+        int index = 0;
+        while (index < operations.size()) {
+            if (!isRead(operations.get(index))) {
+                results[index] = dispatch(operations.get(index), request, response);
+                index++;
+                continue;
+            }
+            int end = index;
+            while (end < operations.size() && isRead(operations.get(end))) {
+                end++;
+            }
+            executeReads(operations, index, end, results, request, response);
+            index = end;
+        }
+        return List.of(results);
+    }
+
+    private void validate(List<BatchOperationDTO> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxOperations + " operations");
+        }
+        for (BatchOperationDTO operation : operations) {
+            if (!METHODS.contains(operation.method().toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Unsupported batch method: " + operation.method());
+            }
+            String path = pathOf(operation);
+            if (!path.startsWith("/api/") || path.contains("..") || path.startsWith(BATCH_PATH)) {
+                throw new IllegalArgumentException("Invalid batch path: " + operation.path());
+            }
+        }
+    }
+
+    private static boolean isRead(BatchOperationDTO operation) {
+        return "GET".equalsIgnoreCase(operation.method());
+    }
+
+    /**
+     * Runs the reads from {@code from} (inclusive) to {@code to} (exclusive) in up to {@link #parallelism}
+     * groups, the last group on the calling thread.
+     */
+    private void executeReads(List<BatchOperationDTO> operations, int from, int to, BatchResultDTO[] results,
+                              HttpServletRequest request, HttpServletResponse response) {
+        int count = to - from;
+        int groups = Math.min(parallelism, count);
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        List<Future<?>> futures = new ArrayList<>(groups - 1);
+
+        for (int group = 0; group < groups; group++) {
+            int groupFrom = from + count * group / groups;
+            int groupTo = from + count * (group + 1) / groups;
+            if (group == groups - 1) {
+                executeReadGroup(operations, groupFrom, groupTo, results, request, response);
+            } else {
+                futures.add(executor.submit(() -> {
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        executeReadGroup(operations, groupFrom, groupTo, results, request, response);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for batch operations", ex);
+            } catch (ExecutionException ex) {
+                logger.warn("Batch read group failed: {}", ex.getCause().getMessage());
+            }
+        }
+        for (int i = from; i < to; i++) {
+            if (results[i] == null) {
+                results[i] = errorResult(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+            }
+        }
+    }
+
+    private void executeReadGroup(List<BatchOperationDTO> operations, int from, int to, BatchResultDTO[] results,
+                                  HttpServletRequest request, HttpServletResponse response) {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = dispatch(operations.get(i), request, response);
+                }
+            });
+        } catch (TransactionException ex) {
+            // results recorded before a failed commit stand; operations that did not run get their own attempt
+            logger.debug("Shared read-only batch transaction failed: {}", ex.getMessage());
+            for (int i = from; i < to; i++) {
+                if (results[i] == null) {
+                    results[i] = dispatch(operations.get(i), request, response);
+                }
+            }
+        }
+    }
+
+    private BatchResultDTO dispatch(BatchOperationDTO operation, HttpServletRequest request,
+                                    HttpServletResponse response) {
+        String method = operation.method().toUpperCase(Locale.ROOT);
+        String path = pathOf(operation);
+        int query = operation.path().indexOf('?');
+        String queryString = query >= 0 ? operation.path().substring(query + 1) : null;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!privilegeEvaluator.isAllowed(request.getContextPath(), path, method, authentication)) {
+            boolean anonymous = authentication == null || authentication instanceof AnonymousAuthenticationToken
+                    || !authentication.isAuthenticated();
+            return anonymous ? errorResult(HttpStatus.UNAUTHORIZED, "Authentication required")
+                    : errorResult(HttpStatus.FORBIDDEN, "Access denied");
+        }
+
+        try {
+            byte[] body = operation.body() != null && !operation.body().isNull()
+                    ? objectMapper.writeValueAsBytes(operation.body()) : null;
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            dispatcherServlet.service(new BatchSubRequest(request, method, path, queryString, body), subResponse);
+            return new BatchResultDTO(subResponse.getStatus(), readBody(subResponse));
+        } catch (Exception ex) {
+            logger.error("Batch operation {} {} failed: {}", method, operation.path(), ex.getMessage(), ex);
+            return errorResult(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+        }
+    }
+
+    private JsonNode readBody(BatchSubResponse subResponse) throws IOException {
+        byte[] body = subResponse.getBody();
+        if (body.length == 0) {
+            return null;
+        }
+        String contentType = subResponse.getContentType();
+        if (contentType != null && contentType.contains("json")) {
+            return objectMapper.readTree(body);
+        }
+        return TextNode.valueOf(new String(body, subResponse.getCharacterEncoding()));
+    }
+
+    private BatchResultDTO errorResult(HttpStatus status, String message) {
+        return new BatchResultDTO(status.value(), objectMapper.valueToTree(ApiResponse.error(message)));
+    }
+
+    private static String pathOf(BatchOperationDTO operation) {
+        int query = operation.path().indexOf('?');
+        return query >= 0 ? operation.path().substring(0, query) : operation.path();
+    }
+}
@@ -0,0 +1,237 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable index of the attribute values of one {@link CatalogSnapshot}, grouped by attribute name.
+ *
+ * Numeric values (INTEGER, and RANGE by its maximum) are held per attribute name in two parallel primitive
+ * arrays sorted by value, so range and top-K queries are binary searches and array walks instead of scans
+ * over all values. All other values (DamageType, TargetType and the other enum-like types) are held per
+ * attribute name and value as sorted arrays of level IDs for equality queries.
+ * Each level is indexed at most once per attribute name, with the first of its values for that name.
+ */
+final class AttributeValueIndex {
+
+    private final Map<Long, NumericColumn> numericColumns;
+    private final Map<Long, Map<String, long[]>> valueColumns;
+    private final Map<Long, Map<Long, AttributeValueRow>> rowsByName;
+
+    /**
+     * Numeric values of one attribute name, ascending, with the level each value belongs to.
+     */
+    private record NumericColumn(double[] values, long[] levelIds) {
+    }
+
+    private AttributeValueIndex(Map<Long, NumericColumn> numericColumns, Map<Long, Map<String, long[]>> valueColumns,
+                                Map<Long, Map<Long, AttributeValueRow>> rowsByName) {
+        this.numericColumns = numericColumns;
+        this.valueColumns = valueColumns;
+        this.rowsByName = rowsByName;
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return The index
+     */
+    static AttributeValueIndex build(CatalogSnapshot snapshot) {
+        Map<Long, Long> nameIdByAttributeId = new HashMap<>();
+        for (AttributeRow attribute : snapshot.getAttributes()) {
+            nameIdByAttributeId.put(attribute.id(), attribute.attributeNameId());
+        }
+
+        Map<Long, List<AttributeValueRow>> numericRows = new HashMap<>();
+        Map<Long, Map<String, List<Long>>> valueRows = new HashMap<>();
+        Map<Long, Map<Long, AttributeValueRow>> rowsByName = new HashMap<>();
+        for (AttributeValueRow row : snapshot.getAttributeValues()) {
+            Long nameId = nameIdByAttributeId.get(row.attributeId());
+            if (nameId == null || row.value() == null) {
+                continue;
+            }
+            // a level can have several attributes sharing a name; only its first value for the name is indexed
+            if (rowsByName.computeIfAbsent(nameId, id -> new HashMap<>())
+                    .putIfAbsent(row.baseEntityLevelId(), row) != null) {
+                continue;
+            }
+            if (numericValue(row) != null) {
+                numericRows.computeIfAbsent(nameId, id -> new ArrayList<>()).add(row);
+            } else if (!(row.value() instanceof Range)) {
+                valueRows.computeIfAbsent(nameId, id -> new HashMap<>())
+                        .computeIfAbsent(String.valueOf(row.value()), value -> new ArrayList<>())
+                        .add(row.baseEntityLevelId());
+            }
+        }
+
+        Map<Long, NumericColumn> numericColumns = new HashMap<>();
+        numericRows.forEach((nameId, rows) -> {
+            rows.sort((a, b) -> Double.compare(numericValue(a), numericValue(b)));
+            double[] values = new double[rows.size()];
+            long[] levelIds = new long[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                values[i] = numericValue(rows.get(i));
+                levelIds[i] = rows.get(i).baseEntityLevelId();
+            }
+            numericColumns.put(nameId, new NumericColumn(values, levelIds));
+        });
+        Map<Long, Map<String, long[]>> valueColumns = new HashMap<>();
+        valueRows.forEach((nameId, byValue) -> {
+            Map<String, long[]> column = new HashMap<>();
+            byValue.forEach((value, levelIds) -> {
+                long[] sorted = levelIds.stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(sorted);
+                column.put(value, sorted);
+            });
+            valueColumns.put(nameId, column);
+        });
+        return new AttributeValueIndex(numericColumns, valueColumns, rowsByName);
+    }
+
+    /**
+     * Gets the numeric value of an attribute value row, the maximum for ranges.
+     *
+     * @param row The row
+     * @return The value, or null if the row has no numeric value
+     */
+    static Double numericValue(AttributeValueRow row) {
+        if (row.value() instanceof Integer value) {
+            return value.doubleValue();
+        }
+        if (row.value() instanceof Range range && range.getMax() != null) {
+            return range.getMax();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an attribute name has numeric values.
+     *
+     * @param nameId The ID of the attribute name
+     * @return true if range and top-K queries can match anything
+     */
+    boolean isNumeric(long nameId) {
+        return numericColumns.containsKey(nameId);
+    }
+
+    /**
+     * Finds the levels whose numeric value of an attribute lies within bounds, ascending by value.
+     *
+     * @param nameId The ID of the attribute name
+     * @param min The inclusive lower bound, or null for none
+     * @param max The inclusive upper bound, or null for none
+     * @param filter The levels to include
+     * @return The matching level IDs
+     */
+    long[] range(long nameId, Double min, Double max, LongPredicate filter) {
+        NumericColumn column = numericColumns.get(nameId);
+        if (column == null) {
+            return new long[0];
+        }
+        int from = min == null ? 0 : lowerBound(column.values(), min);
+        int to = max == null ? column.values().length : upperBound(column.values(), max);
+        return Arrays.stream(column.levelIds(), from, Math.max(from, to)).filter(filter).toArray();
+    }
+
+    /**
+     * Finds the levels with the highest or lowest numeric values of an attribute.
+     *
+     * @param nameId The ID of the attribute name
+     * @param limit The maximum number of levels
+     * @param descending Whether the highest values are wanted
+     * @param filter The levels to include
+     * @return The matching level IDs, best first
+     */
+    long[] top(long nameId, int limit, boolean descending, LongPredicate filter) {
+        NumericColumn column = numericColumns.get(nameId);
+        if (column == null) {
+            return new long[0];
+        }
+        long[] levelIds = column.levelIds();
+        long[] result = new long[Math.min(limit, levelIds.length)];
+        int found = 0;
+        for (int i = 0; i < levelIds.length && found < result.length; i++) {
+            long levelId = levelIds[descending ? levelIds.length - 1 - i : i];
+            if (filter.test(levelId)) {
+                result[found++] = levelId;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Finds the levels with a specific value of an attribute, e.g. a DamageType.
+     * For numeric attributes the value is compared numerically.
+     *
+     * @param nameId The ID of the attribute name
+     * @param value The value, as its name for enum-like types
+     * @param filter The levels to include
+     * @return The matching level IDs, ascending
+     */
+    long[] equal(long nameId, String value, LongPredicate filter) {
+        Map<String, long[]> column = valueColumns.get(nameId);
+        long[] levelIds = column != null ? column.get(value) : null;
+        if (levelIds != null) {
+            return Arrays.stream(levelIds).filter(filter).toArray();
+        }
+        if (isNumeric(nameId)) {
+            try {
+                double number = Double.parseDouble(value);
+                long[] matches = range(nameId, number, number, filter);
+                Arrays.sort(matches);
+                return matches;
+            } catch (NumberFormatException ex) {
+                return new long[0];
+            }
+        }
+        return new long[0];
+    }
+
+    /**
+     * Gets the value of an attribute at a level.
+     *
+     * @param levelId The ID of the base entity level
+     * @param nameId The ID of the attribute name
+     * @return The row, or null if the level has no value for the attribute
+     */
+    AttributeValueRow get(long levelId, long nameId) {
+        return rowsByName.getOrDefault(nameId, Map.of()).get(levelId);
+    }
+
+    private static int lowerBound(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,140 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeValueMatchDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Service answering stat-based catalog queries, e.g. "troops with a range between 3 and 5" or
+ * "the 10 defenses with the highest damage at max level".
+ *
+ * Queries are answered from an {@link AttributeValueIndex} over the current {@link CatalogSnapshot} instead of
+ * scanning the attribute values. The index is built once per snapshot and reused until the snapshot is
+ * replaced, which happens after every committed catalog change, including attribute value writes.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttributeValueQueryService {
+
+    /**
+     * The maximum number of levels returned by a top-K query
+     */
+    public static final int MAX_TOP = 100;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private volatile Indexed indexed;
+
+    private record Indexed(CatalogSnapshot snapshot, AttributeValueIndex index, Map<String, Long> nameIds,
+                           Map<Long, BaseEntityLevelRow> levels, Set<Long> maxLevelIds) {
+    }
+
+    /**
+     * Finds the base entity levels whose value of an attribute matches a condition.
+     * Exactly one condition is used: a value, a numeric range (min and/or max) or a top-K limit.
+     *
+     * @param attributeName The name of the attribute, case-insensitive
+     * @param value The value to match, e.g. a DamageType name; numeric attributes compare numerically
+     * @param min The inclusive lower bound for numeric attributes, or null
+     * @param max The inclusive upper bound for numeric attributes, or null
+     * @param top The number of levels with the highest (or lowest) values, or null
+     * @param ascending Whether top returns the lowest instead of the highest values
+     * @param category The category the base entities must have, or null for all
+     * @param maxLevelOnly Whether only the highest level of each base entity is considered
+     * @return The matching levels; ordered by value for range and top queries, by level ID otherwise
+     * @throws IllegalArgumentException If the attribute is unknown or the condition is missing or ambiguous
+     */
+    public List<AttributeValueMatchDTO> find(String attributeName, String value, Double min, Double max, Integer top,
+                                             boolean ascending, Category category, boolean maxLevelOnly) {
+        int conditions = (value != null ? 1 : 0) + (min != null || max != null ? 1 : 0) + (top != null ? 1 : 0);
+        if (conditions != 1) {
+            throw new IllegalArgumentException("Exactly one of value, min/max or top is required");
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        if (top != null && (top < 1 || top > MAX_TOP)) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+
+        Indexed current = current();
+        Long nameId = current.nameIds().get(attributeName.trim().toLowerCase(Locale.ROOT));
+        if (nameId == null) {
+            throw new IllegalArgumentException("Attribute not found");
+        }
+        LongPredicate filter = levelFilter(current, category, maxLevelOnly);
+
+        long[] levelIds;
+        if (value != null) {
+            levelIds = current.index().equal(nameId, value, filter);
+        } else if (top != null) {
+            levelIds = current.index().top(nameId, top, !ascending, filter);
+        } else {
+            levelIds = current.index().range(nameId, min, max, filter);
+        }
+
+        List<AttributeValueMatchDTO> matches = new ArrayList<>(levelIds.length);
+        for (long levelId : levelIds) {
+            BaseEntityLevelRow level = current.levels().get(levelId);
+            BaseEntityRow baseEntity = current.snapshot().findBaseEntity(level.baseEntityId()).orElseThrow();
+            AttributeValueRow row = current.index().get(levelId, nameId);
+            matches.add(new AttributeValueMatchDTO(baseEntity.id(), baseEntity.name(), baseEntity.category(),
+                    levelId, level.level(), row.valueType(), row.value()));
+        }
+        return matches;
+    }
+
+    private static LongPredicate levelFilter(Indexed current, Category category, boolean maxLevelOnly) {
+        LongPredicate filter = levelId -> current.levels().containsKey(levelId);
+        if (maxLevelOnly) {
+            filter = filter.and(current.maxLevelIds()::contains);
+        }
+        if (category != null) {
+            filter = filter.and(levelId -> current.snapshot()
+                    .findBaseEntity(current.levels().get(levelId).baseEntityId())
+                    .map(baseEntity -> baseEntity.category() == category)
+                    .orElse(false));
+        }
+        return filter;
+    }
+
+    private Indexed current() {
+        CatalogSnapshot snapshot = catalogSnapshotService.loaded();
+        Indexed current = indexed;
+        if (current == null || current.snapshot() != snapshot) {
+            current = index(snapshot);
+            indexed = current;
+        }
+        return current;
+    }
+
+    private static Indexed index(CatalogSnapshot snapshot) {
+        Map<String, Long> nameIds = new HashMap<>();
+        for (AttributeNameRow name : snapshot.getAttributeNames()) {
+            nameIds.putIfAbsent(name.name().trim().toLowerCase(Locale.ROOT), name.id());
+        }
+        Map<Long, BaseEntityLevelRow> levels = new HashMap<>();
+        Map<Long, BaseEntityLevelRow> maxLevels = new HashMap<>();
+        for (BaseEntityLevelRow level : snapshot.getBaseEntityLevels()) {
+            levels.put(level.id(), level);
+            maxLevels.merge(level.baseEntityId(), level, (a, b) -> a.level() >= b.level() ? a : b);
+        }
+        Set<Long> maxLevelIds = new HashSet<>();
+        maxLevels.values().forEach(level -> maxLevelIds.add(level.id()));
+        return new Indexed(snapshot, AttributeValueIndex.build(snapshot), nameIds, levels, maxLevelIds);
+    }
+}
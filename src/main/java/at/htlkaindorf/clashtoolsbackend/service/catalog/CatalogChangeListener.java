@@ -0,0 +1,135 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Attribute;
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeTranslation;
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeValue;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hibernate event listener detecting changes to catalog entities.
+ * Inserts, updates and deletes of catalog entities, as well as changes to their collections
+ * (e.g. the attributes of a base entity level), are reported to the {@link CatalogVersionService}.
+ * Listening on the session factory catches every write path, including the inherited CRUD operations.
+ */
+@Component
+public class CatalogChangeListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    /**
+     * The entity types making up the catalog
+     */
+    public static final List<Class<?>> CATALOG_TYPES = List.of(
+            BaseEntity.class,
+            BaseEntityLevel.class,
+            AttributeName.class,
+            Attribute.class,
+            AttributeTranslation.class,
+            AttributeValue.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogVersionService catalogVersionService;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param entityManagerFactory The entity manager factory to register the listener on
+     * @param catalogVersionService The service receiving the detected changes
+     */
+    public CatalogChangeListener(EntityManagerFactory entityManagerFactory,
+                                 CatalogVersionService catalogVersionService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogVersionService = catalogVersionService;
+    }
+
+    /**
+     * Registers this listener with Hibernate's event listener registry.
+     */
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        report(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        report(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        report(event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        reportOwner(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        reportOwner(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        reportOwner(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void reportOwner(AbstractCollectionEvent event) {
+        report(event.getAffectedOwnerOrNull());
+    }
+
+    private void report(Object entity) {
+        if (entity == null) {
+            return;
+        }
+        for (Class<?> type : CATALOG_TYPES) {
+            if (type.isInstance(entity)) {
+                catalogVersionService.markChanged(type);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import java.util.Set;
+
+/**
+ * Application event published after a catalog change has been committed
+ * and the catalog version has been incremented.
+ *
+ * @param version The catalog version after the change
+ * @param changedTypes The catalog entity types touched by the change
+ * @param remote Whether the change has been committed by another node and was received via cluster invalidation
+ */
+public record CatalogChangedEvent(long version, Set<Class<?>> changedTypes, boolean remote) {
+
+    /**
+     * Creates an event for a change committed by this node.
+     *
+     * @param version The catalog version after the change
+     * @param changedTypes The catalog entity types touched by the change
+     */
+    public CatalogChangedEvent(long version, Set<Class<?>> changedTypes) {
+        this(version, changedTypes, false);
+    }
+
+    /**
+     * Checks whether the change touched the given entity type.
+     *
+     * @param type The entity type to check
+     * @return true if entities of the given type were inserted, updated or deleted
+     */
+    public boolean affects(Class<?> type) {
+        return changedTypes.stream().anyMatch(type::isAssignableFrom);
+    }
+}
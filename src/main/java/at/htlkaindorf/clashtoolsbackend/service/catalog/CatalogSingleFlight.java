@@ -0,0 +1,122 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent catalog queries.
+ *
+ * The first caller for a key runs the query on its own thread; callers arriving with the same key while it runs
+ * wait for and share its result, or its exception, instead of running the query again. Nothing is cached: once
+ * the query has finished the next caller runs it anew. This keeps the database from being hit by hundreds of
+ * identical heavy queries when many clients reload the catalog at once, e.g. after a deploy.
+ *
+ * Shared results are handed to every waiting caller and must not be modified. Callers inside a read-write
+ * transaction run the query themselves, since they may need to see their own uncommitted changes.
+ */
+@Service
+public class CatalogSingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final long timeoutMs;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param timeoutMs The maximum time a caller waits for the query of another caller
+     */
+    public CatalogSingleFlight(@Value("${catalog.single-flight.timeout-ms:10000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Runs a query, or waits for the identical query already running.
+     *
+     * @param key The normalized query, e.g. the method and its arguments
+     * @param query The query
+     * @param <T> The type of the result
+     * @return The result of the query
+     * @throws ServiceUnavailableException If the running query did not finish within the timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> query) {
+        calls.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return query.get();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running == null) {
+            try {
+                T result = query.get();
+                own.complete(result);
+                return result;
+            } catch (RuntimeException | Error ex) {
+                own.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        coalesced.increment();
+        try {
+            return (T) running.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException("Catalog query is taking too long, please retry");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the catalog query");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Gets the number of queries requested so far.
+     *
+     * @return The number of calls
+     */
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * Gets the number of calls so far that shared the result of a running query.
+     *
+     * @return The number of coalesced calls
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Gets the number of queries currently running.
+     *
+     * @return The number of distinct running queries
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
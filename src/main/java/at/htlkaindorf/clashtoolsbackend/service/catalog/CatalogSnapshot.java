@@ -0,0 +1,136 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory read model of the complete catalog at one catalog version.
+ * Holds the rows of every catalog table together with lookup indexes by ID and by parent.
+ * Instances are swapped atomically by the {@link CatalogSnapshotService} and can be shared between threads.
+ */
+@Getter
+public final class CatalogSnapshot {
+
+    private final long catalogVersion;
+    private final Instant createdAt;
+    private final List<BaseEntityRow> baseEntities;
+    private final List<BaseEntityLevelRow> baseEntityLevels;
+    private final List<AttributeNameRow> attributeNames;
+    private final List<AttributeRow> attributes;
+    private final List<AttributeTranslationRow> attributeTranslations;
+    private final List<LevelAttributeRow> levelAttributes;
+    private final List<AttributeValueRow> attributeValues;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<Long, BaseEntityRow> baseEntitiesById;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<Long, List<BaseEntityLevelRow>> levelsByBaseEntityId;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<Long, List<AttributeValueRow>> valuesByLevelId;
+
+    /**
+     * Creates a snapshot from the rows of all catalog tables.
+     * The lists are copied, so later changes to the arguments do not affect the snapshot.
+     *
+     * @param catalogVersion The catalog version the rows were read at
+     * @param createdAt The time the rows were read
+     * @param baseEntities All base entities
+     * @param baseEntityLevels All base entity levels
+     * @param attributeNames All attribute names
+     * @param attributes All attributes
+     * @param attributeTranslations All attribute translations
+     * @param levelAttributes All rows of the level/attribute join table
+     * @param attributeValues All attribute values
+     */
+    public CatalogSnapshot(long catalogVersion,
+                           Instant createdAt,
+                           List<BaseEntityRow> baseEntities,
+                           List<BaseEntityLevelRow> baseEntityLevels,
+                           List<AttributeNameRow> attributeNames,
+                           List<AttributeRow> attributes,
+                           List<AttributeTranslationRow> attributeTranslations,
+                           List<LevelAttributeRow> levelAttributes,
+                           List<AttributeValueRow> attributeValues) {
+        this.catalogVersion = catalogVersion;
+        this.createdAt = createdAt;
+        this.baseEntities = List.copyOf(baseEntities);
+        this.baseEntityLevels = List.copyOf(baseEntityLevels);
+        this.attributeNames = List.copyOf(attributeNames);
+        this.attributes = List.copyOf(attributes);
+        this.attributeTranslations = List.copyOf(attributeTranslations);
+        this.levelAttributes = List.copyOf(levelAttributes);
+        this.attributeValues = List.copyOf(attributeValues);
+
+        this.baseEntitiesById = this.baseEntities.stream()
+                .collect(Collectors.toUnmodifiableMap(BaseEntityRow::id, Function.identity()));
+        this.levelsByBaseEntityId = this.baseEntityLevels.stream()
+                .collect(Collectors.groupingBy(BaseEntityLevelRow::baseEntityId,
+                        Collectors.toUnmodifiableList()));
+        this.valuesByLevelId = this.attributeValues.stream()
+                .collect(Collectors.groupingBy(AttributeValueRow::baseEntityLevelId,
+                        Collectors.toUnmodifiableList()));
+    }
+
+    /**
+     * Creates an empty snapshot used until the first snapshot has been loaded.
+     * Its version is -1, so it never matches a database version.
+     *
+     * @return An empty snapshot
+     */
+    public static CatalogSnapshot empty() {
+        return new CatalogSnapshot(-1L, Instant.EPOCH,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    /**
+     * Checks whether this snapshot holds catalog data.
+     *
+     * @return true if the snapshot has been loaded from disk or the database
+     */
+    public boolean isLoaded() {
+        return catalogVersion >= 0;
+    }
+
+    /**
+     * Finds a base entity by its ID.
+     *
+     * @param id The ID of the base entity
+     * @return The base entity, or empty if no base entity with the ID exists
+     */
+    public Optional<BaseEntityRow> findBaseEntity(long id) {
+        return Optional.ofNullable(baseEntitiesById.get(id));
+    }
+
+    /**
+     * Gets the levels of a base entity ordered by level.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return The levels, or an empty list if the base entity has none
+     */
+    public List<BaseEntityLevelRow> getLevels(long baseEntityId) {
+        return levelsByBaseEntityId.getOrDefault(baseEntityId, List.of());
+    }
+
+    /**
+     * Gets the attribute values of a base entity level.
+     *
+     * @param baseEntityLevelId The ID of the base entity level
+     * @return The attribute values, or an empty list if the level has none
+     */
+    public List<AttributeValueRow> getAttributeValues(long baseEntityLevelId) {
+        return valuesByLevelId.getOrDefault(baseEntityLevelId, List.of());
+    }
+}
@@ -0,0 +1,306 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary encoder and decoder for {@link CatalogSnapshot}s.
+ *
+ * File layout (big endian):
+ * - header: magic "CTCS" (int), format version (short), catalog version (long), creation time in epoch ms (long)
+ * - one section per catalog table in a fixed order, each starting with its row count (int)
+ * - trailer: CRC32 of all preceding bytes (long)
+ *
+ * Strings are written as UTF-8 with an int length prefix (-1 for null).
+ * Enums are written by name, so reordering enum constants does not invalidate existing files.
+ * Typed attribute values start with a one-byte tag describing the value's Java type.
+ */
+@Component
+public class CatalogSnapshotCodec {
+
+    /**
+     * Magic number identifying snapshot files ("CTCS").
+     */
+    public static final int MAGIC = 0x43544353;
+
+    /**
+     * Version of the binary layout. Files with a different format version are rejected.
+     */
+    public static final short FORMAT_VERSION = 1;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_INTEGER = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_STRING = 3;
+    private static final byte VALUE_RANGE = 4;
+
+    /**
+     * Writes a snapshot to the given stream. The stream is flushed but not closed.
+     *
+     * @param snapshot The snapshot to write
+     * @param target The stream to write to
+     * @throws IOException If writing fails
+     */
+    public void encode(CatalogSnapshot snapshot, OutputStream target) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(target, 64 * 1024), crc));
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(snapshot.getCatalogVersion());
+        out.writeLong(snapshot.getCreatedAt().toEpochMilli());
+
+        out.writeInt(snapshot.getBaseEntities().size());
+        for (BaseEntityRow row : snapshot.getBaseEntities()) {
+            out.writeLong(row.id());
+            writeString(out, row.name());
+            writeString(out, row.category() != null ? row.category().name() : null);
+        }
+
+        out.writeInt(snapshot.getBaseEntityLevels().size());
+        for (BaseEntityLevelRow row : snapshot.getBaseEntityLevels()) {
+            out.writeLong(row.id());
+            out.writeLong(row.baseEntityId());
+            out.writeInt(row.level());
+            writeString(out, row.resourceType() != null ? row.resourceType().name() : null);
+            out.writeInt(row.upgradeCost());
+            out.writeInt(row.upgradeTime());
+            writeString(out, row.imgPath());
+        }
+
+        out.writeInt(snapshot.getAttributeNames().size());
+        for (AttributeNameRow row : snapshot.getAttributeNames()) {
+            out.writeLong(row.id());
+            writeString(out, row.name());
+        }
+
+        out.writeInt(snapshot.getAttributes().size());
+        for (AttributeRow row : snapshot.getAttributes()) {
+            out.writeLong(row.id());
+            out.writeLong(row.attributeNameId());
+        }
+
+        out.writeInt(snapshot.getAttributeTranslations().size());
+        for (AttributeTranslationRow row : snapshot.getAttributeTranslations()) {
+            out.writeLong(row.id());
+            out.writeLong(row.attributeId());
+            writeString(out, row.languageCode());
+            writeString(out, row.name());
+        }
+
+        out.writeInt(snapshot.getLevelAttributes().size());
+        for (LevelAttributeRow row : snapshot.getLevelAttributes()) {
+            out.writeLong(row.baseEntityLevelId());
+            out.writeLong(row.attributeId());
+        }
+
+        out.writeInt(snapshot.getAttributeValues().size());
+        for (AttributeValueRow row : snapshot.getAttributeValues()) {
+            out.writeLong(row.id());
+            out.writeLong(row.attributeId());
+            out.writeLong(row.baseEntityLevelId());
+            writeString(out, row.valueType());
+            writeValue(out, row.value());
+        }
+
+        out.flush();
+        DataOutputStream trailer = new DataOutputStream(target);
+        trailer.writeLong(crc.getValue());
+        trailer.flush();
+    }
+
+    /**
+     * Reads a snapshot from the given buffer, typically a memory-mapped snapshot file.
+     * The buffer's position is advanced to the end of the snapshot.
+     *
+     * @param buffer The buffer to read from
+     * @return The decoded snapshot
+     * @throws IllegalArgumentException If the buffer does not contain a valid snapshot of the current format version
+     */
+    public CatalogSnapshot decode(ByteBuffer buffer) {
+        if (buffer.remaining() < Long.BYTES) {
+            throw new IllegalArgumentException("Snapshot file is truncated");
+        }
+        verifyChecksum(buffer);
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a catalog snapshot file");
+            }
+            short formatVersion = buffer.getShort();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot format version: " + formatVersion);
+            }
+            long catalogVersion = buffer.getLong();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+
+            int count = buffer.getInt();
+            List<BaseEntityRow> baseEntities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                String name = readString(buffer);
+                String category = readString(buffer);
+                baseEntities.add(new BaseEntityRow(id, name, category != null ? Category.valueOf(category) : null));
+            }
+
+            count = buffer.getInt();
+            List<BaseEntityLevelRow> baseEntityLevels = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long baseEntityId = buffer.getLong();
+                int level = buffer.getInt();
+                String resourceType = readString(buffer);
+                int upgradeCost = buffer.getInt();
+                int upgradeTime = buffer.getInt();
+                String imgPath = readString(buffer);
+                baseEntityLevels.add(new BaseEntityLevelRow(id, baseEntityId, level,
+                        resourceType != null ? ResourceType.valueOf(resourceType) : null,
+                        upgradeCost, upgradeTime, imgPath));
+            }
+
+            count = buffer.getInt();
+            List<AttributeNameRow> attributeNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                attributeNames.add(new AttributeNameRow(id, readString(buffer)));
+            }
+
+            count = buffer.getInt();
+            List<AttributeRow> attributes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                attributes.add(new AttributeRow(id, buffer.getLong()));
+            }
+
+            count = buffer.getInt();
+            List<AttributeTranslationRow> attributeTranslations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long attributeId = buffer.getLong();
+                String languageCode = readString(buffer);
+                String name = readString(buffer);
+                attributeTranslations.add(new AttributeTranslationRow(id, attributeId, languageCode, name));
+            }
+
+            count = buffer.getInt();
+            List<LevelAttributeRow> levelAttributes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long baseEntityLevelId = buffer.getLong();
+                levelAttributes.add(new LevelAttributeRow(baseEntityLevelId, buffer.getLong()));
+            }
+
+            count = buffer.getInt();
+            List<AttributeValueRow> attributeValues = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long attributeId = buffer.getLong();
+                long baseEntityLevelId = buffer.getLong();
+                String valueType = readString(buffer);
+                attributeValues.add(new AttributeValueRow(id, attributeId, baseEntityLevelId, valueType,
+                        readValue(buffer)));
+            }
+
+            buffer.getLong();
+            return new CatalogSnapshot(catalogVersion, createdAt, baseEntities, baseEntityLevels, attributeNames,
+                    attributes, attributeTranslations, levelAttributes, attributeValues);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Snapshot file is truncated", ex);
+        }
+    }
+
+    private void verifyChecksum(ByteBuffer buffer) {
+        int start = buffer.position();
+        int trailerPosition = buffer.limit() - Long.BYTES;
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start).limit(trailerPosition));
+        if (crc.getValue() != buffer.getLong(trailerPosition)) {
+            throw new IllegalArgumentException("Snapshot file checksum mismatch");
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt(intValue);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Range range) {
+            out.writeByte(VALUE_RANGE);
+            writeNullableDouble(out, range.getMin());
+            writeNullableDouble(out, range.getMax());
+        } else {
+            out.writeByte(VALUE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private Object readValue(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case VALUE_NULL -> null;
+            case VALUE_INTEGER -> buffer.getInt();
+            case VALUE_LONG -> buffer.getLong();
+            case VALUE_RANGE -> new Range(readNullableDouble(buffer), readNullableDouble(buffer));
+            case VALUE_STRING -> readString(buffer);
+            default -> throw new IllegalArgumentException("Unknown attribute value tag: " + tag);
+        };
+    }
+
+    private void writeNullableDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private Double readNullableDouble(ByteBuffer buffer) {
+        return buffer.get() != 0 ? buffer.getDouble() : null;
+    }
+}
@@ -0,0 +1,320 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.repositories.CatalogJdbcRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service holding the current catalog snapshot of this node.
+ *
+ * On startup the last snapshot written by this node is loaded from disk through a memory-mapped file,
+ * so the catalog can be served before the database has been queried. Once the application is ready,
+ * the snapshot's catalog version is compared with the database and the snapshot is rebuilt in the
+ * background if it is missing or stale. Every committed catalog change triggers another rebuild.
+ * Rebuilt snapshots are written back to disk for the next start.
+ * Concurrent rebuilds are coalesced into one. Rebuilds are ordered by a local generation counter taken before
+ * the database is read, not by the catalog version: the database version can go backwards (the schema is
+ * recreated on start, a backup is restored), and a snapshot read from the database is authoritative over one
+ * loaded from disk, whatever their versions.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogSnapshotCodec catalogSnapshotCodec;
+    private final TransactionTemplate snapshotTransaction;
+    private final Path snapshotPath;
+    private final boolean persistenceEnabled;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicReference<Installed> current = new AtomicReference<>(new Installed(0, CatalogSnapshot.empty()));
+    private final AtomicReference<CompletableFuture<CatalogSnapshot>> inFlight = new AtomicReference<>();
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param catalogJdbcRepository The repository reading the catalog tables
+     * @param catalogVersionService The service providing the database catalog version
+     * @param catalogSnapshotCodec The codec for the snapshot file
+     * @param transactionManager The transaction manager used to read the catalog consistently
+     * @param snapshotPath The location of the snapshot file
+     * @param persistenceEnabled Whether snapshots are read from and written to disk
+     */
+    public CatalogSnapshotService(CatalogJdbcRepository catalogJdbcRepository,
+                                  CatalogVersionService catalogVersionService,
+                                  CatalogSnapshotCodec catalogSnapshotCodec,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${catalog.snapshot.path:data/catalog.snapshot}") String snapshotPath,
+                                  @Value("${catalog.snapshot.persistence-enabled:true}") boolean persistenceEnabled) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.catalogSnapshotCodec = catalogSnapshotCodec;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.persistenceEnabled = persistenceEnabled;
+    }
+
+    /**
+     * Gets the current catalog snapshot.
+     * Before the first snapshot has been loaded this returns an empty snapshot
+     * (see {@link CatalogSnapshot#isLoaded()}).
+     *
+     * @return The current snapshot, never null
+     */
+    public CatalogSnapshot current() {
+        return current.get().snapshot();
+    }
+
+    /**
+     * Gets the current catalog snapshot, loading the first one if none has been loaded yet.
+     * Callers arriving while the first snapshot is being loaded wait for that one load
+     * instead of each reading the catalog themselves.
+     *
+     * @return The current snapshot, loaded
+     */
+    public CatalogSnapshot loaded() {
+        CatalogSnapshot snapshot = current();
+        return snapshot.isLoaded() ? snapshot : refresh();
+    }
+
+    /**
+     * Non-blocking variant of {@link #loaded()}: before the first snapshot has been loaded,
+     * the load runs on the refresh thread and the returned future completes once it is done.
+     *
+     * @return The current snapshot, loaded
+     */
+    public CompletableFuture<CatalogSnapshot> loadedAsync() {
+        CatalogSnapshot snapshot = current();
+        return snapshot.isLoaded()
+                ? CompletableFuture.completedFuture(snapshot)
+                : CompletableFuture.supplyAsync(this::loaded, refreshExecutor);
+    }
+
+    /**
+     * Loads the snapshot file written by a previous run, if there is one.
+     * A missing or unreadable file is not an error; the snapshot is then built from the database.
+     */
+    @PostConstruct
+    void loadFromDisk() {
+        if (!persistenceEnabled || !Files.isRegularFile(snapshotPath)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CatalogSnapshot snapshot = catalogSnapshotCodec.decode(buffer);
+            current.updateAndGet(previous -> previous.generation() == 0 ? new Installed(0, snapshot) : previous);
+            logger.info("Loaded catalog snapshot version {} from {}", snapshot.getCatalogVersion(), snapshotPath);
+        } catch (IOException | IllegalArgumentException ex) {
+            logger.warn("Ignoring unreadable catalog snapshot {}: {}", snapshotPath, ex.getMessage());
+        }
+    }
+
+    /**
+     * Compares the loaded snapshot with the database catalog version once the application is ready
+     * and schedules a rebuild if the snapshot is missing or stale.
+     * If the database cannot be reached, the loaded snapshot keeps being served.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyVersion() {
+        try {
+            long databaseVersion = catalogVersionService.currentVersion();
+            if (databaseVersion != current().getCatalogVersion()) {
+                logger.info("Catalog snapshot version {} differs from database version {}, refreshing",
+                        current().getCatalogVersion(), databaseVersion);
+                refreshAsync();
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Could not read catalog version, serving snapshot version {}: {}",
+                    current().getCatalogVersion(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Schedules a rebuild after a committed catalog change.
+     *
+     * @param event The catalog change event
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.version() != current().getCatalogVersion()) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * Schedules a background rebuild of the snapshot.
+     * Requests arriving while a rebuild is queued are coalesced into that rebuild.
+     */
+    public void refreshAsync() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException ex) {
+                    logger.error("Catalog snapshot refresh failed, keeping version {}",
+                            current().getCatalogVersion(), ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the database, makes it the current snapshot and writes it to disk.
+     * A caller arriving while a rebuild is running waits for that rebuild instead of starting another one.
+     * The rebuilt snapshot replaces the current one unless a rebuild that started later has already been installed.
+     *
+     * @return The current snapshot after the rebuild
+     */
+    public CatalogSnapshot refresh() {
+        CompletableFuture<CatalogSnapshot> rebuild = new CompletableFuture<>();
+        CompletableFuture<CatalogSnapshot> running = inFlight.compareAndExchange(null, rebuild);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            CatalogSnapshot snapshot = rebuild();
+            rebuild.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException ex) {
+            rebuild.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private CatalogSnapshot rebuild() {
+        long generation = generations.incrementAndGet();
+        CatalogSnapshot snapshot = snapshotTransaction.execute(status -> readSnapshot());
+        Installed installed = current.accumulateAndGet(new Installed(generation, snapshot),
+                (previous, fresh) -> fresh.generation() > previous.generation() ? fresh : previous);
+        if (installed.snapshot() != snapshot) {
+            logger.info("Discarding catalog snapshot version {}, a later rebuild (version {}) is already current",
+                    snapshot.getCatalogVersion(), installed.snapshot().getCatalogVersion());
+            return installed.snapshot();
+        }
+        logger.info("Catalog snapshot refreshed to version {} ({} base entities, {} levels, {} attribute values)",
+                snapshot.getCatalogVersion(), snapshot.getBaseEntities().size(),
+                snapshot.getBaseEntityLevels().size(), snapshot.getAttributeValues().size());
+
+        if (persistenceEnabled) {
+            try {
+                writeToDisk(snapshot);
+            } catch (IOException ex) {
+                logger.warn("Could not write catalog snapshot to {}: {}", snapshotPath, ex.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * The current snapshot with the generation of the rebuild that produced it, 0 for none.
+     */
+    private record Installed(long generation, CatalogSnapshot snapshot) {
+    }
+
+    private CatalogSnapshot readSnapshot() {
+        long version = catalogVersionService.currentVersion();
+        Instant createdAt = Instant.now();
+
+        List<BaseEntityRow> baseEntities = new ArrayList<>();
+        List<BaseEntityLevelRow> baseEntityLevels = new ArrayList<>();
+        List<AttributeNameRow> attributeNames = new ArrayList<>();
+        List<AttributeRow> attributes = new ArrayList<>();
+        List<AttributeTranslationRow> attributeTranslations = new ArrayList<>();
+        List<LevelAttributeRow> levelAttributes = new ArrayList<>();
+        List<AttributeValueRow> attributeValues = new ArrayList<>();
+
+        catalogJdbcRepository.streamBaseEntities(baseEntities::add);
+        catalogJdbcRepository.streamBaseEntityLevels(baseEntityLevels::add);
+        catalogJdbcRepository.streamAttributeNames(attributeNames::add);
+        catalogJdbcRepository.streamAttributes(attributes::add);
+        catalogJdbcRepository.streamAttributeTranslations(attributeTranslations::add);
+        catalogJdbcRepository.streamLevelAttributes(levelAttributes::add);
+        catalogJdbcRepository.streamAttributeValues(attributeValues::add);
+
+        return new CatalogSnapshot(version, createdAt, baseEntities, baseEntityLevels, attributeNames,
+                attributes, attributeTranslations, levelAttributes, attributeValues);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and atomically moves it over the previous snapshot,
+     * so a crash while writing never leaves a half-written snapshot behind.
+     *
+     * @param snapshot The snapshot to write
+     * @throws IOException If writing or moving the file fails
+     */
+    private void writeToDisk(CatalogSnapshot snapshot) throws IOException {
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "catalog", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                catalogSnapshotCodec.encode(snapshot, out);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.CatalogVersion;
+import at.htlkaindorf.clashtoolsbackend.repositories.CatalogVersionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service maintaining the catalog version.
+ * Catalog changes are collected per transaction and the version is incremented once, in the same transaction,
+ * right before it commits; a {@link CatalogChangedEvent} follows after commit.
+ * The increment is therefore atomic with the change: rolled back transactions never change the version,
+ * and a committed change is never left without its version increment.
+ */
+@Service
+public class CatalogVersionService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    /**
+     * Increments the version row, creating it if it was never seeded; the upsert cannot race with itself.
+     */
+    private static final String INCREMENT_SQL = "INSERT INTO catalog_version (id, version, updated_at) "
+            + "VALUES (?, 1, CURRENT_TIMESTAMP) ON CONFLICT (id) DO UPDATE "
+            + "SET version = catalog_version.version + 1, updated_at = CURRENT_TIMESTAMP RETURNING version";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param catalogVersionRepository The repository for the catalog version row
+     * @param eventPublisher The publisher for catalog change events
+     * @param entityManager The shared entity manager, resolving to the session of the current transaction
+     * @param transactionManager The transaction manager used for changes made outside of a transaction
+     */
+    public CatalogVersionService(CatalogVersionRepository catalogVersionRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Seeds the version row, so increments only ever update it.
+     * If the database cannot be reached, the first increment creates the row instead.
+     */
+    @PostConstruct
+    void seedVersion() {
+        try {
+            transaction.executeWithoutResult(status -> catalogVersionRepository.insertIfAbsent(CatalogVersion.SINGLETON_ID));
+        } catch (DataAccessException ex) {
+            logger.warn("Could not seed the catalog version row: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Gets the current catalog version from the database.
+     *
+     * @return The current version, or 0 if the catalog has never been changed
+     */
+    public long currentVersion() {
+        return catalogVersionRepository.findById(CatalogVersion.SINGLETON_ID)
+                .map(CatalogVersion::getVersion)
+                .orElse(0L);
+    }
+
+    /**
+     * Records that an entity of the given catalog type has been changed.
+     * Inside a transaction the version is incremented once right before the transaction commits, after
+     * Hibernate's final flush, so changes detected during that flush are included;
+     * outside of a transaction it is incremented immediately.
+     *
+     * @param entityType The type of the changed entity
+     */
+    public void markChanged(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            bump(Set.of(entityType));
+            return;
+        }
+
+        PendingChange pending = (PendingChange) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChange();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            entityManager.unwrap(EventSource.class).getActionQueue().registerProcess(pending);
+        }
+        pending.changedTypes.add(entityType);
+    }
+
+    /**
+     * Increments the catalog version in its own transaction and publishes a {@link CatalogChangedEvent}.
+     *
+     * @param changedTypes The catalog entity types touched by the change
+     * @return The new catalog version
+     */
+    public long bump(Set<Class<?>> changedTypes) {
+        Long version = transaction.execute(status -> increment(entityManager.unwrap(SessionImplementor.class)));
+        publish(version, changedTypes);
+        return version;
+    }
+
+    private void publish(long version, Set<Class<?>> changedTypes) {
+        logger.debug("Catalog version incremented to {} ({})", version, changedTypes);
+        eventPublisher.publishEvent(new CatalogChangedEvent(version, Set.copyOf(changedTypes)));
+    }
+
+    /**
+     * Increments the version on the connection of a session, inside its transaction.
+     *
+     * @param session The session
+     * @return The new version
+     */
+    private static long increment(SessionImplementor session) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INCREMENT_SQL)) {
+                statement.setLong(1, CatalogVersion.SINGLETON_ID);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Collects the changed types of one transaction, increments the version before commit
+     * and publishes the change after commit.
+     */
+    private class PendingChange implements TransactionSynchronization, BeforeTransactionCompletionProcess {
+        private final Set<Class<?>> changedTypes = new HashSet<>();
+        private Long version;
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            version = increment(session);
+        }
+
+        @Override
+        public void afterCommit() {
+            if (version != null) {
+                publish(version, changedTypes);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersionService.this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedAttributeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedAttributeNameDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedBaseEntityDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedCatalogDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedLevelDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedTranslationDTO;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service building the normalized catalog payload from the {@link CatalogSnapshot}.
+ *
+ * Instead of nesting every attribute with its name and translations into every level that shares it,
+ * the payload holds one table per entity type keyed by ID, and the entities reference each other by ID.
+ * Only attributes referenced by a level are included, so the payload carries the same information as the
+ * with-levels response. The payload is built once per snapshot and reused until the snapshot is replaced.
+ */
+@Service
+@RequiredArgsConstructor
+public class NormalizedCatalogService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private volatile Built built;
+
+    private record Built(CatalogSnapshot snapshot, NormalizedCatalogDTO catalog) {
+    }
+
+    /**
+     * Gets the normalized catalog of the current snapshot, loading the snapshot first if necessary.
+     *
+     * @return The normalized catalog
+     */
+    public NormalizedCatalogDTO getCatalog() {
+        CatalogSnapshot snapshot = catalogSnapshotService.loaded();
+        Built current = built;
+        if (current == null || current.snapshot() != snapshot) {
+            current = new Built(snapshot, build(snapshot));
+            built = current;
+        }
+        return current.catalog();
+    }
+
+    /**
+     * Builds the normalized catalog of a snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return The normalized catalog
+     */
+    static NormalizedCatalogDTO build(CatalogSnapshot snapshot) {
+        Map<Long, List<Long>> attributeIdsByLevel = new HashMap<>();
+        Set<Long> referencedAttributes = new HashSet<>();
+        for (LevelAttributeRow row : snapshot.getLevelAttributes()) {
+            attributeIdsByLevel.computeIfAbsent(row.baseEntityLevelId(), id -> new ArrayList<>()).add(row.attributeId());
+            referencedAttributes.add(row.attributeId());
+        }
+        Map<Long, List<Long>> translationIdsByAttribute = new HashMap<>();
+        for (AttributeTranslationRow row : snapshot.getAttributeTranslations()) {
+            translationIdsByAttribute.computeIfAbsent(row.attributeId(), id -> new ArrayList<>()).add(row.id());
+        }
+
+        Map<Long, NormalizedBaseEntityDTO> baseEntities = new LinkedHashMap<>();
+        for (BaseEntityRow row : snapshot.getBaseEntities()) {
+            List<Long> levelIds = snapshot.getLevels(row.id()).stream().map(BaseEntityLevelRow::id).toList();
+            baseEntities.put(row.id(), new NormalizedBaseEntityDTO(row.id(), row.name(), row.category(), levelIds));
+        }
+
+        Map<Long, NormalizedLevelDTO> levels = new LinkedHashMap<>();
+        for (BaseEntityLevelRow row : snapshot.getBaseEntityLevels()) {
+            List<Long> attributeIds = attributeIdsByLevel.getOrDefault(row.id(), List.of());
+            levels.put(row.id(), new NormalizedLevelDTO(row.id(), row.baseEntityId(), row.level(),
+                    row.resourceType().getId(), row.upgradeCost(), row.upgradeTime(), row.imgPath(),
+                    Collections.unmodifiableList(attributeIds)));
+        }
+
+        Map<Long, NormalizedAttributeDTO> attributes = new LinkedHashMap<>();
+        Set<Long> referencedNames = new HashSet<>();
+        for (AttributeRow row : snapshot.getAttributes()) {
+            if (!referencedAttributes.contains(row.id())) {
+                continue;
+            }
+            List<Long> translationIds = translationIdsByAttribute.getOrDefault(row.id(), List.of());
+            attributes.put(row.id(), new NormalizedAttributeDTO(row.id(), row.attributeNameId(),
+                    Collections.unmodifiableList(translationIds)));
+            referencedNames.add(row.attributeNameId());
+        }
+
+        Map<Long, NormalizedAttributeNameDTO> attributeNames = new LinkedHashMap<>();
+        for (AttributeNameRow row : snapshot.getAttributeNames()) {
+            if (referencedNames.contains(row.id())) {
+                attributeNames.put(row.id(), new NormalizedAttributeNameDTO(row.id(), row.name()));
+            }
+        }
+
+        Map<Long, NormalizedTranslationDTO> translations = new LinkedHashMap<>();
+        for (AttributeTranslationRow row : snapshot.getAttributeTranslations()) {
+            if (attributes.containsKey(row.attributeId())) {
+                translations.put(row.id(), new NormalizedTranslationDTO(row.id(), row.attributeId(),
+                        row.languageCode(), row.name()));
+            }
+        }
+
+        return new NormalizedCatalogDTO(snapshot.getCatalogVersion(),
+                Collections.unmodifiableMap(baseEntities),
+                Collections.unmodifiableMap(levels),
+                Collections.unmodifiableMap(attributes),
+                Collections.unmodifiableMap(attributeNames),
+                Collections.unmodifiableMap(translations));
+    }
+}
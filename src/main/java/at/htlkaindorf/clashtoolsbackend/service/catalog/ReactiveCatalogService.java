@@ -0,0 +1,78 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read access to the catalog.
+ * All reads are served from the in-memory {@link CatalogSnapshot}, so emitting rows never blocks on JDBC.
+ * Each Flux is bound to the snapshot current at subscription time and emits rows on demand,
+ * which lets slow clients apply backpressure without the service buffering the whole result.
+ * Only if no snapshot has been loaded yet do subscribers wait, without blocking a thread, for the one shared load.
+ *
+ * The streams are served by Spring MVC's reactive return-value support on the servlet stack; WebFlux and R2DBC
+ * are not used. Since every row comes from the snapshot, the database is never read on the request path.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCatalogService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * Streams all base entities, optionally filtered by category.
+     *
+     * @param category The category to filter by, or null for all base entities
+     * @return The base entities ordered by ID
+     */
+    public Flux<BaseEntityRow> streamBaseEntities(Category category) {
+        return snapshot().flatMapMany(snapshot -> Flux.fromIterable(snapshot.getBaseEntities()))
+                .filter(row -> category == null || row.category() == category);
+    }
+
+    /**
+     * Gets a single base entity.
+     *
+     * @param id The ID of the base entity
+     * @return The base entity
+     * @throws IllegalArgumentException (as error signal) If no base entity with the given ID exists
+     */
+    public Mono<BaseEntityRow> getBaseEntity(long id) {
+        return snapshot().flatMap(snapshot -> Mono.justOrEmpty(snapshot.findBaseEntity(id)))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("BaseEntity not found")));
+    }
+
+    /**
+     * Streams the levels of all base entities, or of one base entity.
+     *
+     * @param baseEntityId The ID of the base entity, or null for the levels of all base entities
+     * @return The levels ordered by base entity and level
+     */
+    public Flux<BaseEntityLevelRow> streamBaseEntityLevels(Long baseEntityId) {
+        return snapshot().flatMapMany(snapshot -> Flux.fromIterable(baseEntityId != null
+                ? snapshot.getLevels(baseEntityId)
+                : snapshot.getBaseEntityLevels()));
+    }
+
+    /**
+     * Streams the attribute values of all levels, or of one base entity level.
+     *
+     * @param baseEntityLevelId The ID of the base entity level, or null for all attribute values
+     * @return The attribute values ordered by base entity level
+     */
+    public Flux<AttributeValueRow> streamAttributeValues(Long baseEntityLevelId) {
+        return snapshot().flatMapMany(snapshot -> Flux.fromIterable(baseEntityLevelId != null
+                ? snapshot.getAttributeValues(baseEntityLevelId)
+                : snapshot.getAttributeValues()));
+    }
+
+    private Mono<CatalogSnapshot> snapshot() {
+        return Mono.fromFuture(catalogSnapshotService::loadedAsync);
+    }
+}
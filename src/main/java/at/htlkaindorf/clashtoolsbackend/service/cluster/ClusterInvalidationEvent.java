@@ -0,0 +1,12 @@
+package at.htlkaindorf.clashtoolsbackend.service.cluster;
+
+/**
+ * Application event published when another node reports a change to a non-catalog entity.
+ * Catalog changes are republished as remote {@code CatalogChangedEvent}s instead,
+ * so the existing catalog listeners handle them.
+ *
+ * @param entityType The simple class name of the changed entity type
+ * @param entityId The ID of the changed entity, null if all entities of the type are affected
+ */
+public record ClusterInvalidationEvent(String entityType, Long entityId) {
+}
@@ -0,0 +1,264 @@
+package at.htlkaindorf.clashtoolsbackend.service.cluster;
+
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogChangeListener;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogChangedEvent;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogVersionService;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.PgNotifyListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping the in-process caches of all nodes consistent.
+ *
+ * Committed changes are broadcast as compact {@link InvalidationMessage}s through PostgreSQL NOTIFY
+ * and received on every node through the dedicated LISTEN connection of the {@link PgNotifyListener}.
+ * Bursts are coalesced in both directions: outgoing messages are collected for a short window and sent
+ * in as few NOTIFYs as possible, incoming ones are merged before they are applied. Received catalog changes
+ * are republished as remote {@link CatalogChangedEvent}s, so the catalog snapshot, the cost tables and the
+ * reference data refresh exactly as for local changes; other entity types are published as
+ * {@link ClusterInvalidationEvent}s.
+ *
+ * While the listener connection is down, and once after it has been re-established, the catalog version is
+ * polled instead, so no change is missed for longer than the poll interval.
+ */
+@Service
+public class ClusterInvalidationService {
+    /**
+     * The LISTEN/NOTIFY channel carrying invalidation messages
+     */
+    public static final String CHANNEL = "cluster_invalidation";
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInvalidationService.class);
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final Map<String, Class<?>> CATALOG_TYPES = CatalogChangeListener.CATALOG_TYPES.stream()
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PgNotifyListener pgNotifyListener;
+    private final CatalogVersionService catalogVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long coalesceMs;
+    private final long pollIntervalMs;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ConcurrentLinkedQueue<InvalidationMessage> outgoing = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<InvalidationMessage> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean outgoingScheduled = new AtomicBoolean();
+    private final AtomicBoolean incomingScheduled = new AtomicBoolean();
+    private volatile long knownCatalogVersion = -1;
+    private long polledConnectionCount = -1;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate The template used to send the NOTIFYs
+     * @param pgNotifyListener The listener receiving the messages of the other nodes
+     * @param catalogVersionService The service providing the catalog version for the polling fallback
+     * @param eventPublisher The publisher for the local invalidation events
+     * @param enabled Whether invalidations are exchanged at all
+     * @param coalesceMs The window in which messages are collected before they are sent or applied
+     * @param pollIntervalMs The catalog version poll interval while notifications may be missed
+     */
+    public ClusterInvalidationService(JdbcTemplate jdbcTemplate,
+                                      PgNotifyListener pgNotifyListener,
+                                      CatalogVersionService catalogVersionService,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${cluster.invalidation.enabled:true}") boolean enabled,
+                                      @Value("${cluster.invalidation.coalesce-ms:100}") long coalesceMs,
+                                      @Value("${cluster.invalidation.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pgNotifyListener = pgNotifyListener;
+        this.catalogVersionService = catalogVersionService;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.coalesceMs = coalesceMs;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        pgNotifyListener.subscribe(CHANNEL, this::receive);
+        executor.scheduleWithFixedDelay(this::pollIfMissingNotifications, pollIntervalMs, pollIntervalMs,
+                TimeUnit.MILLISECONDS);
+        logger.info("Cluster invalidation started on node {}", nodeId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Broadcasts a change of a non-catalog entity to the other nodes.
+     * Inside a transaction the message is sent after commit and dropped on rollback.
+     *
+     * @param entityType The type of the changed entity
+     * @param entityId The ID of the changed entity, null if all entities of the type are affected
+     */
+    public void broadcast(Class<?> entityType, Long entityId) {
+        InvalidationMessage message = new InvalidationMessage(nodeId, entityType.getSimpleName(), entityId, 0);
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(message);
+                }
+            });
+        } else {
+            enqueue(message);
+        }
+    }
+
+    /**
+     * Broadcasts a committed catalog change of this node.
+     * The event is published after commit, so the message is queued right away.
+     *
+     * @param event The catalog change event
+     */
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        knownCatalogVersion = Math.max(knownCatalogVersion, event.version());
+        if (event.remote()) {
+            return;
+        }
+        for (Class<?> type : event.changedTypes()) {
+            enqueue(new InvalidationMessage(nodeId, type.getSimpleName(), null, event.version()));
+        }
+    }
+
+    private void enqueue(InvalidationMessage message) {
+        if (!enabled) {
+            return;
+        }
+        outgoing.add(message);
+        if (outgoingScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::sendOutgoing, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendOutgoing() {
+        outgoingScheduled.set(false);
+        List<InvalidationMessage> messages = InvalidationMessage.coalesce(drain(outgoing));
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            for (String payload : InvalidationMessage.toPayloads(messages, MAX_PAYLOAD_LENGTH)) {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CHANNEL, payload);
+            }
+            logger.debug("Broadcast {} invalidation messages", messages.size());
+        } catch (DataAccessException ex) {
+            // the other nodes pick the change up through their version polling
+            logger.warn("Could not broadcast {} invalidation messages: {}", messages.size(), ex.getMessage());
+        }
+    }
+
+    private void receive(String payload) {
+        for (String line : payload.split("\n")) {
+            try {
+                InvalidationMessage message = InvalidationMessage.decode(line);
+                if (!nodeId.equals(message.origin())) {
+                    incoming.add(message);
+                }
+            } catch (IllegalArgumentException ex) {
+                logger.warn("Ignoring invalid invalidation message: {}", ex.getMessage());
+            }
+        }
+        if (!incoming.isEmpty() && incomingScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::applyIncoming, coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void applyIncoming() {
+        incomingScheduled.set(false);
+        long catalogVersion = 0;
+        Set<Class<?>> catalogTypes = new HashSet<>();
+        for (InvalidationMessage message : InvalidationMessage.coalesce(drain(incoming))) {
+            Class<?> catalogType = CATALOG_TYPES.get(message.entityType());
+            if (catalogType != null) {
+                catalogTypes.add(catalogType);
+                catalogVersion = Math.max(catalogVersion, message.catalogVersion());
+            } else {
+                eventPublisher.publishEvent(new ClusterInvalidationEvent(message.entityType(), message.entityId()));
+            }
+        }
+        if (!catalogTypes.isEmpty()) {
+            publishRemoteCatalogChange(catalogVersion, catalogTypes);
+        }
+    }
+
+    /**
+     * Polls the catalog version while the listener connection is down and once after each reconnect,
+     * when notifications may have been missed.
+     */
+    private void pollIfMissingNotifications() {
+        long connectionCount = pgNotifyListener.getConnectionCount();
+        if (pgNotifyListener.isConnected() && connectionCount == polledConnectionCount) {
+            return;
+        }
+        polledConnectionCount = connectionCount;
+        try {
+            long version = catalogVersionService.currentVersion();
+            if (knownCatalogVersion >= 0 && version > knownCatalogVersion) {
+                logger.info("Catalog version {} detected by polling, invalidating catalog caches", version);
+                publishRemoteCatalogChange(version, Set.copyOf(CATALOG_TYPES.values()));
+            }
+            knownCatalogVersion = Math.max(knownCatalogVersion, version);
+        } catch (DataAccessException ex) {
+            logger.warn("Could not poll catalog version: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.error("Catalog version polling failed", ex);
+        }
+    }
+
+    private void publishRemoteCatalogChange(long version, Set<Class<?>> types) {
+        try {
+            eventPublisher.publishEvent(new CatalogChangedEvent(version, types, true));
+        } catch (RuntimeException ex) {
+            logger.error("Applying remote catalog change {} failed", version, ex);
+        }
+    }
+
+    private static List<InvalidationMessage> drain(ConcurrentLinkedQueue<InvalidationMessage> queue) {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        InvalidationMessage message;
+        while ((message = queue.poll()) != null) {
+            messages.add(message);
+        }
+        return messages;
+    }
+}
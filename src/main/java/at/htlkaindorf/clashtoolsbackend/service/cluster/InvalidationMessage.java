@@ -0,0 +1,109 @@
+package at.htlkaindorf.clashtoolsbackend.service.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact cache invalidation message exchanged between nodes.
+ * Messages are encoded as one line each, {@code origin|entityType|entityId|catalogVersion},
+ * so a single NOTIFY payload can carry a whole burst of them.
+ *
+ * @param origin The ID of the node that committed the change
+ * @param entityType The simple class name of the changed entity type
+ * @param entityId The ID of the changed entity, null if all entities of the type are affected
+ * @param catalogVersion The catalog version after the change, 0 for non-catalog entities
+ */
+public record InvalidationMessage(String origin, String entityType, Long entityId, long catalogVersion) {
+
+    /**
+     * Encodes the message as a single line.
+     *
+     * @return The encoded message
+     */
+    public String encode() {
+        return origin + "|" + entityType + "|" + (entityId == null ? "*" : entityId) + "|" + catalogVersion;
+    }
+
+    /**
+     * Decodes a single encoded message.
+     *
+     * @param line The encoded message
+     * @return The decoded message
+     * @throws IllegalArgumentException If the line is not a valid message
+     */
+    public static InvalidationMessage decode(String line) {
+        String[] parts = line.split("\\|");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid invalidation message: " + line);
+        }
+        try {
+            Long entityId = "*".equals(parts[2]) ? null : Long.valueOf(parts[2]);
+            return new InvalidationMessage(parts[0], parts[1], entityId, Long.parseLong(parts[3]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid invalidation message: " + line, ex);
+        }
+    }
+
+    /**
+     * Coalesces a burst of messages: duplicates are merged keeping the highest catalog version,
+     * and a message for a whole entity type replaces the messages for single entities of that type.
+     *
+     * @param messages The messages in arrival order
+     * @return The coalesced messages
+     */
+    public static List<InvalidationMessage> coalesce(Collection<InvalidationMessage> messages) {
+        Map<String, Long> maxVersions = new HashMap<>();
+        Set<String> wholeTypes = new HashSet<>();
+        for (InvalidationMessage message : messages) {
+            maxVersions.merge(message.entityType(), message.catalogVersion(), Math::max);
+            if (message.entityId() == null) {
+                wholeTypes.add(message.entityType());
+            }
+        }
+
+        Map<String, InvalidationMessage> coalesced = new LinkedHashMap<>();
+        for (InvalidationMessage message : messages) {
+            String type = message.entityType();
+            if (wholeTypes.contains(type)) {
+                coalesced.putIfAbsent(type, new InvalidationMessage(message.origin(), type, null, maxVersions.get(type)));
+            } else {
+                coalesced.merge(type + "#" + message.entityId(), message,
+                        (existing, next) -> next.catalogVersion() > existing.catalogVersion() ? next : existing);
+            }
+        }
+        return new ArrayList<>(coalesced.values());
+    }
+
+    /**
+     * Encodes messages into NOTIFY payloads of at most {@code maxLength} characters.
+     *
+     * @param messages The messages to encode
+     * @param maxLength The maximum payload length
+     * @return The payloads, one message per line
+     */
+    public static List<String> toPayloads(Collection<InvalidationMessage> messages, int maxLength) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (InvalidationMessage message : messages) {
+            String line = message.encode();
+            if (payload.length() > 0 && payload.length() + 1 + line.length() > maxLength) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (payload.length() > 0) {
+                payload.append('\n');
+            }
+            payload.append(line);
+        }
+        if (payload.length() > 0) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+}
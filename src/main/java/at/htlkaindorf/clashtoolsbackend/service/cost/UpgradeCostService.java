@@ -0,0 +1,164 @@
+package at.htlkaindorf.clashtoolsbackend.service.cost;
+
+import at.htlkaindorf.clashtoolsbackend.dto.cost.UpgradeRangeCostDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.cost.UpgradeRangeRequestDTO;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service answering upgrade cost and time questions for level ranges.
+ *
+ * Holds one UpgradeCostTable per base entity, built from the catalog snapshot. Level changes made through
+ * BaseEntityLevelService bump the catalog version, which refreshes the snapshot; the tables are rebuilt
+ * on the first request after a new snapshot has been installed, so every range query is answered from
+ * the tables of the current snapshot with a few array reads.
+ */
+@Service
+public class UpgradeCostService {
+    private static final Logger logger = LoggerFactory.getLogger(UpgradeCostService.class);
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile CostTables tables = new CostTables(CatalogSnapshot.empty(), Map.of());
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param catalogSnapshotService The catalog snapshot the tables are built from
+     */
+    public UpgradeCostService(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    /**
+     * Gets the cost table of a base entity.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @return The table, empty if the base entity has no levels
+     */
+    public Optional<UpgradeCostTable> getTable(Long baseEntityId) {
+        return Optional.ofNullable(currentTables().byBaseEntityId().get(baseEntityId));
+    }
+
+    /**
+     * Gets the cost tables of all base entities as of a given snapshot, for callers that read other catalog data
+     * from the same snapshot and must not mix it with a newer one installed in between.
+     *
+     * @param snapshot The snapshot the tables have to be built from
+     * @return The tables by base entity ID
+     */
+    public Map<Long, UpgradeCostTable> getTables(CatalogSnapshot snapshot) {
+        return tablesOf(snapshot).byBaseEntityId();
+    }
+
+    /**
+     * Calculates the cost and time of upgrading a base entity from one level to another.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param fromLevel The current level
+     * @param toLevel The target level, null for the maximum level
+     * @return The total cost and time
+     * @throws IllegalArgumentException If the base entity has no levels or the range is invalid
+     */
+    public UpgradeRangeCostDTO getRangeCost(Long baseEntityId, int fromLevel, Integer toLevel) {
+        return getRangeCost(currentTables(), baseEntityId, fromLevel, toLevel);
+    }
+
+    /**
+     * Calculates the cost and time of several upgrade ranges, all from the same catalog version.
+     *
+     * @param requests The ranges to calculate
+     * @return The results in request order
+     * @throws IllegalArgumentException If a base entity has no levels or a range is invalid
+     */
+    public List<UpgradeRangeCostDTO> getRangeCosts(List<UpgradeRangeRequestDTO> requests) {
+        CostTables current = currentTables();
+        List<UpgradeRangeCostDTO> results = new ArrayList<>(requests.size());
+        for (UpgradeRangeRequestDTO request : requests) {
+            if (request.getBaseEntityId() == null || request.getFromLevel() == null) {
+                throw new IllegalArgumentException("baseEntityId and fromLevel are mandatory");
+            }
+            results.add(getRangeCost(current, request.getBaseEntityId(), request.getFromLevel(), request.getToLevel()));
+        }
+        return results;
+    }
+
+    private UpgradeRangeCostDTO getRangeCost(CostTables current, Long baseEntityId, int fromLevel, Integer toLevel) {
+        UpgradeCostTable table = current.byBaseEntityId().get(baseEntityId);
+        if (table == null) {
+            throw new IllegalArgumentException("No levels found for base entity with id: " + baseEntityId);
+        }
+        int target = toLevel != null ? toLevel : table.getMaxLevel();
+        return new UpgradeRangeCostDTO(baseEntityId, fromLevel, target, table.getMaxLevel(),
+                table.costs(fromLevel, target), table.time(fromLevel, target));
+    }
+
+    /**
+     * Gets the tables of the current snapshot, rebuilding them if a new snapshot has been installed.
+     *
+     * @return The current tables
+     */
+    private CostTables currentTables() {
+        return tablesOf(catalogSnapshotService.loaded());
+    }
+
+    /**
+     * Gets the tables of a snapshot. Tables of the current snapshot are built once and kept;
+     * tables of a snapshot that has been replaced in the meantime are built for the caller only.
+     *
+     * @param snapshot The snapshot
+     * @return The tables built from the snapshot
+     */
+    private CostTables tablesOf(CatalogSnapshot snapshot) {
+        CostTables current = tables;
+        if (current.source() == snapshot) {
+            return current;
+        }
+
+        rebuildLock.lock();
+        try {
+            if (tables.source() == snapshot) {
+                return tables;
+            }
+            CostTables built = build(snapshot);
+            if (snapshot == catalogSnapshotService.loaded()) {
+                tables = built;
+            }
+            return built;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private CostTables build(CatalogSnapshot snapshot) {
+        Map<Long, List<BaseEntityLevelRow>> levelsByBaseEntityId = new HashMap<>();
+        for (BaseEntityLevelRow level : snapshot.getBaseEntityLevels()) {
+            levelsByBaseEntityId.computeIfAbsent(level.baseEntityId(), id -> new ArrayList<>()).add(level);
+        }
+
+        Map<Long, UpgradeCostTable> byBaseEntityId = new HashMap<>(levelsByBaseEntityId.size() * 2);
+        levelsByBaseEntityId.forEach((baseEntityId, levels) ->
+                byBaseEntityId.put(baseEntityId, UpgradeCostTable.of(baseEntityId, levels)));
+        logger.info("Built upgrade cost tables for {} base entities from catalog version {}",
+                byBaseEntityId.size(), snapshot.getCatalogVersion());
+        return new CostTables(snapshot, Collections.unmodifiableMap(byBaseEntityId));
+    }
+
+    /**
+     * The cost tables of all base entities together with the snapshot they were built from.
+     */
+    private record CostTables(CatalogSnapshot source, Map<Long, UpgradeCostTable> byBaseEntityId) {
+    }
+}
@@ -0,0 +1,159 @@
+package at.htlkaindorf.clashtoolsbackend.service.cost;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable prefix sums over the levels of one base entity.
+ *
+ * Index {@code l} of every array holds the sum over all levels {@code 1..l} of the cost (per resource type)
+ * or time needed to upgrade to that level. The cost of upgrading from level {@code a} to level {@code b}
+ * is therefore {@code prefix[b] - prefix[a]}, two array reads per resource type regardless of the number of levels.
+ * Missing levels count as free and instant.
+ */
+public final class UpgradeCostTable {
+
+    /**
+     * Cost rows are indexed by the stable resource type ID, so reordering the enum does not move them.
+     */
+    private static final int RESOURCE_TYPE_SLOTS = maxResourceTypeId() + 1;
+
+    private final long baseEntityId;
+    private final int maxLevel;
+    private final long[] timePrefix;
+    private final long[][] costPrefix;
+
+    private UpgradeCostTable(long baseEntityId, int maxLevel, long[] timePrefix, long[][] costPrefix) {
+        this.baseEntityId = baseEntityId;
+        this.maxLevel = maxLevel;
+        this.timePrefix = timePrefix;
+        this.costPrefix = costPrefix;
+    }
+
+    /**
+     * Builds the table of a base entity from its levels.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param levels All levels of the base entity, in any order
+     * @return The table
+     */
+    public static UpgradeCostTable of(long baseEntityId, Collection<BaseEntityLevelRow> levels) {
+        int maxLevel = 0;
+        for (BaseEntityLevelRow level : levels) {
+            maxLevel = Math.max(maxLevel, level.level());
+        }
+
+        long[] timePrefix = new long[maxLevel + 1];
+        // rows are allocated lazily, most base entities are paid with one or two resource types
+        long[][] costPrefix = new long[RESOURCE_TYPE_SLOTS][];
+        for (BaseEntityLevelRow level : levels) {
+            if (level.level() < 1) {
+                continue;
+            }
+            timePrefix[level.level()] += level.upgradeTime();
+            if (level.resourceType() != null) {
+                int index = level.resourceType().getId();
+                if (costPrefix[index] == null) {
+                    costPrefix[index] = new long[maxLevel + 1];
+                }
+                costPrefix[index][level.level()] += level.upgradeCost();
+            }
+        }
+
+        accumulate(timePrefix);
+        for (long[] row : costPrefix) {
+            if (row != null) {
+                accumulate(row);
+            }
+        }
+        return new UpgradeCostTable(baseEntityId, maxLevel, timePrefix, costPrefix);
+    }
+
+    private static int maxResourceTypeId() {
+        int max = 0;
+        for (ResourceType resourceType : ResourceType.values()) {
+            max = Math.max(max, resourceType.getId());
+        }
+        return max;
+    }
+
+    private static void accumulate(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            values[i] += values[i - 1];
+        }
+    }
+
+    /**
+     * @return The ID of the base entity
+     */
+    public long getBaseEntityId() {
+        return baseEntityId;
+    }
+
+    /**
+     * @return The highest level of the base entity, 0 if it has no levels
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Gets the total upgrade time from one level to another.
+     *
+     * @param fromLevel The current level
+     * @param toLevel The target level
+     * @return The upgrade time in seconds
+     * @throws IllegalArgumentException If the range is invalid
+     */
+    public long time(int fromLevel, int toLevel) {
+        checkRange(fromLevel, toLevel);
+        return timePrefix[toLevel] - timePrefix[fromLevel];
+    }
+
+    /**
+     * Gets the total cost in one resource type from one level to another.
+     *
+     * @param resourceType The resource type
+     * @param fromLevel The current level
+     * @param toLevel The target level
+     * @return The cost in the given resource type
+     * @throws IllegalArgumentException If the range is invalid
+     */
+    public long cost(ResourceType resourceType, int fromLevel, int toLevel) {
+        checkRange(fromLevel, toLevel);
+        long[] row = costPrefix[resourceType.getId()];
+        return row != null ? row[toLevel] - row[fromLevel] : 0;
+    }
+
+    /**
+     * Gets the total cost per resource type from one level to another.
+     * Resource types that are not needed are omitted.
+     *
+     * @param fromLevel The current level
+     * @param toLevel The target level
+     * @return The costs by resource type
+     * @throws IllegalArgumentException If the range is invalid
+     */
+    public Map<ResourceType, Long> costs(int fromLevel, int toLevel) {
+        checkRange(fromLevel, toLevel);
+        Map<ResourceType, Long> costs = new EnumMap<>(ResourceType.class);
+        for (int i = 0; i < costPrefix.length; i++) {
+            long[] row = costPrefix[i];
+            if (row != null && row[toLevel] != row[fromLevel]) {
+                costs.put(ResourceType.fromId(i), row[toLevel] - row[fromLevel]);
+            }
+        }
+        return costs;
+    }
+
+    private void checkRange(int fromLevel, int toLevel) {
+        if (fromLevel < 0 || toLevel > maxLevel || fromLevel > toLevel) {
+            throw new IllegalArgumentException("Invalid level range " + fromLevel + ".." + toLevel
+                    + " for base entity " + baseEntityId + " (max level " + maxLevel + ")");
+        }
+    }
+}
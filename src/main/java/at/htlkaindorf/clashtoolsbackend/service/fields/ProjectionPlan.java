@@ -0,0 +1,191 @@
+package at.htlkaindorf.clashtoolsbackend.service.fields;
+
+import at.htlkaindorf.clashtoolsbackend.service.fields.SparseResource.Collection;
+import at.htlkaindorf.clashtoolsbackend.service.fields.SparseResource.Leaf;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiled projection of a {@link SparseResource} for one set of requested fields.
+ *
+ * The plan holds the generated SELECT, listing only the columns of the requested fields and only the joins
+ * those columns need, the readers mapping a row to a map with exactly the requested keys, and the plans of
+ * the requested nested collections. Collections that were not requested are never queried.
+ * Plans are immutable and cached by the {@link SparseFieldsService}.
+ */
+public final class ProjectionPlan {
+    /** Nested field set standing for all fields of a collection */
+    private static final Set<String> ALL_FIELDS = Set.of();
+
+    private final SparseResource resource;
+    private final String select;
+    private final List<Leaf> leaves;
+    private final List<String[]> leafPaths;
+    private final int firstLeafColumn;
+    private final Map<String, ChildPlan> children;
+
+    /**
+     * Plan of a nested collection.
+     *
+     * @param name The field name of the collection
+     * @param parentKeyColumn The column referencing the parent key
+     * @param plan The plan of the collection elements
+     */
+    record ChildPlan(String name, String parentKeyColumn, ProjectionPlan plan) {
+    }
+
+    private ProjectionPlan(SparseResource resource, List<Leaf> leaves, Map<String, ChildPlan> children,
+                           String parentKeyColumn) {
+        this.resource = resource;
+        this.leaves = leaves;
+        this.children = children;
+        this.leafPaths = leaves.stream().map(leaf -> leaf.path().split("\\.")).toList();
+
+        Set<String> joins = new LinkedHashSet<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(resource.getKeyColumn());
+        if (parentKeyColumn != null) {
+            sql.append(", ").append(parentKeyColumn);
+        }
+        this.firstLeafColumn = parentKeyColumn != null ? 3 : 2;
+        for (Leaf leaf : leaves) {
+            sql.append(", ").append(leaf.column());
+            joins.addAll(leaf.joins());
+        }
+        sql.append(" FROM ").append(resource.getTable());
+        for (String join : joins) {
+            sql.append(' ').append(join);
+        }
+        this.select = sql.toString();
+    }
+
+    /**
+     * Compiles the plan for a set of requested fields.
+     * A field is a leaf path ({@code baseEntity.name}), a prefix of leaf paths ({@code baseEntity}, selecting all
+     * of them), a collection ({@code attributes}, selecting all of its fields) or a path into a collection
+     * ({@code attributes.attributeName.name}). An empty set selects everything.
+     *
+     * @param resource The resource
+     * @param fields The requested fields
+     * @return The plan
+     * @throws IllegalArgumentException If a field is unknown
+     */
+    static ProjectionPlan compile(SparseResource resource, Set<String> fields) {
+        return compile(resource, fields, null);
+    }
+
+    private static ProjectionPlan compile(SparseResource resource, Set<String> fields, String parentKeyColumn) {
+        boolean all = fields.isEmpty();
+        Set<Leaf> selected = new LinkedHashSet<>();
+        Map<String, Set<String>> childFields = new LinkedHashMap<>();
+
+        for (String field : fields) {
+            if (!matchLeaves(resource, field, selected) && !matchCollection(resource, field, childFields)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        List<Leaf> leaves = new ArrayList<>();
+        for (Leaf leaf : resource.getLeaves()) {
+            if (all || selected.contains(leaf)) {
+                leaves.add(leaf);
+            }
+        }
+        Map<String, ChildPlan> children = new LinkedHashMap<>();
+        for (Collection collection : resource.getCollections()) {
+            Set<String> nested = childFields.get(collection.name());
+            if (all || nested != null) {
+                children.put(collection.name(), new ChildPlan(collection.name(), collection.parentKeyColumn(),
+                        compile(collection.resource(), all ? ALL_FIELDS : nested, collection.parentKeyColumn())));
+            }
+        }
+        return new ProjectionPlan(resource, leaves, children, parentKeyColumn);
+    }
+
+    private static boolean matchLeaves(SparseResource resource, String field, Set<Leaf> selected) {
+        boolean matched = false;
+        for (Leaf leaf : resource.getLeaves()) {
+            if (leaf.path().equals(field) || leaf.path().startsWith(field + ".")) {
+                selected.add(leaf);
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    private static boolean matchCollection(SparseResource resource, String field, Map<String, Set<String>> childFields) {
+        for (Collection collection : resource.getCollections()) {
+            if (collection.name().equals(field)) {
+                childFields.put(collection.name(), ALL_FIELDS);
+                return true;
+            }
+            if (field.startsWith(collection.name() + ".")) {
+                Set<String> nested = childFields.computeIfAbsent(collection.name(), name -> new TreeSet<>());
+                if (nested != ALL_FIELDS) {
+                    nested.add(field.substring(collection.name().length() + 1));
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Maps the current row to the output map of the requested fields.
+     *
+     * @param rs The result set positioned on a row
+     * @return The row as map, keys in declaration order
+     * @throws SQLException If a column cannot be read
+     */
+    Map<String, Object> readRow(ResultSet rs) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < leaves.size(); i++) {
+            Object value = leaves.get(i).reader().read(rs, firstLeafColumn + i);
+            put(row, leafPaths.get(i), value);
+        }
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void put(Map<String, Object> row, String[] path, Object value) {
+        Map<String, Object> target = row;
+        for (int i = 0; i < path.length - 1; i++) {
+            target = (Map<String, Object>) target.computeIfAbsent(path[i], key -> new LinkedHashMap<String, Object>());
+        }
+        target.put(path[path.length - 1], value);
+    }
+
+    SparseResource getResource() {
+        return resource;
+    }
+
+    /**
+     * Gets the generated SELECT without WHERE and ORDER BY clauses.
+     * The first column is the key of the resource, for nested plans followed by the parent key.
+     *
+     * @return The SQL
+     */
+    String getSelect() {
+        return select;
+    }
+
+    java.util.Collection<ChildPlan> getChildren() {
+        return children.values();
+    }
+
+    /**
+     * Gets the paths of the selected leaf fields, e.g. for logging or tests.
+     *
+     * @return The selected paths in declaration order
+     */
+    List<String> getFieldPaths() {
+        return leaves.stream().map(Leaf::path).toList();
+    }
+}
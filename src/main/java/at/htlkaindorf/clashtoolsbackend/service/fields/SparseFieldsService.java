@@ -0,0 +1,205 @@
+package at.htlkaindorf.clashtoolsbackend.service.fields;
+
+import at.htlkaindorf.clashtoolsbackend.service.fields.ProjectionPlan.ChildPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service answering catalog and account reads with only the fields a client asked for ({@code ?fields=}).
+ *
+ * The requested fields are validated against the {@link SparseResource} definitions and compiled into a
+ * {@link ProjectionPlan}, whose SQL selects only the needed columns, joins only the tables those columns
+ * come from and loads nested collections (attributes, translations, levels) only when they were requested,
+ * with one query per collection for all parents at once. Plans are cached by resource and normalized field set,
+ * so repeated requests of a list screen skip parsing and SQL generation.
+ */
+@Service
+public class SparseFieldsService {
+    private static final int MAX_FIELDS = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int planCacheSize;
+    private final Map<String, ProjectionPlan> planCache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dataSource The data source to read from
+     * @param planCacheSize The maximum number of cached plans; further field sets are compiled per request
+     */
+    public SparseFieldsService(DataSource dataSource,
+                               @Value("${sparse-fields.plan-cache-size:256}") int planCacheSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Gets all base entities with the requested fields.
+     *
+     * @param fields The comma separated fields, e.g. {@code id,name,baseEntityLevels.imgPath}
+     * @return The base entities ordered by ID
+     * @throws IllegalArgumentException If a field is unknown
+     */
+    public List<Map<String, Object>> getBaseEntities(String fields) {
+        return query(plan(SparseResource.BASE_ENTITY, fields), null, null);
+    }
+
+    /**
+     * Gets all base entity levels with the requested fields.
+     *
+     * @param fields The comma separated fields, e.g. {@code id,level,imgPath,baseEntity.name}
+     * @return The levels ordered by base entity and level
+     * @throws IllegalArgumentException If a field is unknown
+     */
+    public List<Map<String, Object>> getBaseEntityLevels(String fields) {
+        return query(plan(SparseResource.BASE_ENTITY_LEVEL, fields), null, null);
+    }
+
+    /**
+     * Gets the levels of a base entity with the requested fields.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param fields The comma separated fields
+     * @return The levels ordered by level
+     * @throws IllegalArgumentException If a field is unknown
+     */
+    public List<Map<String, Object>> getBaseEntityLevelsByBaseEntityId(Long baseEntityId, String fields) {
+        return query(plan(SparseResource.BASE_ENTITY_LEVEL, fields), "l.base_entity_id", baseEntityId);
+    }
+
+    /**
+     * Gets the account entities of an account with the requested fields.
+     *
+     * @param accountId The ID of the account
+     * @param fields The comma separated fields, e.g. {@code entityId,level}
+     * @return The account entities ordered by ID
+     * @throws IllegalArgumentException If a field is unknown
+     */
+    public List<Map<String, Object>> getAccountEntities(Long accountId, String fields) {
+        return query(plan(SparseResource.ACCOUNT_ENTITY, fields), "ae.account_id", accountId);
+    }
+
+    /**
+     * Gets the plan for a resource and field list, compiling and caching it on first use.
+     *
+     * @param resource The resource
+     * @param fields The comma separated fields; null or blank selects all fields
+     * @return The plan
+     * @throws IllegalArgumentException If a field is unknown or too many fields are requested
+     */
+    ProjectionPlan plan(SparseResource resource, String fields) {
+        Set<String> normalized = parse(fields);
+        String key = resource.name() + ':' + String.join(",", normalized);
+        ProjectionPlan plan = planCache.get(key);
+        if (plan == null) {
+            plan = ProjectionPlan.compile(resource, normalized);
+            if (planCache.size() < planCacheSize) {
+                planCache.putIfAbsent(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Gets the number of cached plans.
+     *
+     * @return The number of plans
+     */
+    public int getCachedPlanCount() {
+        return planCache.size();
+    }
+
+    private static Set<String> parse(String fields) {
+        Set<String> normalized = new TreeSet<>();
+        if (fields == null || fields.isBlank()) {
+            return normalized;
+        }
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                normalized.add(trimmed);
+            }
+        }
+        if (normalized.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("At most " + MAX_FIELDS + " fields can be requested");
+        }
+        return normalized;
+    }
+
+    private List<Map<String, Object>> query(ProjectionPlan plan, String filterColumn, Long filterValue) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Map<Long, List<Map<String, Object>>> rowsByKey = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(plan.getSelect());
+        if (filterColumn != null) {
+            sql.append(" WHERE ").append(filterColumn).append(" = ?");
+        }
+        sql.append(" ORDER BY ").append(plan.getResource().getOrderBy());
+
+        RowCallbackHandler handler = rs -> {
+            Map<String, Object> row = plan.readRow(rs);
+            rows.add(row);
+            rowsByKey.computeIfAbsent(rs.getLong(1), key -> new ArrayList<>(1)).add(row);
+        };
+        if (filterColumn != null) {
+            jdbcTemplate.query(sql.toString(), handler, filterValue);
+        } else {
+            jdbcTemplate.query(sql.toString(), handler);
+        }
+        loadChildren(plan, rowsByKey);
+        return rows;
+    }
+
+    /**
+     * Loads the requested collections of the given rows, one query per collection.
+     * The same element (e.g. an attribute shared by several levels) gets one map per parent.
+     */
+    private void loadChildren(ProjectionPlan plan, Map<Long, List<Map<String, Object>>> parentsByKey) {
+        if (parentsByKey.isEmpty()) {
+            return;
+        }
+        for (ChildPlan child : plan.getChildren()) {
+            for (List<Map<String, Object>> parents : parentsByKey.values()) {
+                for (Map<String, Object> parent : parents) {
+                    parent.put(child.name(), new ArrayList<Map<String, Object>>());
+                }
+            }
+            ProjectionPlan childPlan = child.plan();
+            String sql = childPlan.getSelect() + " WHERE " + child.parentKeyColumn() + " = ANY(?) ORDER BY "
+                    + childPlan.getResource().getOrderBy();
+            Long[] parentKeys = parentsByKey.keySet().toArray(Long[]::new);
+            Map<Long, List<Map<String, Object>>> childrenByKey = new HashMap<>();
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                statement.setArray(1, connection.createArrayOf("bigint", parentKeys));
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                Map<String, Object> row = childPlan.readRow(rs);
+                List<Map<String, Object>> elements = childrenByKey.computeIfAbsent(rs.getLong(1), key -> new ArrayList<>(1));
+                boolean first = true;
+                for (Map<String, Object> parent : parentsByKey.get(rs.getLong(2))) {
+                    Map<String, Object> element = first ? row : new LinkedHashMap<>(row);
+                    first = false;
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> collection = (List<Map<String, Object>>) parent.get(child.name());
+                    collection.add(element);
+                    elements.add(element);
+                }
+            });
+            loadChildren(childPlan, childrenByKey);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package at.htlkaindorf.clashtoolsbackend.service.fields;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Resources that support sparse fieldsets, described in terms of their tables.
+ *
+ * Each resource has a root table with a key column, selectable leaf fields (a dotted path in the JSON output,
+ * a column expression and the joins the column needs) and nested collections, which are loaded by a second
+ * query against their own resource keyed by the parent IDs. Only fields listed here can be requested, so
+ * the generated SQL consists of these fragments alone.
+ */
+public enum SparseResource {
+    ATTRIBUTE_TRANSLATION("attribute_translation t", "t.id", "t.attribute_id, t.id"),
+    LEVEL_ATTRIBUTE("base_entity_level_attributes la", "la.attribute_id", "la.base_entity_level_id, la.attribute_id"),
+    BASE_ENTITY_LEVEL("base_entity_level l", "l.id", "l.base_entity_id, l.level"),
+    BASE_ENTITY("base_entity e", "e.id", "e.id"),
+    ACCOUNT_ENTITY("account_entity ae", "ae.id", "ae.id");
+
+    private static final String JOIN_ATTRIBUTE = "JOIN attribute a ON a.id = la.attribute_id";
+    private static final String JOIN_ATTRIBUTE_NAME = "JOIN attribute_name an ON an.id = a.attribute_name_id";
+    private static final String JOIN_LEVEL_BASE_ENTITY = "JOIN base_entity e ON e.id = l.base_entity_id";
+    private static final String JOIN_ACCOUNT_BASE_ENTITY = "JOIN base_entity e ON e.id = ae.base_entity_id";
+
+    static {
+        ATTRIBUTE_TRANSLATION.define(List.of(
+                Leaf.of("id", "t.id", Reader.LONG),
+                Leaf.of("languageCode", "t.language_code", Reader.STRING),
+                Leaf.of("name", "t.name", Reader.STRING)
+        ), List.of());
+        LEVEL_ATTRIBUTE.define(List.of(
+                Leaf.of("id", "la.attribute_id", Reader.LONG),
+                Leaf.of("attributeName.id", "a.attribute_name_id", Reader.LONG, JOIN_ATTRIBUTE),
+                Leaf.of("attributeName.name", "an.name", Reader.STRING, JOIN_ATTRIBUTE, JOIN_ATTRIBUTE_NAME)
+        ), List.of(
+                new Collection("translations", ATTRIBUTE_TRANSLATION, "t.attribute_id")
+        ));
+        BASE_ENTITY_LEVEL.define(List.of(
+                Leaf.of("id", "l.id", Reader.LONG),
+                Leaf.of("baseEntity.id", "l.base_entity_id", Reader.LONG),
+                Leaf.of("baseEntity.name", "e.name", Reader.STRING, JOIN_LEVEL_BASE_ENTITY),
+                Leaf.of("baseEntity.category", "e.category", Reader.CATEGORY, JOIN_LEVEL_BASE_ENTITY),
+                Leaf.of("level", "l.level", Reader.INTEGER),
+                Leaf.of("resourceType", "l.resource_type", Reader.RESOURCE_TYPE),
+                Leaf.of("upgradeCost", "l.upgrade_cost", Reader.INTEGER),
+                Leaf.of("upgradeTime", "l.upgrade_time", Reader.INTEGER),
+                Leaf.of("imgPath", "l.img_path", Reader.STRING)
+        ), List.of(
+                new Collection("attributes", LEVEL_ATTRIBUTE, "la.base_entity_level_id")
+        ));
+        BASE_ENTITY.define(List.of(
+                Leaf.of("id", "e.id", Reader.LONG),
+                Leaf.of("name", "e.name", Reader.STRING),
+                Leaf.of("category", "e.category", Reader.CATEGORY)
+        ), List.of(
+                new Collection("baseEntityLevels", BASE_ENTITY_LEVEL, "l.base_entity_id")
+        ));
+        ACCOUNT_ENTITY.define(List.of(
+                Leaf.of("id", "ae.id", Reader.LONG),
+                Leaf.of("entityId", "ae.base_entity_id", Reader.LONG),
+                Leaf.of("entityName", "e.name", Reader.STRING, JOIN_ACCOUNT_BASE_ENTITY),
+                Leaf.of("level", "ae.current_level", Reader.INTEGER),
+                Leaf.of("upgradeStart", "ae.upgrade_start", Reader.LONG)
+        ), List.of());
+    }
+
+    private final String table;
+    private final String keyColumn;
+    private final String orderBy;
+    private List<Leaf> leaves;
+    private List<Collection> collections;
+
+    SparseResource(String table, String keyColumn, String orderBy) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.orderBy = orderBy;
+    }
+
+    private void define(List<Leaf> leaves, List<Collection> collections) {
+        this.leaves = leaves;
+        this.collections = collections;
+    }
+
+    String getTable() {
+        return table;
+    }
+
+    String getKeyColumn() {
+        return keyColumn;
+    }
+
+    String getOrderBy() {
+        return orderBy;
+    }
+
+    List<Leaf> getLeaves() {
+        return leaves;
+    }
+
+    List<Collection> getCollections() {
+        return collections;
+    }
+
+    /**
+     * A selectable column.
+     *
+     * @param path The dotted path of the field in the output, e.g. {@code baseEntity.name}
+     * @param column The column expression
+     * @param reader The reader converting the column value
+     * @param joins The joins the column needs, dependencies first
+     */
+    record Leaf(String path, String column, Reader reader, List<String> joins) {
+        static Leaf of(String path, String column, Reader reader, String... joins) {
+            return new Leaf(path, column, reader, List.of(joins));
+        }
+    }
+
+    /**
+     * A nested collection loaded by a second query.
+     *
+     * @param name The field name of the collection in the output
+     * @param resource The resource of the collection elements
+     * @param parentKeyColumn The column of the element resource referencing the parent key
+     */
+    record Collection(String name, SparseResource resource, String parentKeyColumn) {
+    }
+
+    /**
+     * Converts a column value to the type the regular DTOs expose.
+     */
+    enum Reader {
+        LONG {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getObject(index, Long.class);
+            }
+        },
+        INTEGER {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getObject(index, Integer.class);
+            }
+        },
+        STRING {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getString(index);
+            }
+        },
+        CATEGORY {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                String category = rs.getString(index);
+                return category != null ? Category.valueOf(category) : null;
+            }
+        },
+        RESOURCE_TYPE {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                Integer id = rs.getObject(index, Integer.class);
+                return id != null ? ResourceType.fromId(id) : null;
+            }
+        };
+
+        abstract Object read(ResultSet rs, int index) throws SQLException;
+    }
+}
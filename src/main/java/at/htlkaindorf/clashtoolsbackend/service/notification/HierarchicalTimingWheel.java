@@ -0,0 +1,258 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding timers with millisecond deadlines.
+ *
+ * Level 0 has {@code wheelSize} slots of one tick each; every further level has the same number of slots,
+ * each spanning a whole revolution of the level below. A timer is placed on the lowest level whose range
+ * covers its deadline and is cascaded one level down whenever the wheel reaches the start of its slot,
+ * until it expires from level 0. Adding and cancelling a timer are O(1) and advancing costs O(1) per tick
+ * plus the timers cascaded or expired, independent of how many timers are pending. Levels are added on
+ * demand, so deadlines of any distance are accepted.
+ *
+ * Timers fire with tick granularity: never before their deadline and at most one tick after it.
+ * Instances are not thread-safe; callers have to serialize access.
+ *
+ * @param <T> The type of the payload carried by each timer
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis The duration of one tick in milliseconds
+     * @param wheelSize The number of slots per level
+     * @param startMillis The current time in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("wheelSize must be at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.levels.add(new Level<>(wheelSize, 1));
+    }
+
+    /**
+     * Adds a timer. A deadline that is already due fires on the next call to {@link #advanceTo}.
+     *
+     * @param deadlineMillis The deadline in epoch milliseconds
+     * @param payload The payload handed to the expiry consumer
+     * @return The handle of the timer, used to cancel it
+     */
+    public Timer<T> add(long deadlineMillis, T payload) {
+        // round up so a timer never fires before its deadline
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timer<T> timer = new Timer<>(Math.max(deadlineTick, currentTick), payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer. Cancelling a timer that has already expired or been cancelled has no effect.
+     *
+     * @param timer The handle returned by {@link #add}
+     * @return true if the timer was pending and has been removed
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer.slot == null) {
+            return false;
+        }
+        timer.slot.remove(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and hands the payload of every timer due by then to the consumer,
+     * in deadline order (at tick granularity).
+     *
+     * @param nowMillis The current time in epoch milliseconds
+     * @param expired The consumer receiving the payloads of expired timers
+     * @return The number of expired timers
+     */
+    public int advanceTo(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        int count = expireCurrentSlot(expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            count += expireCurrentSlot(expired);
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of levels currently allocated
+     */
+    int levelCount() {
+        return levels.size();
+    }
+
+    private void place(Timer<T> timer) {
+        long remaining = timer.deadlineTick - currentTick;
+        int index = 0;
+        long span = wheelSize;
+        while (remaining >= span) {
+            index++;
+            span = span > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : span * wheelSize;
+        }
+        while (levels.size() <= index) {
+            Level<T> top = levels.get(levels.size() - 1);
+            levels.add(new Level<>(wheelSize, top.ticksPerSlot * wheelSize));
+        }
+        Level<T> level = levels.get(index);
+        level.slots[level.slotIndex(timer.deadlineTick)].append(timer);
+    }
+
+    /**
+     * Moves the timers of every higher-level slot starting at the current tick down to lower levels.
+     * Higher levels go first, so a timer can fall through several levels within one tick.
+     */
+    private void cascade() {
+        for (int i = levels.size() - 1; i > 0; i--) {
+            Level<T> level = levels.get(i);
+            if (currentTick % level.ticksPerSlot != 0) {
+                continue;
+            }
+            Slot<T> slot = level.slots[level.slotIndex(currentTick)];
+            Timer<T> timer = slot.head;
+            slot.head = null;
+            slot.tail = null;
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                timer.prev = null;
+                timer.slot = null;
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private int expireCurrentSlot(Consumer<T> expired) {
+        Level<T> base = levels.get(0);
+        Slot<T> slot = base.slots[base.slotIndex(currentTick)];
+        int count = 0;
+        Timer<T> timer = slot.head;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            if (timer.deadlineTick <= currentTick) {
+                slot.remove(timer);
+                size--;
+                count++;
+                expired.accept(timer.payload);
+            }
+            timer = next;
+        }
+        return count;
+    }
+
+    /**
+     * Handle of a pending timer.
+     *
+     * @param <T> The type of the payload
+     */
+    public static final class Timer<T> {
+        private final long deadlineTick;
+        private final T payload;
+        private Slot<T> slot;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadlineTick, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        /**
+         * @return The payload of the timer
+         */
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * @return true while the timer has neither expired nor been cancelled
+         */
+        public boolean isPending() {
+            return slot != null;
+        }
+    }
+
+    private static final class Level<T> {
+        private final Slot<T>[] slots;
+        private final long ticksPerSlot;
+
+        @SuppressWarnings("unchecked")
+        private Level(int wheelSize, long ticksPerSlot) {
+            this.slots = new Slot[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Slot<>();
+            }
+            this.ticksPerSlot = ticksPerSlot;
+        }
+
+        private int slotIndex(long tick) {
+            return (int) Math.floorMod(tick / ticksPerSlot, (long) slots.length);
+        }
+    }
+
+    /**
+     * Doubly linked list of timers, so a timer can be unlinked in constant time when it is cancelled.
+     */
+    private static final class Slot<T> {
+        private Timer<T> head;
+        private Timer<T> tail;
+
+        private void append(Timer<T> timer) {
+            timer.slot = this;
+            timer.prev = tail;
+            timer.next = null;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+
+        private void remove(Timer<T> timer) {
+            if (timer.prev == null) {
+                head = timer.next;
+            } else {
+                timer.prev.next = timer.next;
+            }
+            if (timer.next == null) {
+                tail = timer.prev;
+            } else {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+    }
+}
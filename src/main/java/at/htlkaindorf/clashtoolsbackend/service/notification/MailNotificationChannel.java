@@ -0,0 +1,97 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notification channel sending one plain text mail per finished upgrade to the mail address of the account's user.
+ * A batch is sent over a single SMTP connection. Without a configured mail server (spring.mail.host)
+ * there is no JavaMailSender and the channel does nothing.
+ */
+@Component
+public class MailNotificationChannel implements NotificationChannel {
+    private static final Logger logger = LoggerFactory.getLogger(MailNotificationChannel.class);
+
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final String from;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param mailSenderProvider Provider of the mail sender, empty if no mail server is configured
+     * @param from The sender address of notification mails
+     */
+    public MailNotificationChannel(ObjectProvider<JavaMailSender> mailSenderProvider,
+                                   @Value("${notifications.mail.from:noreply@clashtools.local}") String from) {
+        this.mailSenderProvider = mailSenderProvider;
+        this.from = from;
+    }
+
+    @Override
+    public String getName() {
+        return "mail";
+    }
+
+    @Override
+    public List<UpgradeNotificationMessage> deliver(List<UpgradeNotificationMessage> messages) {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            logger.debug("No mail server configured, skipping {} upgrade notification mails", messages.size());
+            return List.of();
+        }
+
+        Map<SimpleMailMessage, UpgradeNotificationMessage> mails = new IdentityHashMap<>();
+        for (UpgradeNotificationMessage message : messages) {
+            if (message.recipient().mail() != null && !message.recipient().mail().isBlank()) {
+                mails.put(toMail(message), message);
+            }
+        }
+        if (mails.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            mailSender.send(mails.keySet().toArray(new SimpleMailMessage[0]));
+            return List.of();
+        } catch (MailSendException ex) {
+            List<UpgradeNotificationMessage> failed = new ArrayList<>();
+            ex.getFailedMessages().keySet().forEach(mail -> {
+                UpgradeNotificationMessage message = mails.get(mail);
+                if (message != null) {
+                    failed.add(message);
+                }
+            });
+            // an exception without per-message details means the connection itself failed
+            return failed.isEmpty() ? new ArrayList<>(mails.values()) : failed;
+        } catch (MailException ex) {
+            logger.warn("Sending {} upgrade notification mails failed: {}", mails.size(), ex.getMessage());
+            return new ArrayList<>(mails.values());
+        }
+    }
+
+    private SimpleMailMessage toMail(UpgradeNotificationMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.recipient().mail());
+        mail.setSubject(message.entityName() + " reached level " + message.notification().targetLevel());
+        mail.setText("Hello " + message.recipient().username() + ",\n\n"
+                + "the upgrade of " + message.entityName() + " to level " + message.notification().targetLevel()
+                + " on account " + message.recipient().accountName() + " finished at "
+                + Instant.ofEpochMilli(message.notification().completedAt()) + ".\n\n"
+                + "Clash Tools");
+        return mail;
+    }
+}
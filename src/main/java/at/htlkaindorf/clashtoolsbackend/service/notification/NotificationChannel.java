@@ -0,0 +1,24 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import java.util.List;
+
+/**
+ * A way of delivering upgrade notifications to users, such as mail or push.
+ * The NotificationDispatcher hands every batch to all channels and retries
+ * the messages a channel reports as failed.
+ */
+public interface NotificationChannel {
+
+    /**
+     * @return The name of the channel, used in log messages
+     */
+    String getName();
+
+    /**
+     * Delivers a batch of messages.
+     *
+     * @param messages The messages to deliver
+     * @return The messages that could not be delivered and should be retried, empty if all succeeded
+     */
+    List<UpgradeNotificationMessage> deliver(List<UpgradeNotificationMessage> messages);
+}
@@ -0,0 +1,408 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.NotificationDelivery;
+import at.htlkaindorf.clashtoolsbackend.pojos.NotificationDeliveryStatus;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.NotificationDeliveryRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountRecipientRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous, batching dispatcher for upgrade notifications with at-least-once delivery.
+ *
+ * Notifications are queued and collected by a worker thread into batches of up to {@code batchSize},
+ * waiting at most {@code maxBatchDelay} for a batch to fill. Per batch the dispatcher
+ * - drops duplicates, both within the batch and already recorded ones (notification_delivery table),
+ * - records one PENDING delivery per notification and channel with an insert that skips existing rows, so a
+ *   notification is never recorded twice, also not after a restart or when several instances fire the same timer,
+ *   and only the deliveries this instance inserted are attempted,
+ * - resolves all recipients with one query and hands the messages to every NotificationChannel,
+ * - marks the deliveries a channel accepted as SENT in a short follow-up transaction.
+ * Deliveries a channel reports as failed stay PENDING with their next attempt moved ahead with exponential
+ * backoff, until the maximum number of attempts is reached and they are marked FAILED. Due deliveries are
+ * claimed from the table by every instance; an attempt that never completes, e.g. because the process died
+ * after recording, is retried once its lease of {@code attemptLeaseMillis} has expired.
+ * A crash between a send and its SENT update repeats the send, so channels may see a notification twice.
+ */
+@Service
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final List<NotificationChannel> channels;
+    private final NotificationDeliveryRepository notificationDeliveryRepository;
+    private final AccountRepository accountRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<UpgradeNotification> queue;
+    private final int batchSize;
+    private final long maxBatchDelayMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long attemptLeaseMillis;
+    private Thread worker;
+    private volatile boolean running;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param channels The channels notifications are delivered through
+     * @param notificationDeliveryRepository The repository recording the deliveries
+     * @param accountRepository The repository used to resolve recipients
+     * @param catalogSnapshotService The catalog snapshot, used to resolve entity names
+     * @param transactionManager The transaction manager for the delivery bookkeeping
+     * @param queueCapacity The maximum number of queued notifications
+     * @param batchSize The maximum number of notifications per batch and of deliveries claimed per retry poll
+     * @param maxBatchDelayMillis The maximum time to wait for a batch to fill
+     * @param maxAttempts The maximum number of delivery attempts per channel
+     * @param retryBackoffMillis The delay before the first retry, doubled for every further retry
+     * @param attemptLeaseMillis The time after which a started attempt without outcome is retried
+     */
+    public NotificationDispatcher(List<NotificationChannel> channels,
+                                  NotificationDeliveryRepository notificationDeliveryRepository,
+                                  AccountRepository accountRepository,
+                                  CatalogSnapshotService catalogSnapshotService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${notifications.queue-capacity:100000}") int queueCapacity,
+                                  @Value("${notifications.batch-size:100}") int batchSize,
+                                  @Value("${notifications.max-batch-delay-ms:500}") long maxBatchDelayMillis,
+                                  @Value("${notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${notifications.retry-backoff-ms:2000}") long retryBackoffMillis,
+                                  @Value("${notifications.attempt-lease-ms:60000}") long attemptLeaseMillis) {
+        this.channels = channels;
+        this.notificationDeliveryRepository = notificationDeliveryRepository;
+        this.accountRepository = accountRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.attemptLeaseMillis = attemptLeaseMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Queues a notification for delivery. If the queue is full the notification is dropped;
+     * as it has not been recorded, it is picked up again when timers are rehydrated.
+     *
+     * @param notification The notification to deliver
+     * @return true if the notification was queued
+     */
+    public boolean enqueue(UpgradeNotification notification) {
+        if (!queue.offer(notification)) {
+            logger.warn("Notification queue full, dropping notification {}", notification.dedupKey());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of notifications waiting to be dispatched
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<UpgradeNotification> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                UpgradeNotification first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    UpgradeNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.error("Dispatching {} notifications failed", batch.size(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Deduplicates, records and delivers one batch of notifications.
+     *
+     * @param batch The notifications of the batch
+     */
+    void dispatch(List<UpgradeNotification> batch) {
+        Map<String, UpgradeNotification> unique = new LinkedHashMap<>();
+        batch.forEach(notification -> unique.putIfAbsent(notification.dedupKey(), notification));
+
+        List<NotificationDelivery> deliveries;
+        try {
+            deliveries = transactionTemplate.execute(status -> record(unique));
+        } catch (DataAccessException ex) {
+            // nothing has been recorded; the timers have fired, so the notifications are only sent again
+            // once the timers are rehydrated, or by another instance firing the same timers
+            logger.error("Could not record {} notifications, skipping batch: {}", unique.size(), ex.getMessage());
+            return;
+        }
+        if (deliveries != null && !deliveries.isEmpty()) {
+            deliver(deliveries);
+        }
+    }
+
+    /**
+     * Claims the pending deliveries whose next attempt is due and attempts them again.
+     * The claimed rows are leased before the claiming transaction ends, so the attempt itself runs
+     * without holding row locks and no other instance picks them up meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${notifications.retry-poll-ms:1000}")
+    void retryDue() {
+        List<NotificationDelivery> due;
+        try {
+            due = transactionTemplate.execute(status -> {
+                Instant now = Instant.now();
+                List<NotificationDelivery> claimed = notificationDeliveryRepository.claimDue(now, batchSize);
+                claimed.forEach(delivery -> delivery.setNextAttemptAt(now.plusMillis(attemptLeaseMillis)));
+                return claimed;
+            });
+        } catch (DataAccessException ex) {
+            logger.warn("Could not claim due notification deliveries: {}", ex.getMessage());
+            return;
+        }
+        if (due != null && !due.isEmpty()) {
+            logger.info("Retrying {} notification deliveries", due.size());
+            deliver(due);
+        }
+    }
+
+    /**
+     * Removes already recorded notifications and records a pending delivery per channel for the remaining ones.
+     * The lookup only saves inserts; the insert itself skips deliveries recorded concurrently by another instance,
+     * so a duplicate never fails the batch. Rows are inserted in key order, so concurrent batches cannot deadlock.
+     * Runs within a transaction.
+     *
+     * @param unique The notifications of the batch by dedup key
+     * @return The deliveries recorded by this call
+     */
+    private List<NotificationDelivery> record(Map<String, UpgradeNotification> unique) {
+        Set<String> recorded = notificationDeliveryRepository.findRecordedKeys(unique.keySet());
+        recorded.forEach(unique::remove);
+        if (unique.isEmpty()) {
+            return List.of();
+        }
+
+        Instant leaseEnd = Instant.now().plusMillis(attemptLeaseMillis);
+        List<NotificationDelivery> deliveries = new ArrayList<>(unique.size() * channels.size());
+        for (UpgradeNotification notification : unique.values()) {
+            for (NotificationChannel channel : channels) {
+                deliveries.add(NotificationDelivery.builder()
+                        .dedupKey(notification.dedupKey())
+                        .channel(channel.getName())
+                        .status(NotificationDeliveryStatus.PENDING)
+                        .nextAttemptAt(leaseEnd)
+                        .accountEntityId(notification.accountEntityId())
+                        .accountId(notification.accountId())
+                        .baseEntityId(notification.baseEntityId())
+                        .targetLevel(notification.targetLevel())
+                        .upgradeStart(notification.upgradeStart())
+                        .completedAt(notification.completedAt())
+                        .build());
+            }
+        }
+        deliveries.sort(Comparator.comparing(NotificationDelivery::getDedupKey)
+                .thenComparing(NotificationDelivery::getChannel));
+        List<NotificationDelivery> inserted = new ArrayList<>(deliveries.size());
+        for (NotificationDelivery delivery : deliveries) {
+            List<Long> ids = notificationDeliveryRepository.insertIfAbsent(delivery);
+            if (!ids.isEmpty()) {
+                delivery.setId(ids.get(0));
+                inserted.add(delivery);
+            }
+        }
+        if (inserted.size() < deliveries.size()) {
+            logger.debug("{} notification deliveries had already been recorded by another instance",
+                    deliveries.size() - inserted.size());
+        }
+        return inserted;
+    }
+
+    /**
+     * Resolves the recipients of recorded deliveries, hands them to their channels
+     * and records the outcome of every delivery.
+     *
+     * @param deliveries The deliveries to attempt
+     */
+    private void deliver(List<NotificationDelivery> deliveries) {
+        Set<Long> accountIds = deliveries.stream()
+                .map(NotificationDelivery::getAccountId)
+                .collect(Collectors.toSet());
+        Map<Long, AccountRecipientRow> recipients = accountRepository.findRecipients(accountIds).stream()
+                .collect(Collectors.toMap(AccountRecipientRow::accountId, Function.identity()));
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+
+        Map<String, List<NotificationDelivery>> byChannel = new LinkedHashMap<>();
+        deliveries.forEach(delivery ->
+                byChannel.computeIfAbsent(delivery.getChannel(), name -> new ArrayList<>()).add(delivery));
+
+        Set<Long> sent = new HashSet<>();
+        Map<Long, String> failed = new HashMap<>();
+        Map<Long, String> abandoned = new HashMap<>();
+        for (NotificationChannel channel : channels) {
+            List<NotificationDelivery> pending = byChannel.remove(channel.getName());
+            if (pending == null) {
+                continue;
+            }
+            Map<UpgradeNotificationMessage, Long> deliveryIds = new LinkedHashMap<>();
+            for (NotificationDelivery delivery : pending) {
+                AccountRecipientRow recipient = recipients.get(delivery.getAccountId());
+                if (recipient == null) {
+                    // the account has been deleted in the meantime
+                    abandoned.put(delivery.getId(), "Account no longer exists");
+                    continue;
+                }
+                String entityName = snapshot.findBaseEntity(delivery.getBaseEntityId())
+                        .map(BaseEntityRow::name)
+                        .orElse("Entity " + delivery.getBaseEntityId());
+                deliveryIds.put(new UpgradeNotificationMessage(toNotification(delivery), recipient, entityName),
+                        delivery.getId());
+            }
+            if (deliveryIds.isEmpty()) {
+                continue;
+            }
+
+            List<UpgradeNotificationMessage> rejected;
+            String error;
+            try {
+                rejected = channel.deliver(List.copyOf(deliveryIds.keySet()));
+                error = "Rejected by channel " + channel.getName();
+            } catch (RuntimeException ex) {
+                logger.warn("Channel {} failed to deliver {} notifications: {}",
+                        channel.getName(), deliveryIds.size(), ex.getMessage());
+                rejected = List.copyOf(deliveryIds.keySet());
+                error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+            }
+            for (UpgradeNotificationMessage message : rejected) {
+                Long id = deliveryIds.remove(message);
+                if (id != null) {
+                    failed.put(id, error);
+                }
+            }
+            sent.addAll(deliveryIds.values());
+        }
+        // channels that are no longer configured on this instance
+        byChannel.values().forEach(pending -> pending.forEach(delivery ->
+                abandoned.put(delivery.getId(), "Unknown channel " + delivery.getChannel())));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordOutcomes(sent, failed, abandoned));
+        } catch (DataAccessException ex) {
+            // the deliveries stay pending and are attempted again once their lease has expired
+            logger.error("Could not record the outcome of {} notification deliveries: {}",
+                    deliveries.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Records the outcome of delivery attempts on the (managed) delivery rows.
+     * Runs within a transaction.
+     *
+     * @param sent The IDs of the deliveries the channels accepted
+     * @param failed The errors of the deliveries to retry, by delivery ID
+     * @param abandoned The reasons of the deliveries to give up on, by delivery ID
+     */
+    private void recordOutcomes(Set<Long> sent, Map<Long, String> failed, Map<Long, String> abandoned) {
+        Set<Long> ids = new HashSet<>(sent);
+        ids.addAll(failed.keySet());
+        ids.addAll(abandoned.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        int retried = 0;
+        int givenUp = 0;
+        for (NotificationDelivery delivery : notificationDeliveryRepository.findAllById(ids)) {
+            if (delivery.getStatus() != NotificationDeliveryStatus.PENDING) {
+                continue;
+            }
+            delivery.setAttempts(delivery.getAttempts() + 1);
+            if (sent.contains(delivery.getId())) {
+                delivery.setStatus(NotificationDeliveryStatus.SENT);
+                delivery.setSentAt(now);
+                continue;
+            }
+            String error = failed.containsKey(delivery.getId())
+                    ? failed.get(delivery.getId())
+                    : abandoned.get(delivery.getId());
+            delivery.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (abandoned.containsKey(delivery.getId()) || delivery.getAttempts() >= maxAttempts) {
+                delivery.setStatus(NotificationDeliveryStatus.FAILED);
+                givenUp++;
+            } else {
+                delivery.setNextAttemptAt(now.plusMillis(retryBackoffMillis << Math.min(delivery.getAttempts() - 1, 20)));
+                retried++;
+            }
+        }
+        if (retried > 0) {
+            logger.info("{} notification deliveries failed and are retried with backoff", retried);
+        }
+        if (givenUp > 0) {
+            logger.error("Giving up on {} notification deliveries", givenUp);
+        }
+    }
+
+    private static UpgradeNotification toNotification(NotificationDelivery delivery) {
+        return new UpgradeNotification(delivery.getAccountEntityId(), delivery.getAccountId(),
+                delivery.getBaseEntityId(), delivery.getTargetLevel(), delivery.getUpgradeStart(),
+                delivery.getCompletedAt());
+    }
+}
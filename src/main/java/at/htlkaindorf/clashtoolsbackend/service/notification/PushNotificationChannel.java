@@ -0,0 +1,47 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEventHub;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Notification channel pushing finished upgrades to the account's connected devices
+ * as UPGRADE_COMPLETED events on the account entity event stream.
+ */
+@Component
+public class PushNotificationChannel implements NotificationChannel {
+
+    private final AccountEventHub accountEventHub;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param accountEventHub The hub distributing account entity events
+     */
+    public PushNotificationChannel(AccountEventHub accountEventHub) {
+        this.accountEventHub = accountEventHub;
+    }
+
+    @Override
+    public String getName() {
+        return "push";
+    }
+
+    @Override
+    public List<UpgradeNotificationMessage> deliver(List<UpgradeNotificationMessage> messages) {
+        for (UpgradeNotificationMessage message : messages) {
+            UpgradeNotification notification = message.notification();
+            accountEventHub.publish(notification.accountId(), new AccountEntityChangeDTO(
+                    AccountEntityChangeType.UPGRADE_COMPLETED,
+                    notification.accountEntityId(),
+                    notification.baseEntityId(),
+                    notification.targetLevel(),
+                    notification.upgradeStart(),
+                    notification.completedAt()));
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,31 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+/**
+ * Notification that an upgrade of an account entity has finished.
+ *
+ * @param accountEntityId The ID of the upgraded account entity
+ * @param accountId The ID of the owning account
+ * @param baseEntityId The ID of the base entity
+ * @param targetLevel The level reached by the upgrade
+ * @param upgradeStart The upgrade start time in epoch milliseconds
+ * @param completedAt The completion time in epoch milliseconds
+ */
+public record UpgradeNotification(
+    Long accountEntityId,
+    Long accountId,
+    Long baseEntityId,
+    int targetLevel,
+    long upgradeStart,
+    long completedAt
+) {
+
+    /**
+     * Gets the key identifying this upgrade. An account entity can only run one upgrade
+     * per start time, so the key is unique per upgrade and stable across restarts.
+     *
+     * @return The deduplication key
+     */
+    public String dedupKey() {
+        return "upgrade:" + accountEntityId + ":" + upgradeStart;
+    }
+}
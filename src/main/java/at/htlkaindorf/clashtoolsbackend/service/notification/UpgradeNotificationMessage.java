@@ -0,0 +1,17 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountRecipientRow;
+
+/**
+ * An upgrade notification resolved to its recipient, ready to be handed to the notification channels.
+ *
+ * @param notification The notification
+ * @param recipient The account and owning user to notify
+ * @param entityName The name of the upgraded base entity
+ */
+public record UpgradeNotificationMessage(
+    UpgradeNotification notification,
+    AccountRecipientRow recipient,
+    String entityName
+) {
+}
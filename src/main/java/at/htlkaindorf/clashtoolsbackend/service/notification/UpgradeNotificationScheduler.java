@@ -0,0 +1,299 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityLevelRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.PendingUpgradeRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountChangeListener;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEntityChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one completion timer per running upgrade and hands finished upgrades to the NotificationDispatcher.
+ *
+ * An upgrade started at {@code upgradeStart} finishes after the upgrade time of the next level,
+ * so the timer is due at {@code upgradeStart + upgradeTime(currentLevel + 1) * 1000}.
+ * Timers live in a HierarchicalTimingWheel, which keeps scheduling and cancelling O(1) for millions of timers,
+ * and are kept in sync with the account entity changes, which the AccountChangeBroadcaster hands to every node;
+ * as scheduling replaces the timer of the same account entity, a change delivered twice does no harm.
+ * On startup, and after changes may have been missed, all running upgrades are rehydrated from the database;
+ * upgrades that finished while the application was down are notified right away, unless they are older than
+ * {@code maxOverdue}. As every node holds every timer, every node fires every completion; the NotificationDispatcher
+ * records each notification once per channel, so only one of them is delivered.
+ */
+@Service
+public class UpgradeNotificationScheduler implements AccountChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(UpgradeNotificationScheduler.class);
+
+    private final AccountEntityRepository accountEntityRepository;
+    private final BaseEntityLevelRepository baseEntityLevelRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long maxOverdueMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HierarchicalTimingWheel<UpgradeNotification> wheel;
+    private final Map<Long, HierarchicalTimingWheel.Timer<UpgradeNotification>> timers = new HashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param accountEntityRepository The repository used to rehydrate running upgrades
+     * @param baseEntityLevelRepository The repository used to look up upgrade times before the catalog snapshot is loaded
+     * @param catalogSnapshotService The catalog snapshot, used to look up upgrade times
+     * @param notificationDispatcher The dispatcher delivering the notifications
+     * @param transactionManager The transaction manager used for rehydration
+     * @param enabled Whether upgrade notifications are enabled
+     * @param tickMillis The resolution of the timing wheel
+     * @param wheelSize The number of slots per level of the timing wheel
+     * @param maxOverdueMillis How long after completion an upgrade is still notified when rehydrated
+     */
+    public UpgradeNotificationScheduler(AccountEntityRepository accountEntityRepository,
+                                        BaseEntityLevelRepository baseEntityLevelRepository,
+                                        CatalogSnapshotService catalogSnapshotService,
+                                        NotificationDispatcher notificationDispatcher,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notifications.upgrade.enabled:true}") boolean enabled,
+                                        @Value("${notifications.upgrade.tick-ms:1000}") long tickMillis,
+                                        @Value("${notifications.upgrade.wheel-size:512}") int wheelSize,
+                                        @Value("${notifications.upgrade.max-overdue-ms:86400000}") long maxOverdueMillis) {
+        this.accountEntityRepository = accountEntityRepository;
+        this.baseEntityLevelRepository = baseEntityLevelRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.maxOverdueMillis = maxOverdueMillis;
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upgrade-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Rehydrates the timers of all running upgrades and starts the timing wheel once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int count = readOnlyTransaction.execute(status -> rehydrate());
+            logger.info("Rehydrated {} upgrade completion timers", count);
+        } catch (DataAccessException ex) {
+            logger.error("Could not rehydrate upgrade completion timers: {}", ex.getMessage());
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public void onAccountChanges(List<AccountEntityChangedEvent> changes) {
+        for (AccountEntityChangedEvent change : changes) {
+            onAccountEntityChanged(change);
+        }
+    }
+
+    /**
+     * Replaces all timers with the running upgrades in the database, dropping timers of upgrades
+     * that have been cancelled or moved on another node in the meantime.
+     */
+    @Override
+    public void onAccountChangesMissed() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            timers.values().forEach(wheel::cancel);
+            timers.clear();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            int count = readOnlyTransaction.execute(status -> rehydrate());
+            logger.info("Rehydrated {} upgrade completion timers after missed changes", count);
+        } catch (DataAccessException ex) {
+            logger.error("Could not rehydrate upgrade completion timers: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Schedules, moves or cancels the completion timer of an account entity after a committed change.
+     *
+     * @param event The change event
+     */
+    public void onAccountEntityChanged(AccountEntityChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        AccountEntityChangeDTO change = event.change();
+        if (change.type() == AccountEntityChangeType.UPGRADE_COMPLETED) {
+            return;
+        }
+        if (change.type() == AccountEntityChangeType.DELETED || change.upgradeStart() == null) {
+            cancel(change.accountEntityId());
+            return;
+        }
+
+        Optional<Integer> upgradeTime = findUpgradeTime(change.baseEntityId(), change.level());
+        if (upgradeTime.isEmpty()) {
+            // already at the maximum level, nothing to wait for
+            cancel(change.accountEntityId());
+            return;
+        }
+        schedule(new UpgradeNotification(
+                change.accountEntityId(),
+                event.accountId(),
+                change.baseEntityId(),
+                change.level() + 1,
+                change.upgradeStart(),
+                change.upgradeStart() + upgradeTime.get() * 1000L));
+    }
+
+    /**
+     * Schedules the completion timer of an upgrade, replacing any timer of the same account entity.
+     *
+     * @param notification The notification to send on completion
+     */
+    public void schedule(UpgradeNotification notification) {
+        lock.lock();
+        try {
+            HierarchicalTimingWheel.Timer<UpgradeNotification> previous = timers.remove(notification.accountEntityId());
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            timers.put(notification.accountEntityId(), wheel.add(notification.completedAt(), notification));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the completion timer of an account entity, if there is one.
+     *
+     * @param accountEntityId The ID of the account entity
+     */
+    public void cancel(Long accountEntityId) {
+        lock.lock();
+        try {
+            HierarchicalTimingWheel.Timer<UpgradeNotification> timer = timers.remove(accountEntityId);
+            if (timer != null) {
+                wheel.cancel(timer);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of running upgrades with a pending timer
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int rehydrate() {
+        long oldestCompletion = System.currentTimeMillis() - maxOverdueMillis;
+        int count = 0;
+        try (Stream<PendingUpgradeRow> rows = accountEntityRepository.streamPendingUpgrades()) {
+            for (PendingUpgradeRow row : (Iterable<PendingUpgradeRow>) rows::iterator) {
+                if (row.upgradeTime() == null) {
+                    continue;
+                }
+                long completedAt = row.upgradeStart() + row.upgradeTime() * 1000L;
+                if (completedAt < oldestCompletion) {
+                    continue;
+                }
+                schedule(new UpgradeNotification(row.accountEntityId(), row.accountId(), row.baseEntityId(),
+                        row.currentLevel() + 1, row.upgradeStart(), completedAt));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void tick() {
+        List<UpgradeNotification> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advanceTo(System.currentTimeMillis(), expired::add);
+            for (UpgradeNotification notification : expired) {
+                HierarchicalTimingWheel.Timer<UpgradeNotification> timer = timers.get(notification.accountEntityId());
+                if (timer != null && !timer.isPending()) {
+                    timers.remove(notification.accountEntityId());
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Advancing upgrade completion timers failed", ex);
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(notificationDispatcher::enqueue);
+    }
+
+    /**
+     * Looks up the upgrade time of the level following the given one, preferring the catalog snapshot.
+     *
+     * @param baseEntityId The ID of the base entity
+     * @param currentLevel The level the upgrade starts from
+     * @return The upgrade time in seconds, empty if there is no next level
+     */
+    private Optional<Integer> findUpgradeTime(Long baseEntityId, Integer currentLevel) {
+        if (baseEntityId == null || currentLevel == null) {
+            return Optional.empty();
+        }
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot.isLoaded()) {
+            return snapshot.getLevels(baseEntityId).stream()
+                    .filter(level -> level.level() == currentLevel + 1)
+                    .map(BaseEntityLevelRow::upgradeTime)
+                    .findFirst();
+        }
+        return baseEntityLevelRepository.findByBaseEntityIdAndLevel(baseEntityId, currentLevel + 1)
+                .map(BaseEntityLevel::getUpgradeTime);
+    }
+}
@@ -0,0 +1,27 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Subscriber writing every domain event to the "audit" logger.
+ */
+@Component
+public class AuditLogSubscriber implements DomainEventSubscriber {
+    private static final Logger audit = LoggerFactory.getLogger("audit");
+
+    @Override
+    public String getName() {
+        return "audit-log";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            audit.info("{} {}:{} {}", event.eventType(), event.aggregateType(), event.aggregateId(), event);
+        }
+    }
+}
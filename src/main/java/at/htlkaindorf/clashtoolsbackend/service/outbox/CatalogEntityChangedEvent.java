@@ -0,0 +1,35 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+/**
+ * Domain event published after a catalog entity (base entity, base entity level or attribute)
+ * has been created, updated or deleted.
+ *
+ * @param entityType The simple class name of the changed entity, used as aggregate type
+ * @param entityId The ID of the changed entity
+ * @param change The kind of change
+ */
+public record CatalogEntityChangedEvent(String entityType, Long entityId, DomainChangeType change)
+        implements DomainEvent {
+
+    /**
+     * Creates an event for a changed catalog entity.
+     *
+     * @param entityType The class of the changed entity
+     * @param entityId The ID of the changed entity
+     * @param change The kind of change
+     * @return The event
+     */
+    public static CatalogEntityChangedEvent of(Class<?> entityType, Long entityId, DomainChangeType change) {
+        return new CatalogEntityChangedEvent(entityType.getSimpleName(), entityId, change);
+    }
+
+    @Override
+    public String aggregateType() {
+        return entityType;
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(entityId);
+    }
+}
@@ -0,0 +1,10 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+/**
+ * Kinds of changes described by domain events.
+ */
+public enum DomainChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,42 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEntityChangedEvent;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Typed domain event written to the transactional outbox.
+ * Events are serialized as JSON with their type name, new event types have to be registered below.
+ * Events of the same aggregate are delivered in the order they have been published.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = CatalogEntityChangedEvent.class, name = "CatalogEntityChangedEvent"),
+        @JsonSubTypes.Type(value = AccountEntityChangedEvent.class, name = "AccountEntityChangedEvent"),
+        @JsonSubTypes.Type(value = UserRegisteredEvent.class, name = "UserRegisteredEvent")
+})
+public interface DomainEvent {
+
+    /**
+     * Gets the type of the aggregate the event belongs to.
+     *
+     * @return The aggregate type, e.g. "BaseEntity" or "Account"
+     */
+    String aggregateType();
+
+    /**
+     * Gets the ID of the aggregate the event belongs to.
+     *
+     * @return The aggregate ID
+     */
+    String aggregateId();
+
+    /**
+     * Gets the name of the event type, matching its registered type name.
+     *
+     * @return The event type
+     */
+    default String eventType() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,123 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.OutboxEvent;
+import at.htlkaindorf.clashtoolsbackend.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Publisher writing domain events to the transactional outbox.
+ * Events are inserted in the caller's transaction, so they are stored if and only if the change commits.
+ * Publishing takes a transaction scoped advisory lock on the event's aggregate before the insert, so concurrent
+ * transactions publishing for the same aggregate are serialized and its events' IDs follow their commit order,
+ * which is the order the relay delivers them in. An aggregate's event is therefore never committed with a lower ID
+ * than one the relay has already delivered.
+ * The transaction also sends a NOTIFY on the outbox channel, which PostgreSQL delivers on commit
+ * and which wakes up the relays of all instances; the local relay is additionally woken after commit.
+ */
+@Service
+public class DomainEventPublisher {
+    /**
+     * The LISTEN/NOTIFY channel announcing new outbox events
+     */
+    public static final String CHANNEL = "outbox_event";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param outboxEventRepository The repository for the outbox table
+     * @param objectMapper The mapper serializing the events
+     * @param jdbcTemplate The template used to lock the aggregate and send the NOTIFY in the current transaction
+     * @param outboxRelay The local relay, woken up after commit
+     */
+    public DomainEventPublisher(OutboxEventRepository outboxEventRepository,
+                                ObjectMapper objectMapper,
+                                JdbcTemplate jdbcTemplate,
+                                OutboxRelay outboxRelay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Writes a domain event to the outbox. Must be called inside the transaction making the change.
+     *
+     * @param event The event to publish
+     * @throws IllegalArgumentException If the event cannot be serialized
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Domain event cannot be serialized: " + event.eventType(), ex);
+        }
+
+        Instant now = Instant.now();
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.eventType())
+                .payload(payload)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+
+        // the two key form keeps this lock apart from the relay's single key aggregate lock
+        if (publishedAggregates().add(outboxEvent.aggregateKey())) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?), hashtext(?))", (RowCallbackHandler) rs -> { },
+                    CHANNEL, outboxEvent.aggregateKey());
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    /**
+     * Gets the aggregates the current transaction has published for, and thereby locked.
+     * The first call in a transaction also sends the NOTIFY and registers the after commit wake up.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String> publishedAggregates() {
+        Set<String> aggregates = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (aggregates == null) {
+            aggregates = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, aggregates);
+            TransactionSynchronizationManager.registerSynchronization(new WakeUpAfterCommit());
+            jdbcTemplate.query("SELECT pg_notify(?, '')", (RowCallbackHandler) rs -> { }, CHANNEL);
+        }
+        return aggregates;
+    }
+
+    /**
+     * Wakes up the local relay once per transaction that published events.
+     */
+    private class WakeUpAfterCommit implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            outboxRelay.wakeUp();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventPublisher.this);
+        }
+    }
+}
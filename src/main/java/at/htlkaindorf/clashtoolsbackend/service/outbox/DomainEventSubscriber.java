@@ -0,0 +1,36 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import java.util.List;
+
+/**
+ * In-process subscriber receiving domain events from the outbox relay.
+ * Delivery is at least once: after a failure or a crash, events may be delivered again,
+ * so subscribers have to be idempotent. Events of one aggregate always arrive in publish order.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Gets the name of the subscriber, used for logging.
+     *
+     * @return The subscriber name
+     */
+    String getName();
+
+    /**
+     * Checks whether the subscriber is interested in an event.
+     *
+     * @param event The event
+     * @return true if the event should be passed to {@link #onEvents(List)}
+     */
+    default boolean accepts(DomainEvent event) {
+        return true;
+    }
+
+    /**
+     * Handles a batch of events.
+     * If the call throws, the relay retries the events one by one to find the failing one.
+     *
+     * @param events The accepted events in publish order
+     */
+    void onEvents(List<DomainEvent> events);
+}
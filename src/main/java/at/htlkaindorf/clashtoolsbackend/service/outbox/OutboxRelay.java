@@ -0,0 +1,326 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.OutboxEvent;
+import at.htlkaindorf.clashtoolsbackend.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay delivering outbox events to the in-process {@link DomainEventSubscriber}s: the audit log
+ * and the account change broadcast, which feeds the account event streams and upgrade timers of all nodes.
+ *
+ * The relay claims batches of due events with FOR UPDATE SKIP LOCKED, so several instances can run it
+ * concurrently, and leases the claimed events by moving their available_at {@code leaseMs} ahead before the
+ * short claiming transaction commits. The subscribers run outside any transaction; the outcome is recorded in
+ * a second short transaction. This gives at-least-once delivery: events whose outcome is never recorded,
+ * e.g. after a crash, are claimed again once their lease has expired.
+ * Events of one aggregate are delivered in ID order, which is their commit order because the
+ * {@link DomainEventPublisher} serializes the publishing transactions of an aggregate. An instance only claims
+ * an aggregate while it holds its advisory lock and no older event of it is pending elsewhere, leased ones
+ * included; after a failed delivery the later events of the aggregate wait until the failed one has been retried successfully or given up on.
+ *
+ * Each event is delivered on one instance. State every node holds is fanned out from there: account changes
+ * by the AccountChangeBroadcaster, catalog cache invalidation by the ClusterInvalidationService.
+ *
+ * The relay sleeps until it is woken by a NOTIFY on {@link DomainEventPublisher#CHANNEL}, by a local commit,
+ * or by the poll interval, which covers missed notifications and retries.
+ */
+@Service
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<DomainEventSubscriber> subscribers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PgNotifyListener pgNotifyListener;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long leaseMs;
+    private final Duration retention;
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param outboxEventRepository The repository for the outbox table
+     * @param subscribers The subscribers receiving the events
+     * @param objectMapper The mapper deserializing the events
+     * @param transactionManager The transaction manager for the claiming transactions
+     * @param pgNotifyListener The listener delivering NOTIFY wakeups
+     * @param enabled Whether the relay runs on this instance
+     * @param batchSize The maximum number of events claimed per transaction
+     * @param pollIntervalMs The maximum time between two claims without a wakeup
+     * @param maxAttempts The number of delivery attempts before an event is given up on
+     * @param retryBackoffMs The delay before the first retry, doubled on each further attempt
+     * @param leaseMs How long claimed events are reserved for delivery by this instance
+     * @param retentionHours How long processed events are kept
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ObjectProvider<DomainEventSubscriber> subscribers,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       PgNotifyListener pgNotifyListener,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.poll-interval-ms:1000}") long pollIntervalMs,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.retry-backoff-ms:1000}") long retryBackoffMs,
+                       @Value("${outbox.relay.lease-ms:60000}") long leaseMs,
+                       @Value("${outbox.retention-hours:72}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pgNotifyListener = pgNotifyListener;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.leaseMs = leaseMs;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled || running) {
+            return;
+        }
+        pgNotifyListener.subscribe(DomainEventPublisher.CHANNEL, payload -> wakeUp());
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Outbox relay started (batch size {}, poll interval {} ms)", batchSize, pollIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Wakes up the relay, e.g. after events have been committed.
+     */
+    public void wakeUp() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    /**
+     * Deletes processed events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    void deleteProcessedEvents() {
+        if (!enabled) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(Instant.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.debug("Deleted {} processed outbox events", deleted);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                // claimed events that could not be leased (other relays own their aggregates) are no reason to spin
+                int leased = relayBatch();
+                if (leased < batchSize) {
+                    wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.error("Outbox relay batch failed", ex);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Claims and leases one batch, delivers it outside the claiming transaction and records the outcome.
+     *
+     * @return The number of leased, i.e. delivered, events
+     */
+    int relayBatch() {
+        List<OutboxEvent> leased = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> events = outboxEventRepository.claimBatch(now, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+            for (OutboxEvent event : ownedAggregates(events)) {
+                event.setAvailableAt(now.plusMillis(leaseMs));
+                leased.add(event);
+            }
+        });
+        if (!leased.isEmpty()) {
+            dispatch(leased, Instant.now());
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.saveAll(leased));
+        }
+        return leased.size();
+    }
+
+    /**
+     * Drops the events of aggregates this relay may not deliver right now,
+     * because another relay holds the aggregate or an older event of it is still pending.
+     */
+    private List<OutboxEvent> ownedAggregates(List<OutboxEvent> events) {
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byAggregate.computeIfAbsent(event.aggregateKey(), key -> new ArrayList<>()).add(event);
+        }
+
+        List<OutboxEvent> owned = new ArrayList<>(events.size());
+        byAggregate.forEach((key, group) -> {
+            OutboxEvent first = group.get(0);
+            if (outboxEventRepository.tryLockAggregate(key)
+                    && !outboxEventRepository.existsPendingBefore(first.getAggregateType(), first.getAggregateId(), first.getId())) {
+                owned.addAll(group);
+            }
+        });
+        owned.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return owned;
+    }
+
+    /**
+     * Delivers events to all subscribers and records the outcome on the (detached) event rows.
+     * A failing batch is retried event by event; the first failing event of an aggregate blocks
+     * its later events, which stay pending and become due together with the failing event's retry,
+     * so per aggregate order is preserved.
+     *
+     * @param events The events to deliver, ordered by ID
+     * @param now The current time
+     */
+    void dispatch(List<OutboxEvent> events, Instant now) {
+        Map<Long, DomainEvent> decoded = new HashMap<>();
+        Map<String, Long> blockedFrom = new HashMap<>();
+        Map<Long, String> errors = new HashMap<>();
+
+        for (OutboxEvent event : events) {
+            try {
+                decoded.put(event.getId(), objectMapper.readValue(event.getPayload(), DomainEvent.class));
+            } catch (Exception ex) {
+                block(event, ex, blockedFrom, errors);
+            }
+        }
+
+        for (DomainEventSubscriber subscriber : subscribers.orderedStream().toList()) {
+            List<OutboxEvent> batch = new ArrayList<>();
+            for (OutboxEvent event : events) {
+                DomainEvent domainEvent = decoded.get(event.getId());
+                if (domainEvent != null && !isBlocked(event, blockedFrom) && subscriber.accepts(domainEvent)) {
+                    batch.add(event);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            try {
+                subscriber.onEvents(batch.stream().map(event -> decoded.get(event.getId())).toList());
+            } catch (RuntimeException batchFailure) {
+                logger.warn("Subscriber {} failed on a batch of {} events, retrying one by one",
+                        subscriber.getName(), batch.size());
+                for (OutboxEvent event : batch) {
+                    if (isBlocked(event, blockedFrom)) {
+                        continue;
+                    }
+                    try {
+                        subscriber.onEvents(List.of(decoded.get(event.getId())));
+                    } catch (RuntimeException ex) {
+                        logger.warn("Subscriber {} failed on outbox event {}", subscriber.getName(), event.getId(), ex);
+                        block(event, ex, blockedFrom, errors);
+                    }
+                }
+            }
+        }
+
+        Map<Long, OutboxEvent> failed = new HashMap<>();
+        for (OutboxEvent event : events) {
+            String error = errors.get(event.getId());
+            if (error != null) {
+                recordFailure(event, error, now);
+                failed.put(event.getId(), event);
+            } else if (!isBlocked(event, blockedFrom)) {
+                event.setProcessedAt(now);
+            }
+        }
+        for (OutboxEvent event : events) {
+            if (errors.containsKey(event.getId()) || !isBlocked(event, blockedFrom)) {
+                continue;
+            }
+            OutboxEvent blocking = failed.get(blockedFrom.get(event.aggregateKey()));
+            event.setAvailableAt(blocking.getProcessedAt() == null ? blocking.getAvailableAt() : now);
+        }
+    }
+
+    private static boolean isBlocked(OutboxEvent event, Map<String, Long> blockedFrom) {
+        Long failedId = blockedFrom.get(event.aggregateKey());
+        return failedId != null && event.getId() >= failedId;
+    }
+
+    private static void block(OutboxEvent event, Exception ex, Map<String, Long> blockedFrom, Map<Long, String> errors) {
+        blockedFrom.merge(event.aggregateKey(), event.getId(), Math::min);
+        String message = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        errors.putIfAbsent(event.getId(), message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    private void recordFailure(OutboxEvent event, String error, Instant now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setProcessedAt(now);
+            logger.error("Giving up on outbox event {} ({} {}:{}) after {} attempts: {}", event.getId(),
+                    event.getEventType(), event.getAggregateType(), event.getAggregateId(), event.getAttempts(), error);
+            return;
+        }
+        long backoff = retryBackoffMs << Math.min(event.getAttempts() - 1, 20);
+        event.setAvailableAt(now.plusMillis(backoff));
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Listener for PostgreSQL LISTEN/NOTIFY channels.
+ * A dedicated connection outside the Hikari pool is kept open for listening, so no pooled connection
+ * is blocked. Notifications are only used as wakeups; consumers must not rely on receiving every one
+ * of them, e.g. while the connection is being re-established.
+ */
+@Component
+public class PgNotifyListener {
+    private static final Logger logger = LoggerFactory.getLogger(PgNotifyListener.class);
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    private final AtomicLong connections = new AtomicLong();
+    private volatile boolean connected;
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param url The JDBC URL of the database
+     * @param username The database user
+     * @param password The database password
+     * @param enabled Whether to listen at all
+     * @param pollTimeoutMs How long one wait for notifications blocks
+     * @param reconnectDelayMs The delay before reconnecting after a connection failure
+     */
+    public PgNotifyListener(@Value("${spring.datasource.url}") String url,
+                            @Value("${spring.datasource.username}") String username,
+                            @Value("${spring.datasource.password}") String password,
+                            @Value("${pg-notify.enabled:true}") boolean enabled,
+                            @Value("${pg-notify.poll-timeout-ms:1000}") int pollTimeoutMs,
+                            @Value("${pg-notify.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Registers a handler for a channel. Handlers are called on the listener thread and should return quickly.
+     *
+     * @param channel The channel name, lower case letters, digits and underscores only
+     * @param handler The handler receiving the notification payload
+     * @throws IllegalArgumentException If the channel name is invalid
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        handlers.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Checks whether the listening connection is currently established.
+     * While it is not, notifications are lost and consumers have to fall back to polling.
+     *
+     * @return true if notifications are being received
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Gets the number of listening connections established so far.
+     * A changed value tells consumers that the connection has been re-established
+     * and notifications may have been missed in between.
+     *
+     * @return The number of established connections
+     */
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "pg-notify-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listen(connection);
+            } catch (SQLException ex) {
+                if (running) {
+                    logger.warn("LISTEN connection failed, reconnecting in {} ms: {}", reconnectDelayMs, ex.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Set<String> listening = new HashSet<>();
+        while (running) {
+            for (String channel : handlers.keySet()) {
+                if (listening.add(channel)) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                    logger.debug("Listening on channel {}", channel);
+                }
+            }
+            if (!connected) {
+                connected = true;
+                connections.incrementAndGet();
+            }
+
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                dispatch(notification.getName(), notification.getParameter());
+            }
+        }
+    }
+
+    private void dispatch(String channel, String payload) {
+        for (Consumer<String> handler : handlers.getOrDefault(channel, List.of())) {
+            try {
+                handler.accept(payload);
+            } catch (RuntimeException ex) {
+                logger.error("Handler for channel {} failed", channel, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+/**
+ * Domain event published after a user has registered.
+ *
+ * @param userId The ID of the new user
+ * @param username The username of the new user
+ */
+public record UserRegisteredEvent(Long userId, String username) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "User";
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(userId);
+    }
+}
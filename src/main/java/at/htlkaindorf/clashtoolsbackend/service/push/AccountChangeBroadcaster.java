@@ -0,0 +1,201 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEvent;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventSubscriber;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.PgNotifyListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox subscriber fanning account entity changes out to the {@link AccountChangeListener}s of all nodes.
+ *
+ * The outbox relay delivers each event on one node only, but the devices streaming an account and the
+ * upgrade timers live on every node. The node the event is delivered on applies it locally and broadcasts it
+ * through PostgreSQL NOTIFY on {@link #CHANNEL}; the other nodes receive it on the LISTEN connection of the
+ * {@link PgNotifyListener} and apply it as well. If the broadcast fails, the relay retries the delivery,
+ * and the local listeners see the change again, which they tolerate.
+ *
+ * Notifications sent while a node's listener connection is down are lost. The connection count is therefore
+ * checked periodically, and after a reconnect the listeners are told to rebuild their state.
+ */
+@Service
+public class AccountChangeBroadcaster implements DomainEventSubscriber {
+    /**
+     * The LISTEN/NOTIFY channel carrying account entity changes
+     */
+    public static final String CHANNEL = "account_change";
+    private static final Logger logger = LoggerFactory.getLogger(AccountChangeBroadcaster.class);
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PgNotifyListener pgNotifyListener;
+    private final ObjectProvider<AccountChangeListener> listeners;
+    private final long pollIntervalMs;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-change-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long seenConnectionCount;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate The template used to send the NOTIFYs
+     * @param objectMapper The mapper serializing the changes
+     * @param pgNotifyListener The listener receiving the changes of the other nodes
+     * @param listeners The node-local consumers of the changes
+     * @param pollIntervalMs The interval in which the listener connection is checked for reconnects
+     */
+    public AccountChangeBroadcaster(JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    PgNotifyListener pgNotifyListener,
+                                    ObjectProvider<AccountChangeListener> listeners,
+                                    @Value("${account-changes.poll-interval-ms:5000}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pgNotifyListener = pgNotifyListener;
+        this.listeners = listeners;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        pgNotifyListener.subscribe(CHANNEL, payload -> executor.execute(() -> receive(payload)));
+        executor.scheduleWithFixedDelay(this::checkReconnect, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return "account-change-broadcast";
+    }
+
+    @Override
+    public boolean accepts(DomainEvent event) {
+        return event instanceof AccountEntityChangedEvent;
+    }
+
+    /**
+     * Applies the changes on this node and broadcasts them to the others.
+     *
+     * @param events The change events in publish order
+     */
+    @Override
+    public void onEvents(List<DomainEvent> events) {
+        List<AccountEntityChangedEvent> changes = events.stream()
+                .map(AccountEntityChangedEvent.class::cast)
+                .toList();
+        apply(changes);
+        for (String payload : toPayloads(changes)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, CHANNEL, payload);
+        }
+    }
+
+    /**
+     * Encodes changes as notification payloads: the origin node on the first line, then one change per line,
+     * split so that no payload exceeds the NOTIFY size limit.
+     */
+    List<String> toPayloads(List<AccountEntityChangedEvent> changes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (AccountEntityChangedEvent change : changes) {
+            String line;
+            try {
+                line = objectMapper.writeValueAsString(change);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Account change cannot be serialized", ex);
+            }
+            if (nodeId.length() + 1 + line.length() > MAX_PAYLOAD_LENGTH) {
+                logger.warn("Account change of account {} is too large to broadcast", change.accountId());
+                continue;
+            }
+            if (payload.length() + 1 + line.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(line);
+        }
+        if (payload.length() > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Applies the changes broadcast by another node.
+     *
+     * @param payload The notification payload
+     */
+    void receive(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return;
+        }
+        List<AccountEntityChangedEvent> changes = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            try {
+                if (objectMapper.readValue(lines[i], DomainEvent.class) instanceof AccountEntityChangedEvent change) {
+                    changes.add(change);
+                }
+            } catch (JsonProcessingException ex) {
+                logger.warn("Ignoring invalid account change: {}", ex.getOriginalMessage());
+            }
+        }
+        try {
+            apply(changes);
+        } catch (RuntimeException ex) {
+            logger.error("Applying {} account changes of another node failed", changes.size(), ex);
+        }
+    }
+
+    private void apply(List<AccountEntityChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        listeners.orderedStream().forEach(listener -> listener.onAccountChanges(changes));
+    }
+
+    private void checkReconnect() {
+        long connectionCount = pgNotifyListener.getConnectionCount();
+        if (connectionCount == seenConnectionCount) {
+            return;
+        }
+        boolean reconnected = seenConnectionCount > 0;
+        seenConnectionCount = connectionCount;
+        if (reconnected) {
+            logger.info("Account change broadcast reconnected, rebuilding account change state");
+            listeners.orderedStream().forEach(listener -> {
+                try {
+                    listener.onAccountChangesMissed();
+                } catch (RuntimeException ex) {
+                    logger.error("Rebuilding account change state failed", ex);
+                }
+            });
+        }
+    }
+}
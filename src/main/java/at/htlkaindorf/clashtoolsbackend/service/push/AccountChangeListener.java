@@ -0,0 +1,24 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import java.util.List;
+
+/**
+ * Node-local consumer of committed account entity changes, fed by the {@link AccountChangeBroadcaster}.
+ * Every node receives every change, whichever node the outbox relay delivered it on.
+ * Delivery is at least once, so listeners have to be idempotent.
+ */
+public interface AccountChangeListener {
+
+    /**
+     * Handles a batch of changes.
+     *
+     * @param changes The changes, in publish order per account
+     */
+    void onAccountChanges(List<AccountEntityChangedEvent> changes);
+
+    /**
+     * Called after the broadcast connection has been re-established, when changes of other nodes
+     * may have been missed. Listeners have to rebuild their state from the database or tell their clients to.
+     */
+    void onAccountChangesMissed();
+}
@@ -0,0 +1,25 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEvent;
+
+/**
+ * Domain event of the owning account, written to the outbox whenever an account entity has been changed.
+ * After commit the outbox relay hands it to the AccountChangeBroadcaster, which passes it on to the
+ * AccountEventHub and the UpgradeNotificationScheduler of every node.
+ *
+ * @param accountId The ID of the account owning the changed entity
+ * @param change The change itself
+ */
+public record AccountEntityChangedEvent(Long accountId, AccountEntityChangeDTO change) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Account";
+    }
+
+    @Override
+    public String aggregateId() {
+        return String.valueOf(accountId);
+    }
+}
@@ -0,0 +1,390 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out hub pushing account entity changes to subscribed devices via Server-Sent Events.
+ *
+ * Every account with subscribers has a channel holding its subscribers and a ring buffer of recent events.
+ * Event IDs have the form {@code <bootId>-<sequence>}; a reconnecting client sends its last ID in the
+ * Last-Event-ID header and receives the events it missed. If the missed events are no longer buffered,
+ * or the ID stems from an earlier run of this node, the client receives a {@code resync} event instead
+ * and should reload the account entities once.
+ *
+ * Each subscriber has a bounded send buffer drained by a small shared executor, so one slow connection
+ * never delays the others. A subscriber whose buffer overflows is disconnected and resumes via Last-Event-ID.
+ * Heartbeat comments keep idle connections open through proxies.
+ *
+ * Changes arrive after commit through the {@link AccountChangeBroadcaster}, which hands every change to every node,
+ * so a device receives the changes of its account whichever node it is connected to. Delivery is at least once,
+ * so after a retry a device may receive the same change twice; changes carry the full new state, so applying one
+ * twice is harmless. If changes may have been missed, every subscriber receives a {@code resync} event.
+ */
+@Service
+public class AccountEventHub implements AccountChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(AccountEventHub.class);
+
+    static final String CHANGE_EVENT_NAME = "account-entity";
+    static final String RESYNC_EVENT_NAME = "resync";
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentHashMap<Long, AccountChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor;
+    private final int subscriberBufferSize;
+    private final int replayBufferSize;
+    private final long emitterTimeoutMillis;
+    private final long channelRetentionMillis;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param sendThreads The number of threads writing events to connections
+     * @param subscriberBufferSize The maximum number of events queued per subscriber
+     * @param replayBufferSize The number of recent events kept per account for Last-Event-ID resume
+     * @param emitterTimeoutMillis The lifetime of one SSE connection before the client has to reconnect
+     * @param channelRetentionMillis How long an account's replay buffer is kept after its last subscriber left
+     */
+    public AccountEventHub(@Value("${account-events.send-threads:4}") int sendThreads,
+                           @Value("${account-events.subscriber-buffer-size:64}") int subscriberBufferSize,
+                           @Value("${account-events.replay-buffer-size:256}") int replayBufferSize,
+                           @Value("${account-events.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                           @Value("${account-events.channel-retention-ms:600000}") long channelRetentionMillis) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "account-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replayBufferSize = replayBufferSize;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.channelRetentionMillis = channelRetentionMillis;
+    }
+
+    /**
+     * Opens an event stream for an account.
+     *
+     * @param accountId The ID of the account to subscribe to
+     * @param lastEventId The value of the Last-Event-ID header, or null for a fresh subscription
+     * @return The emitter representing the event stream
+     */
+    public SseEmitter subscribe(Long accountId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber;
+        do {
+            // a channel pruned since the lookup is retired; retry with the channel that replaced it
+            AccountChannel channel = channels.computeIfAbsent(accountId, id -> new AccountChannel());
+            subscriber = new Subscriber(emitter, channel);
+        } while (!subscriber.channel.addSubscriber(subscriber, lastEventId));
+
+        Subscriber added = subscriber;
+        emitter.onCompletion(added::close);
+        emitter.onTimeout(added::close);
+        emitter.onError(error -> added.close());
+        logger.debug("Subscriber added for account {} (last event id: {})", accountId, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Pushes committed account entity changes to the accounts' subscribers.
+     *
+     * @param changes The change events in publish order
+     */
+    @Override
+    public void onAccountChanges(List<AccountEntityChangedEvent> changes) {
+        for (AccountEntityChangedEvent change : changes) {
+            publish(change.accountId(), change.change());
+        }
+    }
+
+    /**
+     * Tells every subscriber to reload its account and forgets the buffered events,
+     * so clients resuming from before the gap resync as well.
+     */
+    @Override
+    public void onAccountChangesMissed() {
+        channels.values().forEach(AccountChannel::resync);
+    }
+
+    /**
+     * Pushes a change to all subscribers of an account and records it for resuming clients.
+     * Changes of accounts without a channel are dropped, as no device could be interested in them.
+     *
+     * @param accountId The ID of the account
+     * @param change The change to push
+     */
+    public void publish(Long accountId, AccountEntityChangeDTO change) {
+        AccountChannel channel = channels.get(accountId);
+        if (channel != null) {
+            channel.publish(change);
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment to every subscriber and drops channels that have been idle
+     * for longer than the retention period.
+     */
+    @Scheduled(fixedRateString = "${account-events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        long threshold = System.currentTimeMillis() - channelRetentionMillis;
+        channels.forEach((accountId, channel) -> {
+            channel.sendHeartbeat();
+            if (channel.isIdleSince(threshold)) {
+                // re-checked under the channel lock, so a subscriber added meanwhile keeps the channel alive
+                channels.computeIfPresent(accountId, (id, current) ->
+                        current == channel && current.retireIfIdleSince(threshold) ? null : current);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of open event streams on this node.
+     *
+     * @return The number of subscribers over all accounts
+     */
+    public int getSubscriberCount() {
+        return channels.values().stream().mapToInt(AccountChannel::getSubscriberCount).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(AccountChannel::closeAll);
+        sendExecutor.shutdownNow();
+    }
+
+    private record BufferedEvent(long sequence, String id, AccountEntityChangeDTO change) {
+    }
+
+    /**
+     * Subscribers and recent events of one account.
+     * Appending an event and fanning it out happen under one lock, so subscribers see events in order
+     * and a subscriber registering concurrently gets every event exactly once.
+     */
+    private class AccountChannel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<BufferedEvent> recentEvents = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long nextSequence = 1;
+        private boolean retired;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        /**
+         * Adds a subscriber and sends it the events it missed.
+         *
+         * @return false if the channel has been retired and the subscriber has not been added
+         */
+        boolean addSubscriber(Subscriber subscriber, String lastEventId) {
+            lock.lock();
+            try {
+                if (retired) {
+                    return false;
+                }
+                List<BufferedEvent> missed = eventsAfter(lastEventId);
+                if (missed == null) {
+                    subscriber.offer(SseEmitter.event().name(RESYNC_EVENT_NAME).data("{}", MediaType.APPLICATION_JSON));
+                } else {
+                    missed.forEach(event -> subscriber.offer(toSseEvent(event)));
+                }
+                subscribers.add(subscriber);
+                lastActivity = System.currentTimeMillis();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Retires the channel if it has been idle since the threshold. A retired channel accepts no subscribers.
+         *
+         * @return true if the channel is retired and can be removed
+         */
+        boolean retireIfIdleSince(long threshold) {
+            lock.lock();
+            try {
+                if (!retired && isIdleSince(threshold)) {
+                    retired = true;
+                }
+                return retired;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeSubscriber(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastActivity = System.currentTimeMillis();
+        }
+
+        void publish(AccountEntityChangeDTO change) {
+            lock.lock();
+            try {
+                long sequence = nextSequence++;
+                BufferedEvent event = new BufferedEvent(sequence, bootId + "-" + sequence, change);
+                recentEvents.addLast(event);
+                if (recentEvents.size() > replayBufferSize) {
+                    recentEvents.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(toSseEvent(event));
+                }
+                lastActivity = System.currentTimeMillis();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void resync() {
+            lock.lock();
+            try {
+                recentEvents.clear();
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(SseEmitter.event().name(RESYNC_EVENT_NAME).data("{}", MediaType.APPLICATION_JSON));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void sendHeartbeat() {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        boolean isIdleSince(long threshold) {
+            return subscribers.isEmpty() && lastActivity < threshold;
+        }
+
+        int getSubscriberCount() {
+            return subscribers.size();
+        }
+
+        void closeAll() {
+            subscribers.forEach(Subscriber::close);
+        }
+
+        /**
+         * Determines the events a resuming client missed.
+         *
+         * @param lastEventId The last event ID the client received, or null for a fresh subscription
+         * @return The missed events, or null if the client has to resync
+         */
+        private List<BufferedEvent> eventsAfter(String lastEventId) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return List.of();
+            }
+
+            int separator = lastEventId.lastIndexOf('-');
+            long lastSequence;
+            try {
+                if (separator < 0 || !bootId.equals(lastEventId.substring(0, separator))) {
+                    return null;
+                }
+                lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+
+            BufferedEvent oldest = recentEvents.peekFirst();
+            long oldestAvailable = oldest != null ? oldest.sequence() : nextSequence;
+            if (lastSequence + 1 < oldestAvailable || lastSequence >= nextSequence) {
+                return null;
+            }
+
+            List<BufferedEvent> missed = new ArrayList<>();
+            for (BufferedEvent event : recentEvents) {
+                if (event.sequence() > lastSequence) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent(BufferedEvent event) {
+            return SseEmitter.event()
+                    .id(event.id())
+                    .name(CHANGE_EVENT_NAME)
+                    .data(event.change(), MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * One open event stream with its bounded send buffer.
+     * At most one drain task per subscriber runs at a time, keeping events in order.
+     */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final AccountChannel channel;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, AccountChannel channel) {
+            this.emitter = emitter;
+            this.channel = channel;
+            this.buffer = new ArrayBlockingQueue<>(subscriberBufferSize);
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                logger.debug("Event buffer of a subscriber overflowed, disconnecting it");
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException ex) {
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                channel.removeSubscriber(this);
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException ignored) {
+                    // the emitter has already been completed by the container
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package at.htlkaindorf.clashtoolsbackend.service.query;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.QBaseEntity;
+import at.htlkaindorf.clashtoolsbackend.pojos.QBaseEntityLevel;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPAExpressions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiled filter of the base entity query endpoint: a QueryDSL predicate with one parameter per value
+ * of the {@link FilterExpression} it was compiled from.
+ *
+ * Only whitelisted fields with their operators can be filtered on. Base entity fields (category, name) are
+ * compared directly; level fields (level, resourceType, upgradeCost, upgradeTime, attribute) are combined into
+ * one EXISTS subquery, so they match if a single level of the base entity fulfills all of them.
+ * A compiled filter holds no values and can be shared between requests with the same expression shape;
+ * its JPQL, and thereby Hibernate's query plan, is identical for all of them.
+ *
+ * @param predicate The predicate, or null if the expression has no clauses
+ * @param parameters The parameters of the predicate, in value order
+ * @param converters The converters of the values to the parameter types, in value order
+ */
+record BaseEntityFilter(Predicate predicate, List<Param<Object>> parameters, List<Function<String, Object>> converters) {
+
+    private static final QBaseEntity baseEntity = QBaseEntity.baseEntity;
+
+    private static final Set<String> EQUALITY = Set.of("=", "!=");
+    private static final Set<String> ORDERING = Set.of("=", "!=", ">", ">=", "<", "<=");
+
+    /**
+     * The filterable fields.
+     */
+    private enum Field {
+        CATEGORY(false, Category.class, Set.of("=", "!=", "in"), value -> parseEnum(Category.class, value)),
+        NAME(false, String.class, Set.of("=", "^="), value -> value),
+        LEVEL(true, Integer.class, ORDERING, BaseEntityFilter::parseInt),
+        RESOURCETYPE(true, ResourceType.class, Set.of("=", "!=", "in"), value -> parseEnum(ResourceType.class, value)),
+        UPGRADECOST(true, Integer.class, ORDERING, BaseEntityFilter::parseInt),
+        UPGRADETIME(true, Integer.class, ORDERING, BaseEntityFilter::parseInt),
+        ATTRIBUTE(true, String.class, EQUALITY, value -> value);
+
+        private static final Map<String, Field> BY_NAME = Stream.of(values())
+                .collect(Collectors.toUnmodifiableMap(field -> field.name().toLowerCase(Locale.ROOT), field -> field));
+
+        final boolean levelField;
+        final Class<?> type;
+        final Set<String> operators;
+        final Function<String, Object> converter;
+
+        Field(boolean levelField, Class<?> type, Set<String> operators, Function<String, Object> converter) {
+            this.levelField = levelField;
+            this.type = type;
+            this.operators = operators;
+            this.converter = converter;
+        }
+    }
+
+    /**
+     * Compiles the predicate for the shape of an expression.
+     *
+     * @param expression The expression
+     * @return The compiled filter
+     * @throws IllegalArgumentException If a field is unknown or does not support its operator
+     */
+    static BaseEntityFilter compile(FilterExpression expression) {
+        QBaseEntityLevel level = new QBaseEntityLevel("filterLevel");
+        BooleanBuilder entityPredicate = new BooleanBuilder();
+        BooleanBuilder levelPredicate = new BooleanBuilder();
+        List<Param<Object>> parameters = new ArrayList<>();
+        List<Function<String, Object>> converters = new ArrayList<>();
+
+        for (FilterExpression.Clause clause : expression.clauses()) {
+            Field field = Field.BY_NAME.get(clause.field().toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown filter field: " + clause.field());
+            }
+            if (!field.operators.contains(clause.operator())) {
+                throw new IllegalArgumentException("Operator " + clause.operator() + " is not supported for " + clause.field());
+            }
+            List<Param<Object>> clauseParameters = new ArrayList<>();
+            for (int i = 0; i < clause.values().size(); i++) {
+                Param<Object> parameter = parameter(field, parameters.size());
+                clauseParameters.add(parameter);
+                parameters.add(parameter);
+                converters.add(clause.operator().equals("^=") ? BaseEntityFilter::likePrefix : field.converter);
+            }
+            BooleanExpression condition = condition(field, clause.operator(), clauseParameters, level);
+            (field.levelField ? levelPredicate : entityPredicate).and(condition);
+        }
+
+        if (levelPredicate.hasValue()) {
+            entityPredicate.and(JPAExpressions.selectOne().from(level)
+                    .where(level.baseEntity.eq(baseEntity), levelPredicate)
+                    .exists());
+        }
+        return new BaseEntityFilter(entityPredicate.getValue(), List.copyOf(parameters), List.copyOf(converters));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Param<Object> parameter(Field field, int index) {
+        return new Param<>((Class<Object>) field.type, "p" + index);
+    }
+
+    private static BooleanExpression condition(Field field, String operator, List<Param<Object>> parameters,
+                                               QBaseEntityLevel level) {
+        Expression<?> path = switch (field) {
+            case CATEGORY -> baseEntity.category;
+            case NAME -> baseEntity.name;
+            case LEVEL -> level.level;
+            case RESOURCETYPE -> level.resourceType;
+            case UPGRADECOST -> level.upgradeCost;
+            case UPGRADETIME -> level.upgradeTime;
+            case ATTRIBUTE -> level.attributes.any().attributeName.name;
+        };
+        if (operator.equals("in")) {
+            return parameters.stream().<BooleanExpression>map(parameter -> Expressions.predicate(Ops.EQ, path, parameter))
+                    .reduce(BooleanExpression::or).orElseThrow();
+        }
+        Ops op = switch (operator) {
+            case "=" -> Ops.EQ;
+            case "!=" -> Ops.NE;
+            case ">" -> Ops.GT;
+            case ">=" -> Ops.GOE;
+            case "<" -> Ops.LT;
+            case "<=" -> Ops.LOE;
+            case "^=" -> Ops.LIKE;
+            default -> throw new IllegalArgumentException("Unsupported operator: " + operator);
+        };
+        return Expressions.predicate(op, path, parameters.get(0));
+    }
+
+    /**
+     * Converts the values of an expression with this filter's shape to the parameter values.
+     *
+     * @param values The values, in clause order
+     * @return The parameter values
+     * @throws IllegalArgumentException If a value cannot be converted
+     */
+    List<Object> bind(List<String> values) {
+        List<Object> bound = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            bound.add(converters.get(i).apply(values.get(i)));
+        }
+        return bound;
+    }
+
+    private static Object parseInt(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number in filter: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> Object parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " in filter: " + value);
+        }
+    }
+
+    /**
+     * Converts a prefix to a LIKE pattern; QueryDSL renders LIKE with {@code !} as escape character.
+     */
+    private static Object likePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,192 @@
+package at.htlkaindorf.clashtoolsbackend.service.query;
+
+import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.baseentity.BaseEntityPageDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.QBaseEntity;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for the generic base entity query endpoint.
+ *
+ * Filters are parsed from a {@link FilterExpression}, compiled into QueryDSL predicates over whitelisted fields
+ * and executed as a single SQL query; level conditions become an EXISTS subquery on base_entity_level.
+ * Compiled filters are cached by expression shape, so requests differing only in their values reuse the
+ * predicate and produce identical JPQL.
+ *
+ * Results are paginated with keysets instead of offsets: the cursor holds the sort key of the last row and
+ * the next page continues after it, using the primary key or the unique name index, however deep the page.
+ */
+@Service
+public class BaseEntityQueryService {
+
+    /**
+     * The maximum number of base entities per page
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final QBaseEntity baseEntity = QBaseEntity.baseEntity;
+    private static final Param<Long> AFTER_ID = new Param<>(Long.class, "afterId");
+    private static final Param<String> AFTER_NAME = new Param<>(String.class, "afterName");
+
+    private final JPAQueryFactory queryFactory;
+    private final int filterCacheSize;
+    private final Map<String, BaseEntityFilter> filterCache = new ConcurrentHashMap<>();
+
+    /**
+     * The sort orders, each on a unique column so the sort key alone identifies the position of a row.
+     */
+    enum Sort {
+        NAME, NAME_DESC, ID, ID_DESC;
+
+        static Sort parse(String sort) {
+            if (sort == null || sort.isBlank()) {
+                return NAME;
+            }
+            return switch (sort.trim()) {
+                case "name" -> NAME;
+                case "-name" -> NAME_DESC;
+                case "id" -> ID;
+                case "-id" -> ID_DESC;
+                default -> throw new IllegalArgumentException("Sort must be one of name, -name, id, -id");
+            };
+        }
+
+        boolean byName() {
+            return this == NAME || this == NAME_DESC;
+        }
+
+        boolean descending() {
+            return this == NAME_DESC || this == ID_DESC;
+        }
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param queryFactory The QueryDSL query factory
+     * @param filterCacheSize The maximum number of cached compiled filters; further shapes are compiled per request
+     */
+    public BaseEntityQueryService(JPAQueryFactory queryFactory,
+                                  @Value("${base-entity-query.filter-cache-size:256}") int filterCacheSize) {
+        this.queryFactory = queryFactory;
+        this.filterCacheSize = filterCacheSize;
+    }
+
+    /**
+     * Queries one page of base entities.
+     *
+     * @param filter The filter expression, see {@link FilterExpression}; null or blank for all base entities
+     * @param sort The sort order: name, -name, id or -id; null for name
+     * @param size The page size, between 1 and {@link #MAX_PAGE_SIZE}
+     * @param cursor The cursor returned with the previous page, or null for the first page
+     * @return The page
+     * @throws IllegalArgumentException If the filter, sort, size or cursor is invalid
+     */
+    @Transactional(readOnly = true)
+    public BaseEntityPageDTO query(String filter, String sort, int size, String cursor) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Sort order = Sort.parse(sort);
+        FilterExpression expression = FilterExpression.parse(filter);
+        BaseEntityFilter compiled = compile(expression);
+        List<Object> values = compiled.bind(expression.values());
+
+        JPAQuery<Tuple> query = queryFactory.select(baseEntity.id, baseEntity.name, baseEntity.category)
+                .from(baseEntity);
+        if (compiled.predicate() != null) {
+            query.where(compiled.predicate());
+        }
+        for (int i = 0; i < values.size(); i++) {
+            query.set(compiled.parameters().get(i), values.get(i));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            applyCursor(query, order, cursor);
+        }
+        if (order.byName()) {
+            query.orderBy(order.descending() ? baseEntity.name.desc() : baseEntity.name.asc());
+        } else {
+            query.orderBy(order.descending() ? baseEntity.id.desc() : baseEntity.id.asc());
+        }
+        List<Tuple> rows = query.limit(size + 1L).fetch();
+
+        List<BaseEntityDTO> items = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            Tuple row = rows.get(i);
+            Category category = row.get(baseEntity.category);
+            items.add(new BaseEntityDTO(row.get(baseEntity.id), row.get(baseEntity.name), null,
+                    category != null ? category.getId() : null));
+        }
+        String nextCursor = rows.size() > size ? encodeCursor(order, items.get(items.size() - 1)) : null;
+        return new BaseEntityPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Gets the compiled filter for the shape of an expression, compiling it if it is not cached.
+     */
+    BaseEntityFilter compile(FilterExpression expression) {
+        String shape = expression.shape();
+        BaseEntityFilter compiled = filterCache.get(shape);
+        if (compiled == null) {
+            compiled = BaseEntityFilter.compile(expression);
+            if (filterCache.size() < filterCacheSize) {
+                filterCache.putIfAbsent(shape, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Gets the number of cached compiled filters.
+     *
+     * @return The number of cached filters
+     */
+    public int getCachedFilterCount() {
+        return filterCache.size();
+    }
+
+    private static void applyCursor(JPAQuery<Tuple> query, Sort order, String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int separator = decoded.indexOf(':');
+        if (separator < 0 || !decoded.substring(0, separator).equals(order.name())) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String key = decoded.substring(separator + 1);
+        if (order.byName()) {
+            query.where(order.descending() ? baseEntity.name.lt(AFTER_NAME) : baseEntity.name.gt(AFTER_NAME));
+            query.set(AFTER_NAME, key);
+        } else {
+            try {
+                query.set(AFTER_ID, Long.valueOf(key));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            query.where(order.descending() ? baseEntity.id.lt(AFTER_ID) : baseEntity.id.gt(AFTER_ID));
+        }
+    }
+
+    private static String encodeCursor(Sort order, BaseEntityDTO last) {
+        String key = order.byName() ? last.name() : String.valueOf(last.id());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((order.name() + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+}
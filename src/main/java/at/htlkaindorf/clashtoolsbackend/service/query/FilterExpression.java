@@ -0,0 +1,214 @@
+package at.htlkaindorf.clashtoolsbackend.service.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed filter expression of the base entity query endpoint.
+ *
+ * An expression is a list of clauses separated by {@code ;}, all of which must hold, e.g.
+ * {@code category in (TROOP,SPELL); name ^= "Ba"; level >= 5; upgradeCost <= 100000}.
+ * A clause is a field, an operator ({@code = != > >= < <= ^= in}) and a value; {@code in} takes a
+ * parenthesized, comma-separated list. Values can be double-quoted to contain spaces or separators.
+ *
+ * The shape of an expression is the expression without its values, e.g. {@code category in 2;level >= ?}.
+ * Expressions with the same shape compile to the same predicate and differ only in their bound values.
+ *
+ * @param clauses The clauses in expression order
+ */
+record FilterExpression(List<Clause> clauses) {
+
+    /**
+     * The maximum length of an expression
+     */
+    static final int MAX_LENGTH = 1000;
+
+    /**
+     * The maximum number of clauses of an expression
+     */
+    static final int MAX_CLAUSES = 16;
+
+    /**
+     * The maximum number of values of an {@code in} list
+     */
+    static final int MAX_IN_VALUES = 32;
+
+    private static final List<String> OPERATORS = List.of(">=", "<=", "!=", "^=", "=", ">", "<");
+
+    /**
+     * One clause of an expression.
+     *
+     * @param field The field name as written
+     * @param operator The operator, lower case
+     * @param values The values; exactly one unless the operator is {@code in}
+     */
+    record Clause(String field, String operator, List<String> values) {
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @param expression The expression, may be null or blank for no filter
+     * @return The parsed expression
+     * @throws IllegalArgumentException If the expression is malformed or too large
+     */
+    static FilterExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return new FilterExpression(List.of());
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Filter must not be longer than " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(expression);
+        List<Clause> clauses = new ArrayList<>();
+        do {
+            if (clauses.size() == MAX_CLAUSES) {
+                throw new IllegalArgumentException("Filter must not have more than " + MAX_CLAUSES + " clauses");
+            }
+            clauses.add(parser.clause());
+        } while (parser.consume(';'));
+        parser.expectEnd();
+        return new FilterExpression(List.copyOf(clauses));
+    }
+
+    /**
+     * Gets the shape of the expression, the key compiled predicates are cached by.
+     *
+     * @return The shape
+     */
+    String shape() {
+        StringBuilder shape = new StringBuilder();
+        for (Clause clause : clauses) {
+            if (!shape.isEmpty()) {
+                shape.append(';');
+            }
+            shape.append(clause.field()).append(' ').append(clause.operator()).append(' ');
+            shape.append(clause.operator().equals("in") ? String.valueOf(clause.values().size()) : "?");
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Gets all values in clause order, matching the parameters of the compiled predicate.
+     *
+     * @return The values
+     */
+    List<String> values() {
+        List<String> values = new ArrayList<>();
+        for (Clause clause : clauses) {
+            values.addAll(clause.values());
+        }
+        return values;
+    }
+
+    private static final class Parser {
+        private final String input;
+        private int position;
+
+        private Parser(String input) {
+            this.input = input;
+        }
+
+        Clause clause() {
+            String field = identifier();
+            String operator = operator();
+            List<String> values = new ArrayList<>();
+            if (operator.equals("in")) {
+                expect('(');
+                do {
+                    if (values.size() == MAX_IN_VALUES) {
+                        throw new IllegalArgumentException("'in' lists must not have more than " + MAX_IN_VALUES + " values");
+                    }
+                    values.add(value());
+                } while (consume(','));
+                expect(')');
+            } else {
+                values.add(value());
+            }
+            return new Clause(field, operator, List.copyOf(values));
+        }
+
+        private String identifier() {
+            skipWhitespace();
+            int start = position;
+            while (position < input.length() && Character.isLetterOrDigit(input.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("field name");
+            }
+            return input.substring(start, position);
+        }
+
+        private String operator() {
+            skipWhitespace();
+            for (String operator : OPERATORS) {
+                if (input.startsWith(operator, position)) {
+                    position += operator.length();
+                    return operator;
+                }
+            }
+            if (input.regionMatches(true, position, "in", 0, 2)) {
+                position += 2;
+                return "in";
+            }
+            throw error("operator");
+        }
+
+        private String value() {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == '"') {
+                int end = input.indexOf('"', position + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted value in filter");
+                }
+                String value = input.substring(position + 1, end);
+                position = end + 1;
+                return value;
+            }
+            int start = position;
+            while (position < input.length() && ";,()\"".indexOf(input.charAt(position)) < 0) {
+                position++;
+            }
+            String value = input.substring(start, position).trim();
+            if (value.isEmpty()) {
+                throw error("value");
+            }
+            return value;
+        }
+
+        boolean consume(char expected) {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("'" + expected + "'");
+            }
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position < input.length()) {
+                throw error("';'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Invalid filter: expected %s at position %d", expected, position));
+        }
+    }
+}
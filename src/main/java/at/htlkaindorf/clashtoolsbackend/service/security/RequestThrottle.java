@@ -0,0 +1,86 @@
+package at.htlkaindorf.clashtoolsbackend.service.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket rate limiter with one bucket per client key, e.g. the client address.
+ * Each bucket holds up to {@code capacity} tokens and is refilled continuously;
+ * a request takes one token and is rejected while the bucket is empty.
+ */
+public class RequestThrottle {
+    private static final int MAX_BUCKETS = 10_000;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a throttle.
+     *
+     * @param capacity The burst size, at least 1
+     * @param refillPerSecond The sustained number of requests per second, greater than 0
+     * @throws IllegalArgumentException If a parameter is out of range
+     */
+    public RequestThrottle(int capacity, double refillPerSecond) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Throttle capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @param key The client key
+     * @return true if the request may proceed, false if the client is throttled
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    boolean tryAcquire(String key, long nanoTime) {
+        if (buckets.size() > MAX_BUCKETS) {
+            evictRefilled(nanoTime);
+        }
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, nanoTime));
+        synchronized (bucket) {
+            bucket.refill(nanoTime);
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens--;
+            return true;
+        }
+    }
+
+    /**
+     * Drops the buckets that are full again; a new bucket for the same client would be identical.
+     */
+    private void evictRefilled(long nanoTime) {
+        buckets.values().removeIf(bucket -> {
+            synchronized (bucket) {
+                bucket.refill(nanoTime);
+                return bucket.tokens >= capacity;
+            }
+        });
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        private void refill(long nanoTime) {
+            if (nanoTime > updatedAt) {
+                tokens = Math.min(capacity, tokens + (nanoTime - updatedAt) * refillPerNano);
+                updatedAt = nanoTime;
+            }
+        }
+    }
+}
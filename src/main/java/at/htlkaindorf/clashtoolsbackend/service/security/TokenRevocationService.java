@@ -0,0 +1,250 @@
+package at.htlkaindorf.clashtoolsbackend.service.security;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.RevokedToken;
+import at.htlkaindorf.clashtoolsbackend.repositories.RevokedTokenRepository;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.PgNotifyListener;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service keeping the list of revoked access tokens, keyed by their JWT ID (jti).
+ *
+ * Every node holds all revocations of unexpired tokens in memory: an exact map from jti to the token's
+ * expiration time, fronted by a {@link BloomFilter}. {@link #isRevoked(String)} is called for every
+ * authenticated request; for a token that has not been revoked the filter answers with a few hash probes,
+ * only filter hits are confirmed against the map. Neither path does any I/O.
+ *
+ * Revocations are stored in the revoked_token table and broadcast through PostgreSQL NOTIFY in the same
+ * transaction, so the other nodes apply them as soon as they are committed. At startup, while the listener
+ * connection is down and once after it has been re-established, the table is reloaded instead.
+ * Entries are dropped once their token has expired, the filter is rebuilt from the remaining entries.
+ */
+@Service
+public class TokenRevocationService {
+    /**
+     * The LISTEN/NOTIFY channel carrying revocations as {@code jti|expiresAtMillis}
+     */
+    public static final String CHANNEL = "token_revocation";
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PgNotifyListener pgNotifyListener;
+    private final TransactionTemplate transactionTemplate;
+    private final int expectedRevocations;
+    private final double falsePositiveProbability;
+    private final long pollIntervalMs;
+    private final long cleanupIntervalMs;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+    private volatile BloomFilter filter;
+    private long loadedConnectionCount = -1;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param revokedTokenRepository The repository storing the revocations
+     * @param jdbcTemplate The template used to send the NOTIFYs
+     * @param pgNotifyListener The listener receiving the revocations of the other nodes
+     * @param transactionManager The transaction manager for storing revocations
+     * @param expectedRevocations The number of concurrently effective revocations the filter is sized for
+     * @param falsePositiveProbability The filter's false positive probability at its expected size
+     * @param pollIntervalMs The interval of the reload check while notifications may be missed
+     * @param cleanupIntervalMs The interval in which expired revocations are dropped
+     */
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PgNotifyListener pgNotifyListener,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${token-revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${token-revocation.false-positive-probability:0.001}") double falsePositiveProbability,
+                                  @Value("${token-revocation.poll-interval-ms:5000}") long pollIntervalMs,
+                                  @Value("${token-revocation.cleanup-interval-ms:60000}") long cleanupIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.pgNotifyListener = pgNotifyListener;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.pollIntervalMs = pollIntervalMs;
+        this.cleanupIntervalMs = cleanupIntervalMs;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveProbability);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        pgNotifyListener.subscribe(CHANNEL, this::receive);
+        reloadIfMissingNotifications();
+        executor.scheduleWithFixedDelay(this::reloadIfMissingNotifications, pollIntervalMs, pollIntervalMs,
+                TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::removeExpired, cleanupIntervalMs, cleanupIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks whether a token has been revoked. Answered from memory only.
+     *
+     * @param jti The JWT ID of the token, null for tokens issued without one
+     * @return true if the token has been revoked and has not expired yet
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        exactLookups.increment();
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Revokes a token on all nodes. Revoking an expired or already revoked token has no effect.
+     *
+     * @param jti The JWT ID of the token
+     * @param expiresAt The expiration time of the token
+     * @throws IllegalArgumentException If the JWT ID is empty
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || jti.isBlank()) {
+            throw new IllegalArgumentException("JWT ID must not be empty");
+        }
+        Instant now = Instant.now();
+        if (!expiresAt.isAfter(now) || isRevoked(jti)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).revokedAt(now).build());
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { },
+                    CHANNEL, jti + "|" + expiresAt.toEpochMilli());
+        });
+        add(jti, expiresAt.toEpochMilli());
+        logger.debug("Revoked token {}", jti);
+    }
+
+    /**
+     * Gets the number of revocations currently in effect on this node.
+     *
+     * @return The number of revoked, unexpired tokens
+     */
+    public int getRevokedCount() {
+        return revoked.size();
+    }
+
+    /**
+     * Gets the number of revocation checks so far.
+     *
+     * @return The number of checks
+     */
+    public long getCheckCount() {
+        return checks.sum();
+    }
+
+    /**
+     * Gets the number of checks that passed the filter and had to be looked up in the exact map.
+     *
+     * @return The number of exact lookups
+     */
+    public long getExactLookupCount() {
+        return exactLookups.sum();
+    }
+
+    private void receive(String payload) {
+        int separator = payload.lastIndexOf('|');
+        try {
+            add(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            logger.warn("Ignoring invalid token revocation: {}", payload);
+        }
+    }
+
+    /**
+     * Adds a revocation. Synchronized with {@link #removeExpired()}, so no entry is lost while the filter is rebuilt.
+     */
+    private synchronized void add(String jti, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revoked.merge(jti, expiresAt, Math::max);
+        filter.put(jti);
+    }
+
+    /**
+     * Reloads all revocations at startup, while the listener connection is down
+     * and once after it has been re-established, when notifications may have been missed.
+     */
+    private void reloadIfMissingNotifications() {
+        long connectionCount = pgNotifyListener.getConnectionCount();
+        if (pgNotifyListener.isConnected() && connectionCount == loadedConnectionCount) {
+            return;
+        }
+        try {
+            List<RevokedToken> tokens = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+            tokens.forEach(token -> add(token.getJti(), token.getExpiresAt().toEpochMilli()));
+            loadedConnectionCount = connectionCount;
+            logger.debug("Loaded {} token revocations", tokens.size());
+        } catch (DataAccessException ex) {
+            logger.warn("Could not load token revocations: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.error("Loading token revocations failed", ex);
+        }
+    }
+
+    /**
+     * Drops the revocations of expired tokens and rebuilds the filter from the remaining ones,
+     * which also resets the false positive rate grown by the dropped entries.
+     */
+    private void removeExpired() {
+        try {
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                revoked.values().removeIf(expiresAt -> expiresAt <= now);
+                BloomFilter rebuilt = BloomFilter.create(Math.max(expectedRevocations, 2L * revoked.size()),
+                        falsePositiveProbability);
+                revoked.keySet().forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            Integer deleted = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(Instant.now()));
+            if (deleted != null && deleted > 0) {
+                logger.debug("Deleted {} expired token revocations", deleted);
+            }
+        } catch (DataAccessException ex) {
+            logger.warn("Could not delete expired token revocations: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            logger.error("Token revocation cleanup failed", ex);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package at.htlkaindorf.clashtoolsbackend.service.security;
+
+import at.htlkaindorf.clashtoolsbackend.dto.auth.AvailabilityDTO;
+import at.htlkaindorf.clashtoolsbackend.exceptions.TooManyRequestsException;
+import at.htlkaindorf.clashtoolsbackend.pojos.User;
+import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.UserIdentityRow;
+import at.htlkaindorf.clashtoolsbackend.service.cluster.ClusterInvalidationEvent;
+import at.htlkaindorf.clashtoolsbackend.service.cluster.ClusterInvalidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service answering whether a username or email can still be registered.
+ *
+ * All registered usernames and emails are kept, normalized to trimmed lower case, in two {@link BloomFilter}s.
+ * A value the filter has never seen is available without any query; only probable hits are confirmed with
+ * the exact indexed query registration itself uses, so the answer always matches what registration would do.
+ * The filters are loaded at startup by streaming the users, extended on registration on this node and, through
+ * {@link ClusterInvalidationService}, on the other nodes, and rebuilt periodically, which drops deleted users
+ * and picks up registrations whose notification was missed. Until the first load has finished every check
+ * falls back to the database.
+ */
+@Service
+public class UserAvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private final UserRepository userRepository;
+    private final ClusterInvalidationService clusterInvalidationService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RequestThrottle throttle;
+    private final int expectedUsers;
+    private final double falsePositiveProbability;
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong exactQueries = new AtomicLong();
+
+    private volatile Filters filters;
+    private Filters rebuilding;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param userRepository The repository used for loading and for confirming probable hits
+     * @param clusterInvalidationService The service informing the other nodes about registrations
+     * @param transactionManager The transaction manager for streaming the users
+     * @param expectedUsers The number of users the filters are sized for at least
+     * @param falsePositiveProbability The false positive probability of the filters at their expected size
+     * @param throttleCapacity The number of checks a client may burst
+     * @param throttleRefillPerSecond The sustained number of checks per second and client
+     */
+    public UserAvailabilityService(UserRepository userRepository,
+                                   ClusterInvalidationService clusterInvalidationService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${availability.expected-users:100000}") int expectedUsers,
+                                   @Value("${availability.false-positive-probability:0.01}") double falsePositiveProbability,
+                                   @Value("${availability.throttle.capacity:20}") int throttleCapacity,
+                                   @Value("${availability.throttle.refill-per-second:5}") double throttleRefillPerSecond) {
+        this.userRepository = userRepository;
+        this.clusterInvalidationService = clusterInvalidationService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.throttle = new RequestThrottle(throttleCapacity, throttleRefillPerSecond);
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        rebuild();
+    }
+
+    /**
+     * Checks the availability of a username and/or email on behalf of a client.
+     *
+     * @param clientKey The key the client is throttled by, e.g. its address
+     * @param username The username to check, may be null
+     * @param email The email to check, may be null
+     * @return The availability of the given values
+     * @throws IllegalArgumentException If neither a username nor an email is given
+     * @throws TooManyRequestsException If the client checks too frequently
+     */
+    public AvailabilityDTO check(String clientKey, String username, String email) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new IllegalArgumentException("Username or email is required");
+        }
+        if (!throttle.tryAcquire(clientKey)) {
+            throw new TooManyRequestsException("Too many availability checks, please slow down");
+        }
+        return new AvailabilityDTO(
+                hasUsername ? username.trim() : null,
+                hasUsername ? isUsernameAvailable(username) : null,
+                hasEmail ? email.trim() : null,
+                hasEmail ? isEmailAvailable(email) : null);
+    }
+
+    /**
+     * Checks whether a username can still be registered.
+     *
+     * @param username The username
+     * @return true if no user has the username
+     */
+    public boolean isUsernameAvailable(String username) {
+        checks.incrementAndGet();
+        Filters current = filters;
+        if (current != null && !current.usernames().mightContain(normalize(username))) {
+            return true;
+        }
+        exactQueries.incrementAndGet();
+        return !userRepository.existsByUsername(username.trim());
+    }
+
+    /**
+     * Checks whether an email can still be registered.
+     *
+     * @param email The email
+     * @return true if no user has the email
+     */
+    public boolean isEmailAvailable(String email) {
+        checks.incrementAndGet();
+        Filters current = filters;
+        if (current != null && !current.mails().mightContain(normalize(email))) {
+            return true;
+        }
+        exactQueries.incrementAndGet();
+        return !userRepository.existsByMail(email.trim());
+    }
+
+    /**
+     * Adds a newly registered user to the filters of all nodes.
+     * Adding before the registration has committed is harmless, a rolled back value only causes an exact query.
+     *
+     * @param user The registered user
+     */
+    public void registered(User user) {
+        add(user.getUsername(), user.getMail());
+        if (user.getId() != null) {
+            clusterInvalidationService.broadcast(User.class, user.getId());
+        }
+    }
+
+    /**
+     * Adds users registered on other nodes.
+     *
+     * @param event The invalidation event of another node
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (!User.class.getSimpleName().equals(event.entityType())) {
+            return;
+        }
+        if (event.entityId() == null) {
+            rebuild();
+            return;
+        }
+        userRepository.findById(event.entityId()).ifPresent(user -> add(user.getUsername(), user.getMail()));
+    }
+
+    /**
+     * Gets the number of username and email checks so far.
+     *
+     * @return The number of checks
+     */
+    public long getCheckCount() {
+        return checks.get();
+    }
+
+    /**
+     * Gets the number of checks that had to be confirmed by a query so far.
+     *
+     * @return The number of exact queries
+     */
+    public long getExactQueryCount() {
+        return exactQueries.get();
+    }
+
+    /**
+     * Rebuilds the filters from the users table.
+     * Values added while the table is being streamed go into the old and the new filters.
+     */
+    @Scheduled(fixedDelayString = "${availability.rebuild-interval-ms:3600000}", initialDelayString = "${availability.rebuild-interval-ms:3600000}")
+    void rebuild() {
+        long userCount = userRepository.count();
+        Filters next = Filters.create(Math.max(expectedUsers, 2 * userCount), falsePositiveProbability);
+        synchronized (this) {
+            rebuilding = next;
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserIdentityRow> rows = userRepository.streamIdentities()) {
+                    rows.forEach(row -> next.add(row.username(), row.mail()));
+                }
+            });
+            synchronized (this) {
+                filters = next;
+            }
+            logger.debug("Availability index rebuilt for {} users", userCount);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not rebuild availability index: {}", ex.getMessage());
+        } finally {
+            synchronized (this) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    private synchronized void add(String username, String mail) {
+        if (filters != null) {
+            filters.add(username, mail);
+        }
+        if (rebuilding != null) {
+            rebuilding.add(username, mail);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter mails) {
+        static Filters create(long expectedInsertions, double falsePositiveProbability) {
+            return new Filters(BloomFilter.create(expectedInsertions, falsePositiveProbability),
+                    BloomFilter.create(expectedInsertions, falsePositiveProbability));
+        }
+
+        void add(String username, String mail) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (mail != null) {
+                mails.put(normalize(mail));
+            }
+        }
+    }
+}
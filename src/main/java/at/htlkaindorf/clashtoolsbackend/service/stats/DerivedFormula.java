@@ -0,0 +1,294 @@
+package at.htlkaindorf.clashtoolsbackend.service.stats;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Formula of a derived stat, compiled into a tree of vectorized evaluators.
+ *
+ * A formula is an arithmetic expression ({@code + - * /}, parentheses, numbers) over variables and functions.
+ * Variables are attribute names, double-quoted if they contain other characters than letters, digits and
+ * underscores, or the level columns {@code level}, {@code upgradeCost}, {@code upgradeTime} (seconds),
+ * {@code upgradeHours} and the per resource costs such as {@code goldCost} or {@code darkElixirCost}, which are
+ * missing for levels paid in another resource. Functions are {@code delta(x)}, the increase of x over the previous level of the same
+ * base entity, {@code abs(x)}, {@code min(x, y)} and {@code max(x, y)}.
+ *
+ * Each node evaluates a whole column at once: it takes the columns of its operands and fills a new
+ * primitive array in one loop over all levels. Missing values are NaN and stay NaN through every operation;
+ * non-finite results, e.g. of a division by zero, are reported as NaN as well.
+ */
+final class DerivedFormula {
+
+    private final String source;
+    private final Node root;
+    private final Set<String> variables;
+
+    /**
+     * Compiled node, evaluating its value for all rows of the columns.
+     * The returned array may be an input column and must not be modified.
+     */
+    @FunctionalInterface
+    private interface Node {
+        double[] evaluate(StatColumns columns);
+    }
+
+    private DerivedFormula(String source, Node root, Set<String> variables) {
+        this.source = source;
+        this.root = root;
+        this.variables = Collections.unmodifiableSet(variables);
+    }
+
+    /**
+     * Parses and compiles a formula.
+     *
+     * @param source The formula
+     * @return The compiled formula
+     * @throws IllegalArgumentException If the formula is malformed
+     */
+    static DerivedFormula compile(String source) {
+        Parser parser = new Parser(source);
+        Node root = parser.expression();
+        parser.expectEnd();
+        return new DerivedFormula(source, root, parser.variables);
+    }
+
+    /**
+     * Evaluates the formula for all levels.
+     *
+     * @param columns The columns of the levels
+     * @return The values in row order, NaN where a value is missing or not finite
+     */
+    double[] evaluate(StatColumns columns) {
+        double[] values = root.evaluate(columns);
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Double.isFinite(values[i]) ? values[i] : Double.NaN;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the normalized names of the variables the formula reads.
+     *
+     * @return The variable names, lower case
+     */
+    Set<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Gets the formula as declared.
+     *
+     * @return The formula
+     */
+    String getSource() {
+        return source;
+    }
+
+    private static Node constant(double value) {
+        return columns -> {
+            double[] result = new double[columns.size()];
+            Arrays.fill(result, value);
+            return result;
+        };
+    }
+
+    private static Node unary(Node operand, DoubleUnaryOperator operator) {
+        return columns -> {
+            double[] values = operand.evaluate(columns);
+            double[] result = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                result[i] = operator.applyAsDouble(values[i]);
+            }
+            return result;
+        };
+    }
+
+    private static Node binary(Node left, Node right, DoubleBinaryOperator operator) {
+        return columns -> {
+            double[] a = left.evaluate(columns);
+            double[] b = right.evaluate(columns);
+            double[] result = new double[a.length];
+            for (int i = 0; i < a.length; i++) {
+                result[i] = operator.applyAsDouble(a[i], b[i]);
+            }
+            return result;
+        };
+    }
+
+    private static Node delta(Node operand) {
+        return columns -> {
+            double[] values = operand.evaluate(columns);
+            int[] previousRows = columns.getPreviousRows();
+            double[] result = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                int previous = previousRows[i];
+                result[i] = previous < 0 ? Double.NaN : values[i] - values[previous];
+            }
+            return result;
+        };
+    }
+
+    private static final class Parser {
+        private final String input;
+        private final Set<String> variables = new LinkedHashSet<>();
+        private int position;
+
+        private Parser(String input) {
+            if (input == null || input.isBlank()) {
+                throw new IllegalArgumentException("Formula must not be empty");
+            }
+            this.input = input;
+        }
+
+        Node expression() {
+            Node node = term();
+            while (true) {
+                if (consume('+')) {
+                    node = binary(node, term(), Double::sum);
+                } else if (consume('-')) {
+                    node = binary(node, term(), (a, b) -> a - b);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node term() {
+            Node node = unaryExpression();
+            while (true) {
+                if (consume('*')) {
+                    node = binary(node, unaryExpression(), (a, b) -> a * b);
+                } else if (consume('/')) {
+                    node = binary(node, unaryExpression(), (a, b) -> a / b);
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node unaryExpression() {
+            if (consume('-')) {
+                return unary(unaryExpression(), value -> -value);
+            }
+            return primary();
+        }
+
+        private Node primary() {
+            skipWhitespace();
+            if (consume('(')) {
+                Node node = expression();
+                expect(')');
+                return node;
+            }
+            if (position < input.length() && input.charAt(position) == '"') {
+                int end = input.indexOf('"', position + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted name in formula: " + input);
+                }
+                String name = input.substring(position + 1, end);
+                position = end + 1;
+                return variable(name);
+            }
+            if (position < input.length() && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                return number();
+            }
+            String name = identifier();
+            if (consume('(')) {
+                return function(name);
+            }
+            return variable(name);
+        }
+
+        private Node function(String name) {
+            Node first = expression();
+            Node node = switch (name.toLowerCase(Locale.ROOT)) {
+                case "delta" -> delta(first);
+                case "abs" -> unary(first, Math::abs);
+                case "min" -> {
+                    expect(',');
+                    yield binary(first, expression(), Math::min);
+                }
+                case "max" -> {
+                    expect(',');
+                    yield binary(first, expression(), Math::max);
+                }
+                default -> throw new IllegalArgumentException("Unknown function in formula: " + name);
+            };
+            expect(')');
+            return node;
+        }
+
+        private Node variable(String name) {
+            String normalized = StatColumns.normalize(name);
+            if (normalized.isEmpty()) {
+                throw error("name");
+            }
+            variables.add(normalized);
+            return columns -> columns.column(normalized);
+        }
+
+        private Node number() {
+            int start = position;
+            while (position < input.length()
+                    && (Character.isDigit(input.charAt(position)) || input.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return constant(Double.parseDouble(input.substring(start, position)));
+            } catch (NumberFormatException ex) {
+                throw error("number");
+            }
+        }
+
+        private String identifier() {
+            int start = position;
+            while (position < input.length()
+                    && (Character.isLetterOrDigit(input.charAt(position)) || input.charAt(position) == '_')) {
+                position++;
+            }
+            if (start == position) {
+                throw error("value");
+            }
+            return input.substring(start, position);
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < input.length() && input.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!consume(expected)) {
+                throw error("'" + expected + "'");
+            }
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position < input.length()) {
+                throw error("operator");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Invalid formula '%s': expected %s at position %d", input, expected, position));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package at.htlkaindorf.clashtoolsbackend.service.stats;
+
+import at.htlkaindorf.clashtoolsbackend.dto.stats.DerivedStatDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.stats.DerivedStatDefinitionDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Service computing derived stats, e.g. damage gained per gold spent or hitpoints gained per upgrade hour.
+ *
+ * Derived stats are declared as {@code derived-stats.metrics.<name>=<formula>} (see {@link DerivedFormula}) and
+ * compiled once at startup. A stat is evaluated for all levels of all base entities at once into one primitive
+ * array per {@link CatalogSnapshot}, the first time it is queried. When the snapshot is replaced after a catalog
+ * change, results whose input columns did not change are carried over instead of being evaluated again.
+ */
+@Service
+public class DerivedStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(DerivedStatsService.class);
+
+    /**
+     * The maximum number of levels returned by a query
+     */
+    public static final int MAX_TOP = 100;
+
+    private static final String METRICS_PROPERTY = "derived-stats.metrics";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final Map<String, DerivedFormula> formulas;
+
+    private final AtomicLong evaluationCount = new AtomicLong();
+    private final AtomicLong reuseCount = new AtomicLong();
+
+    private volatile Computed computed;
+
+    private record Computed(CatalogSnapshot snapshot, StatColumns columns, Map<String, double[]> results) {
+    }
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param catalogSnapshotService The service providing the current catalog snapshot
+     * @param environment The environment the derived stats are declared in
+     * @throws IllegalArgumentException If a declared formula is malformed
+     */
+    public DerivedStatsService(CatalogSnapshotService catalogSnapshotService, Environment environment) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.formulas = new TreeMap<>();
+        Binder.get(environment)
+                .bind(METRICS_PROPERTY, Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .forEach((name, formula) -> formulas.put(StatColumns.normalize(name), DerivedFormula.compile(formula)));
+        logger.info("Compiled {} derived stats", formulas.size());
+    }
+
+    /**
+     * Gets all declared derived stats.
+     *
+     * @return The stats ordered by name
+     */
+    public List<DerivedStatDefinitionDTO> getDefinitions() {
+        List<DerivedStatDefinitionDTO> definitions = new ArrayList<>(formulas.size());
+        formulas.forEach((name, formula) -> definitions.add(new DerivedStatDefinitionDTO(name, formula.getSource())));
+        return definitions;
+    }
+
+    /**
+     * Finds the base entity levels with the highest (or lowest) values of a derived stat.
+     * Levels for which the stat has no value, e.g. because an input attribute is missing, are skipped.
+     *
+     * @param name The name of the derived stat, case-insensitive
+     * @param min The inclusive lower bound of the value, or null
+     * @param max The inclusive upper bound of the value, or null
+     * @param top The maximum number of levels, or null for {@link #MAX_TOP}
+     * @param ascending Whether the lowest instead of the highest values come first
+     * @param category The category the base entities must have, or null for all
+     * @param maxLevelOnly Whether only the highest level of each base entity is considered
+     * @return The matching levels ordered by value
+     * @throws IllegalArgumentException If the stat is unknown or the parameters are invalid
+     */
+    public List<DerivedStatDTO> find(String name, Double min, Double max, Integer top, boolean ascending,
+                                     Category category, boolean maxLevelOnly) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+        if (top != null && (top < 1 || top > MAX_TOP)) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP);
+        }
+        String key = StatColumns.normalize(name);
+        if (!formulas.containsKey(key)) {
+            throw new IllegalArgumentException("Derived stat not found");
+        }
+
+        Computed current = current();
+        StatColumns columns = current.columns();
+        double[] values = values(current, key);
+        Comparator<Integer> order = Comparator.comparingDouble(row -> values[row]);
+        if (!ascending) {
+            order = order.reversed();
+        }
+        int[] rows = IntStream.range(0, values.length)
+                .filter(row -> !Double.isNaN(values[row]))
+                .filter(row -> (min == null || values[row] >= min) && (max == null || values[row] <= max))
+                .filter(row -> !maxLevelOnly || columns.isMaxLevel(row))
+                .filter(row -> category == null || current.snapshot().findBaseEntity(columns.baseEntityId(row))
+                        .map(baseEntity -> baseEntity.category() == category)
+                        .orElse(false))
+                .boxed()
+                .sorted(order.thenComparingLong(columns::levelId))
+                .limit(top != null ? top : MAX_TOP)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        double[] levels = columns.column("level");
+        List<DerivedStatDTO> matches = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            BaseEntityRow baseEntity = current.snapshot().findBaseEntity(columns.baseEntityId(row)).orElseThrow();
+            matches.add(new DerivedStatDTO(baseEntity.id(), baseEntity.name(), baseEntity.category(),
+                    columns.levelId(row), (int) levels[row], values[row]));
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the number of evaluations of a derived stat over all levels.
+     *
+     * @return The number of evaluations since startup
+     */
+    public long getEvaluationCount() {
+        return evaluationCount.get();
+    }
+
+    /**
+     * Gets the number of results carried over to a new snapshot because their inputs did not change.
+     *
+     * @return The number of carried over results since startup
+     */
+    public long getReuseCount() {
+        return reuseCount.get();
+    }
+
+    private double[] values(Computed current, String name) {
+        return current.results().computeIfAbsent(name, key -> {
+            evaluationCount.incrementAndGet();
+            return formulas.get(key).evaluate(current.columns());
+        });
+    }
+
+    private Computed current() {
+        CatalogSnapshot snapshot = catalogSnapshotService.loaded();
+        Computed current = computed;
+        if (current == null || current.snapshot() != snapshot) {
+            current = recompute(current, snapshot);
+            computed = current;
+        }
+        return current;
+    }
+
+    private Computed recompute(Computed previous, CatalogSnapshot snapshot) {
+        StatColumns columns = StatColumns.build(snapshot);
+        Map<String, double[]> results = new ConcurrentHashMap<>();
+        if (previous != null && columns.hasSameRows(previous.columns())) {
+            previous.results().forEach((name, values) -> {
+                boolean unchanged = formulas.get(name).getVariables().stream()
+                        .allMatch(variable -> columns.hasSameColumn(previous.columns(), variable));
+                if (unchanged) {
+                    results.put(name, values);
+                    reuseCount.incrementAndGet();
+                }
+            });
+        }
+        return new Computed(snapshot, columns, results);
+    }
+}
@@ -0,0 +1,236 @@
+package at.htlkaindorf.clashtoolsbackend.service.stats;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable columnar view of the base entity levels of one {@link CatalogSnapshot}, the input of
+ * {@link DerivedFormula} evaluation.
+ *
+ * Every level is one row; rows are ordered by base entity and level, so the previous level of a base entity
+ * is the row before it. Each numeric attribute name and each level field is one primitive column with NaN
+ * where a level has no value. INTEGER values are used as they are, RANGE values by their maximum.
+ * Besides upgradeCost in whatever resource a level costs, there is one cost column per resource type,
+ * e.g. goldCost or darkElixirCost, which is NaN for levels paid in another resource.
+ */
+final class StatColumns {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final long[] levelIds;
+    private final long[] baseEntityIds;
+    private final int[] previousRows;
+    private final Map<String, double[]> columns;
+    private final double[] missing;
+
+    private StatColumns(long[] levelIds, long[] baseEntityIds, int[] previousRows, Map<String, double[]> columns) {
+        this.levelIds = levelIds;
+        this.baseEntityIds = baseEntityIds;
+        this.previousRows = previousRows;
+        this.columns = columns;
+        this.missing = new double[levelIds.length];
+        Arrays.fill(missing, Double.NaN);
+    }
+
+    /**
+     * Builds the columns of a snapshot.
+     *
+     * @param snapshot The snapshot
+     * @return The columns
+     */
+    static StatColumns build(CatalogSnapshot snapshot) {
+        List<BaseEntityLevelRow> levels = new ArrayList<>(snapshot.getBaseEntityLevels());
+        levels.sort(Comparator.comparingLong(BaseEntityLevelRow::baseEntityId)
+                .thenComparingInt(BaseEntityLevelRow::level)
+                .thenComparingLong(BaseEntityLevelRow::id));
+
+        int size = levels.size();
+        long[] levelIds = new long[size];
+        long[] baseEntityIds = new long[size];
+        int[] previousRows = new int[size];
+        double[] level = new double[size];
+        double[] upgradeCost = new double[size];
+        double[] upgradeTime = new double[size];
+        double[] upgradeHours = new double[size];
+        Map<ResourceType, double[]> resourceCosts = new EnumMap<>(ResourceType.class);
+        for (ResourceType resourceType : ResourceType.values()) {
+            double[] cost = new double[size];
+            Arrays.fill(cost, Double.NaN);
+            resourceCosts.put(resourceType, cost);
+        }
+        Map<Long, Integer> rowByLevelId = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            BaseEntityLevelRow row = levels.get(i);
+            levelIds[i] = row.id();
+            baseEntityIds[i] = row.baseEntityId();
+            previousRows[i] = i > 0 && baseEntityIds[i - 1] == row.baseEntityId() ? i - 1 : -1;
+            level[i] = row.level();
+            upgradeCost[i] = row.upgradeCost();
+            upgradeTime[i] = row.upgradeTime();
+            upgradeHours[i] = row.upgradeTime() / SECONDS_PER_HOUR;
+            if (row.resourceType() != null) {
+                resourceCosts.get(row.resourceType())[i] = row.upgradeCost();
+            }
+            rowByLevelId.put(row.id(), i);
+        }
+
+        Map<String, double[]> columns = new HashMap<>();
+        Map<Long, String> nameById = new HashMap<>();
+        for (AttributeNameRow name : snapshot.getAttributeNames()) {
+            nameById.putIfAbsent(name.id(), normalize(name.name()));
+        }
+        Map<Long, String> nameByAttributeId = new HashMap<>();
+        for (AttributeRow attribute : snapshot.getAttributes()) {
+            String name = nameById.get(attribute.attributeNameId());
+            if (name != null) {
+                nameByAttributeId.put(attribute.id(), name);
+            }
+        }
+        for (AttributeValueRow value : snapshot.getAttributeValues()) {
+            String name = nameByAttributeId.get(value.attributeId());
+            Integer row = rowByLevelId.get(value.baseEntityLevelId());
+            double number = numericValue(value);
+            if (name == null || row == null || Double.isNaN(number)) {
+                continue;
+            }
+            columns.computeIfAbsent(name, key -> {
+                double[] column = new double[size];
+                Arrays.fill(column, Double.NaN);
+                return column;
+            })[row] = number;
+        }
+
+        // the level fields take precedence over attributes of the same name
+        columns.put("level", level);
+        columns.put("upgradecost", upgradeCost);
+        columns.put("upgradetime", upgradeTime);
+        columns.put("upgradehours", upgradeHours);
+        resourceCosts.forEach((resourceType, cost) -> columns.put(costColumn(resourceType), cost));
+        return new StatColumns(levelIds, baseEntityIds, previousRows, columns);
+    }
+
+    /**
+     * Normalizes a variable or attribute name for lookups.
+     *
+     * @param name The name
+     * @return The trimmed, lower case name
+     */
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the name of the cost column of a resource type.
+     *
+     * @param resourceType The resource type
+     * @return The normalized column name, e.g. darkelixircost
+     */
+    static String costColumn(ResourceType resourceType) {
+        return resourceType.name().replace("_", "").toLowerCase(Locale.ROOT) + "cost";
+    }
+
+    private static double numericValue(AttributeValueRow row) {
+        if (row.value() instanceof Integer value) {
+            return value;
+        }
+        if (row.value() instanceof Range range && range.getMax() != null) {
+            return range.getMax();
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of levels
+     */
+    int size() {
+        return levelIds.length;
+    }
+
+    /**
+     * Gets a column. The returned array is shared and must not be modified.
+     *
+     * @param name The normalized name of an attribute or level field
+     * @return The values in row order; all NaN if no level has a numeric value of that name
+     */
+    double[] column(String name) {
+        return columns.getOrDefault(name, missing);
+    }
+
+    /**
+     * Gets the row of the previous level of each row's base entity.
+     *
+     * @return The previous rows, -1 for the lowest level of a base entity
+     */
+    int[] getPreviousRows() {
+        return previousRows;
+    }
+
+    /**
+     * Gets the ID of the level of a row.
+     *
+     * @param row The row
+     * @return The level ID
+     */
+    long levelId(int row) {
+        return levelIds[row];
+    }
+
+    /**
+     * Gets the ID of the base entity of a row.
+     *
+     * @param row The row
+     * @return The base entity ID
+     */
+    long baseEntityId(int row) {
+        return baseEntityIds[row];
+    }
+
+    /**
+     * Checks whether a row is the highest level of its base entity.
+     *
+     * @param row The row
+     * @return true if no higher level of the base entity exists
+     */
+    boolean isMaxLevel(int row) {
+        return row + 1 == levelIds.length || baseEntityIds[row + 1] != baseEntityIds[row];
+    }
+
+    /**
+     * Checks whether another instance has the same rows in the same order, so results can be shared.
+     *
+     * @param other The other columns
+     * @return true if both have the same levels of the same base entities in the same order
+     */
+    boolean hasSameRows(StatColumns other) {
+        return Arrays.equals(levelIds, other.levelIds)
+                && Arrays.equals(baseEntityIds, other.baseEntityIds)
+                && Arrays.equals(previousRows, other.previousRows);
+    }
+
+    /**
+     * Checks whether a column holds the same values in another instance with the same rows.
+     *
+     * @param other The other columns
+     * @param name The normalized column name
+     * @return true if the values are identical, missing values included
+     */
+    boolean hasSameColumn(StatColumns other, String name) {
+        return Arrays.equals(column(name), other.column(name));
+    }
+}
@@ -0,0 +1,74 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AdmissionControlledDataSourceTest {
+
+    private DataSource targetDataSource;
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        targetDataSource = Mockito.mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        dataSource = new AdmissionControlledDataSource(targetDataSource, 1, 10, 50);
+    }
+
+    @Test
+    void testClose_ReleasesPermitOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testNestedConnection_OnSameThreadDoesNotNeedPermit() throws Exception {
+        Connection outer = dataSource.getConnection();
+        Connection inner = dataSource.getConnection();
+
+        inner.close();
+        assertEquals(0, dataSource.getAvailablePermits());
+        outer.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testGetConnection_TimesOutWhenNoPermitAvailable() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return dataSource.getConnection();
+                    } catch (Exception ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }).get());
+        assertInstanceOf(SQLTransientConnectionException.class, exception.getCause().getCause());
+
+        connection.close();
+    }
+
+    @Test
+    void testFailedConnection_ReleasesPermit() throws Exception {
+        when(targetDataSource.getConnection()).thenThrow(new java.sql.SQLException("down"));
+
+        assertThrows(java.sql.SQLException.class, () -> dataSource.getConnection());
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
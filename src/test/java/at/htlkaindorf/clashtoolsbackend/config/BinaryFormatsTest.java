@@ -0,0 +1,74 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import at.htlkaindorf.clashtoolsbackend.controller.CategoryController;
+import at.htlkaindorf.clashtoolsbackend.mapper.CategoryMapperImpl;
+import at.htlkaindorf.clashtoolsbackend.service.CategoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the content negotiation of the binary formats with the message converters in the order
+ * Spring Boot registers them: CBOR and Smile on request, JSON for clients that accept anything.
+ */
+class BinaryFormatsTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        BinaryFormatsConfig config = new BinaryFormatsConfig();
+        HttpMessageConverters converters = new HttpMessageConverters(
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()));
+        CategoryController controller = new CategoryController(new CategoryService(), new CategoryMapperImpl());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(converters.getConverters().toArray(new HttpMessageConverter<?>[0]))
+                .build();
+    }
+
+    private byte[] fetch(MediaType accept, MediaType expected) throws Exception {
+        return mockMvc.perform(get("/api/categories").accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(expected))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Test
+    void testAcceptCbor_ReturnsCbor() throws Exception {
+        byte[] body = fetch(MediaType.APPLICATION_CBOR, MediaType.APPLICATION_CBOR);
+
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        assertEquals(json.readTree(fetch(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON)), cbor.readTree(body));
+    }
+
+    @Test
+    void testAcceptSmile_ReturnsSmile() throws Exception {
+        byte[] body = fetch(SMILE, SMILE);
+
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        assertEquals(json.readTree(fetch(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON)), smile.readTree(body));
+    }
+
+    @Test
+    void testAcceptAnything_ReturnsJson() throws Exception {
+        byte[] body = fetch(MediaType.ALL, MediaType.APPLICATION_JSON);
+
+        assertTrue(json.readTree(body).path("success").asBoolean());
+    }
+}
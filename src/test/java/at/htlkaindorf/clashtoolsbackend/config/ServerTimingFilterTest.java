@@ -0,0 +1,71 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testDoFilter_SetsHeaderBeforeTheBodyAndRecordsSerialization() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(meterRegistry, true, 1000, 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/base-entities");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestPhases.mark(RequestPhases.Phase.AUTH_DONE);
+            RequestPhases.mark(RequestPhases.Phase.CONTROLLER_ENTRY);
+            RequestPhases.sql();
+            RequestPhases.mark(RequestPhases.Phase.MAPPING_DONE);
+            res.getOutputStream().write("{\"ok\":".getBytes(StandardCharsets.UTF_8));
+            assertNotNull(response.getHeader("Server-Timing"));
+            res.getOutputStream().write("true}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        String header = response.getHeader("Server-Timing");
+        for (String segment : new String[]{"auth;dur=", "dispatch;dur=", "db;dur=", "handler;dur="}) {
+            assertTrue(header.contains(segment), header);
+        }
+        assertFalse(header.contains("serialize"), header);
+        assertEquals(1, response.getHeaders("Server-Timing").size());
+        assertEquals("{\"ok\":true}", response.getContentAsString());
+        assertNotNull(meterRegistry.find("http.server.phases").tag("phase", "serialize").timer());
+        assertNotNull(meterRegistry.find("http.server.phases").tag("phase", "total").timer());
+    }
+
+    @Test
+    void testDoFilter_WriterBodyIsNotHeldBack() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(meterRegistry, true, 1000, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/catalog");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            RequestPhases.mark(RequestPhases.Phase.AUTH_DONE);
+            res.getWriter().write("0123456789");
+            assertEquals(10, response.getContentAsString().length());
+            assertNotNull(response.getHeader("Server-Timing"));
+        });
+
+        assertEquals(10, response.getContentAsString().length());
+        assertTrue(meterRegistry.find("http.server.phases").timers().isEmpty());
+    }
+
+    @Test
+    void testDoFilter_PhasesOutsideRequestIgnored() throws Exception {
+        RequestPhases.mark(RequestPhases.Phase.CONTROLLER_ENTRY);
+        ServerTimingFilter filter = new ServerTimingFilter(meterRegistry, true, 1000, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/"), response, (req, res) -> { });
+
+        assertFalse(response.getHeader("Server-Timing").contains("dispatch"));
+        assertTrue(response.getHeader("Server-Timing").startsWith("total;dur="));
+    }
+}
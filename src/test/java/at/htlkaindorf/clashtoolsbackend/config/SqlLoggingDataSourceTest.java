@@ -0,0 +1,79 @@
+package at.htlkaindorf.clashtoolsbackend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SqlLoggingDataSourceTest {
+
+    private static Connection connectionWith(PreparedStatement statement) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        return connection;
+    }
+
+    @Test
+    void testSlowStatementCapturedWithRedactedParameters() throws SQLException {
+        PreparedStatement target = mock(PreparedStatement.class);
+        when(target.executeUpdate()).thenReturn(1);
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = connectionWith(target);
+        when(dataSource.getConnection()).thenReturn(connection);
+        SqlStatementMonitor monitor = new SqlStatementMonitor(0, 0, 0, 10);
+
+        Connection wrapped = new SqlLoggingDataSource(dataSource, monitor).getConnection();
+        PreparedStatement statement = wrapped.prepareStatement("UPDATE users SET mail = ? WHERE id = ?");
+        statement.setString(1, "a@b.at");
+        statement.setLong(2, 7L);
+        assertEquals(1, statement.executeUpdate());
+
+        verify(target).setString(1, "a@b.at");
+        List<SqlStatementMonitor.SlowQuery> slowQueries = monitor.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals("UPDATE users SET mail = ? WHERE id = ?", slowQueries.get(0).statement());
+        assertEquals(List.of("<String>", "7"), slowQueries.get(0).parameters());
+    }
+
+    @Test
+    void testFastStatementNotCapturedAndErrorsPropagated() throws SQLException {
+        PreparedStatement target = mock(PreparedStatement.class);
+        when(target.execute()).thenThrow(new SQLException("boom"));
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = connectionWith(target);
+        when(dataSource.getConnection()).thenReturn(connection);
+        SqlStatementMonitor monitor = new SqlStatementMonitor(0, 0, 60_000, 10);
+
+        PreparedStatement statement = new SqlLoggingDataSource(dataSource, monitor).getConnection()
+                .prepareStatement("SELECT 1");
+
+        SQLException ex = assertThrows(SQLException.class, statement::execute);
+        assertEquals("boom", ex.getMessage());
+        assertTrue(monitor.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    void testAdmissionWrapperReachableThroughLoggingWrapper() throws SQLException {
+        AdmissionControlledDataSource admission = new AdmissionControlledDataSource(mock(DataSource.class), 1, 1, 10);
+        DataSource dataSource = new SqlLoggingDataSource(admission, new SqlStatementMonitor(0, 0, 0, 10));
+
+        assertTrue(dataSource.isWrapperFor(AdmissionControlledDataSource.class));
+        assertSame(admission, dataSource.unwrap(AdmissionControlledDataSource.class));
+    }
+
+    @Test
+    void testInvalidSettingsRejected() {
+        SqlStatementMonitor monitor = new SqlStatementMonitor(0.5, 10, 100, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> monitor.setSampleRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> monitor.setSlowThresholdMs(-1));
+        assertEquals(0.5, monitor.getSampleRate());
+    }
+}
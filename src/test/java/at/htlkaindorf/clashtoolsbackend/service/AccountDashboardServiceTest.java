@@ -0,0 +1,126 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.AccountDashboardDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.CategoryProgressDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.dashboard.DashboardEntityDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountDashboardRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import at.htlkaindorf.clashtoolsbackend.service.cost.UpgradeCostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountDashboardServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private AccountDashboardService accountDashboardService;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CatalogSnapshot(5L, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE)),
+                List.of(
+                        new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, "cannon1.png"),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 200, 120, "cannon2.png"),
+                        new BaseEntityLevelRow(12L, 1L, 3, ResourceType.GOLD, 400, 240, "cannon3.png")),
+                List.of(), List.of(), List.of(), List.of(), List.of());
+        lenient().when(catalogSnapshotService.loaded()).thenReturn(snapshot);
+        accountDashboardService = new AccountDashboardService(accountRepository, catalogSnapshotService,
+                new UpgradeCostService(catalogSnapshotService));
+    }
+
+    @Test
+    void testGetDashboard() {
+        long start = System.currentTimeMillis();
+        when(accountRepository.findDashboardRows(7L)).thenReturn(List.of(
+                new AccountDashboardRow(7L, "main", 3L, "alice", 100L, 1L, 1, start),
+                new AccountDashboardRow(7L, "main", 3L, "alice", 101L, 1L, 3, null)));
+
+        AccountDashboardDTO dashboard = accountDashboardService.getDashboard(7L);
+
+        assertEquals("main", dashboard.accountName());
+        assertEquals("alice", dashboard.username());
+        assertEquals(5L, dashboard.catalogVersion());
+        assertEquals(2, dashboard.entities().size());
+
+        DashboardEntityDTO upgrading = dashboard.entities().get(0);
+        assertEquals("Cannon", upgrading.name());
+        assertEquals(3, upgrading.maxLevel());
+        assertEquals("cannon1.png", upgrading.imgPath());
+        assertEquals(2, upgrading.nextLevel().level());
+        assertEquals(start + 120_000L, upgrading.upgradeEnd());
+        assertNull(dashboard.entities().get(1).nextLevel());
+
+        assertEquals(1, dashboard.activeTimers().size());
+        assertEquals(100L, dashboard.activeTimers().get(0).accountEntityId());
+
+        CategoryProgressDTO progress = dashboard.categoryProgress().get(0);
+        assertEquals(Category.DEFENSE, progress.category());
+        assertEquals(2, progress.entityCount());
+        assertEquals(4, progress.levels());
+        assertEquals(6, progress.maxLevels());
+        assertEquals(360L, progress.remainingUpgradeTime());
+        assertEquals(600L, progress.remainingCost().get(ResourceType.GOLD));
+    }
+
+    @Test
+    void testGetDashboard_CostsComeFromTheSnapshotOfTheLevels() {
+        CatalogSnapshot newer = new CatalogSnapshot(6L, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE)),
+                List.of(
+                        new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, "cannon1.png"),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 900, 900, "cannon2.png"),
+                        new BaseEntityLevelRow(12L, 1L, 3, ResourceType.GOLD, 400, 240, "cannon3.png")),
+                List.of(), List.of(), List.of(), List.of(), List.of());
+        when(catalogSnapshotService.loaded()).thenReturn(snapshot, newer);
+        when(accountRepository.findDashboardRows(7L)).thenReturn(List.of(
+                new AccountDashboardRow(7L, "main", 3L, "alice", 100L, 1L, 1, null)));
+
+        AccountDashboardDTO dashboard = accountDashboardService.getDashboard(7L);
+
+        assertEquals(5L, dashboard.catalogVersion());
+        assertEquals(200, dashboard.entities().get(0).nextLevel().upgradeCost());
+        assertEquals(600L, dashboard.categoryProgress().get(0).remainingCost().get(ResourceType.GOLD));
+        assertEquals(360L, dashboard.categoryProgress().get(0).remainingUpgradeTime());
+    }
+
+    @Test
+    void testGetDashboard_AccountWithoutEntities() {
+        when(accountRepository.findDashboardRows(7L)).thenReturn(List.of(
+                new AccountDashboardRow(7L, "main", 3L, "alice", null, null, null, null)));
+
+        AccountDashboardDTO dashboard = accountDashboardService.getDashboard(7L);
+
+        assertTrue(dashboard.entities().isEmpty());
+        assertTrue(dashboard.activeTimers().isEmpty());
+        assertTrue(dashboard.categoryProgress().isEmpty());
+    }
+
+    @Test
+    void testGetDashboard_AccountNotFound() {
+        when(accountRepository.findDashboardRows(8L)).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> accountDashboardService.getDashboard(8L));
+    }
+}
@@ -7,6 +7,7 @@ import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
 import at.htlkaindorf.clashtoolsbackend.pojos.AttributeTranslation;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeNameRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.AttributeRepository;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
 import at.htlkaindorf.clashtoolsbackend.service.AttributeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,9 @@ public class AttributeServiceTest {
     @Mock
     private AttributeMapper attributeMapper;
 
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
     @InjectMocks
     private AttributeService attributeService;
 
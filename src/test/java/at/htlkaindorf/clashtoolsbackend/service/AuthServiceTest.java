@@ -15,13 +15,19 @@ import at.htlkaindorf.clashtoolsbackend.pojos.User;
 import at.htlkaindorf.clashtoolsbackend.repositories.RefreshTokenRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.RoleRepository;
 import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
+import at.htlkaindorf.clashtoolsbackend.service.cluster.ClusterInvalidationService;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
+import at.htlkaindorf.clashtoolsbackend.service.security.TokenRevocationService;
+import at.htlkaindorf.clashtoolsbackend.service.security.UserAvailabilityService;
 import at.htlkaindorf.clashtoolsbackend.service.AuthService;
 import at.htlkaindorf.clashtoolsbackend.service.JwtService;
 import at.htlkaindorf.clashtoolsbackend.service.RefreshTokenService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -63,7 +69,12 @@ public class AuthServiceTest {
             passwordEncoder,
             jwtService,
             refreshTokenService,
-            roleRepository
+            roleRepository,
+            new ReferenceDataRegistry(),
+            Mockito.mock(DomainEventPublisher.class),
+            Mockito.mock(TokenRevocationService.class),
+            new UserAvailabilityService(userRepository, Mockito.mock(ClusterInvalidationService.class),
+                    Mockito.mock(PlatformTransactionManager.class), 100, 0.01, 20, 5)
         );
 
         // Create a test role
@@ -109,7 +120,7 @@ public class AuthServiceTest {
         verify(userRepository).existsByMail("new@example.com");
         verify(roleRepository).findByName(RoleConstants.ROLE_USER.getRoleName());
         verify(passwordEncoder).encode("Password1!");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -126,7 +137,7 @@ public class AuthServiceTest {
 
         // Verify
         verify(userRepository).existsByUsername("newuser");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -145,7 +156,25 @@ public class AuthServiceTest {
         // Verify
         verify(userRepository).existsByUsername("newuser");
         verify(userRepository).existsByMail("new@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void testRegister_ConcurrentDuplicateRejectedByConstraint() {
+        // Arrange
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+        when(userRepository.existsByMail("new@example.com")).thenReturn(false);
+        when(roleRepository.findByName(RoleConstants.ROLE_USER.getRoleName())).thenReturn(Optional.of(userRole));
+        when(passwordEncoder.encode("Password1!")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act & Assert
+        UsernameAlreadyExistsException exception = assertThrows(
+                UsernameAlreadyExistsException.class,
+                () -> authService.register(registerRequest)
+        );
+        assertEquals("Username or email already taken", exception.getMessage());
     }
 
     @Test
@@ -166,7 +195,7 @@ public class AuthServiceTest {
         verify(userRepository).existsByUsername("newuser");
         verify(userRepository).existsByMail("new@example.com");
         verify(roleRepository).findByName(RoleConstants.ROLE_USER.getRoleName());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -0,0 +1,127 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeValue;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntity;
+import at.htlkaindorf.clashtoolsbackend.pojos.BaseEntityLevel;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.AttributeValueRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityLevelRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.BaseEntityRepository;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogVersionService;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEventPublisher;
+import at.htlkaindorf.clashtoolsbackend.service.push.AccountEntityChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkDeleteServiceTest {
+
+    @Mock
+    private AttributeValueRepository attributeValueRepository;
+
+    @Mock
+    private BaseEntityLevelRepository baseEntityLevelRepository;
+
+    @Mock
+    private BaseEntityRepository baseEntityRepository;
+
+    @Mock
+    private AccountEntityRepository accountEntityRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    @Mock
+    private DomainEventPublisher domainEventPublisher;
+
+    @InjectMocks
+    private BulkDeleteService bulkDeleteService;
+
+    @Test
+    void testDeleteBaseEntity_DeletesInForeignKeyOrder() {
+        when(baseEntityRepository.existsById(1L)).thenReturn(true);
+        when(attributeValueRepository.bulkDeleteByBaseEntityId(1L)).thenReturn(6);
+        when(baseEntityLevelRepository.bulkDeleteByBaseEntityId(1L)).thenReturn(3);
+
+        bulkDeleteService.deleteBaseEntity(1L);
+
+        InOrder inOrder = inOrder(attributeValueRepository, baseEntityLevelRepository, baseEntityRepository);
+        inOrder.verify(attributeValueRepository).bulkDeleteByBaseEntityId(1L);
+        inOrder.verify(baseEntityLevelRepository).bulkDeleteAttributeLinksByBaseEntityId(1L);
+        inOrder.verify(baseEntityLevelRepository).bulkDeleteByBaseEntityId(1L);
+        inOrder.verify(baseEntityRepository).deleteById(1L);
+        verify(catalogVersionService).markChanged(AttributeValue.class);
+        verify(catalogVersionService).markChanged(BaseEntityLevel.class);
+        verify(catalogVersionService).markChanged(BaseEntity.class);
+    }
+
+    @Test
+    void testDeleteBaseEntity_NotFound() {
+        when(baseEntityRepository.existsById(2L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkDeleteService.deleteBaseEntity(2L));
+        verifyNoInteractions(accountEntityRepository, attributeValueRepository, catalogVersionService);
+    }
+
+    @Test
+    void testDeleteBaseEntity_ReferencedByAccountEntities() {
+        when(baseEntityRepository.existsById(3L)).thenReturn(true);
+        when(accountEntityRepository.existsByBaseEntityId(3L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkDeleteService.deleteBaseEntity(3L));
+        verify(baseEntityRepository, never()).deleteById(any());
+        verifyNoInteractions(attributeValueRepository, baseEntityLevelRepository, catalogVersionService);
+    }
+
+    @Test
+    void testDeleteAccount_PublishesDeletedChangePerAccountEntity() {
+        when(accountRepository.existsById(7L)).thenReturn(true);
+        when(accountEntityRepository.findIdsByAccountId(7L)).thenReturn(List.of(100L, 101L));
+        when(accountEntityRepository.bulkDeleteByAccountId(7L)).thenReturn(2);
+
+        bulkDeleteService.deleteAccount(7L);
+
+        ArgumentCaptor<AccountEntityChangedEvent> events = ArgumentCaptor.forClass(AccountEntityChangedEvent.class);
+        verify(domainEventPublisher, times(2)).publish(events.capture());
+        assertEquals(List.of(100L, 101L), events.getAllValues().stream()
+                .map(event -> event.change().accountEntityId()).toList());
+        assertTrue(events.getAllValues().stream().allMatch(event -> event.accountId() == 7L
+                && event.change().type() == AccountEntityChangeType.DELETED));
+        verify(accountRepository).deleteById(7L);
+    }
+
+    @Test
+    void testDeleteLevels_CountsAllTables() {
+        List<Long> ids = List.of(10L, 11L);
+        when(attributeValueRepository.bulkDeleteByBaseEntityLevelIds(ids)).thenReturn(4);
+        when(baseEntityLevelRepository.bulkDeleteAttributeLinksByIds(ids)).thenReturn(2);
+        when(baseEntityLevelRepository.bulkDeleteByIds(ids)).thenReturn(2);
+
+        assertEquals(8, bulkDeleteService.deleteLevels(ids));
+        assertEquals(0, bulkDeleteService.deleteLevels(List.of()));
+        verify(baseEntityLevelRepository, times(1)).bulkDeleteByIds(any());
+    }
+
+    @Test
+    void testDeleteAttributeValues_NothingDeletedKeepsCatalogVersion() {
+        when(attributeValueRepository.bulkDeleteByAttributeId(5L)).thenReturn(0);
+
+        assertEquals(0, bulkDeleteService.deleteAttributeValuesByAttributeId(5L));
+        verifyNoInteractions(catalogVersionService);
+    }
+}
@@ -0,0 +1,68 @@
+package at.htlkaindorf.clashtoolsbackend.service;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.AttributeName;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.pojos.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReferenceDataRegistryTest {
+
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ReferenceDataRegistry();
+        registry.loadRoles(List.of(
+                Role.builder().id(1L).name("ROLE_USER").build(),
+                Role.builder().id(2L).name("ROLE_ADMIN").build()));
+        registry.loadAttributeNames(List.of(
+                new AttributeName(10L, "Hitpoints", null),
+                new AttributeName(11L, "Damage", null)));
+    }
+
+    @Test
+    void testFindRole() {
+        Optional<Role> role = registry.findRole("ROLE_ADMIN");
+
+        assertTrue(role.isPresent());
+        assertEquals(2L, role.get().getId());
+        assertEquals(Optional.of("ROLE_USER"), registry.findRoleName(1L));
+        assertTrue(registry.findRole("ROLE_UNKNOWN").isEmpty());
+    }
+
+    @Test
+    void testAuthority_IsCanonicalForKnownRoles() {
+        assertSame(registry.authority("ROLE_USER"), registry.authority("ROLE_USER"));
+        assertEquals("ROLE_UNKNOWN", registry.authority("ROLE_UNKNOWN").getAuthority());
+    }
+
+    @Test
+    void testAttributeNameMutations() {
+        registry.putAttributeName(10L, "Health");
+        registry.putAttributeName(12L, "Speed");
+        registry.removeAttributeName(11L);
+
+        assertEquals(Optional.of(10L), registry.findAttributeNameId("Health"));
+        assertTrue(registry.findAttributeNameId("Hitpoints").isEmpty());
+        assertEquals(Optional.of("Speed"), registry.findAttributeName(12L));
+        assertTrue(registry.findAttributeNameId("Damage").isEmpty());
+    }
+
+    @Test
+    void testStableEnumIds() {
+        for (Category category : Category.values()) {
+            assertSame(category, Category.fromId(category.getId()));
+        }
+        for (ResourceType resourceType : ResourceType.values()) {
+            assertSame(resourceType, ResourceType.fromId(resourceType.getId()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Category.fromId(99));
+    }
+}
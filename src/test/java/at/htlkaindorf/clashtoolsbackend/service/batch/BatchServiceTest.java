@@ -0,0 +1,114 @@
+package at.htlkaindorf.clashtoolsbackend.service.batch;
+
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchOperationDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.batch.BatchResultDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BatchServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DispatcherServlet dispatcherServlet;
+    private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private PlatformTransactionManager transactionManager;
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dispatcherServlet = mock(DispatcherServlet.class);
+        privilegeEvaluator = mock(WebInvocationPrivilegeEvaluator.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(privilegeEvaluator.isAllowed(any(), anyString(), anyString(), any())).thenReturn(true);
+
+        // echoes method, path and query string as JSON
+        doAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            HttpServletResponse response = invocation.getArgument(1);
+            response.setStatus(200);
+            response.setContentType("application/json");
+            String query = request.getQueryString() != null ? request.getQueryString() : "";
+            response.getOutputStream().write(("{\"method\":\"" + request.getMethod() + "\",\"path\":\""
+                    + request.getRequestURI() + "\",\"query\":\"" + query + "\"}").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        batchService = new BatchService(dispatcherServlet, privilegeEvaluator, objectMapper, transactionManager,
+                25, 4, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+    }
+
+    @Test
+    void testExecute_ResultsInOperationOrder() {
+        List<BatchOperationDTO> operations = new ArrayList<>();
+        IntStream.range(0, 10).forEach(i -> operations.add(
+                new BatchOperationDTO("GET", "/api/base-entities/" + i + "?lang=en", null)));
+        operations.add(5, new BatchOperationDTO("DELETE", "/api/accounts/1", null));
+
+        List<BatchResultDTO> results = batchService.execute(operations, new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+
+        assertEquals(operations.size(), results.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationDTO operation = operations.get(i);
+            assertEquals(200, results.get(i).status());
+            assertEquals(operation.method(), results.get(i).body().get("method").asText());
+            assertEquals(operation.path(), results.get(i).body().get("path").asText()
+                    + (operation.path().contains("?") ? "?" + results.get(i).body().get("query").asText() : ""));
+        }
+    }
+
+    @Test
+    void testExecute_DeniedOperationIsNotDispatched() throws Exception {
+        when(privilegeEvaluator.isAllowed(any(), eq("/api/admin/logging"), anyString(), any())).thenReturn(false);
+
+        List<BatchResultDTO> results = batchService.execute(List.of(
+                new BatchOperationDTO("GET", "/api/admin/logging", null),
+                new BatchOperationDTO("GET", "/api/base-entities", null)),
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertEquals(401, results.get(0).status());
+        assertFalse(results.get(0).body().get("success").asBoolean());
+        assertEquals(200, results.get(1).status());
+        verify(dispatcherServlet, times(1)).service(any(), any());
+    }
+
+    @Test
+    void testExecute_InvalidOperationsAreRejected() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                List.of(new BatchOperationDTO("GET", "/api/batch", null)), request, response));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                List.of(new BatchOperationDTO("TRACE", "/api/base-entities", null)), request, response));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                List.of(new BatchOperationDTO("GET", "/actuator/health", null)), request, response));
+        assertThrows(IllegalArgumentException.class, () -> batchService.execute(
+                IntStream.range(0, 26).mapToObj(i -> new BatchOperationDTO("GET", "/api/base-entities", null))
+                        .toList(), request, response));
+    }
+}
@@ -0,0 +1,113 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.dto.attribute.AttributeValueMatchDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AttributeValueQueryServiceTest {
+
+    private AttributeValueQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        CatalogSnapshot snapshot = new CatalogSnapshot(3L, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE),
+                        new BaseEntityRow(2L, "Mortar", Category.DEFENSE),
+                        new BaseEntityRow(3L, "Archer", Category.TROOP)),
+                List.of(new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, null),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 200, 120, null),
+                        new BaseEntityLevelRow(20L, 2L, 1, ResourceType.GOLD, 300, 60, null),
+                        new BaseEntityLevelRow(30L, 3L, 1, ResourceType.ELIXIR, 50, 0, null)),
+                List.of(new AttributeNameRow(100L, "damage"), new AttributeNameRow(101L, "Range"),
+                        new AttributeNameRow(102L, "damageType")),
+                List.of(new AttributeRow(1000L, 100L), new AttributeRow(1001L, 101L), new AttributeRow(1002L, 102L)),
+                List.of(),
+                List.of(),
+                List.of(new AttributeValueRow(1L, 1000L, 10L, "INTEGER", 9),
+                        new AttributeValueRow(2L, 1000L, 11L, "INTEGER", 11),
+                        new AttributeValueRow(3L, 1000L, 20L, "INTEGER", 4),
+                        new AttributeValueRow(4L, 1000L, 30L, "INTEGER", 7),
+                        new AttributeValueRow(5L, 1001L, 10L, "RANGE", new Range(0.0, 9.0)),
+                        new AttributeValueRow(6L, 1001L, 20L, "RANGE", new Range(4.0, 11.0)),
+                        new AttributeValueRow(7L, 1001L, 30L, "RANGE", new Range(0.0, 3.5)),
+                        new AttributeValueRow(8L, 1002L, 10L, "DAMAGE_TYPE", "SINGLE_TARGET"),
+                        new AttributeValueRow(9L, 1002L, 20L, "DAMAGE_TYPE", "AREA_SPLASH"),
+                        new AttributeValueRow(10L, 1002L, 30L, "DAMAGE_TYPE", "SINGLE_TARGET")));
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.loaded()).thenReturn(snapshot);
+        service = new AttributeValueQueryService(snapshotService);
+    }
+
+    @Test
+    void testFind_RangeByMaximumOrderedByValue() {
+        List<AttributeValueMatchDTO> matches = service.find("range", null, 3.0, 9.0, null, false, null, false);
+
+        assertEquals(List.of(30L, 10L), matches.stream().map(AttributeValueMatchDTO::baseEntityLevelId).toList());
+        assertEquals("Archer", matches.get(0).baseEntityName());
+    }
+
+    @Test
+    void testFind_TopAtMaxLevelWithinCategory() {
+        List<AttributeValueMatchDTO> matches = service.find("damage", null, null, null, 10, false,
+                Category.DEFENSE, true);
+
+        assertEquals(List.of(11L, 20L), matches.stream().map(AttributeValueMatchDTO::baseEntityLevelId).toList());
+        assertEquals(11, matches.get(0).value());
+        assertEquals(2, matches.get(0).level());
+    }
+
+    @Test
+    void testFind_EqualityForEnumAndNumericValues() {
+        assertEquals(List.of(10L, 30L), service.find("damageType", "SINGLE_TARGET", null, null, null, false, null, false)
+                .stream().map(AttributeValueMatchDTO::baseEntityLevelId).toList());
+        assertEquals(List.of(30L), service.find("damage", "7", null, null, null, false, null, false)
+                .stream().map(AttributeValueMatchDTO::baseEntityLevelId).toList());
+    }
+
+    @Test
+    void testFind_InvalidQueriesRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("unknown", "x", null, null, null, false, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("damage", null, null, null, null, false, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("damage", "7", 1.0, null, null, false, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("damage", null, null, null, 0, false, null, false));
+    }
+
+    @Test
+    void testFind_LevelWithTwoAttributesOfOneNameMatchesOnce() {
+        CatalogSnapshot snapshot = new CatalogSnapshot(4L, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE)),
+                List.of(new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, null)),
+                List.of(new AttributeNameRow(100L, "damage")),
+                List.of(new AttributeRow(1000L, 100L), new AttributeRow(1001L, 100L)),
+                List.of(),
+                List.of(),
+                List.of(new AttributeValueRow(1L, 1000L, 10L, "INTEGER", 9),
+                        new AttributeValueRow(2L, 1001L, 10L, "INTEGER", 12)));
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.loaded()).thenReturn(snapshot);
+        AttributeValueQueryService duplicateService = new AttributeValueQueryService(snapshotService);
+
+        List<AttributeValueMatchDTO> matches = duplicateService.find("damage", null, null, null, 10, false, null, false);
+
+        assertEquals(List.of(10L), matches.stream().map(AttributeValueMatchDTO::baseEntityLevelId).toList());
+        assertEquals(9, matches.get(0).value());
+    }
+}
@@ -0,0 +1,116 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogSingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneQuery() throws Exception {
+        CatalogSingleFlight singleFlight = new CatalogSingleFlight(5000);
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    queries.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            waitUntil(() -> singleFlight.getCoalescedCount() == CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, queries.get());
+            assertEquals(CALLERS - 1, singleFlight.getCoalescedCount());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_FailureIsPropagatedToWaitingCallers() throws Exception {
+        CatalogSingleFlight singleFlight = new CatalogSingleFlight(5000);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> first = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw new IllegalArgumentException("Base entity not found");
+            }));
+            waitUntil(() -> singleFlight.getInFlightCount() == 1);
+            Future<Object> second = executor.submit(() -> singleFlight.execute("key", () -> "unused"));
+            waitUntil(() -> singleFlight.getCoalescedCount() == 1);
+            release.countDown();
+
+            for (Future<Object> result : List.of(first, second)) {
+                ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+            }
+            // nothing is cached, the next call runs its own query
+            assertEquals("fresh", singleFlight.execute("key", () -> "fresh"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_WaitingCallerTimesOut() throws Exception {
+        CatalogSingleFlight singleFlight = new CatalogSingleFlight(50);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                return "slow";
+            }));
+            waitUntil(() -> singleFlight.getInFlightCount() == 1);
+
+            assertThrows(ServiceUnavailableException.class, () -> singleFlight.execute("key", () -> "unused"));
+            assertEquals("other", singleFlight.execute("other-key", () -> "other"));
+            release.countDown();
+            assertEquals("slow", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not reached");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogSnapshotCodecTest {
+
+    private CatalogSnapshotCodec codec;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        codec = new CatalogSnapshotCodec();
+        snapshot = new CatalogSnapshot(
+                42L,
+                Instant.ofEpochMilli(1_700_000_000_000L),
+                List.of(new BaseEntityRow(1L, "Archer Tower", Category.DEFENSE),
+                        new BaseEntityRow(2L, "Barbarian", null)),
+                List.of(new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 1000, 60, "archer_tower_1.png"),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 2000, 120, null)),
+                List.of(new AttributeNameRow(100L, "Hitpoints")),
+                List.of(new AttributeRow(200L, 100L)),
+                List.of(new AttributeTranslationRow(300L, 200L, "de", "Trefferpunkte ü")),
+                List.of(new LevelAttributeRow(10L, 200L)),
+                List.of(new AttributeValueRow(400L, 200L, 10L, "INTEGER", 380),
+                        new AttributeValueRow(401L, 200L, 10L, "RANGE", new Range(1.5, null)),
+                        new AttributeValueRow(402L, 200L, 11L, "EQUIPMENT", 7L),
+                        new AttributeValueRow(403L, 200L, 11L, "STRING", "Ground"),
+                        new AttributeValueRow(404L, 200L, 11L, "STRING", null)));
+    }
+
+    @Test
+    void testEncodeDecode_RoundTrip() throws IOException {
+        CatalogSnapshot decoded = codec.decode(ByteBuffer.wrap(encode(snapshot)));
+
+        assertEquals(42L, decoded.getCatalogVersion());
+        assertEquals(snapshot.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(snapshot.getBaseEntities(), decoded.getBaseEntities());
+        assertEquals(snapshot.getBaseEntityLevels(), decoded.getBaseEntityLevels());
+        assertEquals(snapshot.getAttributeNames(), decoded.getAttributeNames());
+        assertEquals(snapshot.getAttributes(), decoded.getAttributes());
+        assertEquals(snapshot.getAttributeTranslations(), decoded.getAttributeTranslations());
+        assertEquals(snapshot.getLevelAttributes(), decoded.getLevelAttributes());
+        assertEquals(snapshot.getAttributeValues(), decoded.getAttributeValues());
+        assertEquals(2, decoded.getLevels(1L).size());
+        assertEquals(3, decoded.getAttributeValues(11L).size());
+        assertTrue(decoded.findBaseEntity(2L).isPresent());
+    }
+
+    @Test
+    void testDecode_CorruptedFile() throws IOException {
+        byte[] bytes = encode(snapshot);
+        bytes[20] ^= 0x1;
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(ByteBuffer.wrap(bytes)));
+        assertEquals("Snapshot file checksum mismatch", exception.getMessage());
+    }
+
+    @Test
+    void testDecode_TruncatedFile() throws IOException {
+        byte[] bytes = Arrays.copyOf(encode(snapshot), 4);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void testEmptySnapshot_IsNotLoaded() {
+        assertFalse(CatalogSnapshot.empty().isLoaded());
+        assertTrue(snapshot.isLoaded());
+    }
+
+    private byte[] encode(CatalogSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(snapshot, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,85 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.repositories.CatalogJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotServiceTest {
+
+    private CatalogJdbcRepository catalogJdbcRepository;
+    private CatalogVersionService catalogVersionService;
+    private CatalogSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        catalogJdbcRepository = mock(CatalogJdbcRepository.class);
+        catalogVersionService = mock(CatalogVersionService.class);
+        service = new CatalogSnapshotService(catalogJdbcRepository, catalogVersionService,
+                mock(CatalogSnapshotCodec.class), mock(PlatformTransactionManager.class), "unused", false);
+    }
+
+    @Test
+    void testRefresh_ConcurrentCallersShareOneRebuild() throws Exception {
+        when(catalogVersionService.currentVersion()).thenReturn(7L);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(catalogJdbcRepository).streamBaseEntities(any());
+
+        AtomicReference<CatalogSnapshot> first = new AtomicReference<>();
+        AtomicReference<CatalogSnapshot> second = new AtomicReference<>();
+        Thread rebuilding = new Thread(() -> first.set(service.refresh()));
+        rebuilding.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        Thread waiting = new Thread(() -> second.set(service.refresh()));
+        waiting.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiting.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        rebuilding.join(5000);
+        waiting.join(5000);
+
+        assertSame(first.get(), second.get());
+        assertEquals(7L, service.current().getCatalogVersion());
+        verify(catalogVersionService, times(1)).currentVersion();
+    }
+
+    @Test
+    void testRefresh_DatabaseStateReplacesSnapshotOfHigherVersion() {
+        // e.g. the database has been recreated or restored after the snapshot was taken
+        when(catalogVersionService.currentVersion()).thenReturn(5L, 0L);
+
+        CatalogSnapshot before = service.refresh();
+        CatalogSnapshot afterReset = service.refresh();
+
+        assertNotSame(before, afterReset);
+        assertSame(afterReset, service.current());
+        assertEquals(0L, service.current().getCatalogVersion());
+    }
+
+    @Test
+    void testLoaded_LoadsOnceAndThenServesTheCurrentSnapshot() {
+        when(catalogVersionService.currentVersion()).thenReturn(3L);
+
+        CatalogSnapshot first = service.loaded();
+        CatalogSnapshot second = service.loaded();
+
+        assertTrue(first.isLoaded());
+        assertSame(first, second);
+        verify(catalogVersionService, times(1)).currentVersion();
+    }
+}
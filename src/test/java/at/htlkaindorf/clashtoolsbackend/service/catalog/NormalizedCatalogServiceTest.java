@@ -0,0 +1,67 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.dto.catalog.NormalizedCatalogDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeTranslationRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.LevelAttributeRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NormalizedCatalogServiceTest {
+
+    private static CatalogSnapshot snapshot() {
+        return new CatalogSnapshot(7L, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE)),
+                List.of(
+                        new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, "cannon1.png"),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 200, 120, "cannon2.png")),
+                List.of(new AttributeNameRow(100L, "damage"), new AttributeNameRow(101L, "unused")),
+                List.of(new AttributeRow(1000L, 100L), new AttributeRow(1001L, 101L)),
+                List.of(
+                        new AttributeTranslationRow(5000L, 1000L, "en", "Damage"),
+                        new AttributeTranslationRow(5001L, 1000L, "de", "Schaden"),
+                        new AttributeTranslationRow(5002L, 1001L, "en", "Unused")),
+                List.of(new LevelAttributeRow(10L, 1000L), new LevelAttributeRow(11L, 1000L)),
+                List.of());
+    }
+
+    @Test
+    void testSharedAttributeEmittedOnce() {
+        NormalizedCatalogDTO catalog = NormalizedCatalogService.build(snapshot());
+
+        assertEquals(7L, catalog.catalogVersion());
+        assertEquals(List.of(10L, 11L), catalog.baseEntities().get(1L).levelIds());
+        assertEquals(List.of(1000L), catalog.levels().get(10L).attributeIds());
+        assertEquals(List.of(1000L), catalog.levels().get(11L).attributeIds());
+        assertEquals(ResourceType.GOLD.getId(), catalog.levels().get(11L).resourceType());
+        assertEquals(1, catalog.attributes().size());
+        assertEquals(List.of(5000L, 5001L), catalog.attributes().get(1000L).translationIds());
+        assertEquals(List.of(100L), List.copyOf(catalog.attributeNames().keySet()));
+        assertEquals(List.of(5000L, 5001L), List.copyOf(catalog.translations().keySet()));
+    }
+
+    @Test
+    void testCatalogReusedUntilSnapshotReplaced() {
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        CatalogSnapshot first = snapshot();
+        CatalogSnapshot second = snapshot();
+        when(snapshotService.loaded()).thenReturn(first, first, second);
+        NormalizedCatalogService service = new NormalizedCatalogService(snapshotService);
+
+        NormalizedCatalogDTO catalog = service.getCatalog();
+
+        assertSame(catalog, service.getCatalog());
+        assertNotSame(catalog, service.getCatalog());
+        verify(snapshotService, never()).refresh();
+    }
+}
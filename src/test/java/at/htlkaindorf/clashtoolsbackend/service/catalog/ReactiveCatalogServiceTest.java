@@ -0,0 +1,131 @@
+package at.htlkaindorf.clashtoolsbackend.service.catalog;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.CatalogJdbcRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the streaming catalog reads, including a comparison of streamed rows with a response that
+ * serializes the whole list at once, as the MVC endpoints do: the largest buffer is asserted, times are logged.
+ */
+class ReactiveCatalogServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCatalogServiceTest.class);
+
+    @Test
+    void testStreams_FilterAndLookUpFromSnapshot() {
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.loadedAsync()).thenReturn(CompletableFuture.completedFuture(
+                snapshot(List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE),
+                                new BaseEntityRow(2L, "Archer", Category.TROOP)),
+                        List.of(new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 60, null),
+                                new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 200, 120, null)))));
+        ReactiveCatalogService service = new ReactiveCatalogService(snapshotService);
+
+        assertEquals(List.of("Archer"), service.streamBaseEntities(Category.TROOP)
+                .map(BaseEntityRow::name).collectList().block());
+        assertEquals(List.of(10L, 11L), service.streamBaseEntityLevels(1L)
+                .map(BaseEntityLevelRow::id).collectList().block());
+        assertThrows(IllegalArgumentException.class, () -> service.getBaseEntity(3L).block());
+    }
+
+    @Test
+    void testStreams_SubscribersBeforeFirstLoadShareOneRead() {
+        CatalogJdbcRepository catalogJdbcRepository = mock(CatalogJdbcRepository.class);
+        CatalogVersionService catalogVersionService = mock(CatalogVersionService.class);
+        when(catalogVersionService.currentVersion()).thenReturn(1L);
+        AtomicInteger reads = new AtomicInteger();
+        doAnswer(invocation -> {
+            reads.incrementAndGet();
+            Consumer<BaseEntityRow> consumer = invocation.getArgument(0);
+            consumer.accept(new BaseEntityRow(1L, "Cannon", Category.DEFENSE));
+            return null;
+        }).when(catalogJdbcRepository).streamBaseEntities(any());
+        CatalogSnapshotService snapshotService = new CatalogSnapshotService(catalogJdbcRepository,
+                catalogVersionService, mock(CatalogSnapshotCodec.class), mock(PlatformTransactionManager.class),
+                "unused", false);
+        ReactiveCatalogService service = new ReactiveCatalogService(snapshotService);
+
+        List<Long> counts = Flux.range(0, 16)
+                .flatMap(i -> service.streamBaseEntities(null).count())
+                .collectList()
+                .block();
+
+        assertEquals(16, counts.size());
+        assertTrue(counts.stream().allMatch(count -> count == 1));
+        assertEquals(1, reads.get());
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void testStreamingBuffersOneRowInsteadOfTheWholeCatalog() {
+        List<BaseEntityRow> entities = new ArrayList<>();
+        List<BaseEntityLevelRow> levels = new ArrayList<>();
+        for (long e = 0; e < 500; e++) {
+            entities.add(new BaseEntityRow(e, "Entity " + e, Category.values()[(int) (e % Category.values().length)]));
+            for (int l = 1; l <= 15; l++) {
+                levels.add(new BaseEntityLevelRow(e * 15 + l, e, l, ResourceType.GOLD, 1000 * l * l, 3600 * l,
+                        "https://cdn.clashtools.local/entities/" + e + "/" + l + ".png"));
+            }
+        }
+        CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.loadedAsync()).thenReturn(
+                CompletableFuture.completedFuture(snapshot(entities, levels)));
+        ReactiveCatalogService service = new ReactiveCatalogService(snapshotService);
+        ObjectWriter writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        long start = System.nanoTime();
+        int[] largestRow = new int[1];
+        long streamedBytes = service.streamBaseEntityLevels(null)
+                .map(row -> {
+                    int size = write(writer, row).length + 1;
+                    largestRow[0] = Math.max(largestRow[0], size);
+                    return (long) size;
+                })
+                .reduce(0L, Long::sum)
+                .block();
+        long streamedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int bufferedBytes = write(writer, levels).length;
+        long bufferedNanos = System.nanoTime() - start;
+
+        logger.info("{} levels: streamed {} bytes in {} us, largest buffer {} bytes; buffered {} bytes in {} us",
+                levels.size(), streamedBytes, streamedNanos / 1000, largestRow[0], bufferedBytes, bufferedNanos / 1000);
+        assertTrue(largestRow[0] * 1000L < bufferedBytes);
+    }
+
+    private static byte[] write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static CatalogSnapshot snapshot(List<BaseEntityRow> entities, List<BaseEntityLevelRow> levels) {
+        return new CatalogSnapshot(1L, Instant.now(), entities, levels,
+                List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+}
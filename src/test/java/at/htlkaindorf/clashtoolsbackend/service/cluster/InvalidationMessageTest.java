@@ -0,0 +1,51 @@
+package at.htlkaindorf.clashtoolsbackend.service.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationMessageTest {
+
+    @Test
+    void testEncodeDecode() {
+        InvalidationMessage single = new InvalidationMessage("node1", "User", 42L, 0);
+        InvalidationMessage whole = new InvalidationMessage("node1", "BaseEntity", null, 17);
+
+        assertEquals("node1|User|42|0", single.encode());
+        assertEquals(single, InvalidationMessage.decode(single.encode()));
+        assertEquals(whole, InvalidationMessage.decode(whole.encode()));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("node1|User|x|0"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("garbage"));
+    }
+
+    @Test
+    void testCoalesce() {
+        List<InvalidationMessage> coalesced = InvalidationMessage.coalesce(List.of(
+                new InvalidationMessage("a", "User", 1L, 0),
+                new InvalidationMessage("a", "BaseEntity", null, 3),
+                new InvalidationMessage("b", "User", 1L, 0),
+                new InvalidationMessage("b", "BaseEntity", null, 5),
+                new InvalidationMessage("a", "User", 2L, 0),
+                new InvalidationMessage("b", "BaseEntityLevel", 7L, 4),
+                new InvalidationMessage("b", "BaseEntityLevel", null, 6)));
+
+        assertEquals(List.of(
+                new InvalidationMessage("a", "User", 1L, 0),
+                new InvalidationMessage("a", "BaseEntity", null, 5),
+                new InvalidationMessage("a", "User", 2L, 0),
+                new InvalidationMessage("b", "BaseEntityLevel", null, 6)), coalesced);
+    }
+
+    @Test
+    void testToPayloadsSplitsAtMaxLength() {
+        List<InvalidationMessage> messages = List.of(
+                new InvalidationMessage("n", "User", 1L, 0),
+                new InvalidationMessage("n", "User", 2L, 0),
+                new InvalidationMessage("n", "User", 3L, 0));
+
+        assertEquals(List.of("n|User|1|0\nn|User|2|0\nn|User|3|0"), InvalidationMessage.toPayloads(messages, 100));
+        assertEquals(List.of("n|User|1|0\nn|User|2|0", "n|User|3|0"), InvalidationMessage.toPayloads(messages, 25));
+    }
+}
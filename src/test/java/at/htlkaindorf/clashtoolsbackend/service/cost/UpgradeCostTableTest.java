@@ -0,0 +1,54 @@
+package at.htlkaindorf.clashtoolsbackend.service.cost;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpgradeCostTableTest {
+
+    private UpgradeCostTable table;
+
+    @BeforeEach
+    void setUp() {
+        // unordered, with mixed resource types and a missing level 4
+        table = UpgradeCostTable.of(1L, List.of(
+                new BaseEntityLevelRow(13L, 1L, 3, ResourceType.ELIXIR, 300, 30, null),
+                new BaseEntityLevelRow(11L, 1L, 1, ResourceType.GOLD, 100, 10, null),
+                new BaseEntityLevelRow(12L, 1L, 2, ResourceType.GOLD, 200, 20, null),
+                new BaseEntityLevelRow(15L, 1L, 5, ResourceType.GOLD, 500, 50, null)));
+    }
+
+    @Test
+    void testMaxLevel() {
+        assertEquals(5, table.getMaxLevel());
+    }
+
+    @Test
+    void testCostsOverFullRange() {
+        assertEquals(Map.of(ResourceType.GOLD, 800L, ResourceType.ELIXIR, 300L), table.costs(0, 5));
+        assertEquals(110L, table.time(0, 5));
+    }
+
+    @Test
+    void testCostsOverPartialRange() {
+        assertEquals(200L, table.cost(ResourceType.GOLD, 1, 3));
+        assertEquals(300L, table.cost(ResourceType.ELIXIR, 1, 3));
+        assertEquals(0L, table.cost(ResourceType.DARK_ELIXIR, 1, 3));
+        assertEquals(Map.of(ResourceType.GOLD, 500L), table.costs(3, 5));
+        assertEquals(50L, table.time(3, 5));
+        assertTrue(table.costs(2, 2).isEmpty());
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> table.time(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> table.time(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> table.costs(0, 6));
+    }
+}
@@ -0,0 +1,64 @@
+package at.htlkaindorf.clashtoolsbackend.service.fields;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionPlanTest {
+
+    @Test
+    void testOnlyRequestedColumnsWithoutJoins() {
+        ProjectionPlan plan = ProjectionPlan.compile(SparseResource.BASE_ENTITY_LEVEL, Set.of("imgPath", "level"));
+
+        assertEquals("SELECT l.id, l.level, l.img_path FROM base_entity_level l", plan.getSelect());
+        assertEquals(List.of("level", "imgPath"), plan.getFieldPaths());
+        assertTrue(plan.getChildren().isEmpty());
+    }
+
+    @Test
+    void testPrefixSelectsNestedFieldsWithSingleJoin() {
+        ProjectionPlan plan = ProjectionPlan.compile(SparseResource.BASE_ENTITY_LEVEL, Set.of("baseEntity"));
+
+        assertEquals(List.of("baseEntity.id", "baseEntity.name", "baseEntity.category"), plan.getFieldPaths());
+        String select = plan.getSelect();
+        assertEquals(select.indexOf("JOIN base_entity e"), select.lastIndexOf("JOIN base_entity e"));
+    }
+
+    @Test
+    void testCollectionsOnlyWhenRequested() {
+        ProjectionPlan plan = ProjectionPlan.compile(SparseResource.BASE_ENTITY,
+                Set.of("name", "baseEntityLevels.attributes.attributeName.name"));
+
+        assertEquals(1, plan.getChildren().size());
+        ProjectionPlan levels = plan.getChildren().iterator().next().plan();
+        assertTrue(levels.getFieldPaths().isEmpty());
+        ProjectionPlan.ChildPlan attributes = levels.getChildren().iterator().next();
+        assertEquals("attributes", attributes.name());
+        assertEquals(List.of("attributeName.name"), attributes.plan().getFieldPaths());
+        assertTrue(attributes.plan().getSelect().contains("JOIN attribute_name an"));
+        assertTrue(attributes.plan().getChildren().isEmpty());
+    }
+
+    @Test
+    void testUnknownFieldRejected() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> ProjectionPlan.compile(SparseResource.ACCOUNT_ENTITY, Set.of("level", "password")));
+        assertEquals("Unknown field: password", ex.getMessage());
+    }
+
+    @Test
+    void testPlansCachedByNormalizedFieldSet() {
+        SparseFieldsService service = new SparseFieldsService(Mockito.mock(DataSource.class), 10);
+
+        ProjectionPlan first = service.plan(SparseResource.ACCOUNT_ENTITY, "level,entityId");
+        ProjectionPlan second = service.plan(SparseResource.ACCOUNT_ENTITY, " entityId , level,");
+
+        assertSame(first, second);
+        assertEquals(1, service.getCachedPlanCount());
+    }
+}
@@ -0,0 +1,85 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advanceTo_FiresTimerNotBeforeDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        wheel.add(START + 250, "a");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(START + 200, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advanceTo(START + 300, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void add_DeadlineInPast_FiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        wheel.add(START - 5_000, "late");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(START, fired::add);
+
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void cancel_RemovesPendingTimer() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        HierarchicalTimingWheel.Timer<String> timer = wheel.add(START + 50_000, "x");
+        wheel.add(START + 50_000, "y");
+
+        assertTrue(wheel.cancel(timer));
+        assertFalse(wheel.cancel(timer));
+        assertFalse(timer.isPending());
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(START + 60_000, fired::add);
+        assertEquals(List.of("y"), fired);
+    }
+
+    @Test
+    void advanceTo_FarDeadlines_CascadeThroughAddedLevels() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + random.nextInt(500_000);
+            deadlines.add(deadline);
+            wheel.add(deadline, deadline);
+        }
+        assertTrue(wheel.levelCount() > 3);
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 510_000; now += 1_000) {
+            long current = now;
+            wheel.advanceTo(now, deadline -> {
+                assertTrue(deadline <= current, "fired early");
+                assertTrue(deadline > current - 1_000 - 10, "fired late");
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+        List<Long> sorted = new ArrayList<>(deadlines);
+        sorted.sort(null);
+        List<Long> firedSorted = new ArrayList<>(fired);
+        firedSorted.sort(null);
+        assertEquals(sorted, firedSorted);
+    }
+}
@@ -0,0 +1,182 @@
+package at.htlkaindorf.clashtoolsbackend.service.notification;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.NotificationDelivery;
+import at.htlkaindorf.clashtoolsbackend.pojos.NotificationDeliveryStatus;
+import at.htlkaindorf.clashtoolsbackend.repositories.AccountRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.NotificationDeliveryRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AccountRecipientRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationDeliveryRepository notificationDeliveryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationChannel channel;
+
+    private NotificationDispatcher dispatcher;
+
+    private final List<NotificationDelivery> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationDispatcher(List.of(channel), notificationDeliveryRepository, accountRepository,
+                catalogSnapshotService, transactionManager, 100, 10, 10, 3, 1, 60_000);
+        lenient().when(notificationDeliveryRepository.insertIfAbsent(any())).thenAnswer(invocation -> {
+            NotificationDelivery delivery = invocation.getArgument(0);
+            if (saved.stream().anyMatch(existing -> existing.getDedupKey().equals(delivery.getDedupKey())
+                    && existing.getChannel().equals(delivery.getChannel()))) {
+                return List.of();
+            }
+            saved.add(delivery);
+            return List.of((long) saved.size());
+        });
+        lenient().when(notificationDeliveryRepository.findAllById(any())).thenAnswer(invocation -> {
+            Set<Long> ids = invocation.getArgument(0);
+            return saved.stream().filter(delivery -> ids.contains(delivery.getId())).toList();
+        });
+        lenient().when(catalogSnapshotService.current()).thenReturn(CatalogSnapshot.empty());
+        lenient().when(channel.getName()).thenReturn("test");
+        lenient().when(accountRepository.findRecipients(any()))
+                .thenReturn(List.of(new AccountRecipientRow(7L, "main", "alice", "alice@example.com")));
+    }
+
+    @Test
+    void dispatch_DropsDuplicatesAndRecordedNotifications() {
+        UpgradeNotification first = new UpgradeNotification(1L, 7L, 3L, 2, 1_000L, 61_000L);
+        UpgradeNotification recorded = new UpgradeNotification(2L, 7L, 3L, 2, 1_000L, 61_000L);
+        when(notificationDeliveryRepository.findRecordedKeys(any())).thenReturn(Set.of(recorded.dedupKey()));
+        when(channel.deliver(anyList())).thenReturn(List.of());
+
+        dispatcher.dispatch(List.of(first, first, recorded));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UpgradeNotificationMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(channel).deliver(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(first, captor.getValue().get(0).notification());
+        assertEquals("Entity 3", captor.getValue().get(0).entityName());
+        assertEquals(1, saved.size());
+        assertEquals("test", saved.get(0).getChannel());
+    }
+
+    @Test
+    void dispatch_DeliveryRecordedConcurrentlyDoesNotDropTheRestOfTheBatch() {
+        UpgradeNotification elsewhere = new UpgradeNotification(1L, 7L, 3L, 2, 1_000L, 61_000L);
+        UpgradeNotification other = new UpgradeNotification(2L, 7L, 3L, 2, 1_000L, 61_000L);
+        when(notificationDeliveryRepository.findRecordedKeys(any())).thenReturn(Set.of());
+        // recorded by another instance between the lookup and the insert
+        saved.add(NotificationDelivery.builder().id(99L).dedupKey(elsewhere.dedupKey()).channel("test")
+                .status(NotificationDeliveryStatus.PENDING).build());
+        when(channel.deliver(anyList())).thenReturn(List.of());
+
+        dispatcher.dispatch(List.of(elsewhere, other));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UpgradeNotificationMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(channel).deliver(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(other, captor.getValue().get(0).notification());
+        assertEquals(NotificationDeliveryStatus.PENDING, saved.get(0).getStatus());
+        assertEquals(NotificationDeliveryStatus.SENT, saved.get(1).getStatus());
+    }
+
+    @Test
+    void dispatch_MarksSentOnlyAfterTheChannelAccepted() {
+        UpgradeNotification notification = new UpgradeNotification(1L, 7L, 3L, 2, 1_000L, 61_000L);
+        when(notificationDeliveryRepository.findRecordedKeys(any())).thenReturn(Set.of());
+        when(channel.deliver(anyList())).thenAnswer(invocation -> {
+            assertEquals(NotificationDeliveryStatus.PENDING, saved.get(0).getStatus());
+            return List.of();
+        });
+
+        dispatcher.dispatch(List.of(notification));
+
+        NotificationDelivery delivery = saved.get(0);
+        assertEquals(NotificationDeliveryStatus.SENT, delivery.getStatus());
+        assertEquals(1, delivery.getAttempts());
+        assertNotNull(delivery.getSentAt());
+    }
+
+    @Test
+    void dispatch_FailedDeliveryStaysPendingAndIsRetriedFromTheTable() {
+        UpgradeNotification notification = new UpgradeNotification(1L, 7L, 3L, 2, 1_000L, 61_000L);
+        when(notificationDeliveryRepository.findRecordedKeys(any())).thenReturn(Set.of());
+        when(channel.deliver(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        dispatcher.dispatch(List.of(notification));
+
+        NotificationDelivery delivery = saved.get(0);
+        assertEquals(NotificationDeliveryStatus.PENDING, delivery.getStatus());
+        assertEquals(1, delivery.getAttempts());
+        assertNotNull(delivery.getLastError());
+
+        when(notificationDeliveryRepository.claimDue(any(), anyInt())).thenReturn(List.of(delivery));
+        dispatcher.retryDue();
+        dispatcher.retryDue();
+
+        verify(channel, times(3)).deliver(anyList());
+        assertEquals(NotificationDeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals(3, delivery.getAttempts());
+    }
+
+    @Test
+    void retryDue_LeasesClaimedDeliveriesBeforeTheAttempt() {
+        NotificationDelivery delivery = NotificationDelivery.builder()
+                .id(5L).dedupKey("upgrade:1:1000").channel("test").status(NotificationDeliveryStatus.PENDING)
+                .nextAttemptAt(Instant.now()).accountEntityId(1L).accountId(7L).baseEntityId(3L)
+                .targetLevel(2).upgradeStart(1_000L).completedAt(61_000L).build();
+        saved.add(delivery);
+        when(notificationDeliveryRepository.claimDue(any(), anyInt())).thenReturn(List.of(delivery));
+        Instant claimedAt = Instant.now();
+        when(channel.deliver(anyList())).thenAnswer(invocation -> {
+            assertTrue(delivery.getNextAttemptAt().isAfter(claimedAt.plusSeconds(30)));
+            return List.of();
+        });
+
+        dispatcher.retryDue();
+
+        assertEquals(NotificationDeliveryStatus.SENT, delivery.getStatus());
+    }
+
+    @Test
+    void dispatch_UnknownAccount_SendsNothing() {
+        UpgradeNotification notification = new UpgradeNotification(1L, 99L, 3L, 2, 1_000L, 61_000L);
+        when(notificationDeliveryRepository.findRecordedKeys(any())).thenReturn(Set.of());
+
+        dispatcher.dispatch(List.of(notification));
+
+        verify(channel, never()).deliver(anyList());
+        assertEquals(NotificationDeliveryStatus.FAILED, saved.get(0).getStatus());
+    }
+}
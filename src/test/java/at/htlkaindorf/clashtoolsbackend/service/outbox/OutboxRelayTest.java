@@ -0,0 +1,148 @@
+package at.htlkaindorf.clashtoolsbackend.service.outbox;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.OutboxEvent;
+import at.htlkaindorf.clashtoolsbackend.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<DomainEvent> received = new ArrayList<>();
+    private final Instant now = Instant.parse("2026-01-01T00:00:00Z");
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<String> calls = new ArrayList<>();
+    private OutboxRelay relay;
+    private DomainEvent failingEvent;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        DomainEventSubscriber subscriber = new DomainEventSubscriber() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public void onEvents(List<DomainEvent> events) {
+                if (events.contains(failingEvent)) {
+                    throw new IllegalStateException("boom");
+                }
+                calls.add("deliver");
+                received.addAll(events);
+            }
+        };
+        ObjectProvider<DomainEventSubscriber> subscribers = mock(ObjectProvider.class);
+        when(subscribers.orderedStream()).thenAnswer(invocation -> Stream.of(subscriber));
+
+        doAnswer(invocation -> calls.add("commit")).when(transactionManager).commit(any());
+        relay = new OutboxRelay(outboxEventRepository, subscribers, objectMapper,
+                transactionManager, mock(PgNotifyListener.class),
+                true, 100, 1000, 3, 1000, 60_000, 72);
+    }
+
+    @Test
+    void testDispatch_DeliversInOrderAndMarksProcessed() throws Exception {
+        List<OutboxEvent> events = List.of(
+                event(1L, CatalogEntityChangedEvent.of(Object.class, 1L, DomainChangeType.CREATED)),
+                event(2L, new UserRegisteredEvent(9L, "alice")),
+                event(3L, CatalogEntityChangedEvent.of(Object.class, 1L, DomainChangeType.UPDATED)));
+
+        relay.dispatch(events, now);
+
+        assertEquals(3, received.size());
+        assertEquals(DomainChangeType.CREATED, ((CatalogEntityChangedEvent) received.get(0)).change());
+        assertEquals(new UserRegisteredEvent(9L, "alice"), received.get(1));
+        assertTrue(events.stream().allMatch(event -> now.equals(event.getProcessedAt())));
+    }
+
+    @Test
+    void testDispatch_FailureBlocksLaterEventsOfSameAggregate() throws Exception {
+        failingEvent = CatalogEntityChangedEvent.of(Object.class, 2L, DomainChangeType.CREATED);
+        OutboxEvent first = event(1L, CatalogEntityChangedEvent.of(Object.class, 1L, DomainChangeType.CREATED));
+        OutboxEvent failing = event(2L, failingEvent);
+        OutboxEvent other = event(3L, new UserRegisteredEvent(9L, "alice"));
+        OutboxEvent blocked = event(4L, CatalogEntityChangedEvent.of(Object.class, 2L, DomainChangeType.UPDATED));
+
+        relay.dispatch(List.of(first, failing, other, blocked), now);
+
+        assertEquals(2, received.size());
+        assertEquals(now, first.getProcessedAt());
+        assertEquals(now, other.getProcessedAt());
+        assertNull(failing.getProcessedAt());
+        assertEquals(1, failing.getAttempts());
+        assertEquals(now.plusMillis(1000), failing.getAvailableAt());
+        assertTrue(failing.getLastError().contains("boom"));
+        assertNull(blocked.getProcessedAt());
+        assertEquals(0, blocked.getAttempts());
+        assertEquals(failing.getAvailableAt(), blocked.getAvailableAt());
+    }
+
+    @Test
+    void testDispatch_GivesUpAfterMaxAttempts() throws Exception {
+        failingEvent = CatalogEntityChangedEvent.of(Object.class, 1L, DomainChangeType.CREATED);
+        OutboxEvent failing = event(1L, failingEvent);
+        failing.setAttempts(2);
+
+        relay.dispatch(List.of(failing), now);
+
+        assertEquals(3, failing.getAttempts());
+        assertEquals(now, failing.getProcessedAt());
+    }
+
+    @Test
+    void testDispatch_UndecodablePayloadIsRetried() {
+        OutboxEvent broken = OutboxEvent.builder().id(1L).aggregateType("User").aggregateId("1")
+                .eventType("Unknown").payload("{\"@type\":\"Unknown\"}").createdAt(now).availableAt(now).build();
+
+        relay.dispatch(List.of(broken), now);
+
+        assertTrue(received.isEmpty());
+        assertNull(broken.getProcessedAt());
+        assertEquals(1, broken.getAttempts());
+    }
+
+    @Test
+    void testRelayBatch_LeasesClaimedEventsAndDeliversOutsideTheClaimTransaction() throws Exception {
+        OutboxEvent event = event(1L, new UserRegisteredEvent(9L, "alice"));
+        when(outboxEventRepository.claimBatch(any(), anyInt())).thenReturn(List.of(event));
+        when(outboxEventRepository.tryLockAggregate(any())).thenReturn(true);
+        when(outboxEventRepository.saveAll(any())).thenAnswer(invocation -> {
+            calls.add("record");
+            return invocation.getArgument(0);
+        });
+
+        assertEquals(1, relay.relayBatch());
+
+        assertEquals(List.of("commit", "deliver", "record", "commit"), calls);
+        assertNotNull(event.getProcessedAt());
+        assertTrue(event.getAvailableAt().isAfter(Instant.now().plusSeconds(30)));
+    }
+
+    private OutboxEvent event(Long id, DomainEvent event) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.eventType())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeDTO;
+import at.htlkaindorf.clashtoolsbackend.dto.account.AccountEntityChangeType;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.DomainEvent;
+import at.htlkaindorf.clashtoolsbackend.service.outbox.PgNotifyListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccountChangeBroadcasterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @SuppressWarnings("unchecked")
+    private AccountChangeBroadcaster node(JdbcTemplate jdbcTemplate, List<AccountEntityChangedEvent> received) {
+        ObjectProvider<AccountChangeListener> listeners = mock(ObjectProvider.class);
+        AccountChangeListener listener = mock(AccountChangeListener.class);
+        doAnswer(invocation -> received.addAll(invocation.getArgument(0)))
+                .when(listener).onAccountChanges(any());
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        return new AccountChangeBroadcaster(jdbcTemplate, objectMapper, mock(PgNotifyListener.class), listeners, 5000);
+    }
+
+    private static AccountEntityChangedEvent change(long accountId, long accountEntityId) {
+        return new AccountEntityChangedEvent(accountId, new AccountEntityChangeDTO(AccountEntityChangeType.UPDATED,
+                accountEntityId, 3L, 4, 1000L, 2000L));
+    }
+
+    @Test
+    void testOnEvents_AppliesLocallyAndOnEveryOtherNode() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        List<AccountEntityChangedEvent> deliveringNode = new ArrayList<>();
+        List<AccountEntityChangedEvent> otherNode = new ArrayList<>();
+        AccountChangeBroadcaster delivering = node(jdbcTemplate, deliveringNode);
+        AccountChangeBroadcaster other = node(mock(JdbcTemplate.class), otherNode);
+        List<String> payloads = new ArrayList<>();
+        doAnswer(invocation -> payloads.add(invocation.getArgument(3)))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class),
+                        eq(AccountChangeBroadcaster.CHANNEL), anyString());
+        List<DomainEvent> events = List.of(change(7L, 70L), change(8L, 80L));
+
+        delivering.onEvents(events);
+        payloads.forEach(delivering::receive);
+        payloads.forEach(other::receive);
+
+        assertEquals(events, deliveringNode);
+        assertEquals(events, otherNode);
+    }
+
+    @Test
+    void testToPayloads_SplitsBelowTheNotifyLimit() {
+        AccountChangeBroadcaster broadcaster = node(mock(JdbcTemplate.class), new ArrayList<>());
+        List<AccountEntityChangedEvent> changes = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            changes.add(change(i, i));
+        }
+
+        List<String> payloads = broadcaster.toPayloads(changes);
+
+        assertTrue(payloads.size() > 1);
+        assertTrue(payloads.stream().allMatch(payload -> payload.length() <= 7900));
+        assertEquals(500, payloads.stream().mapToLong(payload -> payload.lines().count() - 1).sum());
+    }
+}
@@ -0,0 +1,54 @@
+package at.htlkaindorf.clashtoolsbackend.service.push;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountEventHubTest {
+
+    private final AccountEventHub hub = new AccountEventHub(1, 64, 16, 60_000, 0);
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void testSendHeartbeats_KeepsChannelsWithSubscribers() throws Exception {
+        hub.subscribe(1L, null);
+        Thread.sleep(5);
+
+        hub.sendHeartbeats();
+
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    void testSubscribe_ConcurrentPruneNeverLosesASubscriber() throws Exception {
+        int subscriptions = 20_000;
+        AtomicBoolean subscribing = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread pruner = new Thread(() -> {
+            started.countDown();
+            while (subscribing.get()) {
+                hub.sendHeartbeats();
+            }
+        });
+        pruner.start();
+        started.await();
+
+        for (long accountId = 0; accountId < subscriptions; accountId++) {
+            // the new, still empty channel of the account may be pruned before the subscriber is added
+            hub.subscribe(accountId, null);
+        }
+        subscribing.set(false);
+        pruner.join();
+        hub.sendHeartbeats();
+
+        assertEquals(subscriptions, hub.getSubscriberCount());
+    }
+}
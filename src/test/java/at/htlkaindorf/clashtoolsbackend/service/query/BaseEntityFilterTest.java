@@ -0,0 +1,77 @@
+package at.htlkaindorf.clashtoolsbackend.service.query;
+
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.QBaseEntity;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseEntityFilterTest {
+
+    private static String jpql(BaseEntityFilter filter) {
+        QBaseEntity baseEntity = QBaseEntity.baseEntity;
+        return new JPAQuery<Void>().select(baseEntity.id).from(baseEntity).where(filter.predicate()).toString();
+    }
+
+    @Test
+    void testParse_ClausesAndShape() {
+        FilterExpression expression = FilterExpression.parse(
+                "category in (TROOP, spell); name ^= \"Ba; x\"; level >= 5");
+
+        assertEquals(3, expression.clauses().size());
+        assertEquals("category in 2;name ^= ?;level >= ?", expression.shape());
+        assertEquals(List.of("TROOP", "spell", "Ba; x", "5"), expression.values());
+    }
+
+    @Test
+    void testParse_MalformedExpressionsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.parse("level >="));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.parse("level 5"));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.parse("category in (TROOP"));
+        assertThrows(IllegalArgumentException.class, () -> FilterExpression.parse("name = \"open"));
+    }
+
+    @Test
+    void testCompile_SameShapeSameJpql() {
+        BaseEntityFilter first = BaseEntityFilter.compile(FilterExpression.parse("category = TROOP; upgradeCost <= 100"));
+        BaseEntityFilter second = BaseEntityFilter.compile(FilterExpression.parse("category = SPELL; upgradeCost <= 5"));
+
+        String jpql = jpql(first);
+        assertEquals(jpql, jpql(second));
+        assertFalse(jpql.contains("TROOP"));
+        assertTrue(jpql.contains("exists"));
+        assertEquals(List.of(Category.SPELL, 5), second.bind(List.of("SPELL", "5")));
+    }
+
+    @Test
+    void testCompile_LevelConditionsShareOneSubquery() {
+        String jpql = jpql(BaseEntityFilter.compile(
+                FilterExpression.parse("level >= 3; resourceType in (GOLD, ELIXIR); attribute = damage")));
+
+        assertEquals(1, jpql.split("from BaseEntityLevel", -1).length - 1, jpql);
+        assertTrue(jpql.contains("filterLevel.level >= ?1"), jpql);
+        assertTrue(jpql.contains("filterLevel.resourceType = ?2 or filterLevel.resourceType = ?3"), jpql);
+        assertTrue(jpql.contains("attributeName.name = ?4"), jpql);
+    }
+
+    @Test
+    void testCompile_UnknownFieldsOperatorsAndValuesRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> BaseEntityFilter.compile(FilterExpression.parse("password = x")));
+        assertThrows(IllegalArgumentException.class,
+                () -> BaseEntityFilter.compile(FilterExpression.parse("category > TROOP")));
+        BaseEntityFilter filter = BaseEntityFilter.compile(FilterExpression.parse("level = 1"));
+        assertThrows(IllegalArgumentException.class, () -> filter.bind(List.of("one")));
+    }
+
+    @Test
+    void testBind_PrefixIsEscaped() {
+        BaseEntityFilter filter = BaseEntityFilter.compile(FilterExpression.parse("name ^= x"));
+
+        assertEquals(List.of("50!%!!off!_%"), filter.bind(List.of("50%!off_")));
+        assertTrue(jpql(filter).contains("baseEntity.name like ?1 escape '!'"));
+    }
+}
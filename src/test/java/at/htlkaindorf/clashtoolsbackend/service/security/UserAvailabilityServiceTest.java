@@ -0,0 +1,93 @@
+package at.htlkaindorf.clashtoolsbackend.service.security;
+
+import at.htlkaindorf.clashtoolsbackend.dto.auth.AvailabilityDTO;
+import at.htlkaindorf.clashtoolsbackend.exceptions.TooManyRequestsException;
+import at.htlkaindorf.clashtoolsbackend.pojos.User;
+import at.htlkaindorf.clashtoolsbackend.repositories.UserRepository;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.UserIdentityRow;
+import at.htlkaindorf.clashtoolsbackend.service.cluster.ClusterInvalidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserAvailabilityServiceTest {
+
+    private UserRepository userRepository;
+    private ClusterInvalidationService clusterInvalidationService;
+    private UserAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        clusterInvalidationService = mock(ClusterInvalidationService.class);
+        service = new UserAvailabilityService(userRepository, clusterInvalidationService,
+                mock(PlatformTransactionManager.class), 1000, 0.01, 2, 0.001);
+    }
+
+    @Test
+    void testIsUsernameAvailable_QueriesDatabaseBeforeLoad() {
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+        assertFalse(service.isUsernameAvailable("alice"));
+        verify(userRepository).existsByUsername("alice");
+    }
+
+    @Test
+    void testIsUsernameAvailable_UnknownValuesAnsweredWithoutQuery() {
+        when(userRepository.streamIdentities()).thenReturn(Stream.of(new UserIdentityRow("Alice", "alice@example.com")));
+        service.rebuild();
+
+        assertTrue(service.isUsernameAvailable("bob"));
+        assertTrue(service.isEmailAvailable("bob@example.com"));
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByMail(any());
+        assertEquals(0, service.getExactQueryCount());
+    }
+
+    @Test
+    void testIsUsernameAvailable_ProbableHitConfirmedByQuery() {
+        when(userRepository.streamIdentities()).thenReturn(Stream.of(new UserIdentityRow("Alice", "alice@example.com")));
+        when(userRepository.existsByUsername("Alice")).thenReturn(true);
+        service.rebuild();
+
+        assertFalse(service.isUsernameAvailable(" Alice"));
+        verify(userRepository).existsByUsername("Alice");
+        assertEquals(1, service.getExactQueryCount());
+    }
+
+    @Test
+    void testRegistered_AddsUserAndBroadcasts() {
+        when(userRepository.streamIdentities()).thenReturn(Stream.empty());
+        service.rebuild();
+        User user = User.builder().id(7L).username("carol").mail("carol@example.com").build();
+        when(userRepository.existsByMail("CAROL@example.com")).thenReturn(true);
+
+        service.registered(user);
+
+        assertFalse(service.isEmailAvailable("CAROL@example.com"));
+        verify(clusterInvalidationService).broadcast(User.class, 7L);
+    }
+
+    @Test
+    void testCheck_ThrottlesPerClient() {
+        when(userRepository.streamIdentities()).thenReturn(Stream.empty());
+        service.rebuild();
+
+        AvailabilityDTO result = service.check("10.0.0.1", "dave", null);
+        service.check("10.0.0.1", "dave", null);
+
+        assertEquals(new AvailabilityDTO("dave", true, null, null), result);
+        assertThrows(TooManyRequestsException.class, () -> service.check("10.0.0.1", "dave", null));
+        assertDoesNotThrow(() -> service.check("10.0.0.2", "dave", null));
+    }
+
+    @Test
+    void testCheck_RequiresUsernameOrEmail() {
+        assertThrows(IllegalArgumentException.class, () -> service.check("10.0.0.1", " ", null));
+    }
+}
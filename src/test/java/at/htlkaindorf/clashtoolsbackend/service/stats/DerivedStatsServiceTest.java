@@ -0,0 +1,130 @@
+package at.htlkaindorf.clashtoolsbackend.service.stats;
+
+import at.htlkaindorf.clashtoolsbackend.dto.stats.DerivedStatDTO;
+import at.htlkaindorf.clashtoolsbackend.pojos.Category;
+import at.htlkaindorf.clashtoolsbackend.pojos.Range;
+import at.htlkaindorf.clashtoolsbackend.pojos.ResourceType;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeNameRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.AttributeValueRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityLevelRow;
+import at.htlkaindorf.clashtoolsbackend.repositories.projections.BaseEntityRow;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshot;
+import at.htlkaindorf.clashtoolsbackend.service.catalog.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DerivedStatsServiceTest {
+
+    private CatalogSnapshotService snapshotService;
+    private DerivedStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = mock(CatalogSnapshotService.class);
+        when(snapshotService.loaded()).thenReturn(snapshot(3L, 9.0));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("derived-stats.metrics.damage-per-gold", "delta(damage) / goldCost")
+                .withProperty("derived-stats.metrics.damage-per-elixir", "damage / elixirCost")
+                .withProperty("derived-stats.metrics.reach", "\"Attack Range\" * 2")
+                .withProperty("derived-stats.metrics.damage-per-hour", "damage / upgradeHours");
+        service = new DerivedStatsService(snapshotService, environment);
+    }
+
+    private static CatalogSnapshot snapshot(long version, double cannonRange) {
+        return new CatalogSnapshot(version, Instant.now(),
+                List.of(new BaseEntityRow(1L, "Cannon", Category.DEFENSE),
+                        new BaseEntityRow(2L, "Mortar", Category.DEFENSE),
+                        new BaseEntityRow(3L, "Archer", Category.TROOP)),
+                List.of(new BaseEntityLevelRow(12L, 1L, 3, ResourceType.GOLD, 400, 7200, null),
+                        new BaseEntityLevelRow(10L, 1L, 1, ResourceType.GOLD, 100, 3600, null),
+                        new BaseEntityLevelRow(11L, 1L, 2, ResourceType.GOLD, 200, 3600, null),
+                        new BaseEntityLevelRow(20L, 2L, 1, ResourceType.GOLD, 300, 3600, null),
+                        new BaseEntityLevelRow(30L, 3L, 1, ResourceType.ELIXIR, 50, 0, null)),
+                List.of(new AttributeNameRow(100L, "Damage"), new AttributeNameRow(101L, "Attack Range")),
+                List.of(new AttributeRow(1000L, 100L), new AttributeRow(1001L, 101L)),
+                List.of(),
+                List.of(),
+                List.of(new AttributeValueRow(1L, 1000L, 10L, "INTEGER", 9),
+                        new AttributeValueRow(2L, 1000L, 11L, "INTEGER", 11),
+                        new AttributeValueRow(3L, 1000L, 12L, "INTEGER", 19),
+                        new AttributeValueRow(4L, 1000L, 20L, "INTEGER", 4),
+                        new AttributeValueRow(5L, 1000L, 30L, "INTEGER", 7),
+                        new AttributeValueRow(6L, 1001L, 10L, "RANGE", new Range(0.0, cannonRange)),
+                        new AttributeValueRow(7L, 1001L, 20L, "RANGE", new Range(4.0, 11.0)),
+                        new AttributeValueRow(8L, 1001L, 30L, "RANGE", new Range(0.0, 3.5))));
+    }
+
+    @Test
+    void testFind_DeltaOverPreviousLevelOrderedByValue() {
+        List<DerivedStatDTO> matches = service.find("Damage-Per-Gold", null, null, null, false, null, false);
+
+        // only levels with a previous level have a delta
+        assertEquals(List.of(12L, 11L), matches.stream().map(DerivedStatDTO::baseEntityLevelId).toList());
+        assertEquals(0.02, matches.get(0).value(), 1e-9);
+        assertEquals(0.01, matches.get(1).value(), 1e-9);
+        assertEquals(3, matches.get(0).level());
+        assertEquals("Cannon", matches.get(0).baseEntityName());
+    }
+
+    @Test
+    void testFind_FiltersAndSkipsMissingValues() {
+        List<DerivedStatDTO> ascending = service.find("reach", 7.0, null, 1, true, Category.DEFENSE, false);
+        assertEquals(List.of(10L), ascending.stream().map(DerivedStatDTO::baseEntityLevelId).toList());
+        assertEquals(18.0, ascending.get(0).value());
+
+        // the max level of the cannon has no range, the archer has no upgrade time
+        assertEquals(List.of(20L), service.find("reach", null, null, null, false, Category.DEFENSE, true).stream()
+                .map(DerivedStatDTO::baseEntityLevelId).toList());
+        assertEquals(List.of(11L, 12L, 10L, 20L), service.find("damage-per-hour", null, null, null, false, null, false)
+                .stream().map(DerivedStatDTO::baseEntityLevelId).toList());
+    }
+
+    @Test
+    void testFind_ResourceCostOnlyForLevelsPaidInThatResource() {
+        List<DerivedStatDTO> perElixir = service.find("damage-per-elixir", null, null, null, false, null, false);
+
+        assertEquals(List.of(30L), perElixir.stream().map(DerivedStatDTO::baseEntityLevelId).toList());
+        assertEquals(0.14, perElixir.get(0).value(), 1e-9);
+        assertEquals(Set.of("damage", "darkelixircost"),
+                DerivedFormula.compile("damage / darkElixirCost").getVariables());
+    }
+
+    @Test
+    void testFind_NewSnapshotReusesResultsWithUnchangedInputs() {
+        service.find("damage-per-gold", null, null, null, false, null, false);
+        service.find("reach", null, null, null, false, null, false);
+        assertEquals(2, service.getEvaluationCount());
+
+        when(snapshotService.loaded()).thenReturn(snapshot(4L, 10.0));
+        service.find("damage-per-gold", null, null, null, false, null, false);
+        List<DerivedStatDTO> reach = service.find("reach", null, null, 1, false, null, false);
+
+        assertEquals(1, service.getReuseCount());
+        assertEquals(3, service.getEvaluationCount());
+        assertEquals(22.0, reach.get(0).value());
+    }
+
+    @Test
+    void testFind_InvalidParametersAndFormulas() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("unknown", null, null, null, false, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("reach", 5.0, 1.0, null, false, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.find("reach", null, null, DerivedStatsService.MAX_TOP + 1, false, null, false));
+        assertThrows(IllegalArgumentException.class, () -> DerivedFormula.compile("damage /"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedFormula.compile("sqrt(damage)"));
+        assertThrows(IllegalArgumentException.class, () -> DerivedFormula.compile("(damage"));
+        assertEquals(Set.of("damage", "upgradecost"),
+                DerivedFormula.compile("max(delta(Damage), 0) / -upgradeCost").getVariables());
+    }
+}